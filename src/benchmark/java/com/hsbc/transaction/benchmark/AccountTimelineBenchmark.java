@@ -0,0 +1,114 @@
+package com.hsbc.transaction.benchmark;
+
+import com.hsbc.transaction.archive.ArchivingTransactionRepository;
+import com.hsbc.transaction.archive.TransactionArchive;
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TimelinePosition;
+import com.hsbc.transaction.repository.impl.InMemoryTransactionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account Timeline Benchmark
+ *
+ * Latest transactions of one account as the store grows, with about 100
+ * transactions per account: the first page and a page 50 transactions
+ * deep from the account index, against filtering a full listing. The store
+ * keeps 30 days hot and archives the rest, so deep pages are read from
+ * archive segments.
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Dbenchmark=AccountTimelineBenchmark
+ * </pre>
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class AccountTimelineBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 31, 0, 0);
+    private static final int PAGE_SIZE = 20;
+    private static final int SAMPLED_ACCOUNTS = 64;
+
+    @Param({"10000", "100000", "1000000"})
+    private int transactions;
+
+    private Path directory;
+    private TransactionArchive archive;
+    private ArchivingTransactionRepository repository;
+    private final String[] accounts = new String[SAMPLED_ACCOUNTS];
+    private final TimelinePosition[] deepPositions = new TimelinePosition[SAMPLED_ACCOUNTS];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("timeline-benchmark-");
+        archive = new TransactionArchive(directory, 128, 256);
+        repository = new ArchivingTransactionRepository(new InMemoryTransactionRepository(), archive);
+
+        int accountCount = transactions / 100;
+        Random random = new Random(7);
+        for (int i = 0; i < transactions; i++) {
+            Transaction transaction = new Transaction(
+                    BigDecimal.valueOf(random.nextInt(10_000_000), 2), "USD", "DEPOSIT", "benchmark", null);
+            transaction.setTimestamp(NOW.minusSeconds(random.nextInt(365 * 24 * 3600)));
+            transaction.setAccountId("ACC-" + random.nextInt(accountCount));
+            repository.save(transaction);
+        }
+        repository.archiveOlderThan(NOW.minusDays(30));
+
+        for (int i = 0; i < SAMPLED_ACCOUNTS; i++) {
+            accounts[i] = "ACC-" + random.nextInt(accountCount);
+            List<Transaction> head = repository.findByAccount(accounts[i], null, 50);
+            deepPositions[i] = TimelinePosition.of(head.get(head.size() - 1));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        archive.close();
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<Transaction> indexFirstPage() {
+        return repository.findByAccount(accounts[next++ & (SAMPLED_ACCOUNTS - 1)], null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Transaction> indexDeepPage() {
+        int sample = next++ & (SAMPLED_ACCOUNTS - 1);
+        return repository.findByAccount(accounts[sample], deepPositions[sample], PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Transaction> scanFirstPage() {
+        String account = accounts[next++ & (SAMPLED_ACCOUNTS - 1)];
+        return repository.findAll().stream()
+                .filter(transaction -> account.equals(transaction.getAccountId()))
+                .limit(PAGE_SIZE)
+                .toList();
+    }
+}
@@ -0,0 +1,98 @@
+package com.hsbc.transaction.benchmark;
+
+import com.hsbc.transaction.analytics.ColumnarTransactionStore;
+import com.hsbc.transaction.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analytics Scan Benchmark
+ *
+ * Sum of amounts per currency over a time range: iterating the row store's
+ * {@link ConcurrentHashMap} of transactions versus scanning the
+ * {@link ColumnarTransactionStore}.
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Dbenchmark=AnalyticsScanBenchmark
+ * </pre>
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class AnalyticsScanBenchmark {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "CNY", "HKD", "SGD", "AUD", "CAD", "CHF"};
+    private static final String[] TYPES = {"DEPOSIT", "WITHDRAWAL", "TRANSFER", "PAYMENT", "REFUND"};
+
+    @Param({"1000000"})
+    private int transactions;
+
+    private final Map<String, Transaction> rowStore = new ConcurrentHashMap<>();
+    private ColumnarTransactionStore columnarStore;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        columnarStore = new ColumnarTransactionStore(16384, Runtime.getRuntime().availableProcessors());
+        Random random = new Random(7);
+        for (int i = 0; i < transactions; i++) {
+            Transaction transaction = new Transaction(
+                    BigDecimal.valueOf(random.nextInt(10_000_000), 2),
+                    CURRENCIES[random.nextInt(CURRENCIES.length)],
+                    TYPES[random.nextInt(TYPES.length)],
+                    "benchmark", null);
+            transaction.setTimestamp(BASE_TIME.plusSeconds(random.nextInt(365 * 24 * 3600)));
+            rowStore.put(transaction.getId(), transaction);
+            columnarStore.onSaved(transaction, transaction.getTimestamp());
+        }
+        // Roughly half of the year
+        from = BASE_TIME.plusDays(90);
+        to = BASE_TIME.plusDays(270);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        columnarStore.close();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> rowStoreSumByCurrency() {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (Transaction transaction : rowStore.values()) {
+            LocalDateTime timestamp = transaction.getTimestamp();
+            if (!timestamp.isBefore(from) && timestamp.isBefore(to)) {
+                totals.merge(transaction.getCurrency(), transaction.getAmount(), BigDecimal::add);
+            }
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public List<ColumnarTransactionStore.GroupTotal> columnarSumByCurrency() {
+        return columnarStore.totals(from, to, null, null, ColumnarTransactionStore.GroupBy.CURRENCY);
+    }
+}
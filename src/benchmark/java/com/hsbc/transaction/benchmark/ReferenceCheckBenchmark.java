@@ -0,0 +1,107 @@
+package com.hsbc.transaction.benchmark;
+
+import com.hsbc.transaction.archive.ArchivingTransactionRepository;
+import com.hsbc.transaction.archive.TransactionArchive;
+import com.hsbc.transaction.bloom.ReferenceNumberFilter;
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.impl.InMemoryTransactionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reference Check Benchmark
+ *
+ * Cost of the duplicate check made for every create with a reference
+ * number, as the store grows: the repository probe alone versus the probe
+ * behind the {@link ReferenceNumberFilter}. The store keeps 30 days hot
+ * and archives the rest, so a probe for a new reference number has to
+ * consult every archived day segment, as a disk-backed store would.
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Dbenchmark=ReferenceCheckBenchmark
+ * </pre>
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ReferenceCheckBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 31, 0, 0);
+    private static final int PROBES = 4096;
+
+    @Param({"10000", "100000", "1000000"})
+    private int transactions;
+
+    private Path directory;
+    private TransactionArchive archive;
+    private ArchivingTransactionRepository repository;
+    private ReferenceNumberFilter filter;
+    private final String[] newReferences = new String[PROBES];
+    private final String[] existingReferences = new String[PROBES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("reference-benchmark-");
+        archive = new TransactionArchive(directory, 128, 256);
+        repository = new ArchivingTransactionRepository(new InMemoryTransactionRepository(), archive);
+        filter = new ReferenceNumberFilter(100_000, 0.01);
+
+        Random random = new Random(7);
+        for (int i = 0; i < transactions; i++) {
+            Transaction transaction = new Transaction(
+                    BigDecimal.valueOf(random.nextInt(10_000_000), 2), "USD", "PAYMENT", "benchmark", "REF-" + i);
+            transaction.setTimestamp(NOW.minusSeconds(random.nextInt(365 * 24 * 3600)));
+            repository.save(transaction);
+            filter.onSaved(transaction, transaction.getTimestamp());
+        }
+        repository.archiveOlderThan(NOW.minusDays(30));
+
+        for (int i = 0; i < PROBES; i++) {
+            newReferences[i] = "NEW-" + i;
+            existingReferences[i] = "REF-" + random.nextInt(transactions);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        archive.close();
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public boolean repositoryCheckNewReference() {
+        return repository.existsByReferenceNumber(newReferences[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public boolean filteredCheckNewReference() {
+        return filter.exists(newReferences[next++ & (PROBES - 1)], repository::existsByReferenceNumber);
+    }
+
+    @Benchmark
+    public boolean filteredCheckExistingReference() {
+        return filter.exists(existingReferences[next++ & (PROBES - 1)], repository::existsByReferenceNumber);
+    }
+}
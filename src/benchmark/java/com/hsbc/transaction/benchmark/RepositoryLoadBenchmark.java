@@ -0,0 +1,155 @@
+package com.hsbc.transaction.benchmark;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TransactionRepository;
+import com.hsbc.transaction.repository.impl.InMemoryTransactionRepository;
+import com.hsbc.transaction.repository.impl.ShardedTransactionRepository;
+import com.hsbc.transaction.repository.impl.WriteBehindTransactionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Repository Load Benchmark
+ *
+ * One load profile run against every repository backend, so their numbers
+ * can be compared in one report. Eight threads share a store of 100K
+ * transactions: five read by ID, one checks reference numbers, one reads
+ * the second page of 20 newest transactions and one updates transactions.
+ * Throughput and sampled latency are reported per operation and backend.
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Dbenchmark=RepositoryLoadBenchmark
+ * </pre>
+ *
+ * A new backend is added to the profile with a {@code backend} value.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Group)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class RepositoryLoadBenchmark {
+
+    private static final int TRANSACTIONS = 100_000;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"memory", "sharded", "write-behind"})
+    private String backend;
+
+    private TransactionRepository repository;
+    private Path directory;
+    private final String[] ids = new String[TRANSACTIONS];
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        repository = switch (backend) {
+            case "memory" -> new InMemoryTransactionRepository();
+            case "sharded" -> new ShardedTransactionRepository(0);
+            case "write-behind" -> {
+                directory = Files.createTempDirectory("repository-benchmark-");
+                WriteBehindTransactionRepository writeBehind = new WriteBehindTransactionRepository(
+                        "jdbc:h2:file:" + directory.resolve("transactions").toAbsolutePath(), "sa", "",
+                        500, Duration.ofMillis(200), 10_000, Duration.ofSeconds(10));
+                writeBehind.start();
+                yield writeBehind;
+            }
+            default -> throw new IllegalArgumentException("Unknown backend: " + backend);
+        };
+
+        List<Transaction> batch = new ArrayList<>(1000);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Transaction transaction = new Transaction(BigDecimal.valueOf(1000 + i, 2), "USD", "PAYMENT",
+                    "load profile " + i, "REF-" + i);
+            transaction.setTimestamp(START.plusSeconds(i));
+            ids[i] = transaction.getId();
+            batch.add(transaction);
+            if (batch.size() == 1000) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        if (repository instanceof WriteBehindTransactionRepository writeBehind) {
+            writeBehind.flush();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (repository instanceof ShardedTransactionRepository sharded) {
+            sharded.shutdown();
+        }
+        if (repository instanceof WriteBehindTransactionRepository writeBehind) {
+            writeBehind.stop();
+            deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @Group("profile")
+    @GroupThreads(5)
+    public Optional<Transaction> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("profile")
+    @GroupThreads(1)
+    public boolean existsByReferenceNumber() {
+        return repository.existsByReferenceNumber("REF-" + ThreadLocalRandom.current().nextInt(TRANSACTIONS * 2));
+    }
+
+    @Benchmark
+    @Group("profile")
+    @GroupThreads(1)
+    public List<Transaction> findPage() {
+        return repository.findAll(1, 20);
+    }
+
+    @Benchmark
+    @Group("profile")
+    @GroupThreads(1)
+    public Transaction update() {
+        Transaction transaction = repository.findById(randomId()).orElseThrow();
+        transaction.setAmount(transaction.getAmount().add(BigDecimal.ONE));
+        return repository.save(transaction);
+    }
+
+    private String randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(TRANSACTIONS)];
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path file : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.hsbc.transaction.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup Benchmark
+ *
+ * Time from launching the application process to the first successful
+ * request, for the executable jar and for the fast-start build with AOT
+ * bean definitions, a CDS archive, or both. The resident set size of the
+ * process at its first answer is printed at the end of each trial.
+ *
+ * Needs the fast-start build and a trained archive from the same JDK:
+ * <pre>
+ * mvn -Pfast-start package -DskipTests
+ * ./train-cds.sh target/transaction-management-1.0.0.jar target/app.jsa
+ * mvn -Pbenchmark test -Dbenchmark=StartupBenchmark
+ * </pre>
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class StartupBenchmark {
+
+    private static final Path TARGET = Path.of("target");
+    private static final Path THIN_JAR = TARGET.resolve("transaction-management-1.0.0.jar");
+    private static final Path EXEC_JAR = TARGET.resolve("transaction-management-1.0.0-exec.jar");
+    private static final Path ARCHIVE = TARGET.resolve("app.jsa");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    @Param({"exec-jar", "aot", "cds", "aot-cds"})
+    private String mode;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private final List<Long> residentKilobytes = new ArrayList<>();
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void checkArtifacts() {
+        for (Path required : mode.contains("cds") ? List.of(THIN_JAR, ARCHIVE) : List.of(THIN_JAR, EXEC_JAR)) {
+            if (!Files.exists(required)) {
+                throw new IllegalStateException(required + " is missing; build with -Pfast-start and run train-cds.sh first");
+            }
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (mode.contains("aot")) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        if (mode.contains("cds")) {
+            command.add("-XX:SharedArchiveFile=" + ARCHIVE);
+        }
+        command.add("-jar");
+        command.add((mode.equals("exec-jar") ? EXEC_JAR : THIN_JAR).toString());
+        command.add("--server.port=" + port);
+
+        process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectErrorStream(true)
+                .start();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transactions/health")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline && process.isAlive()) {
+            try {
+                int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200) {
+                    residentKilobytes.add(residentKilobytes(process.pid()));
+                    return status;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Application did not answer within " + STARTUP_TIMEOUT);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopApplication() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void reportResidentSetSize() {
+        System.out.printf("%n%s: RSS at first request %d MB on average over %d starts%n", mode,
+                residentKilobytes.stream().mapToLong(Long::longValue).sum() / Math.max(1, residentKilobytes.size()) / 1024,
+                residentKilobytes.size());
+    }
+
+    private static long residentKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return 0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
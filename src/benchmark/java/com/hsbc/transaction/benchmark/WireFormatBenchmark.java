@@ -0,0 +1,108 @@
+package com.hsbc.transaction.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.wire.CompactTransactionModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wire Format Benchmark
+ *
+ * Encoding and decoding a page of transactions as JSON versus CBOR with the
+ * compact transaction encoding. The encoded size of each format is printed
+ * when a trial starts.
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Dbenchmark=WireFormatBenchmark
+ * </pre>
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "CNY", "HKD", "SGD", "AUD", "CAD", "CHF"};
+    private static final String[] TYPES = {"DEPOSIT", "WITHDRAWAL", "TRANSFER", "PAYMENT", "REFUND"};
+    private static final TypeReference<PagedResponse<TransactionResponse>> PAGE_TYPE = new TypeReference<>() {};
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private PagedResponse<TransactionResponse> page;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        jsonMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cborMapper = jsonMapper.copyWith(new CBORFactory()).registerModule(new CompactTransactionModule());
+
+        Random random = new Random(7);
+        List<TransactionResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            String currency = CURRENCIES[random.nextInt(CURRENCIES.length)];
+            BigDecimal amount = "JPY".equals(currency)
+                    ? BigDecimal.valueOf(random.nextInt(1_000_000))
+                    : BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+            content.add(new TransactionResponse(
+                    UUID.randomUUID().toString(), amount, currency, TYPES[random.nextInt(TYPES.length)],
+                    BASE_TIME.plusNanos(random.nextLong(365L * 24 * 3600 * 1_000_000_000L)),
+                    "Card payment " + i, "REF-" + random.nextInt(1_000_000)));
+        }
+        page = new PagedResponse<>(content, 0, pageSize, 10_000);
+        json = jsonMapper.writeValueAsBytes(page);
+        cbor = cborMapper.writeValueAsBytes(page);
+        System.out.printf("%nPage of %d: JSON %d bytes, CBOR %d bytes%n", pageSize, json.length, cbor.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws Exception {
+        return cborMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PagedResponse<TransactionResponse> decodeJson() throws Exception {
+        return jsonMapper.readValue(json, PAGE_TYPE);
+    }
+
+    @Benchmark
+    public PagedResponse<TransactionResponse> decodeCbor() throws Exception {
+        return cborMapper.readValue(cbor, PAGE_TYPE);
+    }
+}
@@ -0,0 +1,129 @@
+package com.hsbc.transaction.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive Concurrency Limiter (AIMD)
+ *
+ * Keeps an estimate of the no-load latency and grows the limit additively
+ * while samples stay close to it. When a sample exceeds the estimate by more
+ * than the configured tolerance the limit is cut multiplicatively. Requests
+ * above the current limit are rejected immediately instead of being queued.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final long decreaseCooldownNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile double limit;
+    private volatile long baselineLatencyNanos = Long.MAX_VALUE;
+    private volatile long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double backoffRatio, double latencyTolerance) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limiter bounds: min=" + minLimit + ", max=" + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        if (latencyTolerance < 1) {
+            throw new IllegalArgumentException("Latency tolerance must be at least 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        // Allow at most one decrease per 10ms so a single slow window does not collapse the limit
+        this.decreaseCooldownNanos = 10_000_000L;
+    }
+
+    /**
+     * Try to acquire a permit without waiting
+     *
+     * @return whether the request is admitted
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a permit and feed the measured latency into the limit
+     *
+     * @param latencyNanos request latency in nanoseconds
+     * @param dropped whether the request failed in a way that signals overload
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        onSample(latencyNanos, current, dropped);
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtCompletion, boolean dropped) {
+        if (latencyNanos <= 0) {
+            return;
+        }
+
+        // Track the no-load latency, drifting upwards slowly so the baseline can recover after a slow period
+        long baseline = baselineLatencyNanos;
+        if (latencyNanos < baseline) {
+            baselineLatencyNanos = latencyNanos;
+        } else {
+            baselineLatencyNanos = baseline + Math.max(1, (latencyNanos - baseline) / 100);
+        }
+
+        double currentLimit = limit;
+        long now = System.nanoTime();
+        if (dropped || latencyNanos > baselineLatencyNanos * latencyTolerance) {
+            if (now - lastDecreaseNanos >= decreaseCooldownNanos) {
+                limit = Math.max(minLimit, currentLimit * backoffRatio);
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlightAtCompletion * 2 >= currentLimit) {
+            // Only grow when the limit is actually being used
+            limit = Math.min(maxLimit, currentLimit + 1.0 / currentLimit);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAcceptedCount() {
+        return accepted.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getBaselineLatencyNanos() {
+        long baseline = baselineLatencyNanos;
+        return baseline == Long.MAX_VALUE ? 0 : baseline;
+    }
+}
@@ -0,0 +1,89 @@
+package com.hsbc.transaction.admission;
+
+import com.hsbc.transaction.exception.ServiceOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admission Control Interceptor
+ *
+ * Classifies each API request into a {@link RequestCategory}, admits it against
+ * that category's adaptive limit and fails fast when the budget is exhausted.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".start";
+    private static final String CATEGORY_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".category";
+
+    private static final String COLLECTION_PATH = "/api/transactions";
+    private static final String LOOKUP_PATH = COLLECTION_PATH + "/lookup";
+    private static final String SEARCH_PATH = COLLECTION_PATH + "/search";
+
+    private final Map<RequestCategory, AdaptiveConcurrencyLimiter> limiters;
+    private final int rejectStatus;
+    private final int retryAfterSeconds;
+
+    public AdmissionControlInterceptor(Map<RequestCategory, AdaptiveConcurrencyLimiter> limiters,
+                                       int rejectStatus, int retryAfterSeconds) {
+        this.limiters = new EnumMap<>(limiters);
+        this.rejectStatus = rejectStatus;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestCategory category = classify(request);
+        AdaptiveConcurrencyLimiter limiter = limiters.get(category);
+        if (limiter == null) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            throw ServiceOverloadedException.shed(category.tag(), rejectStatus, retryAfterSeconds);
+        }
+        request.setAttribute(CATEGORY_ATTRIBUTE, category);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object category = request.getAttribute(CATEGORY_ATTRIBUTE);
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (category == null || start == null) {
+            return;
+        }
+        request.removeAttribute(CATEGORY_ATTRIBUTE);
+        long latency = System.nanoTime() - (Long) start;
+        // Server errors count as congestion signals, client errors do not
+        boolean dropped = ex != null || response.getStatus() >= 500;
+        limiters.get((RequestCategory) category).release(latency, dropped);
+    }
+
+    /**
+     * Classify request into a concurrency budget
+     *
+     * Batch lookups are reads sent as POST and searches scan the index, so
+     * both use the list budget rather than the write or single-read one.
+     */
+    static RequestCategory classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        if ("POST".equals(method) && LOOKUP_PATH.equals(path)) {
+            return RequestCategory.LIST;
+        }
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return RequestCategory.WRITE;
+        }
+        return COLLECTION_PATH.equals(path) || SEARCH_PATH.equals(path) ? RequestCategory.LIST : RequestCategory.READ;
+    }
+}
@@ -0,0 +1,35 @@
+package com.hsbc.transaction.admission;
+
+/**
+ * Request Category for Admission Control
+ *
+ * Each category has its own concurrency budget, so a burst of list scans
+ * cannot starve single-record reads or writes.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public enum RequestCategory {
+
+    /**
+     * Single-record reads (GET by id, existence checks)
+     */
+    READ,
+
+    /**
+     * Mutations (POST, PUT, PATCH, DELETE other than batch lookups)
+     */
+    WRITE,
+
+    /**
+     * Paginated list scans over the whole store, searches and batch lookups
+     */
+    LIST;
+
+    /**
+     * Lower-case tag value used for metrics
+     */
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
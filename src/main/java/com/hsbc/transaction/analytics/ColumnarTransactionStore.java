@@ -0,0 +1,475 @@
+package com.hsbc.transaction.analytics;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.service.TransactionMutationListener;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Columnar copy of the transaction set for analytics scans
+ *
+ * Keeps amount, timestamp, currency and type of every transaction in
+ * primitive arrays split into fixed-size, append-only chunks. Amounts are
+ * fixed-point longs with {@link #AMOUNT_SCALE} decimal places; currency
+ * and type are dictionary codes. An update appends a new row and marks the
+ * previous row dead; dead rows are dropped by compaction once they
+ * outnumber live rows. A transaction whose amount does not fit a fixed-point
+ * long (above {@link #MAX_AMOUNT}) is left out of the store and counted as
+ * unsupported rather than summed with a truncated value.
+ *
+ * Sums are kept in longs; when adding an amount or merging two partial
+ * sums overflows, the wrapped-around multiple of 2^64 is carried in a
+ * separate counter and folded back in as a BigDecimal, so totals stay exact
+ * however many large amounts a group holds.
+ *
+ * Scans walk whole chunks in tight loops, in parallel across chunks, and
+ * never take the writer lock: a reader works on the table published when
+ * the scan started, whose rows below its row count never change.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ColumnarTransactionStore implements TransactionMutationListener {
+
+    /**
+     * Decimal places of stored amounts; covers the minor units of every ISO 4217 currency
+     */
+    public static final int AMOUNT_SCALE = 4;
+
+    /**
+     * Largest amount the store can hold
+     */
+    public static final BigDecimal MAX_AMOUNT = BigDecimal.valueOf(Long.MAX_VALUE, AMOUNT_SCALE);
+
+    // Below this many rows a single-threaded scan is cheaper than forking
+    private static final int PARALLEL_SCAN_ROWS = 1 << 16;
+
+    // Accumulator slots per group in a totals scan: count, sum, overflow carry
+    private static final int TOTAL_SLOTS = 3;
+
+    /**
+     * Column used to group scan results
+     */
+    public enum GroupBy {
+        CURRENCY,
+        TRANSACTION_TYPE
+    }
+
+    /**
+     * Aggregate of one group
+     *
+     * @param key currency or transaction type
+     * @param count number of transactions
+     * @param totalAmount sum of their amounts
+     */
+    public record GroupTotal(String key, long count, BigDecimal totalAmount) {
+    }
+
+    private final int chunkRows;
+    private final ForkJoinPool scanPool;
+    private final Dictionary currencies = new Dictionary();
+    private final Dictionary types = new Dictionary();
+
+    // Writer state, guarded by this
+    private final Map<String, Long> rowById = new HashMap<>();
+    private long deadRows;
+    private long unsupportedAmounts;
+
+    private volatile Table table;
+
+    public ColumnarTransactionStore(int chunkRows, int parallelism) {
+        // Whole 64-row words per chunk keep the dead-row bitmap word-aligned
+        this.chunkRows = Math.max(Long.SIZE, chunkRows / Long.SIZE * Long.SIZE);
+        this.scanPool = new ForkJoinPool(Math.max(1, parallelism));
+        this.table = new Table(new Chunk[0], 0);
+    }
+
+    @Override
+    public synchronized void onSaved(Transaction transaction, LocalDateTime changedAt) {
+        long amount;
+        try {
+            amount = transaction.getAmount() == null ? 0 : toFixedPoint(transaction.getAmount());
+        } catch (ArithmeticException e) {
+            // Drop any earlier row too, so totals never mix in a stale amount
+            unsupportedAmounts++;
+            onDeleted(transaction.getId(), changedAt);
+            return;
+        }
+        Long previous = rowById.get(transaction.getId());
+        if (previous != null) {
+            markDead(table, previous);
+        }
+        rowById.put(transaction.getId(), append(transaction, amount));
+        compactIfSparse();
+    }
+
+    @Override
+    public synchronized void onDeleted(String id, LocalDateTime changedAt) {
+        Long previous = rowById.remove(id);
+        if (previous != null) {
+            markDead(table, previous);
+            compactIfSparse();
+        }
+    }
+
+    /**
+     * Count and sum transactions in a time range, grouped by a column
+     *
+     * @param from inclusive lower bound of the timestamp, or null
+     * @param to exclusive upper bound of the timestamp, or null
+     * @param currency only this currency, or null for all
+     * @param transactionType only this type, or null for all
+     * @param groupBy grouping column
+     * @return one total per non-empty group, ordered by key
+     */
+    public List<GroupTotal> totals(LocalDateTime from, LocalDateTime to, String currency, String transactionType,
+                                   GroupBy groupBy) {
+        Filter filter = filter(from, to, currency, transactionType);
+        Dictionary keys = groupBy == GroupBy.CURRENCY ? currencies : types;
+        if (filter == null) {
+            return List.of();
+        }
+
+        Table snapshot = table;
+        int groups = keys.size();
+        long[] merged = scan(snapshot, partial -> new long[groups * TOTAL_SLOTS], (chunk, rows, acc) ->
+                sumChunk(chunk, rows, filter, groupBy == GroupBy.CURRENCY ? chunk.currencies : chunk.types, acc),
+                ColumnarTransactionStore::mergeTotals);
+
+        List<GroupTotal> totals = new ArrayList<>();
+        for (int code = 0; code < groups; code++) {
+            int slot = code * TOTAL_SLOTS;
+            long count = merged[slot];
+            if (count > 0) {
+                totals.add(new GroupTotal(keys.name(code), count,
+                        toAmount(merged[slot + 1], merged[slot + 2]).stripTrailingZeros()));
+            }
+        }
+        totals.sort((a, b) -> a.key().compareTo(b.key()));
+        return totals;
+    }
+
+    /**
+     * Count transactions per amount bucket
+     *
+     * @param bucketWidth width of each bucket; bucket {@code i} holds amounts in {@code [i * width, (i + 1) * width)}
+     * @param buckets number of buckets; the last one also holds every larger amount
+     * @return count per bucket
+     */
+    public long[] histogram(LocalDateTime from, LocalDateTime to, String currency, String transactionType,
+                            BigDecimal bucketWidth, int buckets) {
+        Filter filter = filter(from, to, currency, transactionType);
+        if (filter == null) {
+            return new long[buckets];
+        }
+        long width = Math.max(1, toFixedPoint(bucketWidth));
+        return scan(table, partial -> new long[buckets], (chunk, rows, acc) ->
+                histogramChunk(chunk, rows, filter, width, acc), ColumnarTransactionStore::mergeCounts);
+    }
+
+    /**
+     * Stop the scan threads
+     */
+    public void close() {
+        scanPool.shutdown();
+    }
+
+    public long getRowCount() {
+        return table.rowCount;
+    }
+
+    public synchronized long getLiveRowCount() {
+        return rowById.size();
+    }
+
+    public int getChunkCount() {
+        return table.chunks.length;
+    }
+
+    /**
+     * Transactions left out because their amount exceeds {@link #MAX_AMOUNT}
+     */
+    public synchronized long getUnsupportedAmountCount() {
+        return unsupportedAmounts;
+    }
+
+    private static void sumChunk(Chunk chunk, int rows, Filter filter, short[] groupColumn, long[] acc) {
+        long[] amounts = chunk.amounts;
+        long[] timestamps = chunk.timestamps;
+        short[] currencyCodes = chunk.currencies;
+        short[] typeCodes = chunk.types;
+        for (int word = 0; word * Long.SIZE < rows; word++) {
+            long dead = chunk.dead.get(word);
+            int end = Math.min(rows, (word + 1) * Long.SIZE);
+            for (int i = word * Long.SIZE; i < end; i++) {
+                long timestamp = timestamps[i];
+                if ((dead & (1L << i)) != 0 || timestamp < filter.fromMillis || timestamp >= filter.toMillis
+                        || (filter.currency >= 0 && currencyCodes[i] != filter.currency)
+                        || (filter.type >= 0 && typeCodes[i] != filter.type)) {
+                    continue;
+                }
+                int slot = groupColumn[i] * TOTAL_SLOTS;
+                acc[slot]++;
+                addWithCarry(acc, slot + 1, amounts[i]);
+            }
+        }
+    }
+
+    /**
+     * Add to the sum at {@code acc[index]}, carrying any overflow into {@code acc[index + 1]} in units of 2^64
+     */
+    private static void addWithCarry(long[] acc, int index, long amount) {
+        try {
+            acc[index] = Math.addExact(acc[index], amount);
+        } catch (ArithmeticException e) {
+            // The wrapped sum is off by exactly 2^64 in the direction of the amount
+            acc[index] += amount;
+            acc[index + 1] += amount < 0 ? -1 : 1;
+        }
+    }
+
+    private static long[] mergeTotals(long[] a, long[] b) {
+        for (int slot = 0; slot < a.length; slot += TOTAL_SLOTS) {
+            a[slot] += b[slot];
+            addWithCarry(a, slot + 1, b[slot + 1]);
+            a[slot + 2] += b[slot + 2];
+        }
+        return a;
+    }
+
+    private static long[] mergeCounts(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+
+    private static BigDecimal toAmount(long sum, long carry) {
+        BigDecimal amount = BigDecimal.valueOf(sum, AMOUNT_SCALE);
+        if (carry == 0) {
+            return amount;
+        }
+        return amount.add(new BigDecimal(BigInteger.valueOf(carry).shiftLeft(Long.SIZE), AMOUNT_SCALE));
+    }
+
+    private static void histogramChunk(Chunk chunk, int rows, Filter filter, long width, long[] acc) {
+        long[] amounts = chunk.amounts;
+        long[] timestamps = chunk.timestamps;
+        short[] currencyCodes = chunk.currencies;
+        short[] typeCodes = chunk.types;
+        int last = acc.length - 1;
+        for (int word = 0; word * Long.SIZE < rows; word++) {
+            long dead = chunk.dead.get(word);
+            int end = Math.min(rows, (word + 1) * Long.SIZE);
+            for (int i = word * Long.SIZE; i < end; i++) {
+                long timestamp = timestamps[i];
+                if ((dead & (1L << i)) != 0 || timestamp < filter.fromMillis || timestamp >= filter.toMillis
+                        || (filter.currency >= 0 && currencyCodes[i] != filter.currency)
+                        || (filter.type >= 0 && typeCodes[i] != filter.type)) {
+                    continue;
+                }
+                long bucket = Math.max(0, amounts[i]) / width;
+                acc[bucket > last ? last : (int) bucket]++;
+            }
+        }
+    }
+
+    /**
+     * Run a chunk kernel over every chunk of the table and merge the per-chunk accumulators
+     */
+    private long[] scan(Table snapshot, IntFunction<long[]> accumulator, ChunkKernel kernel,
+                        BinaryOperator<long[]> merge) {
+        int chunkCount = (int) ((snapshot.rowCount + chunkRows - 1) / chunkRows);
+        if (snapshot.rowCount < PARALLEL_SCAN_ROWS) {
+            long[] acc = accumulator.apply(0);
+            for (int c = 0; c < chunkCount; c++) {
+                kernel.scan(snapshot.chunks[c], rowsIn(snapshot, c), acc);
+            }
+            return acc;
+        }
+        return scanPool.submit(() -> IntStream.range(0, chunkCount).parallel()
+                .mapToObj(c -> {
+                    long[] acc = accumulator.apply(c);
+                    kernel.scan(snapshot.chunks[c], rowsIn(snapshot, c), acc);
+                    return acc;
+                })
+                .reduce(merge)
+                .orElseGet(() -> accumulator.apply(0))).join();
+    }
+
+    private int rowsIn(Table snapshot, int chunk) {
+        return (int) Math.min(chunkRows, snapshot.rowCount - (long) chunk * chunkRows);
+    }
+
+    private Filter filter(LocalDateTime from, LocalDateTime to, String currency, String transactionType) {
+        int currencyCode = currency == null ? -1 : currencies.codeOf(currency);
+        int typeCode = transactionType == null ? -1 : types.codeOf(transactionType);
+        if ((currency != null && currencyCode < 0) || (transactionType != null && typeCode < 0)) {
+            // Nothing was ever stored with this value
+            return null;
+        }
+        return new Filter(from == null ? Long.MIN_VALUE : toMillis(from), to == null ? Long.MAX_VALUE : toMillis(to),
+                currencyCode, typeCode);
+    }
+
+    private long append(Transaction transaction, long amount) {
+        Table current = table;
+        long row = current.rowCount;
+        Chunk[] chunks = current.chunks;
+        int chunkIndex = (int) (row / chunkRows);
+        if (chunkIndex == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length + 1);
+            chunks[chunkIndex] = new Chunk(chunkRows);
+        }
+        write(chunks[chunkIndex], (int) (row % chunkRows), transaction, amount);
+        // Publishing the new row count makes the written row visible to scans
+        table = new Table(chunks, row + 1);
+        return row;
+    }
+
+    private void write(Chunk chunk, int offset, Transaction transaction, long amount) {
+        chunk.amounts[offset] = amount;
+        chunk.timestamps[offset] = transaction.getTimestamp() == null ? 0 : toMillis(transaction.getTimestamp());
+        chunk.currencies[offset] = (short) currencies.codeFor(transaction.getCurrency());
+        chunk.types[offset] = (short) types.codeFor(transaction.getTransactionType());
+    }
+
+    private void markDead(Table current, long row) {
+        Chunk chunk = current.chunks[(int) (row / chunkRows)];
+        int offset = (int) (row % chunkRows);
+        long bit = 1L << offset;
+        chunk.dead.getAndUpdate(offset / Long.SIZE, word -> word | bit);
+        deadRows++;
+    }
+
+    /**
+     * Rewrite the table without dead rows once they outnumber live ones
+     */
+    private void compactIfSparse() {
+        if (deadRows < chunkRows || deadRows <= rowById.size()) {
+            return;
+        }
+        Table current = table;
+        List<Chunk> compacted = new ArrayList<>();
+        long[] moved = new long[(int) current.rowCount];
+        long target = 0;
+        for (long row = 0; row < current.rowCount; row++) {
+            Chunk source = current.chunks[(int) (row / chunkRows)];
+            int offset = (int) (row % chunkRows);
+            if ((source.dead.get(offset / Long.SIZE) & (1L << offset)) != 0) {
+                continue;
+            }
+            int targetOffset = (int) (target % chunkRows);
+            if (targetOffset == 0) {
+                compacted.add(new Chunk(chunkRows));
+            }
+            Chunk destination = compacted.get(compacted.size() - 1);
+            destination.amounts[targetOffset] = source.amounts[offset];
+            destination.timestamps[targetOffset] = source.timestamps[offset];
+            destination.currencies[targetOffset] = source.currencies[offset];
+            destination.types[targetOffset] = source.types[offset];
+            moved[(int) row] = target++;
+        }
+        rowById.replaceAll((id, row) -> moved[row.intValue()]);
+        deadRows = 0;
+        table = new Table(compacted.toArray(new Chunk[0]), target);
+    }
+
+    /**
+     * @throws ArithmeticException if the amount exceeds {@link #MAX_AMOUNT}
+     */
+    static long toFixedPoint(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    @FunctionalInterface
+    private interface ChunkKernel {
+        void scan(Chunk chunk, int rows, long[] acc);
+    }
+
+    private record Filter(long fromMillis, long toMillis, int currency, int type) {
+    }
+
+    /**
+     * Published state: chunks and the number of rows readers may see
+     */
+    private record Table(Chunk[] chunks, long rowCount) {
+    }
+
+    /**
+     * Fixed-size block of rows, one primitive array per column
+     */
+    private static final class Chunk {
+        final long[] amounts;
+        final long[] timestamps;
+        final short[] currencies;
+        final short[] types;
+        // One bit per row, set when the row was replaced or deleted
+        final AtomicLongArray dead;
+
+        Chunk(int rows) {
+            this.amounts = new long[rows];
+            this.timestamps = new long[rows];
+            this.currencies = new short[rows];
+            this.types = new short[rows];
+            this.dead = new AtomicLongArray(rows / Long.SIZE);
+        }
+    }
+
+    /**
+     * Append-only mapping between column values and small integer codes
+     */
+    private static final class Dictionary {
+        private static final String NULL_VALUE = "UNKNOWN";
+
+        private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+        private volatile String[] names = new String[0];
+
+        synchronized int codeFor(String value) {
+            String key = value == null ? NULL_VALUE : value;
+            Integer code = codes.get(key);
+            if (code != null) {
+                return code;
+            }
+            if (names.length == Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct column values");
+            }
+            String[] grown = Arrays.copyOf(names, names.length + 1);
+            grown[names.length] = key;
+            names = grown;
+            codes.put(key, names.length - 1);
+            return names.length - 1;
+        }
+
+        int codeOf(String value) {
+            return codes.getOrDefault(value, -1);
+        }
+
+        String name(int code) {
+            return names[code];
+        }
+
+        int size() {
+            return names.length;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.hsbc.transaction.analytics;
+
+import com.hsbc.transaction.dto.AmountHistogramResponse;
+import com.hsbc.transaction.dto.AnalyticsGroupResponse;
+import com.hsbc.transaction.dto.AnalyticsSummaryResponse;
+import com.hsbc.transaction.exception.InvalidTransactionException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Transaction analytics queries
+ *
+ * Validates query parameters and runs them as scans over the
+ * {@link ColumnarTransactionStore}.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionAnalytics {
+
+    private static final int MAX_BUCKETS = 1000;
+
+    private final ColumnarTransactionStore store;
+
+    public TransactionAnalytics(ColumnarTransactionStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Count and sum transactions in a time range per currency or transaction type
+     */
+    public AnalyticsSummaryResponse summarize(LocalDateTime from, LocalDateTime to, String groupBy,
+                                              String currency, String transactionType) {
+        validateRange(from, to);
+        ColumnarTransactionStore.GroupBy grouping = parseGroupBy(groupBy);
+
+        List<AnalyticsGroupResponse> groups = store.totals(from, to, normalize(currency), normalize(transactionType), grouping)
+                .stream()
+                .map(total -> new AnalyticsGroupResponse(total.key(), total.count(), total.totalAmount()))
+                .collect(Collectors.toList());
+        long totalCount = groups.stream().mapToLong(AnalyticsGroupResponse::getCount).sum();
+        return new AnalyticsSummaryResponse(from, to, groupBy.toLowerCase(Locale.ROOT), totalCount, groups);
+    }
+
+    /**
+     * Count transactions in a time range per amount bucket
+     */
+    public AmountHistogramResponse histogram(LocalDateTime from, LocalDateTime to, String currency,
+                                             String transactionType, BigDecimal bucketWidth, int buckets) {
+        validateRange(from, to);
+        if (bucketWidth == null || bucketWidth.signum() <= 0) {
+            throw new InvalidTransactionException("Bucket width must be greater than 0");
+        }
+        if (bucketWidth.compareTo(ColumnarTransactionStore.MAX_AMOUNT) > 0) {
+            throw new InvalidTransactionException("Bucket width must not exceed " + ColumnarTransactionStore.MAX_AMOUNT);
+        }
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new InvalidTransactionException("Bucket count must be between 1 and " + MAX_BUCKETS);
+        }
+
+        long[] counts = store.histogram(from, to, normalize(currency), normalize(transactionType), bucketWidth, buckets);
+        return new AmountHistogramResponse(from, to, normalize(currency), bucketWidth,
+                Arrays.stream(counts).boxed().collect(Collectors.toList()));
+    }
+
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidTransactionException("Start of time range must be before its end");
+        }
+    }
+
+    private static ColumnarTransactionStore.GroupBy parseGroupBy(String groupBy) {
+        if ("currency".equalsIgnoreCase(groupBy)) {
+            return ColumnarTransactionStore.GroupBy.CURRENCY;
+        }
+        if ("transactionType".equalsIgnoreCase(groupBy) || "type".equalsIgnoreCase(groupBy)) {
+            return ColumnarTransactionStore.GroupBy.TRANSACTION_TYPE;
+        }
+        throw new InvalidTransactionException("Unsupported groupBy: " + groupBy + ", expected currency or transactionType");
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,326 @@
+package com.hsbc.transaction.archive;
+
+import com.hsbc.transaction.bloom.ReferenceNumberFilter;
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TimelinePosition;
+import com.hsbc.transaction.repository.TransactionRepository;
+import com.hsbc.transaction.service.TransactionMutationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Archiving Transaction Repository Implementation
+ *
+ * Wraps the hot repository and moves old transactions into the
+ * {@link TransactionArchive}. Reads fall back to the archive for records
+ * no longer held by the hot repository, and listings merge both, so
+ * archiving is invisible to callers. Updating an archived transaction
+ * brings it back into the hot repository.
+ *
+ * Account listings read the hot repository's account index and the
+ * archive's segments, so memory only holds the timelines of the hot window
+ * while older entries stay in the archive until a listing reaches them.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ArchivingTransactionRepository implements TransactionRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchivingTransactionRepository.class);
+
+    private final TransactionRepository hot;
+    private final TransactionArchive archive;
+
+    private volatile List<TransactionMutationListener> mutationListeners = List.of();
+    private volatile ReferenceNumberFilter referenceFilter;
+
+    // Readers and writers share the lock; only publishing archived segments takes it exclusively
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ArchivingTransactionRepository(TransactionRepository hot, TransactionArchive archive) {
+        this.hot = hot;
+        this.archive = archive;
+    }
+
+    /**
+     * Set listeners notified of transactions moved into the archive
+     */
+    public void setMutationListeners(List<TransactionMutationListener> mutationListeners) {
+        this.mutationListeners = List.copyOf(mutationListeners);
+    }
+
+    /**
+     * Set the reference number filter, so saves skip archive lookups for reference numbers never seen
+     */
+    public void setReferenceFilter(ReferenceNumberFilter referenceFilter) {
+        this.referenceFilter = referenceFilter;
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        if (transaction == null) {
+            throw new IllegalArgumentException("Transaction object cannot be null");
+        }
+        return read(() -> {
+            if (heldByOtherArchived(transaction)) {
+                throw new IllegalArgumentException("Reference number already exists: " + transaction.getReferenceNumber());
+            }
+            Transaction saved = hot.save(transaction);
+            // The hot copy is now the current state
+            archive.supersede(transaction.getId());
+            return saved;
+        });
+    }
+
+    @Override
+    public Set<String> saveAll(List<Transaction> transactions) {
+        return read(() -> {
+            Set<String> rejected = new HashSet<>();
+            List<Transaction> accepted = new ArrayList<>(transactions.size());
+            for (Transaction transaction : transactions) {
+                if (heldByOtherArchived(transaction)) {
+                    rejected.add(transaction.getId());
+                } else {
+                    accepted.add(transaction);
+                }
+            }
+            rejected.addAll(hot.saveAll(accepted));
+            for (Transaction transaction : accepted) {
+                if (!rejected.contains(transaction.getId())) {
+                    archive.supersede(transaction.getId());
+                }
+            }
+            return rejected;
+        });
+    }
+
+    @Override
+    public Optional<Transaction> findById(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        return read(() -> {
+            Optional<Transaction> found = hot.findById(id);
+            return found.isPresent() ? found : archive.find(id);
+        });
+    }
+
+    @Override
+    public Map<String, Transaction> findAllById(Collection<String> ids) {
+        return read(() -> {
+            Map<String, Transaction> hotFound = hot.findAllById(ids);
+            if (hotFound.size() == ids.size()) {
+                return hotFound;
+            }
+            // Keep the order of the given IDs across hot and archived records
+            Map<String, Transaction> found = new LinkedHashMap<>();
+            for (String id : ids) {
+                Transaction transaction = hotFound.get(id);
+                if (transaction != null) {
+                    found.put(id, transaction);
+                } else if (id != null && !id.trim().isEmpty()) {
+                    archive.find(id).ifPresent(archived -> found.put(id, archived));
+                }
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        return read(() -> archive.mergeAll(hot.findAll()));
+    }
+
+    @Override
+    public List<Transaction> findAll(int page, int size) {
+        if (page < 0 || size <= 0) {
+            return Collections.emptyList();
+        }
+        long offset = (long) page * size;
+        // Hot records ranked beyond offset + size in the hot list cannot reach the merged page either
+        int hotLimit = (int) Math.min(offset + size, Integer.MAX_VALUE);
+        return read(() -> archive.mergePage(hot.findAll(0, hotLimit), offset, size));
+    }
+
+    @Override
+    public long count() {
+        return read(() -> hot.count() + archive.count());
+    }
+
+    @Override
+    public Optional<Transaction> findByReferenceNumber(String referenceNumber) {
+        if (referenceNumber == null || referenceNumber.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        return read(() -> {
+            Optional<Transaction> found = hot.findByReferenceNumber(referenceNumber);
+            return found.isPresent() ? found : archive.findByReferenceNumber(referenceNumber);
+        });
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return false;
+        }
+        return read(() -> hot.deleteById(id) | archive.supersede(id));
+    }
+
+    @Override
+    public Set<String> deleteAllById(Collection<String> ids) {
+        return read(() -> {
+            Set<String> deleted = new HashSet<>(hot.deleteAllById(ids));
+            for (String id : ids) {
+                if (id != null && !id.trim().isEmpty() && archive.supersede(id)) {
+                    deleted.add(id);
+                }
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return false;
+        }
+        return read(() -> hot.existsById(id) || archive.contains(id));
+    }
+
+    @Override
+    public boolean existsByReferenceNumber(String referenceNumber) {
+        if (referenceNumber == null || referenceNumber.trim().isEmpty()) {
+            return false;
+        }
+        return read(() -> hot.existsByReferenceNumber(referenceNumber)
+                || archive.findByReferenceNumber(referenceNumber).isPresent());
+    }
+
+    @Override
+    public List<Transaction> findByAccount(String accountId, TimelinePosition after, int limit) {
+        if (accountId == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        return read(() -> {
+            List<Transaction> hotPage = hot.findByAccount(accountId, after, limit);
+            // A full hot page bounds how far back the archive can still contribute
+            TimelinePosition floor = hotPage.size() == limit ? TimelinePosition.of(hotPage.get(limit - 1)) : null;
+            List<Transaction> archived = archive.findByAccount(accountId, after, limit, floor);
+            if (archived.isEmpty()) {
+                return hotPage;
+            }
+            List<Transaction> merged = new ArrayList<>(hotPage.size() + archived.size());
+            merged.addAll(hotPage);
+            merged.addAll(archived);
+            merged.sort(TransactionArchive.NEWEST_FIRST);
+            return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+        });
+    }
+
+    /**
+     * Move transactions with a timestamp before the cutoff into the archive
+     *
+     * @param cutoff oldest timestamp kept in the hot repository
+     * @return number of transactions archived
+     */
+    public synchronized int archiveOlderThan(LocalDateTime cutoff) {
+        List<Transaction> candidates = hot.findAll().stream()
+                .filter(transaction -> transaction.getTimestamp() != null && transaction.getTimestamp().isBefore(cutoff))
+                .map(Transaction::new)
+                .toList();
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        // Compress and write without blocking requests
+        TransactionArchive.Prepared prepared = archive.prepare(candidates);
+
+        List<String> moved = new ArrayList<>(candidates.size());
+        lock.writeLock().lock();
+        try {
+            try {
+                archive.publish(prepared);
+            } catch (RuntimeException e) {
+                archive.discard(prepared);
+                throw e;
+            }
+            for (Transaction archived : candidates) {
+                Optional<Transaction> current = hot.findById(archived.getId());
+                if (current.isPresent() && sameState(current.get(), archived)) {
+                    hot.deleteById(archived.getId());
+                    moved.add(archived.getId());
+                } else {
+                    // Changed or deleted while the segment was written; the archived copy is stale
+                    archive.supersede(archived.getId());
+                }
+            }
+            // Still under the write lock, so no later change to these IDs can be overtaken
+            LocalDateTime archivedAt = LocalDateTime.now();
+            for (String id : moved) {
+                mutationListeners.forEach(listener -> listener.onArchived(id, archivedAt));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Archived {} transactions older than {}", moved.size(), cutoff);
+        return moved.size();
+    }
+
+    public long getHotCount() {
+        return hot.count();
+    }
+
+    /**
+     * Whether an archived record with another ID holds the transaction's reference number
+     */
+    private boolean heldByOtherArchived(Transaction transaction) {
+        String referenceNumber = transaction.getReferenceNumber();
+        if (referenceNumber == null || referenceNumber.trim().isEmpty()) {
+            return false;
+        }
+        // Every archived reference number was saved before, so the filter has seen it
+        ReferenceNumberFilter filter = referenceFilter;
+        if (filter != null && !filter.mightContain(referenceNumber)) {
+            return false;
+        }
+        return archive.findByReferenceNumber(referenceNumber)
+                .filter(holder -> !holder.getId().equals(transaction.getId()))
+                .isPresent();
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean sameState(Transaction a, Transaction b) {
+        return Objects.equals(a.getAmount(), b.getAmount())
+                && Objects.equals(a.getCurrency(), b.getCurrency())
+                && Objects.equals(a.getTransactionType(), b.getTransactionType())
+                && Objects.equals(a.getTimestamp(), b.getTimestamp())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getReferenceNumber(), b.getReferenceNumber())
+                && Objects.equals(a.getAccountId(), b.getAccountId())
+                && Objects.equals(a.getCounterpartyAccountId(), b.getCounterpartyAccountId());
+    }
+}
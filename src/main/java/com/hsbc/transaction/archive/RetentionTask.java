@@ -0,0 +1,75 @@
+package com.hsbc.transaction.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retention task
+ *
+ * Periodically archives transactions older than the retention age, keeping
+ * the hot repository bounded by the write rate times the retention age.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class RetentionTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetentionTask.class);
+
+    private final ArchivingTransactionRepository repository;
+    private final Duration hotRetention;
+    private final Duration interval;
+    private final Clock clock;
+
+    private ScheduledExecutorService scheduler;
+
+    public RetentionTask(ArchivingTransactionRepository repository, Duration hotRetention, Duration interval, Clock clock) {
+        this.repository = repository;
+        this.hotRetention = hotRetention;
+        this.interval = interval;
+        this.clock = clock;
+    }
+
+    /**
+     * Start periodic archiving
+     */
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("retention").factory());
+        scheduler.scheduleWithFixedDelay(this::runSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Retention started, archiving transactions older than {} every {}", hotRetention, interval);
+    }
+
+    /**
+     * Stop periodic archiving, letting a running pass finish
+     */
+    public void stop() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Archive everything older than the retention age now
+     *
+     * @return number of transactions archived
+     */
+    public int runOnce() {
+        return repository.archiveOlderThan(LocalDateTime.now(clock).minus(hotRetention));
+    }
+
+    private void runSafely() {
+        try {
+            runOnce();
+        } catch (RuntimeException e) {
+            logger.error("Archiving pass failed, retrying in {}", interval, e);
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.hsbc.transaction.archive;
+
+import com.hsbc.transaction.bloom.BloomFilter;
+import com.hsbc.transaction.model.Transaction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Immutable segment file holding the archived transactions of one day
+ *
+ * Records are sorted by ID and written in deflate-compressed blocks. The
+ * footer holds a sparse index with the first ID of every block, Bloom
+ * filters over IDs and reference numbers, and per block one Bloom filter
+ * over reference numbers and one over account IDs, so a point lookup reads
+ * at most one block and reference probes and account listings read only
+ * the blocks that may hold the key. Layout:
+ *
+ * <pre>
+ * magic, format version
+ * block*                      deflated records
+ * footer                      day, count, time range, sparse index, filters
+ * footer offset               last 8 bytes
+ * </pre>
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+final class Segment {
+
+    private static final int MAGIC = 0x54585347; // "TXSG"
+    private static final int FORMAT_VERSION = 3;
+
+    private static final Comparator<Transaction> BY_ID = Comparator.comparing(Transaction::getId);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final LocalDate day;
+    private final int recordCount;
+    private final LocalDateTime oldest;
+    private final LocalDateTime newest;
+    private final String[] firstIds;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final BloomFilter idFilter;
+    private final BloomFilter referenceFilter;
+    private final BloomFilter[] blockReferenceFilters;
+    private final BloomFilter[] accountFilters;
+
+    // Archived records replaced by a newer hot state or deleted
+    private final AtomicInteger superseded = new AtomicInteger();
+
+    private Segment(Path file, FileChannel channel, LocalDate day, int recordCount, LocalDateTime oldest,
+                    LocalDateTime newest, String[] firstIds, long[] offsets, int[] lengths,
+                    BloomFilter idFilter, BloomFilter referenceFilter, BloomFilter[] blockReferenceFilters,
+                    BloomFilter[] accountFilters) {
+        this.file = file;
+        this.channel = channel;
+        this.day = day;
+        this.recordCount = recordCount;
+        this.oldest = oldest;
+        this.newest = newest;
+        this.firstIds = firstIds;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.idFilter = idFilter;
+        this.referenceFilter = referenceFilter;
+        this.blockReferenceFilters = blockReferenceFilters;
+        this.accountFilters = accountFilters;
+    }
+
+    /**
+     * Write records of one day to a new segment file and open it
+     */
+    static Segment write(Path file, LocalDate day, List<Transaction> records, int blockRecords) {
+        List<Transaction> sorted = new ArrayList<>(records);
+        sorted.sort(BY_ID);
+
+        int blockCount = (sorted.size() + blockRecords - 1) / blockRecords;
+        String[] firstIds = new String[blockCount];
+        long[] offsets = new long[blockCount];
+        int[] lengths = new int[blockCount];
+        BloomFilter idFilter = BloomFilter.forKeys(sorted.size());
+        BloomFilter referenceFilter = BloomFilter.forKeys(sorted.size());
+        BloomFilter[] blockReferenceFilters = new BloomFilter[blockCount];
+        BloomFilter[] accountFilters = new BloomFilter[blockCount];
+        LocalDateTime oldest = null;
+        LocalDateTime newest = null;
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+
+            for (int block = 0; block < blockCount; block++) {
+                List<Transaction> slice = sorted.subList(block * blockRecords,
+                        Math.min(sorted.size(), (block + 1) * blockRecords));
+                byte[] compressed = compress(slice);
+                firstIds[block] = slice.get(0).getId();
+                offsets[block] = out.size();
+                lengths[block] = compressed.length;
+                out.write(compressed);
+
+                BloomFilter blockReferenceFilter = BloomFilter.forKeys(slice.size());
+                blockReferenceFilters[block] = blockReferenceFilter;
+                BloomFilter accountFilter = BloomFilter.forKeys(slice.size());
+                accountFilters[block] = accountFilter;
+                for (Transaction transaction : slice) {
+                    idFilter.put(transaction.getId());
+                    if (transaction.getReferenceNumber() != null) {
+                        referenceFilter.put(transaction.getReferenceNumber());
+                        blockReferenceFilter.put(transaction.getReferenceNumber());
+                    }
+                    if (transaction.getAccountId() != null) {
+                        accountFilter.put(transaction.getAccountId());
+                    }
+                    if (transaction.getCounterpartyAccountId() != null) {
+                        accountFilter.put(transaction.getCounterpartyAccountId());
+                    }
+                    LocalDateTime timestamp = transaction.getTimestamp();
+                    oldest = oldest == null || timestamp.isBefore(oldest) ? timestamp : oldest;
+                    newest = newest == null || timestamp.isAfter(newest) ? timestamp : newest;
+                }
+            }
+
+            long footerOffset = out.size();
+            out.writeLong(day.toEpochDay());
+            out.writeInt(sorted.size());
+            writeTime(out, oldest);
+            writeTime(out, newest);
+            out.writeInt(blockCount);
+            for (int block = 0; block < blockCount; block++) {
+                out.writeUTF(firstIds[block]);
+                out.writeLong(offsets[block]);
+                out.writeInt(lengths[block]);
+            }
+            idFilter.writeTo(out);
+            referenceFilter.writeTo(out);
+            for (BloomFilter blockReferenceFilter : blockReferenceFilters) {
+                blockReferenceFilter.writeTo(out);
+            }
+            for (BloomFilter accountFilter : accountFilters) {
+                accountFilter.writeTo(out);
+            }
+            out.writeLong(footerOffset);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write archive segment " + file, e);
+        }
+
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to publish archive segment " + file, e);
+        }
+        return open(file);
+    }
+
+    /**
+     * Open an existing segment file, reading only its footer
+     */
+    static Segment open(Path file) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                long size = channel.size();
+                DataInputStream header = new DataInputStream(new ByteArrayInputStream(read(channel, 0, 8)));
+                if (header.readInt() != MAGIC || header.readInt() != FORMAT_VERSION) {
+                    throw new IOException("Not an archive segment: " + file);
+                }
+                long footerOffset = ByteBuffer.wrap(read(channel, size - Long.BYTES, Long.BYTES)).getLong();
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                        read(channel, footerOffset, (int) (size - Long.BYTES - footerOffset))));
+
+                LocalDate day = LocalDate.ofEpochDay(in.readLong());
+                int recordCount = in.readInt();
+                LocalDateTime oldest = readTime(in);
+                LocalDateTime newest = readTime(in);
+                int blockCount = in.readInt();
+                String[] firstIds = new String[blockCount];
+                long[] offsets = new long[blockCount];
+                int[] lengths = new int[blockCount];
+                for (int block = 0; block < blockCount; block++) {
+                    firstIds[block] = in.readUTF();
+                    offsets[block] = in.readLong();
+                    lengths[block] = in.readInt();
+                }
+                BloomFilter idFilter = BloomFilter.readFrom(in);
+                BloomFilter referenceFilter = BloomFilter.readFrom(in);
+                BloomFilter[] blockReferenceFilters = new BloomFilter[blockCount];
+                for (int block = 0; block < blockCount; block++) {
+                    blockReferenceFilters[block] = BloomFilter.readFrom(in);
+                }
+                BloomFilter[] accountFilters = new BloomFilter[blockCount];
+                for (int block = 0; block < blockCount; block++) {
+                    accountFilters[block] = BloomFilter.readFrom(in);
+                }
+                return new Segment(file, channel, day, recordCount, oldest, newest, firstIds, offsets, lengths,
+                        idFilter, referenceFilter, blockReferenceFilters, accountFilters);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open archive segment " + file, e);
+        }
+    }
+
+    /**
+     * Index of the only block that can hold the ID, or -1
+     */
+    int blockFor(String id) {
+        if (firstIds.length == 0 || !idFilter.mightContain(id)) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(firstIds, id);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    boolean mightContainReference(String referenceNumber) {
+        return referenceFilter.mightContain(referenceNumber);
+    }
+
+    boolean mightContainReference(int block, String referenceNumber) {
+        return blockReferenceFilters[block].mightContain(referenceNumber);
+    }
+
+    boolean mightContainAccount(int block, String accountId) {
+        return accountFilters[block].mightContain(accountId);
+    }
+
+    /**
+     * Read and decompress one block; records are sorted by ID
+     */
+    List<Transaction> readBlock(int block) {
+        try {
+            byte[] compressed = read(channel, offsets[block], lengths[block]);
+            // Buffered so that field-sized reads do not each call into the inflater
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    new InflaterInputStream(new ByteArrayInputStream(compressed))));
+            int count = in.readInt();
+            List<Transaction> records = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                records.add(readRecord(in));
+            }
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read block " + block + " of " + file, e);
+        }
+    }
+
+    /**
+     * Find a record in a block read by {@link #readBlock(int)}
+     */
+    static Transaction findInBlock(List<Transaction> block, String id) {
+        int low = 0;
+        int high = block.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int cmp = block.get(middle).getId().compareTo(id);
+            if (cmp == 0) {
+                return block.get(middle);
+            }
+            if (cmp < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return null;
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Closing anyway
+        }
+    }
+
+    void delete() {
+        close();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete archive segment " + file, e);
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    LocalDate getDay() {
+        return day;
+    }
+
+    int getBlockCount() {
+        return firstIds.length;
+    }
+
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    int getLiveCount() {
+        return recordCount - superseded.get();
+    }
+
+    void markSuperseded() {
+        superseded.incrementAndGet();
+    }
+
+    LocalDateTime getOldest() {
+        return oldest;
+    }
+
+    LocalDateTime getNewest() {
+        return newest;
+    }
+
+    long getSizeBytes() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static byte[] compress(List<Transaction> records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeInt(records.size());
+            for (Transaction transaction : records) {
+                writeRecord(out, transaction);
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeRecord(DataOutput out, Transaction transaction) throws IOException {
+        out.writeUTF(transaction.getId());
+        writeNullable(out, transaction.getAmount() != null ? transaction.getAmount().toPlainString() : null);
+        writeNullable(out, transaction.getCurrency());
+        writeNullable(out, transaction.getTransactionType());
+        writeTime(out, transaction.getTimestamp());
+        writeNullable(out, transaction.getDescription());
+        writeNullable(out, transaction.getReferenceNumber());
+        writeNullable(out, transaction.getAccountId());
+        writeNullable(out, transaction.getCounterpartyAccountId());
+    }
+
+    private static Transaction readRecord(DataInput in) throws IOException {
+        String id = in.readUTF();
+        String amount = readNullable(in);
+        Transaction transaction = new Transaction(amount != null ? new BigDecimal(amount) : null,
+                readNullable(in), readNullable(in), null, null);
+        transaction.setId(id);
+        transaction.setTimestamp(readTime(in));
+        transaction.setDescription(readNullable(in));
+        transaction.setReferenceNumber(readNullable(in));
+        transaction.setAccountId(readNullable(in));
+        transaction.setCounterpartyAccountId(readNullable(in));
+        return transaction;
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeTime(DataOutput out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static byte[] read(FileChannel channel, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Archive segment truncated");
+            }
+        }
+        return buffer.array();
+    }
+}
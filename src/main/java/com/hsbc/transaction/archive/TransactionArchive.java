@@ -0,0 +1,429 @@
+package com.hsbc.transaction.archive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TimelinePosition;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Archive of transactions moved out of the hot repository
+ *
+ * Holds one immutable {@link Segment} per calendar day of the transaction
+ * timestamp. Archiving more records for a day that already has a segment
+ * writes a new generation of that segment and drops the old file, so days
+ * never overlap and the archive reads back in time order segment by
+ * segment. Decompressed blocks are kept in a small LRU block cache.
+ *
+ * Segments are never modified. A record that is deleted or updated after
+ * archiving is marked superseded and hidden from reads until the next
+ * rewrite of its segment drops it.
+ *
+ * Structural changes ({@link #publish(Prepared)}) must not run concurrently
+ * with reads; {@link ArchivingTransactionRepository} guards them with a
+ * read-write lock.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionArchive implements Closeable {
+
+    /**
+     * Order of every transaction listing: newest first, ties by ID
+     */
+    static final Comparator<Transaction> NEWEST_FIRST = Comparator
+            .comparing(Transaction::getTimestamp, Comparator.reverseOrder())
+            .thenComparing(Transaction::getId);
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Path directory;
+    private final int blockRecords;
+    private final Cache<BlockKey, List<Transaction>> blockCache;
+
+    // Newest day first
+    private final NavigableMap<LocalDate, Segment> segments = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+    // Superseded record ID to the day of the segment holding it
+    private final Map<String, LocalDate> superseded = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong archivedCount = new AtomicLong();
+
+    public TransactionArchive(Path parentDirectory, int blockRecords, long blockCacheBlocks) {
+        try {
+            Files.createDirectories(parentDirectory);
+            // Archive lives exactly as long as the in-memory store it extends
+            this.directory = Files.createTempDirectory(parentDirectory, "archive-");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create archive directory in " + parentDirectory, e);
+        }
+        this.blockRecords = blockRecords;
+        this.blockCache = Caffeine.newBuilder()
+                .maximumSize(blockCacheBlocks)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Find a live archived record
+     *
+     * @return copy of the record, empty if not archived or superseded
+     */
+    public Optional<Transaction> find(String id) {
+        if (superseded.containsKey(id)) {
+            return Optional.empty();
+        }
+        return locate(id).map(found -> new Transaction(found.record()));
+    }
+
+    /**
+     * Find a live archived record by reference number
+     */
+    public Optional<Transaction> findByReferenceNumber(String referenceNumber) {
+        for (Segment segment : segments.values()) {
+            if (!segment.mightContainReference(referenceNumber)) {
+                continue;
+            }
+            for (int block = 0; block < segment.getBlockCount(); block++) {
+                if (!segment.mightContainReference(block, referenceNumber)) {
+                    continue;
+                }
+                for (Transaction record : block(segment, block)) {
+                    if (referenceNumber.equals(record.getReferenceNumber()) && !superseded.containsKey(record.getId())) {
+                        return Optional.of(new Transaction(record));
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean contains(String id) {
+        return find(id).isPresent();
+    }
+
+    /**
+     * Hide the archived copy of a record that was updated or deleted
+     *
+     * @return true if a live archived copy existed
+     */
+    public boolean supersede(String id) {
+        Optional<Located> located = locate(id);
+        if (located.isEmpty()) {
+            return false;
+        }
+        Segment segment = located.get().segment();
+        if (superseded.putIfAbsent(id, segment.getDay()) != null) {
+            return false;
+        }
+        segment.markSuperseded();
+        return true;
+    }
+
+    /**
+     * Number of live archived records
+     */
+    public long count() {
+        long total = 0;
+        for (Segment segment : segments.values()) {
+            total += segment.getLiveCount();
+        }
+        return total;
+    }
+
+    /**
+     * All records of the hot list and the archive, newest first
+     *
+     * @param hot hot records, newest first
+     */
+    public List<Transaction> mergeAll(List<Transaction> hot) {
+        List<Transaction> merged = new ArrayList<>(hot);
+        for (Segment segment : segments.values()) {
+            merged.addAll(liveRecords(segment));
+        }
+        merged.sort(NEWEST_FIRST);
+        return merged;
+    }
+
+    /**
+     * One page of the hot list merged with the archive, newest first
+     *
+     * Whole segments before the page are skipped by their record count
+     * without being read.
+     *
+     * @param hot hot records, newest first
+     */
+    public List<Transaction> mergePage(List<Transaction> hot, long offset, int limit) {
+        List<Transaction> page = new ArrayList<>(Math.min(limit, 1024));
+        long skip = offset;
+        int next = 0;
+
+        for (Segment segment : segments.values()) {
+            // Hot records newer than the whole segment come first
+            while (next < hot.size() && hot.get(next).getTimestamp().isAfter(segment.getNewest())) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    page.add(hot.get(next));
+                    if (page.size() == limit) {
+                        return page;
+                    }
+                }
+                next++;
+            }
+
+            // Hot records falling into the segment's time range interleave with it
+            int overlapEnd = next;
+            while (overlapEnd < hot.size() && !hot.get(overlapEnd).getTimestamp().isBefore(segment.getOldest())) {
+                overlapEnd++;
+            }
+            long rangeSize = (long) segment.getLiveCount() + (overlapEnd - next);
+            if (skip >= rangeSize) {
+                skip -= rangeSize;
+                next = overlapEnd;
+                continue;
+            }
+
+            List<Transaction> range = new ArrayList<>(liveRecords(segment));
+            range.addAll(hot.subList(next, overlapEnd));
+            range.sort(NEWEST_FIRST);
+            next = overlapEnd;
+            for (Transaction transaction : range) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    page.add(transaction);
+                    if (page.size() == limit) {
+                        return page;
+                    }
+                }
+            }
+        }
+
+        while (next < hot.size() && page.size() < limit) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                page.add(hot.get(next));
+            }
+            next++;
+        }
+        return page;
+    }
+
+    /**
+     * Live archived records of an account after a position, newest first
+     *
+     * Days do not overlap, so segments are read newest first until the page
+     * is full. Segments entirely newer than the position are skipped, and of
+     * the others only blocks whose account filter admits the account are read.
+     *
+     * @param after position to continue after, null to start with the newest record
+     * @param floor stop before segments entirely older than this position, null to read on
+     */
+    public List<Transaction> findByAccount(String accountId, TimelinePosition after, int limit,
+                                           TimelinePosition floor) {
+        List<Transaction> page = new ArrayList<>(Math.min(limit, 128));
+        for (Segment segment : segments.values()) {
+            if (page.size() >= limit || (floor != null && segment.getNewest().isBefore(floor.timestamp()))) {
+                break;
+            }
+            if (after != null && segment.getOldest().isAfter(after.timestamp())) {
+                continue;
+            }
+            List<Transaction> matches = new ArrayList<>();
+            for (int block = 0; block < segment.getBlockCount(); block++) {
+                if (!segment.mightContainAccount(block, accountId)) {
+                    continue;
+                }
+                for (Transaction record : block(segment, block)) {
+                    if ((accountId.equals(record.getAccountId()) || accountId.equals(record.getCounterpartyAccountId()))
+                            && (after == null || after.isFollowedBy(record))
+                            && !superseded.containsKey(record.getId())) {
+                        matches.add(record);
+                    }
+                }
+            }
+            matches.sort(NEWEST_FIRST);
+            for (int i = 0; i < matches.size() && page.size() < limit; i++) {
+                page.add(new Transaction(matches.get(i)));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Write new segment generations for the given records
+     *
+     * Runs without blocking readers; nothing becomes visible until
+     * {@link #publish(Prepared)}.
+     */
+    Prepared prepare(List<Transaction> records) {
+        Map<LocalDate, List<Transaction>> byDay = new HashMap<>();
+        for (Transaction record : records) {
+            byDay.computeIfAbsent(record.getTimestamp().toLocalDate(), day -> new ArrayList<>())
+                    .add(new Transaction(record));
+        }
+
+        Map<LocalDate, Segment> written = new HashMap<>();
+        Map<LocalDate, Segment> replaced = new HashMap<>();
+        Set<String> dropped = new HashSet<>();
+        try {
+            for (Map.Entry<LocalDate, List<Transaction>> entry : byDay.entrySet()) {
+                LocalDate day = entry.getKey();
+                List<Transaction> content = new ArrayList<>(entry.getValue());
+                Set<String> incoming = new HashSet<>();
+                content.forEach(record -> incoming.add(record.getId()));
+
+                // Merge with the current generation of the day, leaving out superseded records
+                Segment current = segments.get(day);
+                if (current != null) {
+                    replaced.put(day, current);
+                    for (int block = 0; block < current.getBlockCount(); block++) {
+                        for (Transaction record : current.readBlock(block)) {
+                            if (superseded.containsKey(record.getId()) || incoming.contains(record.getId())) {
+                                dropped.add(record.getId());
+                            } else {
+                                content.add(record);
+                            }
+                        }
+                    }
+                }
+
+                Path file = directory.resolve("segment-" + day.format(DAY_FORMAT) + "-"
+                        + generation.incrementAndGet() + ".seg");
+                written.put(day, Segment.write(file, day, content, blockRecords));
+            }
+        } catch (RuntimeException e) {
+            written.values().forEach(Segment::delete);
+            throw e;
+        }
+        return new Prepared(written, replaced, dropped, records.size());
+    }
+
+    /**
+     * Make prepared segments visible and retire the generations they replace
+     */
+    void publish(Prepared prepared) {
+        segments.putAll(prepared.written());
+        // Records dropped by a rewrite are no longer in any segment
+        prepared.dropped().forEach(superseded::remove);
+        // Records superseded while the rewrite ran were copied into the new generation
+        superseded.values().forEach(day -> {
+            Segment written = prepared.written().get(day);
+            if (written != null && prepared.replaced().containsKey(day)) {
+                written.markSuperseded();
+            }
+        });
+        for (Segment retired : prepared.replaced().values()) {
+            blockCache.asMap().keySet().removeIf(key -> key.file().equals(retired.getFile()));
+            retired.delete();
+        }
+        archivedCount.addAndGet(prepared.recordCount());
+    }
+
+    /**
+     * Discard prepared segments that will not be published
+     */
+    void discard(Prepared prepared) {
+        prepared.written().values().forEach(Segment::delete);
+    }
+
+    private Optional<Located> locate(String id) {
+        for (Segment segment : segments.values()) {
+            int block = segment.blockFor(id);
+            if (block < 0) {
+                continue;
+            }
+            Transaction record = Segment.findInBlock(block(segment, block), id);
+            if (record != null) {
+                return Optional.of(new Located(segment, record));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private List<Transaction> liveRecords(Segment segment) {
+        List<Transaction> records = new ArrayList<>(segment.getLiveCount());
+        for (int block = 0; block < segment.getBlockCount(); block++) {
+            for (Transaction record : block(segment, block)) {
+                if (!superseded.containsKey(record.getId())) {
+                    records.add(new Transaction(record));
+                }
+            }
+        }
+        return records;
+    }
+
+    private List<Transaction> block(Segment segment, int block) {
+        return blockCache.get(new BlockKey(segment.getFile(), block), key -> segment.readBlock(block));
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public long getArchivedCount() {
+        return archivedCount.get();
+    }
+
+    public long getSizeBytes() {
+        long total = 0;
+        for (Segment segment : segments.values()) {
+            total += segment.getSizeBytes();
+        }
+        return total;
+    }
+
+    public long getBlockCacheHitCount() {
+        return blockCache.stats().hitCount();
+    }
+
+    public long getBlockCacheMissCount() {
+        return blockCache.stats().missCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        segments.values().forEach(Segment::delete);
+        segments.clear();
+        try (Stream<Path> leftovers = Files.list(directory)) {
+            for (Path leftover : leftovers.toList()) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Segments written by {@link #prepare(List)} and not yet visible
+     */
+    record Prepared(Map<LocalDate, Segment> written, Map<LocalDate, Segment> replaced,
+                           Set<String> dropped, int recordCount) {
+    }
+
+    private record Located(Segment segment, Transaction record) {
+    }
+
+    private record BlockKey(Path file, int block) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.hsbc.transaction.bloom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reference filter rebuild task
+ *
+ * Periodically rebuilds the reference number filter from the repository
+ * once enough reference numbers were deleted or replaced, so that their
+ * bits stop producing false positives.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ReferenceFilterRebuildTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceFilterRebuildTask.class);
+
+    private final ReferenceNumberFilter filter;
+    private final Supplier<? extends Iterable<String>> referenceNumbers;
+    private final Duration interval;
+    private final long minStale;
+
+    private ScheduledExecutorService scheduler;
+
+    public ReferenceFilterRebuildTask(ReferenceNumberFilter filter, Supplier<? extends Iterable<String>> referenceNumbers,
+                                      Duration interval, long minStale) {
+        this.filter = filter;
+        this.referenceNumbers = referenceNumbers;
+        this.interval = interval;
+        this.minStale = minStale;
+    }
+
+    /**
+     * Start periodic checks
+     */
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("reference-filter-rebuild").factory());
+        scheduler.scheduleWithFixedDelay(this::runSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop periodic checks, letting a running rebuild finish
+     */
+    public void stop() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Rebuild now if enough reference numbers went stale
+     *
+     * @return whether the filter was rebuilt
+     */
+    public boolean runOnce() {
+        long stale = filter.getStaleCount();
+        if (stale < minStale) {
+            return false;
+        }
+        filter.rebuild(referenceNumbers);
+        logger.info("Rebuilt reference number filter after {} deletes and reference changes", stale);
+        return true;
+    }
+
+    private void runSafely() {
+        try {
+            runOnce();
+        } catch (RuntimeException e) {
+            logger.error("Reference filter rebuild failed, retrying in {}", interval, e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.hsbc.transaction.bloom;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.service.TransactionMutationListener;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bloom filter front for reference number existence checks
+ *
+ * Holds every reference number saved since startup, so a check for a
+ * reference number the filter has never seen answers "absent" without
+ * asking the repository. Only "possibly present" answers are confirmed by
+ * the repository. The repository's own uniqueness check on save stays
+ * authoritative; the filter only saves the probe before it.
+ *
+ * Bits cannot be cleared, so deleted or replaced reference numbers stay
+ * in the filter until it is next rebuilt and show up as false positives.
+ * They are counted as stale, and a rebuild runs while the filter takes
+ * traffic: reference numbers saved during it go into both filters.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ReferenceNumberFilter implements TransactionMutationListener {
+
+    private final long initialCapacity;
+    private final double falsePositiveRate;
+
+    private volatile ScalableBloomFilter filter;
+    // Filter being rebuilt, also receiving adds until it replaces the current one
+    private volatile ScalableBloomFilter rebuilding;
+
+    private final AtomicLong skippedProbes = new AtomicLong();
+    private final AtomicLong confirmedProbes = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final AtomicLong staleReferences = new AtomicLong();
+
+    public ReferenceNumberFilter(long initialCapacity, double falsePositiveRate) {
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+    }
+
+    /**
+     * Replace the filter with one holding exactly the stored reference numbers
+     *
+     * The source is read only after adds start going into the new filter,
+     * so a reference number saved while the rebuild runs is never lost.
+     *
+     * @param referenceNumbers reads all reference numbers in the repository
+     */
+    public synchronized void rebuild(Supplier<? extends Iterable<String>> referenceNumbers) {
+        ScalableBloomFilter rebuilt = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+        rebuilding = rebuilt;
+        long stale = staleReferences.get();
+        try {
+            for (String referenceNumber : referenceNumbers.get()) {
+                if (hasText(referenceNumber)) {
+                    rebuilt.put(referenceNumber);
+                }
+            }
+            filter = rebuilt;
+            staleReferences.addAndGet(-stale);
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    /**
+     * Whether the reference number may have been saved, without probing or counting
+     */
+    public boolean mightContain(String referenceNumber) {
+        return filter.mightContain(referenceNumber);
+    }
+
+    /**
+     * Check whether a reference number exists, probing only when the filter cannot rule it out
+     *
+     * @param referenceNumber reference number to check
+     * @param probe authoritative existence check
+     * @return whether the reference number exists
+     */
+    public boolean exists(String referenceNumber, Predicate<String> probe) {
+        if (!filter.mightContain(referenceNumber)) {
+            skippedProbes.incrementAndGet();
+            return false;
+        }
+        boolean exists = probe.test(referenceNumber);
+        if (exists) {
+            confirmedProbes.incrementAndGet();
+        } else {
+            falsePositives.incrementAndGet();
+        }
+        return exists;
+    }
+
+    @Override
+    public void onSaved(Transaction transaction, LocalDateTime changedAt) {
+        if (hasText(transaction.getReferenceNumber())) {
+            // Read the rebuilding filter first: it is cleared only after it became the current one
+            ScalableBloomFilter next = rebuilding;
+            ScalableBloomFilter current = filter;
+            current.put(transaction.getReferenceNumber());
+            if (next != null && next != current) {
+                next.put(transaction.getReferenceNumber());
+            }
+        }
+    }
+
+    @Override
+    public void onUpdated(Transaction previous, Transaction transaction, LocalDateTime changedAt) {
+        if (hasText(previous.getReferenceNumber()) && !previous.getReferenceNumber().equals(transaction.getReferenceNumber())) {
+            staleReferences.incrementAndGet();
+        }
+        onSaved(transaction, changedAt);
+    }
+
+    @Override
+    public void onDeleted(String id, LocalDateTime changedAt) {
+        // Bits cannot be cleared; the reference number, if any, remains a false positive until the next rebuild
+        staleReferences.incrementAndGet();
+    }
+
+    public long getSkippedProbeCount() {
+        return skippedProbes.get();
+    }
+
+    public long getConfirmedProbeCount() {
+        return confirmedProbes.get();
+    }
+
+    public long getFalsePositiveCount() {
+        return falsePositives.get();
+    }
+
+    /**
+     * Deletes and reference number changes since the last rebuild
+     */
+    public long getStaleCount() {
+        return staleReferences.get();
+    }
+
+    /**
+     * Share of checks for absent reference numbers that still needed a probe
+     */
+    public double getObservedFalsePositiveRate() {
+        long positives = falsePositives.get();
+        long negatives = positives + skippedProbes.get();
+        return negatives == 0 ? 0.0 : (double) positives / negatives;
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        return filter.getExpectedFalsePositiveRate();
+    }
+
+    public int getLayerCount() {
+        return filter.getLayerCount();
+    }
+
+    public long getSizeBytes() {
+        return filter.getSizeBytes();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,148 @@
+package com.hsbc.transaction.bloom;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent, growable Bloom filter over strings
+ *
+ * A chain of Bloom filter layers (Almeida et al., "Scalable Bloom
+ * Filters"). Keys go into the newest layer; once it holds its capacity a
+ * layer with twice the capacity and half the false positive rate is
+ * added, so the overall rate stays below the configured target however
+ * many keys are added. Bits are set with atomic operations, so adds and
+ * lookups run concurrently without locks; only adding a layer
+ * synchronizes.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public final class ScalableBloomFilter {
+
+    // Each layer gets this fraction of the previous layer's false positive rate
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private volatile Layer[] layers;
+
+    /**
+     * @param initialCapacity keys held by the first layer
+     * @param falsePositiveRate target rate over all layers, e.g. 0.01
+     */
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        // The layer rates form a geometric series summing to the target
+        this.layers = new Layer[] {new Layer(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO))};
+    }
+
+    public void put(String key) {
+        long hash = BloomFilter.hash(key);
+        Layer[] current = layers;
+        Layer layer = current[current.length - 1];
+        while (layer.count.getAndIncrement() >= layer.capacity) {
+            layer = grow(layer);
+        }
+        layer.set(hash);
+    }
+
+    public boolean mightContain(String key) {
+        long hash = BloomFilter.hash(key);
+        for (Layer layer : layers) {
+            if (layer.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estimated false positive rate at the current fill, from the share of set bits
+     */
+    public double getExpectedFalsePositiveRate() {
+        double allMiss = 1.0;
+        for (Layer layer : layers) {
+            allMiss *= 1 - Math.pow((double) layer.setBits.get() / layer.bitCount, layer.hashes);
+        }
+        return 1 - allMiss;
+    }
+
+    public int getLayerCount() {
+        return layers.length;
+    }
+
+    public long getSizeBytes() {
+        long bits = 0;
+        for (Layer layer : layers) {
+            bits += layer.bitCount;
+        }
+        return bits / Byte.SIZE;
+    }
+
+    private synchronized Layer grow(Layer full) {
+        Layer[] current = layers;
+        Layer last = current[current.length - 1];
+        if (last != full) {
+            // Another thread already added a layer
+            return last;
+        }
+        Layer next = new Layer(full.capacity * 2, full.falsePositiveRate * TIGHTENING_RATIO);
+        Layer[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = next;
+        layers = grown;
+        return next;
+    }
+
+    /**
+     * One fixed-size filter, sized for its capacity and rate
+     */
+    private static final class Layer {
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final int hashes;
+        private final long bitCount;
+        private final AtomicLongArray words;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong setBits = new AtomicLong();
+
+        Layer(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            double ln2 = Math.log(2);
+            this.hashes = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / ln2));
+            long bits = (long) Math.ceil(capacity * -Math.log(falsePositiveRate) / (ln2 * ln2));
+            int wordCount = (int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount * Long.SIZE;
+        }
+
+        void set(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                long mask = 1L << bit;
+                int index = (int) (bit >>> 6);
+                if ((words.get(index) & mask) == 0 && (words.getAndAccumulate(index, mask, (a, b) -> a | b) & mask) == 0) {
+                    setBits.incrementAndGet();
+                }
+            }
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.hsbc.transaction.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive cache sizer
+ *
+ * Shares a memory budget between weight-bounded Caffeine caches. Every
+ * interval it estimates, for each cache, how many more hits per interval
+ * one more byte of capacity would bring: the request count times the slope
+ * of the cache's hit-rate curve at its current size. The slope is measured
+ * from the hit rates seen at the last two sizes the cache ran at; until
+ * then it is assumed that doubling the cache would remove all misses. A
+ * cache without evictions gains nothing from more capacity.
+ *
+ * The cache with the highest gain grows by one step, taken from unused
+ * budget or else from the cache with the lowest gain, which is never shrunk
+ * below the minimum size.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class AdaptiveCacheSizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveCacheSizer.class);
+
+    private final List<Sized> caches = new ArrayList<>();
+    private final long budgetBytes;
+    private final long minimumBytes;
+    private final long stepBytes;
+    private final Duration interval;
+    private final AtomicLong resizeCount = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param caches caches by name, each bounded by weight in bytes
+     * @param budgetBytes maximum total weight of all caches
+     * @param minimumBytes smallest maximum weight any cache is given
+     * @param step fraction of the budget moved per resize
+     * @param interval time between resizes
+     */
+    public AdaptiveCacheSizer(Map<String, Cache<Object, Object>> caches, long budgetBytes, long minimumBytes,
+                              double step, Duration interval) {
+        if (minimumBytes <= 0 || minimumBytes * caches.size() > budgetBytes) {
+            throw new IllegalArgumentException("Cache memory budget " + budgetBytes
+                    + " does not fit the minimum size of " + caches.size() + " caches");
+        }
+        if (step <= 0 || step >= 1) {
+            throw new IllegalArgumentException("Cache resize step must be between 0 and 1: " + step);
+        }
+        caches.forEach((name, cache) -> this.caches.add(new Sized(name, cache)));
+        this.budgetBytes = budgetBytes;
+        this.minimumBytes = minimumBytes;
+        this.stepBytes = Math.max(1, (long) (budgetBytes * step));
+        this.interval = interval;
+        fitBudget();
+    }
+
+    /**
+     * Start resizing periodically
+     */
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("cache-sizer").factory());
+        scheduler.scheduleWithFixedDelay(this::resizeSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Adaptive cache sizing started, budget {} bytes over {}", budgetBytes,
+                caches.stream().map(sized -> sized.name).toList());
+    }
+
+    /**
+     * Stop resizing
+     */
+    public void stop() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Observe the last interval and move one step of capacity to the cache that gains most from it
+     *
+     * @return whether a cache was resized
+     */
+    public synchronized boolean resize() {
+        caches.forEach(Sized::observe);
+
+        Sized taker = Collections.max(caches, (a, b) -> Double.compare(a.gain, b.gain));
+        if (taker.gain <= 0) {
+            return false;
+        }
+        long grant = Math.min(stepBytes, Math.max(0, budgetBytes - totalMaximum()));
+        if (grant < stepBytes) {
+            long needed = stepBytes - grant;
+            Sized donor = null;
+            for (Sized sized : caches) {
+                if (sized != taker && sized.gain < taker.gain && sized.getMaximum() - needed >= minimumBytes
+                        && (donor == null || sized.gain < donor.gain)) {
+                    donor = sized;
+                }
+            }
+            if (donor != null) {
+                donor.setMaximum(donor.getMaximum() - needed);
+                grant = stepBytes;
+            }
+        }
+        if (grant == 0) {
+            return false;
+        }
+        taker.setMaximum(taker.getMaximum() + grant);
+        resizeCount.incrementAndGet();
+        logger.debug("Grew cache {} by {} bytes to {}", taker.name, grant, taker.getMaximum());
+        return true;
+    }
+
+    public long getMaximumBytes(String name) {
+        return caches.stream()
+                .filter(sized -> sized.name.equals(name))
+                .findFirst()
+                .map(Sized::getMaximum)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown cache: " + name));
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public long getResizeCount() {
+        return resizeCount.get();
+    }
+
+    private void resizeSafely() {
+        try {
+            resize();
+        } catch (RuntimeException e) {
+            logger.warn("Cache resize failed", e);
+        }
+    }
+
+    /**
+     * Scale configured sizes down proportionally if together they exceed the budget
+     */
+    private void fitBudget() {
+        long total = totalMaximum();
+        if (total <= budgetBytes) {
+            return;
+        }
+        long available = budgetBytes - minimumBytes * caches.size();
+        long aboveMinimum = total - minimumBytes * caches.size();
+        for (Sized sized : caches) {
+            long share = Math.max(0, sized.getMaximum() - minimumBytes);
+            sized.setMaximum(minimumBytes + (long) ((double) share * available / Math.max(1, aboveMinimum)));
+        }
+    }
+
+    private long totalMaximum() {
+        return caches.stream().mapToLong(Sized::getMaximum).sum();
+    }
+
+    private static final class Sized {
+        private final String name;
+        private final Cache<Object, Object> cache;
+        private final Policy.Eviction<Object, Object> eviction;
+
+        private CacheStats lastStats;
+        private long sampledMaximum = -1;
+        private double sampledHitRate = Double.NaN;
+        private double slope;
+        // Whether the slope was measured rather than assumed
+        private boolean measured;
+        // Expected extra hits per interval per byte of capacity
+        private double gain;
+
+        Sized(String name, Cache<Object, Object> cache) {
+            this.name = name;
+            this.cache = cache;
+            this.eviction = cache.policy().eviction()
+                    .filter(Policy.Eviction::isWeighted)
+                    .orElseThrow(() -> new IllegalArgumentException("Cache " + name + " is not bounded by weight"));
+            this.lastStats = cache.stats();
+        }
+
+        void observe() {
+            CacheStats stats = cache.stats();
+            CacheStats delta = stats.minus(lastStats);
+            lastStats = stats;
+
+            long maximum = getMaximum();
+            if (delta.requestCount() == 0) {
+                gain = 0;
+                return;
+            }
+            double hitRate = delta.hitRate();
+            if (delta.evictionCount() == 0) {
+                // Everything requested fitted
+                slope = 0;
+                measured = false;
+            } else if (maximum != sampledMaximum && sampledMaximum > 0 && !Double.isNaN(sampledHitRate)) {
+                slope = Math.max(0, (hitRate - sampledHitRate) / (maximum - sampledMaximum));
+                measured = true;
+            } else if (!measured) {
+                slope = (1 - hitRate) / maximum;
+            }
+            sampledMaximum = maximum;
+            sampledHitRate = hitRate;
+            gain = slope * delta.requestCount();
+        }
+
+        long getMaximum() {
+            return eviction.getMaximum();
+        }
+
+        void setMaximum(long maximum) {
+            eviction.setMaximum(maximum);
+        }
+    }
+}
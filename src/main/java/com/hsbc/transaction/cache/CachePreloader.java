@@ -0,0 +1,56 @@
+package com.hsbc.transaction.cache;
+
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.util.List;
+
+/**
+ * Cache preloader
+ *
+ * Fills the single transaction cache with the most recent transactions of
+ * the repository, newest first, so that the first reads after a start are
+ * not all misses. Entries already cached are left as they are.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class CachePreloader {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachePreloader.class);
+
+    private final TransactionRepository repository;
+    private final Cache cache;
+    private final int count;
+
+    public CachePreloader(TransactionRepository repository, Cache cache, int count) {
+        this.repository = repository;
+        this.cache = cache;
+        this.count = count;
+    }
+
+    /**
+     * Load the most recent transactions into the cache
+     *
+     * @return number of transactions loaded
+     */
+    public int preload() {
+        if (count <= 0) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        // The first page of a listing is the newest transactions, without copying and sorting the store
+        List<Transaction> recent = repository.findAll(0, count);
+        // Newest first: once the cache is full, admission favours what is already in it
+        for (Transaction transaction : recent) {
+            cache.putIfAbsent(transaction.getId(), TransactionResponse.from(transaction));
+        }
+        logger.info("Preloaded {} transactions into cache {} in {} ms", recent.size(), cache.getName(),
+                (System.nanoTime() - start) / 1_000_000);
+        return recent.size();
+    }
+}
@@ -0,0 +1,73 @@
+package com.hsbc.transaction.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionResponse;
+
+/**
+ * Cache entry weigher by estimated payload bytes
+ *
+ * Estimates the heap taken by a cached transaction or page of transactions
+ * from its field contents, assuming compressed references and compact
+ * Latin-1 strings, so that cache limits can be given in bytes.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class PayloadWeigher implements Weigher<Object, Object> {
+
+    // Caffeine node with its references, key and value wrappers
+    private static final int ENTRY_OVERHEAD = 64;
+    // String object plus its byte array header
+    private static final int STRING_OVERHEAD = 40;
+    private static final int RESPONSE_OVERHEAD = 40;
+    private static final int BIG_DECIMAL = 40;
+    // LocalDateTime with its LocalDate and LocalTime
+    private static final int LOCAL_DATE_TIME = 72;
+    // PagedResponse with its ArrayList and backing array header
+    private static final int PAGE_OVERHEAD = 96;
+    private static final int REFERENCE = 4;
+    private static final int UNKNOWN_VALUE = 64;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long bytes = ENTRY_OVERHEAD + (key instanceof String string ? sizeOf(string) : UNKNOWN_VALUE) + sizeOf(value);
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    /**
+     * Estimated bytes of a cached value
+     */
+    public static long sizeOf(Object value) {
+        if (value instanceof TransactionResponse response) {
+            return sizeOf(response);
+        }
+        if (value instanceof PagedResponse<?> page) {
+            long bytes = PAGE_OVERHEAD + sizeOf(page.getSnapshot());
+            if (page.getContent() != null) {
+                for (Object item : page.getContent()) {
+                    bytes += REFERENCE + sizeOf(item);
+                }
+            }
+            return bytes;
+        }
+        return UNKNOWN_VALUE;
+    }
+
+    private static long sizeOf(TransactionResponse response) {
+        return RESPONSE_OVERHEAD
+                + sizeOf(response.getId())
+                + (response.getAmount() != null ? BIG_DECIMAL : 0)
+                + sizeOf(response.getCurrency())
+                + sizeOf(response.getTransactionType())
+                + (response.getTimestamp() != null ? LOCAL_DATE_TIME : 0)
+                + sizeOf(response.getDescription())
+                + sizeOf(response.getReferenceNumber())
+                + sizeOf(response.getAccountId())
+                + sizeOf(response.getCounterpartyAccountId());
+    }
+
+    private static long sizeOf(String string) {
+        return string == null ? 0 : STRING_OVERHEAD + string.length();
+    }
+}
@@ -0,0 +1,180 @@
+package com.hsbc.transaction.changefeed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hsbc.transaction.dto.TransactionChangeEvent;
+import com.hsbc.transaction.exception.ServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events publisher for the transaction change log
+ *
+ * Every subscriber is served by its own virtual thread that tails the log
+ * with its own cursor, so a slow consumer only delays itself. A consumer that
+ * falls further behind than the ring buffer holds, or resumes from a
+ * sequence issued before a restart, receives a {@code reset} event and
+ * continues from the oldest retained sequence.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ChangeFeedPublisher implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedPublisher.class);
+
+    public static final String RESET_EVENT = "reset";
+
+    private final TransactionChangeLog changeLog;
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final int batchSize;
+    private final Duration heartbeatInterval;
+    private final Duration emitterTimeout;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong eventsSent = new AtomicLong();
+
+    // Each event is encoded once and shared by all subscribers
+    private final Cache<Long, String> encodedEvents;
+
+    public ChangeFeedPublisher(TransactionChangeLog changeLog, ObjectMapper objectMapper, int maxSubscribers,
+                               int batchSize, Duration heartbeatInterval, Duration emitterTimeout) {
+        this.changeLog = changeLog;
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.batchSize = batchSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.emitterTimeout = emitterTimeout;
+        this.encodedEvents = Caffeine.newBuilder()
+                .maximumSize(Math.max(1024, batchSize * 4L))
+                .build();
+    }
+
+    /**
+     * Open a new subscription
+     *
+     * @param afterSequence last sequence seen by the client, or null to receive only new events
+     * @return SSE emitter streaming the events
+     */
+    public SseEmitter subscribe(Long afterSequence) {
+        if (subscriptions.size() >= maxSubscribers) {
+            throw ServiceOverloadedException.shed("change feed", 503, 5);
+        }
+
+        long cursor = afterSequence != null ? Math.max(0, afterSequence) : changeLog.getHeadSequence();
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscription subscription = new Subscription(emitter, cursor);
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+
+        subscriptions.add(subscription);
+        executor.submit(() -> stream(subscription));
+        logger.debug("Change feed subscriber added from sequence {}, subscribers: {}", cursor, subscriptions.size());
+        return emitter;
+    }
+
+    private void stream(Subscription subscription) {
+        try {
+            while (subscription.active) {
+                TransactionChangeLog.ReadResult result = changeLog.readAfter(subscription.cursor, batchSize);
+                if (result.hasGap()) {
+                    resets.incrementAndGet();
+                    subscription.emitter.send(SseEmitter.event()
+                            .name(RESET_EVENT)
+                            .data(Map.of("requestedAfter", subscription.cursor,
+                                    "oldestSequence", result.getOldestSequence()), MediaType.APPLICATION_JSON));
+                    subscription.cursor = result.getOldestSequence() - 1;
+                }
+
+                if (result.getEvents().isEmpty()) {
+                    if (!changeLog.awaitAfter(subscription.cursor, heartbeatInterval) && subscription.active) {
+                        subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    continue;
+                }
+
+                for (TransactionChangeEvent event : result.getEvents()) {
+                    subscription.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getSequence()))
+                            .name(event.getType().name())
+                            .data(encode(event), MediaType.APPLICATION_JSON));
+                    subscription.cursor = event.getSequence();
+                }
+                eventsSent.addAndGet(result.getEvents().size());
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Change feed subscriber disconnected: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            subscriptions.remove(subscription);
+            subscription.cancel();
+            subscription.emitter.complete();
+        }
+    }
+
+    private String encode(TransactionChangeEvent event) {
+        return encodedEvents.get(event.getSequence(), sequence -> {
+            try {
+                return objectMapper.writeValueAsString(event);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to encode change event " + sequence, e);
+            }
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    public long getResetCount() {
+        return resets.get();
+    }
+
+    public long getEventsSentCount() {
+        return eventsSent.get();
+    }
+
+    @Override
+    public void destroy() {
+        subscriptions.forEach(Subscription::cancel);
+        changeLog.wakeUpReaders();
+        executor.shutdownNow();
+    }
+
+    /**
+     * A connected subscriber and its position in the log
+     */
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private volatile long cursor;
+        private volatile boolean active = true;
+
+        private Subscription(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        private void cancel() {
+            active = false;
+        }
+    }
+}
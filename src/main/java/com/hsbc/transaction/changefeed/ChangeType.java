@@ -0,0 +1,13 @@
+package com.hsbc.transaction.changefeed;
+
+/**
+ * Transaction Change Type
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,195 @@
+package com.hsbc.transaction.changefeed;
+
+import com.hsbc.transaction.dto.TransactionChangeEvent;
+import com.hsbc.transaction.dto.TransactionResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process change log of transaction mutations
+ *
+ * Events get monotonically increasing sequence numbers and are kept in a
+ * bounded ring buffer. Readers never take the writer lock: they read slots
+ * directly and detect overwritten entries by their sequence number.
+ *
+ * The log lives in memory, so sequences start again at 1 when the process
+ * restarts. A reader resuming after a sequence beyond the head is therefore
+ * treated like one that fell behind: it gets a gap and the retained events.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionChangeLog {
+
+    private final AtomicReferenceArray<TransactionChangeEvent> ring;
+    private final int mask;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition appended = appendLock.newCondition();
+
+    private volatile long headSequence;
+
+    public TransactionChangeLog(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Change log capacity must be a positive power of two: " + capacity);
+        }
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Append a mutation to the log
+     *
+     * @param type change type
+     * @param transactionId transaction ID
+     * @param transaction state after the change, null for deletions
+     * @return the recorded event
+     */
+    public TransactionChangeEvent append(ChangeType type, String transactionId, TransactionResponse transaction) {
+        return append(type, transactionId, transaction, LocalDateTime.now());
+    }
+
+    /**
+     * Append a mutation that happened at the given time to the log
+     *
+     * @param type change type
+     * @param transactionId transaction ID
+     * @param transaction state after the change, null for deletions
+     * @param occurredAt time of the change
+     * @return the recorded event
+     */
+    public TransactionChangeEvent append(ChangeType type, String transactionId, TransactionResponse transaction,
+                                         LocalDateTime occurredAt) {
+        appendLock.lock();
+        try {
+            long sequence = headSequence + 1;
+            TransactionChangeEvent event = new TransactionChangeEvent(
+                    sequence, type, transactionId, occurredAt, transaction);
+            ring.set((int) (sequence & mask), event);
+            headSequence = sequence;
+            appended.signalAll();
+            return event;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Read events following a sequence number
+     *
+     * @param afterSequence last sequence the reader has seen (0 for the beginning)
+     * @param maxEvents maximum number of events to return
+     * @return the events, flagged with whether some were already overwritten or the sequence is from an earlier run
+     */
+    public ReadResult readAfter(long afterSequence, int maxEvents) {
+        long head = headSequence;
+        long oldest = getOldestSequence(head);
+        // A sequence past the head was issued before a restart
+        boolean ahead = afterSequence > head;
+        boolean gap = ahead || afterSequence + 1 < oldest;
+        long from = ahead ? oldest : Math.max(afterSequence + 1, oldest);
+        if (from > head) {
+            return new ReadResult(Collections.emptyList(), gap, oldest);
+        }
+
+        long to = Math.min(head, from + maxEvents - 1);
+        List<TransactionChangeEvent> events = new ArrayList<>((int) (to - from + 1));
+        for (long sequence = from; sequence <= to; sequence++) {
+            TransactionChangeEvent event = ring.get((int) (sequence & mask));
+            if (event == null || event.getSequence() != sequence) {
+                // A writer lapped us while reading; report the loss and let the caller resume
+                return new ReadResult(Collections.emptyList(), true, getOldestSequence(headSequence));
+            }
+            events.add(event);
+        }
+        return new ReadResult(events, gap, oldest);
+    }
+
+    /**
+     * Wait until an event newer than the given sequence exists
+     *
+     * @return whether a newer event is available
+     */
+    public boolean awaitAfter(long afterSequence, Duration timeout) throws InterruptedException {
+        if (headSequence > afterSequence) {
+            return true;
+        }
+        long remaining = timeout.toNanos();
+        appendLock.lock();
+        try {
+            while (headSequence <= afterSequence) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = appended.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Wake up all waiting readers, e.g. on shutdown
+     */
+    public void wakeUpReaders() {
+        appendLock.lock();
+        try {
+            appended.signalAll();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public long getHeadSequence() {
+        return headSequence;
+    }
+
+    public long getOldestSequence() {
+        return getOldestSequence(headSequence);
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    private long getOldestSequence(long head) {
+        return Math.max(1, head - mask);
+    }
+
+    /**
+     * Result of a log read
+     */
+    public static final class ReadResult {
+        private final List<TransactionChangeEvent> events;
+        private final boolean gap;
+        private final long oldestSequence;
+
+        private ReadResult(List<TransactionChangeEvent> events, boolean gap, long oldestSequence) {
+            this.events = events;
+            this.gap = gap;
+            this.oldestSequence = oldestSequence;
+        }
+
+        public List<TransactionChangeEvent> getEvents() {
+            return events;
+        }
+
+        /**
+         * Whether events between the requested sequence and the returned ones were lost
+         */
+        public boolean hasGap() {
+            return gap;
+        }
+
+        public long getOldestSequence() {
+            return oldestSequence;
+        }
+    }
+}
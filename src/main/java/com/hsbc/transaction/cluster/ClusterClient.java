@@ -0,0 +1,260 @@
+package com.hsbc.transaction.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.dto.BatchDeleteRequest;
+import com.hsbc.transaction.dto.BatchResponse;
+import com.hsbc.transaction.dto.BatchUpdateRequest;
+import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionHistoryResponse;
+import com.hsbc.transaction.dto.TransactionLookupRequest;
+import com.hsbc.transaction.dto.TransactionLookupResponse;
+import com.hsbc.transaction.dto.TransactionPatch;
+import com.hsbc.transaction.dto.TransactionRequest;
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.dto.TransactionSearchHit;
+import com.hsbc.transaction.exception.ClusterCommunicationException;
+import com.hsbc.transaction.exception.DuplicateTransactionException;
+import com.hsbc.transaction.exception.InsufficientFundsException;
+import com.hsbc.transaction.exception.InvalidTransactionException;
+import com.hsbc.transaction.exception.ServiceOverloadedException;
+import com.hsbc.transaction.exception.TransactionNotFoundException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * HTTP client for the internal API of other cluster nodes
+ *
+ * Remote error responses are translated back into the exceptions the
+ * owning node raised, so forwarded calls behave like local ones.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ClusterClient {
+
+    public static final String INTERNAL_PATH = "/internal/cluster";
+
+    private static final TypeReference<PagedResponse<TransactionResponse>> PAGE_TYPE = new TypeReference<>() {};
+    private static final TypeReference<PagedResponse<TransactionSearchHit>> SEARCH_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<TransactionResponse>> LIST_TYPE = new TypeReference<>() {};
+    private static final TypeReference<TransactionLookupResponse> LOOKUP_TYPE = new TypeReference<>() {};
+    private static final TypeReference<BatchResponse> BATCH_TYPE = new TypeReference<>() {};
+    private static final TypeReference<Set<String>> REFERENCES_TYPE = new TypeReference<>() {};
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+
+    public ClusterClient(ObjectMapper objectMapper, Duration connectTimeout, Duration requestTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+    }
+
+    public TransactionResponse create(ClusterMember member, TransactionRequest request) {
+        return send(member, "POST", "/transactions", request, TransactionResponse.class);
+    }
+
+    public TransactionResponse get(ClusterMember member, String id) {
+        return send(member, "GET", "/transactions/" + encode(id), null, TransactionResponse.class);
+    }
+
+    public TransactionResponse getAsOf(ClusterMember member, String id, LocalDateTime asOf) {
+        return send(member, "GET", "/transactions/" + encode(id) + "?asOf=" + encode(asOf.toString()),
+                null, TransactionResponse.class);
+    }
+
+    public TransactionHistoryResponse history(ClusterMember member, String id) {
+        return send(member, "GET", "/transactions/" + encode(id) + "/history", null, TransactionHistoryResponse.class);
+    }
+
+    public TransactionResponse update(ClusterMember member, String id, TransactionRequest request) {
+        return send(member, "PUT", "/transactions/" + encode(id), request, TransactionResponse.class);
+    }
+
+    public void delete(ClusterMember member, String id) {
+        send(member, "DELETE", "/transactions/" + encode(id), null, Void.class);
+    }
+
+    public boolean exists(ClusterMember member, String id) {
+        return Boolean.TRUE.equals(send(member, "GET", "/transactions/" + encode(id) + "/exists", null, Boolean.class));
+    }
+
+    public boolean existsByReferenceNumber(ClusterMember member, String referenceNumber) {
+        return Boolean.TRUE.equals(send(member, "GET",
+                "/references/" + encode(referenceNumber) + "/exists", null, Boolean.class));
+    }
+
+    /**
+     * Find which of the reference numbers a node stores
+     */
+    public CompletableFuture<Set<String>> existingReferenceNumbersAsync(ClusterMember member,
+                                                                      Collection<String> referenceNumbers) {
+        return sendAsync(member, "POST", "/references/exists", referenceNumbers, REFERENCES_TYPE);
+    }
+
+    /**
+     * Fetch the newest transactions stored on a node together with its local count
+     */
+    public CompletableFuture<PagedResponse<TransactionResponse>> newestAsync(ClusterMember member, int limit) {
+        return sendAsync(member, "GET", "/transactions?limit=" + limit, null, PAGE_TYPE);
+    }
+
+    /**
+     * Fetch the best search hits stored on a node together with its local hit count
+     */
+    public CompletableFuture<PagedResponse<TransactionSearchHit>> searchAsync(ClusterMember member, String query, int limit) {
+        return sendAsync(member, "GET", "/transactions/search?q=" + encode(query) + "&limit=" + limit, null, SEARCH_TYPE);
+    }
+
+    /**
+     * Fetch the transactions of an account stored on a node after a cursor
+     */
+    public CompletableFuture<List<TransactionResponse>> accountTransactionsAsync(ClusterMember member, String accountId,
+                                                                               String cursor, int limit) {
+        String query = "?limit=" + limit + (cursor != null && !cursor.isEmpty() ? "&cursor=" + encode(cursor) : "");
+        return sendAsync(member, "GET", "/accounts/" + encode(accountId) + "/transactions" + query, null, LIST_TYPE);
+    }
+
+    /**
+     * Fetch transactions stored on a node by ID
+     */
+    public CompletableFuture<TransactionLookupResponse> lookupAsync(ClusterMember member, List<String> ids) {
+        return sendAsync(member, "POST", "/transactions/lookup", new TransactionLookupRequest(ids), LOOKUP_TYPE);
+    }
+
+    /**
+     * Apply patches to transactions owned by a node
+     */
+    public CompletableFuture<BatchResponse> updateBatchAsync(ClusterMember member, List<TransactionPatch> patches) {
+        return sendAsync(member, "PATCH", "/transactions/batch", new BatchUpdateRequest(patches), BATCH_TYPE);
+    }
+
+    /**
+     * Delete transactions owned by a node
+     */
+    public CompletableFuture<BatchResponse> deleteBatchAsync(ClusterMember member, List<String> ids) {
+        return sendAsync(member, "DELETE", "/transactions/batch", new BatchDeleteRequest(ids), BATCH_TYPE);
+    }
+
+    private <T> CompletableFuture<T> sendAsync(ClusterMember member, String method, String path, Object body,
+                                               TypeReference<T> type) {
+        HttpRequest request = buildRequest(member, method, path, body);
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    checkStatus(member, response);
+                    try {
+                        return objectMapper.readValue(response.body(), type);
+                    } catch (IOException e) {
+                        throw new CompletionException(
+                                new ClusterCommunicationException("Malformed response from node " + member.getId(), e));
+                    }
+                });
+    }
+
+    private <T> T send(ClusterMember member, String method, String path, Object body, Class<T> type) {
+        HttpRequest request = buildRequest(member, method, path, body);
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw ClusterCommunicationException.unreachable(member.getId(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ClusterCommunicationException.unreachable(member.getId(), e);
+        }
+
+        checkStatus(member, response);
+        if (type == Void.class || response.body().length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new ClusterCommunicationException("Malformed response from node " + member.getId(), e);
+        }
+    }
+
+    private HttpRequest buildRequest(ClusterMember member, String method, String path, Object body) {
+        HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.noBody();
+        if (body != null) {
+            try {
+                publisher = HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to encode cluster request", e);
+            }
+        }
+        return HttpRequest.newBuilder(URI.create(member.getBaseUrl() + INTERNAL_PATH + path))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, publisher)
+                .build();
+    }
+
+    /**
+     * Translate remote error statuses into the corresponding local exceptions
+     */
+    private void checkStatus(ClusterMember member, HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        if (status < 400) {
+            return;
+        }
+        String message = errorMessage(response.body());
+        switch (status) {
+            case 400 -> throw new InvalidTransactionException(message);
+            case 404 -> throw new TransactionNotFoundException(message);
+            case 409 -> throw new DuplicateTransactionException(message);
+            case 422 -> throw new InsufficientFundsException(message);
+            case 429, 503 -> throw new ServiceOverloadedException(message, 503, retryAfter(response));
+            default -> throw new ClusterCommunicationException(
+                    "Node " + member.getId() + " answered " + status + ": " + message);
+        }
+    }
+
+    private String errorMessage(byte[] body) {
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            if (node != null && node.hasNonNull("message")) {
+                return node.get("message").asText();
+            }
+        } catch (IOException e) {
+            // Fall through to the raw body
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static int retryAfter(HttpResponse<byte[]> response) {
+        return response.headers().firstValue("Retry-After")
+                .map(value -> {
+                    try {
+                        return Integer.parseInt(value.trim());
+                    } catch (NumberFormatException e) {
+                        return 1;
+                    }
+                })
+                .orElse(1);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,49 @@
+package com.hsbc.transaction.cluster;
+
+import java.util.Objects;
+
+/**
+ * Cluster Member
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public final class ClusterMember {
+
+    private final String id;
+    private final String baseUrl;
+
+    public ClusterMember(String id, String baseUrl) {
+        this.id = id;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ClusterMember that = (ClusterMember) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ClusterMember{" +
+                "id='" + id + '\'' +
+                ", baseUrl='" + baseUrl + '\'' +
+                '}';
+    }
+}
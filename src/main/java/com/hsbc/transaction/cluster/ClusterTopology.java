@@ -0,0 +1,100 @@
+package com.hsbc.transaction.cluster;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Cluster Topology
+ *
+ * The 32-bit hash space of keys is split into equal contiguous ranges, one
+ * per member in member-ID order, so every node computes the same owner for
+ * a key without coordination.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ClusterTopology {
+
+    private final List<ClusterMember> members;
+    private final ClusterMember localMember;
+
+    public ClusterTopology(String localNodeId, Map<String, String> members) {
+        if (members == null || members.isEmpty()) {
+            throw new IllegalArgumentException("Cluster membership cannot be empty");
+        }
+        List<ClusterMember> sorted = new ArrayList<>();
+        members.forEach((id, url) -> sorted.add(new ClusterMember(id.trim(), url.trim())));
+        sorted.sort(Comparator.comparing(ClusterMember::getId));
+        this.members = List.copyOf(sorted);
+        this.localMember = this.members.stream()
+                .filter(member -> member.getId().equals(localNodeId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Local node is not a cluster member: " + localNodeId));
+    }
+
+    /**
+     * Load membership from a properties file with one "nodeId=baseUrl" entry per line
+     */
+    public static ClusterTopology fromFile(String localNodeId, Path membersFile) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(membersFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, String> members = new LinkedHashMap<>();
+        properties.stringPropertyNames().forEach(id -> members.put(id, properties.getProperty(id)));
+        return new ClusterTopology(localNodeId, members);
+    }
+
+    /**
+     * Get the member owning a key
+     */
+    public ClusterMember ownerOf(String key) {
+        return members.get(rangeOf(key, members.size()));
+    }
+
+    /**
+     * Whether this node owns a key
+     */
+    public boolean isLocal(String key) {
+        return ownerOf(key).equals(localMember);
+    }
+
+    public boolean isLocal(ClusterMember member) {
+        return localMember.equals(member);
+    }
+
+    public ClusterMember getLocalMember() {
+        return localMember;
+    }
+
+    public List<ClusterMember> getMembers() {
+        return members;
+    }
+
+    /**
+     * Map a key to one of {@code ranges} contiguous slices of the hash space
+     */
+    static int rangeOf(String key, int ranges) {
+        long hash = Integer.toUnsignedLong(mix(key.hashCode()));
+        return (int) ((hash * ranges) >>> 32);
+    }
+
+    // Murmur3 finalizer so that similar keys spread over the whole hash space
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,557 @@
+package com.hsbc.transaction.cluster;
+
+import com.hsbc.transaction.bloom.ReferenceNumberFilter;
+import com.hsbc.transaction.dto.BatchItemResult;
+import com.hsbc.transaction.dto.BatchResponse;
+import com.hsbc.transaction.dto.CursorPagedResponse;
+import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionHistoryResponse;
+import com.hsbc.transaction.dto.TransactionLookupResponse;
+import com.hsbc.transaction.dto.TransactionPatch;
+import com.hsbc.transaction.dto.TransactionRequest;
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.dto.TransactionSearchHit;
+import com.hsbc.transaction.exception.ClusterCommunicationException;
+import com.hsbc.transaction.exception.DuplicateTransactionException;
+import com.hsbc.transaction.exception.InvalidTransactionException;
+import com.hsbc.transaction.repository.TimelinePosition;
+import com.hsbc.transaction.repository.TransactionRepository;
+import com.hsbc.transaction.search.TransactionSearchIndex;
+import com.hsbc.transaction.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Cluster-aware Transaction Service
+ *
+ * Routes single-record operations to the node owning the transaction ID and
+ * answers list queries by scatter-gather over all nodes. Creates carrying a
+ * reference number are routed to the owner of that reference number, so
+ * two creates with the same reference meet on one node. Updates stay on the
+ * owner of the ID and check the other nodes first; that check is not atomic
+ * with the update, so reference uniqueness across nodes is best effort.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ClusteredTransactionService implements TransactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusteredTransactionService.class);
+
+    private static final Comparator<TransactionResponse> NEWEST_FIRST = Comparator
+            .comparing(TransactionResponse::getTimestamp, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(TransactionResponse::getId);
+
+    private static final Comparator<TransactionSearchHit> BEST_MATCH_FIRST = Comparator
+            .comparingDouble(TransactionSearchHit::getScore).reversed()
+            .thenComparing(hit -> hit.getTransaction().getTimestamp(), Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final TransactionService localService;
+    private final TransactionRepository localRepository;
+    private final ClusterTopology topology;
+    private final ClusterClient client;
+    private final int maxScatterDepth;
+    private TransactionSearchIndex searchIndex;
+    private ReferenceNumberFilter referenceFilter;
+
+    public ClusteredTransactionService(TransactionService localService, TransactionRepository localRepository,
+                                       ClusterTopology topology, ClusterClient client, int maxScatterDepth) {
+        this.localService = localService;
+        this.localRepository = localRepository;
+        this.topology = topology;
+        this.client = client;
+        this.maxScatterDepth = maxScatterDepth;
+    }
+
+    /**
+     * Set the local description search index, if search is enabled
+     */
+    public void setSearchIndex(TransactionSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Set the local reference number filter, if enabled
+     */
+    public void setReferenceFilter(ReferenceNumberFilter referenceFilter) {
+        this.referenceFilter = referenceFilter;
+    }
+
+    @Override
+    public TransactionResponse createTransaction(TransactionRequest request) {
+        ClusterMember owner = hasText(request.getReferenceNumber())
+                ? topology.ownerOf(request.getReferenceNumber())
+                : topology.getLocalMember();
+        if (topology.isLocal(owner)) {
+            return localService.createTransaction(request);
+        }
+        logger.debug("Forwarding create to node {}", owner.getId());
+        return client.create(owner, request);
+    }
+
+    @Override
+    public TransactionResponse getTransactionById(String id) {
+        requireId(id);
+        ClusterMember owner = topology.ownerOf(id);
+        if (topology.isLocal(owner)) {
+            return localService.getTransactionById(id);
+        }
+        return client.get(owner, id);
+    }
+
+    @Override
+    public TransactionLookupResponse lookupTransactions(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidTransactionException("Transaction IDs cannot be empty");
+        }
+        Set<String> distinctIds = new LinkedHashSet<>();
+        for (String id : ids) {
+            requireId(id);
+            distinctIds.add(id);
+        }
+
+        // One lookup per owning node, sent in parallel
+        Map<ClusterMember, List<String>> byOwner = new LinkedHashMap<>();
+        for (String id : distinctIds) {
+            byOwner.computeIfAbsent(topology.ownerOf(id), owner -> new ArrayList<>()).add(id);
+        }
+        Map<ClusterMember, CompletableFuture<TransactionLookupResponse>> futures = new LinkedHashMap<>();
+        byOwner.forEach((owner, ownedIds) -> futures.put(owner, topology.isLocal(owner)
+                ? CompletableFuture.completedFuture(localService.lookupTransactions(ownedIds))
+                : client.lookupAsync(owner, ownedIds)));
+
+        Map<String, TransactionResponse> found = new HashMap<>();
+        futures.forEach((owner, future) -> join(future, owner).getTransactions()
+                .forEach(response -> found.put(response.getId(), response)));
+
+        List<TransactionResponse> transactions = new ArrayList<>(found.size());
+        List<String> missingIds = new ArrayList<>();
+        for (String id : distinctIds) {
+            TransactionResponse response = found.get(id);
+            if (response != null) {
+                transactions.add(response);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new TransactionLookupResponse(transactions, missingIds);
+    }
+
+    @Override
+    public TransactionResponse getTransactionAsOf(String id, LocalDateTime asOf) {
+        requireId(id);
+        ClusterMember owner = topology.ownerOf(id);
+        if (topology.isLocal(owner)) {
+            return localService.getTransactionAsOf(id, asOf);
+        }
+        return client.getAsOf(owner, id, asOf);
+    }
+
+    @Override
+    public TransactionHistoryResponse getTransactionHistory(String id) {
+        requireId(id);
+        ClusterMember owner = topology.ownerOf(id);
+        if (topology.isLocal(owner)) {
+            return localService.getTransactionHistory(id);
+        }
+        return client.history(owner, id);
+    }
+
+    @Override
+    public PagedResponse<TransactionResponse> getTransactionsAtSnapshot(int page, int size, String snapshot) {
+        // Each node versions only its own partition, there is no cluster-wide point in time
+        throw new InvalidTransactionException("Snapshot paging is not supported in cluster mode");
+    }
+
+    @Override
+    public PagedResponse<TransactionResponse> getTransactions(int page, int size) {
+        int limit = scatterDepth(page, size);
+
+        // Scatter: every node returns its newest 'limit' records and its local count
+        List<CompletableFuture<PagedResponse<TransactionResponse>>> futures = new ArrayList<>();
+        for (ClusterMember member : topology.getMembers()) {
+            if (topology.isLocal(member)) {
+                futures.add(CompletableFuture.completedFuture(getLocalNewest(limit)));
+            } else {
+                futures.add(client.newestAsync(member, limit));
+            }
+        }
+
+        // Gather: merge the sorted slices and cut out the requested page
+        List<TransactionResponse> merged = new ArrayList<>();
+        long totalElements = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            PagedResponse<TransactionResponse> slice = join(futures.get(i), topology.getMembers().get(i));
+            merged.addAll(slice.getContent());
+            totalElements += slice.getTotalElements();
+        }
+        merged.sort(NEWEST_FIRST);
+
+        int from = Math.min(page * size, merged.size());
+        int to = Math.min(from + size, merged.size());
+        return new PagedResponse<>(new ArrayList<>(merged.subList(from, to)), page, size, totalElements);
+    }
+
+    /**
+     * Search all nodes and merge their best hits
+     *
+     * Scores are computed from each node's own term statistics, so hits of
+     * different nodes compare approximately.
+     */
+    @Override
+    public PagedResponse<TransactionSearchHit> searchTransactions(String query, int page, int size) {
+        if (!hasText(query)) {
+            throw new InvalidTransactionException("Search query cannot be empty");
+        }
+        int limit = scatterDepth(page, size);
+
+        List<CompletableFuture<PagedResponse<TransactionSearchHit>>> futures = new ArrayList<>();
+        for (ClusterMember member : topology.getMembers()) {
+            if (topology.isLocal(member)) {
+                futures.add(CompletableFuture.completedFuture(getLocalSearchHits(query, limit)));
+            } else {
+                futures.add(client.searchAsync(member, query, limit));
+            }
+        }
+
+        List<TransactionSearchHit> merged = new ArrayList<>();
+        long totalElements = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            PagedResponse<TransactionSearchHit> slice = join(futures.get(i), topology.getMembers().get(i));
+            merged.addAll(slice.getContent());
+            totalElements += slice.getTotalElements();
+        }
+        merged.sort(BEST_MATCH_FIRST);
+
+        int from = Math.min(page * size, merged.size());
+        int to = Math.min(from + size, merged.size());
+        return new PagedResponse<>(new ArrayList<>(merged.subList(from, to)), page, size, totalElements);
+    }
+
+    /**
+     * Page through an account's transactions on all nodes
+     *
+     * Every node returns its next transactions after the cursor position and
+     * the merged head is exact, so unlike offset pages a cursor page is not
+     * limited by the scatter depth.
+     */
+    @Override
+    public CursorPagedResponse<TransactionResponse> getAccountTransactions(String accountId, String cursor, int size) {
+        if (!hasText(accountId)) {
+            throw new InvalidTransactionException("Account ID cannot be empty");
+        }
+        if (size <= 0 || size > 100) {
+            throw new InvalidTransactionException("Page size must be between 1-100");
+        }
+        TimelinePosition after = null;
+        if (hasText(cursor)) {
+            try {
+                after = TimelinePosition.fromCursor(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidTransactionException("Invalid cursor: " + cursor);
+            }
+        }
+        // One extra transaction per node tells whether a next page exists
+        int limit = size + 1;
+
+        List<CompletableFuture<List<TransactionResponse>>> futures = new ArrayList<>();
+        for (ClusterMember member : topology.getMembers()) {
+            if (topology.isLocal(member)) {
+                futures.add(CompletableFuture.completedFuture(getLocalAccountTransactions(accountId, after, limit)));
+            } else {
+                futures.add(client.accountTransactionsAsync(member, accountId, cursor, limit));
+            }
+        }
+
+        List<TransactionResponse> merged = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            merged.addAll(join(futures.get(i), topology.getMembers().get(i)));
+        }
+        merged.sort(NEWEST_FIRST);
+
+        if (merged.size() <= size) {
+            return new CursorPagedResponse<>(merged, size, null);
+        }
+        List<TransactionResponse> content = new ArrayList<>(merged.subList(0, size));
+        TransactionResponse last = content.get(size - 1);
+        return new CursorPagedResponse<>(content, size, new TimelinePosition(last.getTimestamp(), last.getId()).toCursor());
+    }
+
+    @Override
+    public TransactionResponse updateTransaction(String id, TransactionRequest request) {
+        requireId(id);
+        ClusterMember owner = topology.ownerOf(id);
+
+        // The owner checks its own records; references held by other nodes are checked here, not atomically
+        if (request != null && hasText(request.getReferenceNumber())) {
+            for (ClusterMember member : topology.getMembers()) {
+                if (!member.equals(owner) && existsByReferenceNumberOn(member, request.getReferenceNumber())) {
+                    throw DuplicateTransactionException.withReferenceNumber(request.getReferenceNumber());
+                }
+            }
+        }
+
+        if (topology.isLocal(owner)) {
+            return localService.updateTransaction(id, request);
+        }
+        return client.update(owner, id, request);
+    }
+
+    @Override
+    public void deleteTransaction(String id) {
+        requireId(id);
+        ClusterMember owner = topology.ownerOf(id);
+        if (topology.isLocal(owner)) {
+            localService.deleteTransaction(id);
+        } else {
+            client.delete(owner, id);
+        }
+    }
+
+    @Override
+    public BatchResponse updateTransactions(List<TransactionPatch> patches) {
+        requireBatch(patches);
+        BatchItemResult[] results = new BatchItemResult[patches.size()];
+
+        // Owners check their own records; references held by other nodes are checked here,
+        // with one request per node for all references of the batch, sent in parallel
+        Set<String> referenceNumbers = new LinkedHashSet<>();
+        for (TransactionPatch patch : patches) {
+            if (patch != null && hasText(patch.getId()) && hasText(patch.getReferenceNumber())) {
+                referenceNumbers.add(patch.getReferenceNumber());
+            }
+        }
+        Map<ClusterMember, Set<String>> heldBy = existingReferenceNumbers(referenceNumbers);
+
+        List<Integer> forwarded = new ArrayList<>();
+        for (int i = 0; i < patches.size(); i++) {
+            TransactionPatch patch = patches.get(i);
+            if (patch != null && hasText(patch.getId()) && hasText(patch.getReferenceNumber())) {
+                ClusterMember owner = topology.ownerOf(patch.getId());
+                boolean heldElsewhere = heldBy.entrySet().stream()
+                        .anyMatch(held -> !held.getKey().equals(owner) && held.getValue().contains(patch.getReferenceNumber()));
+                if (heldElsewhere) {
+                    results[i] = BatchItemResult.failure(patch.getId(), 409,
+                            DuplicateTransactionException.withReferenceNumber(patch.getReferenceNumber()).getMessage());
+                    continue;
+                }
+            }
+            forwarded.add(i);
+        }
+
+        scatterBatch(forwarded, results, index -> patches.get(index) == null ? null : patches.get(index).getId(),
+                (owner, indexes) -> {
+                    List<TransactionPatch> owned = indexes.stream().map(patches::get).toList();
+                    return topology.isLocal(owner)
+                            ? CompletableFuture.completedFuture(localService.updateTransactions(owned))
+                            : client.updateBatchAsync(owner, owned);
+                });
+        return BatchResponse.of(Arrays.asList(results));
+    }
+
+    @Override
+    public BatchResponse deleteTransactions(List<String> ids) {
+        requireBatch(ids);
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            all.add(i);
+        }
+
+        scatterBatch(all, results, ids::get, (owner, indexes) -> {
+            List<String> owned = indexes.stream().map(ids::get).toList();
+            return topology.isLocal(owner)
+                    ? CompletableFuture.completedFuture(localService.deleteTransactions(owned))
+                    : client.deleteBatchAsync(owner, owned);
+        });
+        return BatchResponse.of(Arrays.asList(results));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        if (!hasText(id)) {
+            return false;
+        }
+        ClusterMember owner = topology.ownerOf(id);
+        if (topology.isLocal(owner)) {
+            return localService.existsById(id);
+        }
+        return client.exists(owner, id);
+    }
+
+    /**
+     * Newest transactions stored on this node, with the local count as total
+     */
+    public PagedResponse<TransactionResponse> getLocalNewest(int limit) {
+        List<TransactionResponse> content = localRepository.findAll(0, limit).stream()
+                .map(TransactionResponse::from)
+                .collect(Collectors.toList());
+        return new PagedResponse<>(content, 0, Math.max(1, limit), localRepository.count());
+    }
+
+    /**
+     * Transactions of an account stored on this node after a position, newest first
+     */
+    public List<TransactionResponse> getLocalAccountTransactions(String accountId, TimelinePosition after, int limit) {
+        return localRepository.findByAccount(accountId, after, limit).stream()
+                .map(TransactionResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Whether this node stores a transaction with the reference number
+     */
+    public boolean existsByReferenceNumberLocally(String referenceNumber) {
+        if (referenceFilter == null) {
+            return localRepository.existsByReferenceNumber(referenceNumber);
+        }
+        return referenceFilter.exists(referenceNumber, localRepository::existsByReferenceNumber);
+    }
+
+    /**
+     * Best search hits stored on this node, with the local hit count as total
+     */
+    public PagedResponse<TransactionSearchHit> getLocalSearchHits(String query, int limit) {
+        if (searchIndex == null) {
+            throw new InvalidTransactionException("Transaction search is disabled");
+        }
+        TransactionSearchIndex.Result result = searchIndex.search(query, 0, limit);
+        List<TransactionSearchHit> hits = new ArrayList<>(result.hits().size());
+        for (TransactionSearchIndex.Hit hit : result.hits()) {
+            localRepository.findById(hit.transactionId())
+                    .ifPresent(transaction -> hits.add(new TransactionSearchHit(hit.score(), TransactionResponse.from(transaction))));
+        }
+        return new PagedResponse<>(hits, 0, Math.max(1, limit), result.total());
+    }
+
+    /**
+     * Which of the reference numbers this node stores
+     */
+    public Set<String> existingReferenceNumbersLocally(Collection<String> referenceNumbers) {
+        Set<String> existing = new HashSet<>();
+        for (String referenceNumber : referenceNumbers) {
+            if (existsByReferenceNumberLocally(referenceNumber)) {
+                existing.add(referenceNumber);
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Which of the reference numbers each node stores
+     */
+    private Map<ClusterMember, Set<String>> existingReferenceNumbers(Set<String> referenceNumbers) {
+        if (referenceNumbers.isEmpty()) {
+            return Map.of();
+        }
+        Map<ClusterMember, CompletableFuture<Set<String>>> futures = new LinkedHashMap<>();
+        for (ClusterMember member : topology.getMembers()) {
+            futures.put(member, topology.isLocal(member)
+                    ? CompletableFuture.completedFuture(existingReferenceNumbersLocally(referenceNumbers))
+                    : client.existingReferenceNumbersAsync(member, referenceNumbers));
+        }
+        Map<ClusterMember, Set<String>> existing = new LinkedHashMap<>();
+        futures.forEach((member, future) -> existing.put(member, join(future, member)));
+        return existing;
+    }
+
+    private boolean existsByReferenceNumberOn(ClusterMember member, String referenceNumber) {
+        if (topology.isLocal(member)) {
+            return existsByReferenceNumberLocally(referenceNumber);
+        }
+        return client.existsByReferenceNumber(member, referenceNumber);
+    }
+
+    /**
+     * Validate page parameters and get the number of records each node must return
+     */
+    private int scatterDepth(int page, int size) {
+        if (page < 0) {
+            throw new InvalidTransactionException("Page number cannot be less than 0");
+        }
+        if (size <= 0 || size > 100) {
+            throw new InvalidTransactionException("Page size must be between 1-100");
+        }
+        long depth = (long) (page + 1) * size;
+        if (depth > maxScatterDepth) {
+            throw new InvalidTransactionException("Page too deep for a cluster query, maximum offset is " + maxScatterDepth);
+        }
+        return (int) depth;
+    }
+
+    /**
+     * Send batch items to their owning nodes in parallel and place the results at the items' positions
+     *
+     * @param indexes positions of the items to send
+     * @param idOf transaction ID of the item at a position
+     * @param send sends the items at the given positions to a node
+     */
+    private void scatterBatch(List<Integer> indexes, BatchItemResult[] results, IntFunction<String> idOf,
+                              BiFunction<ClusterMember, List<Integer>, CompletableFuture<BatchResponse>> send) {
+        Map<ClusterMember, List<Integer>> byOwner = new LinkedHashMap<>();
+        for (int index : indexes) {
+            String id = idOf.apply(index);
+            if (!hasText(id)) {
+                results[index] = BatchItemResult.failure(id, 400, "Transaction ID cannot be empty");
+            } else {
+                byOwner.computeIfAbsent(topology.ownerOf(id), owner -> new ArrayList<>()).add(index);
+            }
+        }
+
+        Map<ClusterMember, CompletableFuture<BatchResponse>> futures = new LinkedHashMap<>();
+        byOwner.forEach((owner, owned) -> futures.put(owner, send.apply(owner, owned)));
+        futures.forEach((owner, future) -> {
+            // Each node answers in the order the items were sent
+            List<BatchItemResult> ownerResults = join(future, owner).getResults();
+            List<Integer> owned = byOwner.get(owner);
+            for (int i = 0; i < owned.size(); i++) {
+                results[owned.get(i)] = ownerResults.get(i);
+            }
+        });
+    }
+
+    private static void requireBatch(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidTransactionException("Batch items cannot be empty");
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future, ClusterMember member) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime && !(e.getCause() instanceof CompletionException)) {
+                throw runtime;
+            }
+            throw ClusterCommunicationException.unreachable(member.getId(), e.getCause());
+        }
+    }
+
+    private static void requireId(String id) {
+        if (!hasText(id)) {
+            throw new InvalidTransactionException("Transaction ID cannot be empty");
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
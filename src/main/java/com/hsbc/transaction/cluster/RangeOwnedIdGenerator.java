@@ -0,0 +1,33 @@
+package com.hsbc.transaction.cluster;
+
+import com.hsbc.transaction.service.TransactionIdGenerator;
+
+import java.util.UUID;
+
+/**
+ * ID generator that only yields IDs owned by the local node
+ *
+ * Random UUIDs are drawn until one hashes into the local range; with N
+ * members this takes N attempts on average.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class RangeOwnedIdGenerator implements TransactionIdGenerator {
+
+    private final ClusterTopology topology;
+
+    public RangeOwnedIdGenerator(ClusterTopology topology) {
+        this.topology = topology;
+    }
+
+    @Override
+    public String nextId() {
+        while (true) {
+            String id = UUID.randomUUID().toString();
+            if (topology.isLocal(id)) {
+                return id;
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hsbc.transaction.config;
+
+import com.hsbc.transaction.admission.AdaptiveConcurrencyLimiter;
+import com.hsbc.transaction.admission.AdmissionControlInterceptor;
+import com.hsbc.transaction.admission.RequestCategory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admission Control Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlProperties properties;
+    private final Map<RequestCategory, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(RequestCategory.class);
+
+    public AdmissionControlConfig(AdmissionControlProperties properties) {
+        this.properties = properties;
+        limiters.put(RequestCategory.READ, createLimiter(properties.getRead()));
+        limiters.put(RequestCategory.WRITE, createLimiter(properties.getWrite()));
+        limiters.put(RequestCategory.LIST, createLimiter(properties.getList()));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        registry.addInterceptor(new AdmissionControlInterceptor(
+                        limiters, properties.getRejectStatus(), properties.getRetryAfterSeconds()))
+                .addPathPatterns("/api/transactions", "/api/transactions/**", "/api/accounts/**")
+                .excludePathPatterns("/api/transactions/health", "/api/transactions/changes");
+    }
+
+    /**
+     * Expose limiter state and shed counts as metrics
+     */
+    @Bean
+    public MeterBinder admissionControlMetrics() {
+        return registry -> limiters.forEach((category, limiter) -> {
+            Gauge.builder("transaction.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("category", category.tag())
+                    .description("Current adaptive concurrency limit")
+                    .register(registry);
+            Gauge.builder("transaction.admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("category", category.tag())
+                    .description("Requests currently admitted")
+                    .register(registry);
+            FunctionCounter.builder("transaction.admission.accepted", limiter, AdaptiveConcurrencyLimiter::getAcceptedCount)
+                    .tag("category", category.tag())
+                    .description("Requests admitted by the limiter")
+                    .register(registry);
+            FunctionCounter.builder("transaction.admission.shed", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                    .tag("category", category.tag())
+                    .description("Requests rejected by the limiter")
+                    .register(registry);
+        });
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter(AdmissionControlProperties.Budget budget) {
+        return new AdaptiveConcurrencyLimiter(
+                budget.getInitialLimit(),
+                budget.getMinLimit(),
+                budget.getMaxLimit(),
+                properties.getBackoffRatio(),
+                properties.getLatencyTolerance());
+    }
+}
@@ -0,0 +1,148 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Admission Control Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.admission")
+public class AdmissionControlProperties {
+
+    /**
+     * Whether admission control is enabled
+     */
+    private boolean enabled = true;
+
+    /**
+     * HTTP status returned for shed requests (503 or 429)
+     */
+    private int rejectStatus = 503;
+
+    /**
+     * Value of the Retry-After header in seconds
+     */
+    private int retryAfterSeconds = 1;
+
+    /**
+     * Multiplicative decrease applied when latency rises
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Latency above baseline * tolerance is treated as congestion
+     */
+    private double latencyTolerance = 2.0;
+
+    private Budget read = new Budget(64, 8, 400);
+    private Budget write = new Budget(32, 4, 200);
+    private Budget list = new Budget(8, 2, 50);
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getRejectStatus() {
+        return rejectStatus;
+    }
+
+    public void setRejectStatus(int rejectStatus) {
+        this.rejectStatus = rejectStatus;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    public void setLatencyTolerance(double latencyTolerance) {
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    public Budget getRead() {
+        return read;
+    }
+
+    public void setRead(Budget read) {
+        this.read = read;
+    }
+
+    public Budget getWrite() {
+        return write;
+    }
+
+    public void setWrite(Budget write) {
+        this.write = write;
+    }
+
+    public Budget getList() {
+        return list;
+    }
+
+    public void setList(Budget list) {
+        this.list = list;
+    }
+
+    /**
+     * Concurrency budget of a single request category
+     */
+    public static class Budget {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Budget() {}
+
+        public Budget(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.hsbc.transaction.config;
+
+import com.hsbc.transaction.analytics.ColumnarTransactionStore;
+import com.hsbc.transaction.analytics.TransactionAnalytics;
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TransactionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDateTime;
+
+/**
+ * Analytics Configuration Class
+ *
+ * Analytics cannot run in cluster mode: the columnar store holds only the
+ * transactions a node owns, so aggregates would silently cover one share
+ * of the data set.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties({AnalyticsProperties.class, ClusterProperties.class})
+@ConditionalOnProperty(prefix = "transaction.analytics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AnalyticsConfig {
+
+    /**
+     * Configure columnar store, seeded with the repository's current content
+     */
+    @Bean
+    public ColumnarTransactionStore columnarTransactionStore(TransactionRepository transactionRepository,
+                                                             AnalyticsProperties properties,
+                                                             ClusterProperties clusterProperties) {
+        if (clusterProperties.isEnabled()) {
+            throw new IllegalStateException("Analytics cannot be enabled in cluster mode; "
+                    + "set transaction.analytics.enabled=false");
+        }
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        ColumnarTransactionStore store = new ColumnarTransactionStore(properties.getChunkRows(), parallelism);
+        LocalDateTime now = LocalDateTime.now();
+        for (Transaction transaction : transactionRepository.findAll()) {
+            store.onSaved(transaction, now);
+        }
+        return store;
+    }
+
+    /**
+     * Configure analytics queries
+     */
+    @Bean
+    public TransactionAnalytics transactionAnalytics(ColumnarTransactionStore columnarTransactionStore) {
+        return new TransactionAnalytics(columnarTransactionStore);
+    }
+
+    /**
+     * Expose columnar store size as metrics
+     */
+    @Bean
+    public MeterBinder analyticsMetrics(ColumnarTransactionStore columnarTransactionStore) {
+        return registry -> {
+            Gauge.builder("transaction.analytics.rows", columnarTransactionStore, ColumnarTransactionStore::getRowCount)
+                    .description("Rows in the columnar store, including replaced rows not yet compacted")
+                    .register(registry);
+            Gauge.builder("transaction.analytics.rows.live", columnarTransactionStore, ColumnarTransactionStore::getLiveRowCount)
+                    .description("Current transactions in the columnar store")
+                    .register(registry);
+            Gauge.builder("transaction.analytics.chunks", columnarTransactionStore, ColumnarTransactionStore::getChunkCount)
+                    .description("Column chunks allocated")
+                    .register(registry);
+            FunctionCounter.builder("transaction.analytics.unsupported.amounts", columnarTransactionStore,
+                            ColumnarTransactionStore::getUnsupportedAmountCount)
+                    .description("Transactions left out of analytics because their amount is too large")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Analytics Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.analytics")
+public class AnalyticsProperties {
+
+    /**
+     * Whether the columnar store and analytics API are enabled
+     */
+    private boolean enabled = true;
+
+    /**
+     * Rows per column chunk; rounded down to a multiple of 64
+     */
+    private int chunkRows = 16384;
+
+    /**
+     * Threads scanning chunks in parallel, 0 for the number of CPU cores
+     */
+    private int parallelism = 0;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    public void setChunkRows(int chunkRows) {
+        this.chunkRows = chunkRows;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
@@ -1,12 +1,33 @@
 package com.hsbc.transaction.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.hsbc.transaction.cache.AdaptiveCacheSizer;
+import com.hsbc.transaction.cache.CachePreloader;
+import com.hsbc.transaction.cache.PayloadWeigher;
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.hotkey.HotKeyAwareCache;
+import com.hsbc.transaction.hotkey.HotKeySketch;
+import com.hsbc.transaction.repository.TransactionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 /**
  * Cache Configuration Class
@@ -15,24 +36,126 @@ import java.util.concurrent.TimeUnit;
  * @version 1.0.0
  */
 @Configuration
+@EnableConfigurationProperties(TransactionCacheProperties.class)
 public class CacheConfig {
 
     /**
-     * Configure Caffeine cache manager
+     * Configure Caffeine cache manager, each cache bounded by estimated payload bytes
      */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                // Maximum cache entries
-                .maximumSize(1000)
-                // Cache expiration time: expire 1 hour after write
-                .expireAfterWrite(1, TimeUnit.HOURS)
-                // Record cache hit rate statistics
-                .recordStats());
+    public CacheManager cacheManager(TransactionCacheProperties properties, TransactionRepository transactionRepository,
+                                     ObjectProvider<HotKeySketch> hotKeySketch,
+                                     ObjectProvider<HotKeyProperties> hotKeyProperties) {
+        if (properties.getTransactionList().getRefreshAfterWrite() != null) {
+            throw new IllegalStateException("The transaction list cache is emptied by every write and cannot be refreshed");
+        }
+        // Single transactions are reloaded from the repository when refreshed
+        Function<Object, Object> loader = id -> transactionRepository.findById((String) id)
+                .map(TransactionResponse::from)
+                .orElse(null);
+        HotKeySketch sketch = hotKeySketch.getIfAvailable();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                if (sketch != null && TRANSACTION_CACHE.equals(name)) {
+                    return new HotKeyAwareCache(name, cache, sketch, loader,
+                            hotKeyProperties.getObject().getRefreshAheadAge(), ForkJoinPool.commonPool());
+                }
+                return super.adaptCaffeineCache(name, cache);
+            }
+        };
+        cacheManager.registerCustomCache(TRANSACTION_CACHE, build(properties.getTransactions(), loader::apply));
+        cacheManager.registerCustomCache(TRANSACTION_LIST_CACHE, build(properties.getTransactionList(), null));
         return cacheManager;
     }
 
+    /**
+     * Configure loading of the most recent transactions into the single transaction cache
+     */
+    @Bean(initMethod = "preload")
+    public CachePreloader cachePreloader(CacheManager cacheManager, TransactionRepository transactionRepository,
+                                         TransactionCacheProperties properties) {
+        return new CachePreloader(transactionRepository, cacheManager.getCache(TRANSACTION_CACHE),
+                properties.getPreloadCount());
+    }
+
+    /**
+     * Configure resizing of the caches within a shared memory budget
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "transaction.cache.adaptive", name = "enabled", havingValue = "true")
+    public AdaptiveCacheSizer adaptiveCacheSizer(CacheManager cacheManager, TransactionCacheProperties properties) {
+        Map<String, Cache<Object, Object>> caches = new LinkedHashMap<>();
+        for (String name : List.of(TRANSACTION_CACHE, TRANSACTION_LIST_CACHE)) {
+            caches.put(name, nativeCache(cacheManager, name));
+        }
+        TransactionCacheProperties.Adaptive adaptive = properties.getAdaptive();
+        return new AdaptiveCacheSizer(caches, adaptive.getMemoryBudgetBytes(), adaptive.getMinimumBytes(),
+                adaptive.getStep(), adaptive.getInterval());
+    }
+
+    /**
+     * Expose cache limits and estimated sizes as metrics
+     */
+    @Bean
+    public MeterBinder transactionCacheMetrics(CacheManager cacheManager) {
+        return registry -> {
+            for (String name : List.of(TRANSACTION_CACHE, TRANSACTION_LIST_CACHE)) {
+                Cache<Object, Object> cache = nativeCache(cacheManager, name);
+                Gauge.builder("transaction.cache.maximum.bytes", cache,
+                                c -> c.policy().eviction().map(Policy.Eviction::getMaximum).orElse(-1L))
+                        .description("Maximum estimated payload bytes of the cache")
+                        .tag("cache", name)
+                        .baseUnit("bytes")
+                        .register(registry);
+                Gauge.builder("transaction.cache.size.bytes", cache,
+                                c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(-1L)).orElse(-1L))
+                        .description("Estimated payload bytes held by the cache")
+                        .tag("cache", name)
+                        .baseUnit("bytes")
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Expose adaptive resizing as metrics
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "transaction.cache.adaptive", name = "enabled", havingValue = "true")
+    public MeterBinder adaptiveCacheMetrics(AdaptiveCacheSizer adaptiveCacheSizer) {
+        return registry -> {
+            FunctionCounter.builder("transaction.cache.resizes", adaptiveCacheSizer, AdaptiveCacheSizer::getResizeCount)
+                    .description("Capacity steps moved between caches by adaptive sizing")
+                    .register(registry);
+            Gauge.builder("transaction.cache.budget.bytes", adaptiveCacheSizer, AdaptiveCacheSizer::getBudgetBytes)
+                    .description("Memory budget shared by the caches")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    private static Cache<Object, Object> build(TransactionCacheProperties.Spec spec, CacheLoader<Object, Object> loader) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                // Maximum estimated payload bytes
+                .maximumWeight(spec.getMaximumBytes())
+                .weigher(new PayloadWeigher())
+                // Record cache hit rate statistics
+                .recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getRefreshAfterWrite() != null) {
+            builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+            return builder.build(loader);
+        }
+        return builder.build();
+    }
+
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+
     /**
      * Transaction cache name constants
      */
@@ -0,0 +1,39 @@
+package com.hsbc.transaction.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.wire.CompactTransactionModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * CBOR Wire Format Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(CborProperties.class)
+@ConditionalOnProperty(prefix = "transaction.cbor", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CborConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper cborMapper;
+
+    public CborConfig(ObjectMapper objectMapper) {
+        this.cborMapper = CompactTransactionModule.cborMapper(objectMapper);
+    }
+
+    /**
+     * Offer application/cbor after JSON, so JSON stays the default for clients accepting anything
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+    }
+}
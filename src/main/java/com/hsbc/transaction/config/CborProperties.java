@@ -0,0 +1,27 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CBOR Wire Format Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.cbor")
+public class CborProperties {
+
+    /**
+     * Whether application/cbor is offered alongside JSON
+     */
+    private boolean enabled = true;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
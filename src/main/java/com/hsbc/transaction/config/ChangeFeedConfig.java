@@ -0,0 +1,68 @@
+package com.hsbc.transaction.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.changefeed.ChangeFeedPublisher;
+import com.hsbc.transaction.changefeed.TransactionChangeLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Change Feed Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedConfig {
+
+    /**
+     * Configure transaction change log
+     */
+    @Bean
+    public TransactionChangeLog transactionChangeLog(ChangeFeedProperties properties) {
+        return new TransactionChangeLog(properties.getBufferCapacity());
+    }
+
+    /**
+     * Configure SSE publisher of the change log
+     */
+    @Bean
+    public ChangeFeedPublisher changeFeedPublisher(TransactionChangeLog transactionChangeLog,
+                                                   ObjectMapper objectMapper,
+                                                   ChangeFeedProperties properties) {
+        return new ChangeFeedPublisher(
+                transactionChangeLog,
+                objectMapper,
+                properties.getMaxSubscribers(),
+                properties.getBatchSize(),
+                properties.getHeartbeatInterval(),
+                properties.getEmitterTimeout());
+    }
+
+    /**
+     * Expose change feed state as metrics
+     */
+    @Bean
+    public MeterBinder changeFeedMetrics(TransactionChangeLog transactionChangeLog,
+                                         ChangeFeedPublisher changeFeedPublisher) {
+        return registry -> {
+            Gauge.builder("transaction.changefeed.head.sequence", transactionChangeLog, TransactionChangeLog::getHeadSequence)
+                    .description("Sequence number of the latest recorded change")
+                    .register(registry);
+            Gauge.builder("transaction.changefeed.subscribers", changeFeedPublisher, ChangeFeedPublisher::getSubscriberCount)
+                    .description("Connected change feed subscribers")
+                    .register(registry);
+            FunctionCounter.builder("transaction.changefeed.events.sent", changeFeedPublisher, ChangeFeedPublisher::getEventsSentCount)
+                    .description("Change events delivered to subscribers")
+                    .register(registry);
+            FunctionCounter.builder("transaction.changefeed.resets", changeFeedPublisher, ChangeFeedPublisher::getResetCount)
+                    .description("Subscribers that fell behind the ring buffer")
+                    .register(registry);
+        };
+    }
+}
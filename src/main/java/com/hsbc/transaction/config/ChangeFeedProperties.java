@@ -0,0 +1,81 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Change Feed Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.change-feed")
+public class ChangeFeedProperties {
+
+    /**
+     * Number of events retained in the ring buffer (power of two)
+     */
+    private int bufferCapacity = 65536;
+
+    /**
+     * Maximum number of concurrent SSE subscribers
+     */
+    private int maxSubscribers = 256;
+
+    /**
+     * Maximum number of events sent per read of the log
+     */
+    private int batchSize = 256;
+
+    /**
+     * Interval of heartbeat comments on an idle stream
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Lifetime of a single SSE connection before the client must reconnect
+     */
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+
+    // Getters and Setters
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public void setBufferCapacity(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getEmitterTimeout() {
+        return emitterTimeout;
+    }
+
+    public void setEmitterTimeout(Duration emitterTimeout) {
+        this.emitterTimeout = emitterTimeout;
+    }
+}
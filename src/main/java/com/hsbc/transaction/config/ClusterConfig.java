@@ -0,0 +1,93 @@
+package com.hsbc.transaction.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.bloom.ReferenceNumberFilter;
+import com.hsbc.transaction.cluster.ClusterClient;
+import com.hsbc.transaction.cluster.ClusterTopology;
+import com.hsbc.transaction.cluster.ClusteredTransactionService;
+import com.hsbc.transaction.cluster.RangeOwnedIdGenerator;
+import com.hsbc.transaction.repository.TransactionRepository;
+import com.hsbc.transaction.search.TransactionSearchIndex;
+import com.hsbc.transaction.service.TransactionIdGenerator;
+import com.hsbc.transaction.service.impl.TransactionServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Cluster Mode Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(ClusterProperties.class)
+@ConditionalOnProperty(prefix = "transaction.cluster", name = "enabled", havingValue = "true")
+public class ClusterConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterConfig.class);
+
+    /**
+     * Configure cluster topology from static or file-based membership
+     */
+    @Bean
+    public ClusterTopology clusterTopology(ClusterProperties properties) {
+        ClusterTopology topology;
+        if (properties.getMembersFile() != null && !properties.getMembersFile().isBlank()) {
+            try {
+                topology = ClusterTopology.fromFile(properties.getNodeId(), Path.of(properties.getMembersFile()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read cluster members file: " + properties.getMembersFile(), e);
+            }
+        } else {
+            topology = new ClusterTopology(properties.getNodeId(), properties.getMembers());
+        }
+        logger.info("Cluster mode enabled, local node: {}, members: {}",
+                topology.getLocalMember().getId(), topology.getMembers());
+        return topology;
+    }
+
+    /**
+     * Configure client for calls to other nodes
+     */
+    @Bean
+    public ClusterClient clusterClient(ObjectMapper objectMapper, ClusterProperties properties) {
+        return new ClusterClient(objectMapper, properties.getConnectTimeout(), properties.getRequestTimeout());
+    }
+
+    /**
+     * Only create IDs that fall into the local node's range
+     */
+    @Bean
+    public TransactionIdGenerator rangeOwnedIdGenerator(ClusterTopology clusterTopology) {
+        return new RangeOwnedIdGenerator(clusterTopology);
+    }
+
+    /**
+     * Cluster-aware service used by the public API
+     */
+    @Bean
+    @Primary
+    public ClusteredTransactionService clusteredTransactionService(TransactionServiceImpl transactionServiceImpl,
+                                                                   TransactionRepository transactionRepository,
+                                                                   ClusterTopology clusterTopology,
+                                                                   ClusterClient clusterClient,
+                                                                   ClusterProperties properties,
+                                                                   ObjectProvider<TransactionSearchIndex> searchIndex,
+                                                                   ObjectProvider<ReferenceNumberFilter> referenceFilter) {
+        ClusteredTransactionService service = new ClusteredTransactionService(transactionServiceImpl, transactionRepository,
+                clusterTopology, clusterClient, properties.getMaxScatterDepth());
+        searchIndex.ifAvailable(service::setSearchIndex);
+        referenceFilter.ifAvailable(service::setReferenceFilter);
+        return service;
+    }
+}
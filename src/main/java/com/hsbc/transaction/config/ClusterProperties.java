@@ -0,0 +1,109 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cluster Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.cluster")
+public class ClusterProperties {
+
+    /**
+     * Whether cluster mode is enabled
+     */
+    private boolean enabled = false;
+
+    /**
+     * ID of this node; must be one of the members
+     */
+    private String nodeId;
+
+    /**
+     * Static membership: node ID to base URL, e.g. node-1: http://localhost:8081
+     */
+    private Map<String, String> members = new LinkedHashMap<>();
+
+    /**
+     * Optional properties file with one "nodeId=baseUrl" line per member; overrides static members
+     */
+    private String membersFile;
+
+    /**
+     * Connect timeout for calls to other nodes
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Request timeout for calls to other nodes
+     */
+    private Duration requestTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Maximum number of newest records gathered from each node for one list query
+     */
+    private int maxScatterDepth = 10_000;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Map<String, String> getMembers() {
+        return members;
+    }
+
+    public void setMembers(Map<String, String> members) {
+        this.members = members;
+    }
+
+    public String getMembersFile() {
+        return membersFile;
+    }
+
+    public void setMembersFile(String membersFile) {
+        this.membersFile = membersFile;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public int getMaxScatterDepth() {
+        return maxScatterDepth;
+    }
+
+    public void setMaxScatterDepth(int maxScatterDepth) {
+        this.maxScatterDepth = maxScatterDepth;
+    }
+}
@@ -0,0 +1,68 @@
+package com.hsbc.transaction.config;
+
+import com.hsbc.transaction.history.ColdVersionStore;
+import com.hsbc.transaction.history.TransactionHistoryStore;
+import com.hsbc.transaction.repository.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Transaction History Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(HistoryProperties.class)
+@ConditionalOnProperty(prefix = "transaction.history", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HistoryConfig {
+
+    /**
+     * Configure on-disk store for older versions
+     */
+    @Bean(destroyMethod = "close")
+    public ColdVersionStore coldVersionStore(HistoryProperties properties) {
+        return new ColdVersionStore(properties.getColdDirectory());
+    }
+
+    /**
+     * Configure version history; transactions not updated since are read from the repository
+     */
+    @Bean
+    public TransactionHistoryStore transactionHistoryStore(ColdVersionStore coldVersionStore,
+                                                           TransactionRepository transactionRepository,
+                                                           HistoryProperties properties) {
+        return new TransactionHistoryStore(coldVersionStore, properties.getHotVersions(),
+                transactionRepository::findById);
+    }
+
+    /**
+     * Expose history size as metrics
+     */
+    @Bean
+    public MeterBinder historyMetrics(TransactionHistoryStore transactionHistoryStore) {
+        return registry -> {
+            Gauge.builder("transaction.history.tracked", transactionHistoryStore, TransactionHistoryStore::getTrackedTransactionCount)
+                    .description("Updated transactions with recorded history")
+                    .register(registry);
+            Gauge.builder("transaction.history.versions", transactionHistoryStore, TransactionHistoryStore::getVersionCount)
+                    .description("Recorded transaction versions")
+                    .register(registry);
+            Gauge.builder("transaction.history.versions.cold", transactionHistoryStore, TransactionHistoryStore::getColdVersionCount)
+                    .description("Transaction versions moved to disk")
+                    .register(registry);
+            Gauge.builder("transaction.history.cold.bytes", transactionHistoryStore, TransactionHistoryStore::getColdStoreBytes)
+                    .description("Size of the on-disk version file")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("transaction.history.cold.free.bytes", transactionHistoryStore, TransactionHistoryStore::getColdStoreFreeBytes)
+                    .description("Space in the on-disk version file freed by deleted transactions and reused for new versions")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+}
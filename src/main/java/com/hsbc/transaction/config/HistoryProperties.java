@@ -0,0 +1,55 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Transaction History Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.history")
+public class HistoryProperties {
+
+    /**
+     * Whether prior versions of transactions are kept
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of most recent prior versions per transaction kept on the heap
+     */
+    private int hotVersions = 8;
+
+    /**
+     * Directory for the file holding older versions
+     */
+    private Path coldDirectory = Path.of(System.getProperty("java.io.tmpdir"), "transaction-history");
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getHotVersions() {
+        return hotVersions;
+    }
+
+    public void setHotVersions(int hotVersions) {
+        this.hotVersions = hotVersions;
+    }
+
+    public Path getColdDirectory() {
+        return coldDirectory;
+    }
+
+    public void setColdDirectory(Path coldDirectory) {
+        this.coldDirectory = coldDirectory;
+    }
+}
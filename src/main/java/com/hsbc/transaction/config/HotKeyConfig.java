@@ -0,0 +1,53 @@
+package com.hsbc.transaction.config;
+
+import com.hsbc.transaction.hotkey.HotKeyAwareCache;
+import com.hsbc.transaction.hotkey.HotKeySketch;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hot Key Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(HotKeyProperties.class)
+@ConditionalOnProperty(prefix = "transaction.hot-keys", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HotKeyConfig {
+
+    /**
+     * Configure sketch of single transaction reads; the cache manager keeps its hot keys loaded
+     */
+    @Bean
+    public HotKeySketch hotKeySketch(HotKeyProperties properties) {
+        return new HotKeySketch(properties.getSketchWidth(), properties.getCapacity(), properties.getMinReads(),
+                properties.getSampleSize());
+    }
+
+    /**
+     * Expose hot key tracking as metrics
+     */
+    @Bean
+    public MeterBinder hotKeyMetrics(HotKeySketch hotKeySketch, CacheManager cacheManager) {
+        return registry -> {
+            Gauge.builder("transaction.hot-keys.count", hotKeySketch, HotKeySketch::getHotKeyCount)
+                    .description("Transactions currently read often enough to be hot")
+                    .register(registry);
+            FunctionCounter.builder("transaction.hot-keys.reads", hotKeySketch, HotKeySketch::getRecordCount)
+                    .description("Single transaction reads recorded in the sketch")
+                    .register(registry);
+            if (cacheManager.getCache(CacheConfig.TRANSACTION_CACHE) instanceof HotKeyAwareCache cache) {
+                FunctionCounter.builder("transaction.hot-keys.reloads", cache, HotKeyAwareCache::getReloadCount)
+                        .description("Hot keys reloaded instead of evicted, or refreshed ahead of expiry")
+                        .register(registry);
+            }
+        };
+    }
+}
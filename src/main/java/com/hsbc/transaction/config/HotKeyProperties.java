@@ -0,0 +1,94 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Hot Key Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.hot-keys")
+public class HotKeyProperties {
+
+    /**
+     * Whether reads of single transactions are tracked and hot keys kept loaded in the cache
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of hot keys
+     */
+    private int capacity = 64;
+
+    /**
+     * Estimated reads within the current sample needed to become hot
+     */
+    private int minReads = 100;
+
+    /**
+     * Reads after which all sketch counters are halved
+     */
+    private long sampleSize = 100_000;
+
+    /**
+     * Counters per sketch row
+     */
+    private int sketchWidth = 16_384;
+
+    /**
+     * Age after which a read hot key is reloaded in the background, unset for never
+     */
+    private Duration refreshAheadAge = Duration.ofMinutes(30);
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getMinReads() {
+        return minReads;
+    }
+
+    public void setMinReads(int minReads) {
+        this.minReads = minReads;
+    }
+
+    public long getSampleSize() {
+        return sampleSize;
+    }
+
+    public void setSampleSize(long sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+
+    public int getSketchWidth() {
+        return sketchWidth;
+    }
+
+    public void setSketchWidth(int sketchWidth) {
+        this.sketchWidth = sketchWidth;
+    }
+
+    public Duration getRefreshAheadAge() {
+        return refreshAheadAge;
+    }
+
+    public void setRefreshAheadAge(Duration refreshAheadAge) {
+        this.refreshAheadAge = refreshAheadAge;
+    }
+}
@@ -0,0 +1,61 @@
+package com.hsbc.transaction.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.idempotency.IdempotencyFilter;
+import com.hsbc.transaction.idempotency.IdempotencyStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Idempotency Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(prefix = "transaction.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    /**
+     * Configure idempotency key store
+     */
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties) {
+        return new IdempotencyStore(properties.getMaximumKeys(), properties.getTtl());
+    }
+
+    /**
+     * Register idempotency filter for transaction creation
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+                                                                      ObjectMapper objectMapper,
+                                                                      IdempotencyProperties properties) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, objectMapper, properties.getInFlightWaitTimeout()));
+        registration.addUrlPatterns("/api/transactions", "/api/transactions/");
+        return registration;
+    }
+
+    /**
+     * Expose idempotency store size and replay count as metrics
+     */
+    @Bean
+    public MeterBinder idempotencyMetrics(IdempotencyStore idempotencyStore) {
+        return registry -> {
+            Gauge.builder("transaction.idempotency.keys", idempotencyStore, IdempotencyStore::size)
+                    .description("Idempotency keys currently remembered")
+                    .register(registry);
+            FunctionCounter.builder("transaction.idempotency.replays", idempotencyStore, IdempotencyStore::getReplayCount)
+                    .description("Requests answered from a recorded response")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotency Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Whether the Idempotency-Key header is honoured
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of remembered keys
+     */
+    private long maximumKeys = 100_000;
+
+    /**
+     * How long a key and its recorded response are kept
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a duplicate waits for the in-flight original to finish
+     */
+    private Duration inFlightWaitTimeout = Duration.ofSeconds(10);
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumKeys() {
+        return maximumKeys;
+    }
+
+    public void setMaximumKeys(long maximumKeys) {
+        this.maximumKeys = maximumKeys;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getInFlightWaitTimeout() {
+        return inFlightWaitTimeout;
+    }
+
+    public void setInFlightWaitTimeout(Duration inFlightWaitTimeout) {
+        this.inFlightWaitTimeout = inFlightWaitTimeout;
+    }
+}
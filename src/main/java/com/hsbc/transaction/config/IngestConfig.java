@@ -0,0 +1,67 @@
+package com.hsbc.transaction.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.ingest.IngestServer;
+import com.hsbc.transaction.service.TransactionService;
+import com.hsbc.transaction.wire.CompactTransactionModule;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Streaming Ingest Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties({IngestProperties.class, ReplicationProperties.class})
+@ConditionalOnProperty(prefix = "transaction.ingest", name = "enabled", havingValue = "true")
+public class IngestConfig {
+
+    /**
+     * Configure ingest server on top of the public transaction service
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public IngestServer ingestServer(TransactionService transactionService,
+                                     Validator validator,
+                                     ObjectMapper objectMapper,
+                                     IngestProperties properties,
+                                     ReplicationProperties replicationProperties) {
+        if ("follower".equals(replicationProperties.getRole())) {
+            throw new IllegalStateException("Streaming ingest cannot be enabled on a read replica");
+        }
+        return new IngestServer(
+                transactionService,
+                validator,
+                CompactTransactionModule.cborMapper(objectMapper),
+                properties.getPort(),
+                properties.getAckBatchSize());
+    }
+
+    /**
+     * Expose ingest connections and outcomes as metrics
+     */
+    @Bean
+    public MeterBinder ingestMetrics(IngestServer ingestServer) {
+        return registry -> {
+            Gauge.builder("transaction.ingest.connections", ingestServer, IngestServer::getConnectionCount)
+                    .description("Open streaming ingest connections")
+                    .register(registry);
+            FunctionCounter.builder("transaction.ingest.created", ingestServer, IngestServer::getCreatedCount)
+                    .description("Transactions created through streaming ingest")
+                    .register(registry);
+            FunctionCounter.builder("transaction.ingest.rejected", ingestServer, IngestServer::getRejectedCount)
+                    .description("Streaming creates answered with an error")
+                    .register(registry);
+            FunctionCounter.builder("transaction.ingest.ack.batches", ingestServer, IngestServer::getAckBatchCount)
+                    .description("Acknowledgement frames sent")
+                    .register(registry);
+        };
+    }
+}
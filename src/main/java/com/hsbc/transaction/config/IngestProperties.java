@@ -0,0 +1,53 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Streaming Ingest Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.ingest")
+public class IngestProperties {
+
+    /**
+     * Whether the streaming ingest port is opened
+     */
+    private boolean enabled = false;
+
+    /**
+     * TCP port of the ingest endpoint
+     */
+    private int port = 9292;
+
+    /**
+     * Maximum creates answered in one acknowledgement frame
+     */
+    private int ackBatchSize = 256;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public int getAckBatchSize() {
+        return ackBatchSize;
+    }
+
+    public void setAckBatchSize(int ackBatchSize) {
+        this.ackBatchSize = ackBatchSize;
+    }
+}
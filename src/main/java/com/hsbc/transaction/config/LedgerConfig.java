@@ -0,0 +1,64 @@
+package com.hsbc.transaction.config;
+
+import com.hsbc.transaction.ledger.AccountLedger;
+import com.hsbc.transaction.repository.TransactionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Account Ledger Configuration Class
+ *
+ * The ledger cannot run in cluster mode: transactions are partitioned by
+ * ID, so each node would check funds against its own share of an account.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties({LedgerProperties.class, ClusterProperties.class})
+@ConditionalOnProperty(prefix = "transaction.ledger", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LedgerConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerConfig.class);
+
+    /**
+     * Configure ledger, rebuilt from the stored transactions
+     */
+    @Bean
+    public AccountLedger accountLedger(LedgerProperties properties, ClusterProperties clusterProperties,
+                                       TransactionRepository transactionRepository) {
+        if (clusterProperties.isEnabled()) {
+            throw new IllegalStateException("The account ledger cannot be enabled in cluster mode; "
+                    + "set transaction.ledger.enabled=false");
+        }
+        AccountLedger ledger = new AccountLedger(properties.getLockStripes());
+        ledger.load(transactionRepository.findAll());
+        logger.info("Account ledger loaded, {} accounts", ledger.getAccountCount());
+        return ledger;
+    }
+
+    /**
+     * Expose ledger activity as metrics
+     */
+    @Bean
+    public MeterBinder ledgerMetrics(AccountLedger accountLedger) {
+        return registry -> {
+            Gauge.builder("transaction.ledger.accounts", accountLedger, AccountLedger::getAccountCount)
+                    .description("Accounts with a balance in the ledger")
+                    .register(registry);
+            FunctionCounter.builder("transaction.ledger.postings", accountLedger, AccountLedger::getPostingCount)
+                    .description("Ledger entries posted")
+                    .register(registry);
+            FunctionCounter.builder("transaction.ledger.insufficient.funds", accountLedger, AccountLedger::getRejectedCount)
+                    .description("Changes rejected because a balance would fall below zero")
+                    .register(registry);
+        };
+    }
+}
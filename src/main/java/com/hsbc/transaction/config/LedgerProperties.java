@@ -0,0 +1,40 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Account Ledger Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.ledger")
+public class LedgerProperties {
+
+    /**
+     * Whether balances are kept per account and debits checked for sufficient funds
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of account lock stripes, rounded up to a power of two
+     */
+    private int lockStripes = 1024;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+}
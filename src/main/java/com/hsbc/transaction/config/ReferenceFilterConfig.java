@@ -0,0 +1,90 @@
+package com.hsbc.transaction.config;
+
+import com.hsbc.transaction.bloom.ReferenceFilterRebuildTask;
+import com.hsbc.transaction.bloom.ReferenceNumberFilter;
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TransactionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Reference Number Filter Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(ReferenceFilterProperties.class)
+@ConditionalOnProperty(prefix = "transaction.reference-filter", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReferenceFilterConfig {
+
+    /**
+     * Configure reference number filter, built from the repository's current content
+     */
+    @Bean
+    public ReferenceNumberFilter referenceNumberFilter(TransactionRepository transactionRepository,
+                                                       ReferenceFilterProperties properties) {
+        ReferenceNumberFilter filter = new ReferenceNumberFilter(
+                properties.getInitialCapacity(), properties.getFalsePositiveRate());
+        filter.rebuild(() -> referenceNumbers(transactionRepository));
+        return filter;
+    }
+
+    /**
+     * Configure periodic rebuilds that clear deleted and replaced reference numbers
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReferenceFilterRebuildTask referenceFilterRebuildTask(ReferenceNumberFilter referenceNumberFilter,
+                                                                 TransactionRepository transactionRepository,
+                                                                 ReferenceFilterProperties properties) {
+        return new ReferenceFilterRebuildTask(referenceNumberFilter, () -> referenceNumbers(transactionRepository),
+                properties.getRebuildInterval(), properties.getRebuildMinStale());
+    }
+
+    /**
+     * Expose probe savings and false positive rates as metrics
+     */
+    @Bean
+    public MeterBinder referenceFilterMetrics(ReferenceNumberFilter referenceNumberFilter) {
+        return registry -> {
+            FunctionCounter.builder("transaction.reference-filter.probes.skipped", referenceNumberFilter, ReferenceNumberFilter::getSkippedProbeCount)
+                    .description("Reference number checks answered by the filter alone")
+                    .register(registry);
+            FunctionCounter.builder("transaction.reference-filter.probes.confirmed", referenceNumberFilter, ReferenceNumberFilter::getConfirmedProbeCount)
+                    .description("Repository probes that found the reference number")
+                    .register(registry);
+            FunctionCounter.builder("transaction.reference-filter.false-positives", referenceNumberFilter, ReferenceNumberFilter::getFalsePositiveCount)
+                    .description("Repository probes that did not find the reference number")
+                    .register(registry);
+            Gauge.builder("transaction.reference-filter.fpp.observed", referenceNumberFilter, ReferenceNumberFilter::getObservedFalsePositiveRate)
+                    .description("Share of checks for new reference numbers that still needed a probe")
+                    .register(registry);
+            Gauge.builder("transaction.reference-filter.fpp.expected", referenceNumberFilter, ReferenceNumberFilter::getExpectedFalsePositiveRate)
+                    .description("False positive rate expected from the filter's fill")
+                    .register(registry);
+            Gauge.builder("transaction.reference-filter.layers", referenceNumberFilter, ReferenceNumberFilter::getLayerCount)
+                    .description("Bloom filter layers")
+                    .register(registry);
+            Gauge.builder("transaction.reference-filter.bytes", referenceNumberFilter, ReferenceNumberFilter::getSizeBytes)
+                    .description("Size of the filter bit arrays")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("transaction.reference-filter.stale", referenceNumberFilter, ReferenceNumberFilter::getStaleCount)
+                    .description("Deletes and reference number changes since the last rebuild")
+                    .register(registry);
+        };
+    }
+
+    private static List<String> referenceNumbers(TransactionRepository transactionRepository) {
+        return transactionRepository.findAll().stream()
+                .map(Transaction::getReferenceNumber)
+                .toList();
+    }
+}
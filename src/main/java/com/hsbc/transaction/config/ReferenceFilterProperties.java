@@ -0,0 +1,81 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Reference Number Filter Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.reference-filter")
+public class ReferenceFilterProperties {
+
+    /**
+     * Whether reference number checks go through the Bloom filter
+     */
+    private boolean enabled = true;
+
+    /**
+     * Reference numbers held before the filter adds its first extra layer
+     */
+    private long initialCapacity = 100_000;
+
+    /**
+     * Target false positive rate across all layers
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * How often to check whether the filter needs a rebuild
+     */
+    private Duration rebuildInterval = Duration.ofHours(1);
+
+    /**
+     * Deletes and reference number changes since the last rebuild that trigger the next one
+     */
+    private long rebuildMinStale = 10_000;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getInitialCapacity() {
+        return initialCapacity;
+    }
+
+    public void setInitialCapacity(long initialCapacity) {
+        this.initialCapacity = initialCapacity;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public Duration getRebuildInterval() {
+        return rebuildInterval;
+    }
+
+    public void setRebuildInterval(Duration rebuildInterval) {
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    public long getRebuildMinStale() {
+        return rebuildMinStale;
+    }
+
+    public void setRebuildMinStale(long rebuildMinStale) {
+        this.rebuildMinStale = rebuildMinStale;
+    }
+}
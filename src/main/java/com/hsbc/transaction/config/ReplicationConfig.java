@@ -0,0 +1,152 @@
+package com.hsbc.transaction.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.changefeed.TransactionChangeLog;
+import com.hsbc.transaction.replication.ReplicaRequestInterceptor;
+import com.hsbc.transaction.replication.ReplicationFollower;
+import com.hsbc.transaction.replication.ReplicationLeader;
+import com.hsbc.transaction.repository.TransactionRepository;
+import com.hsbc.transaction.service.TransactionMutationListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Leader/Follower Replication Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicationProperties.class)
+public class ReplicationConfig {
+
+    /**
+     * Leader role: ships the change log to followers
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "transaction.replication", name = "role", havingValue = "leader")
+    static class LeaderConfig {
+
+        /**
+         * Configure replication leader
+         */
+        @Bean(initMethod = "start", destroyMethod = "stop")
+        public ReplicationLeader replicationLeader(TransactionChangeLog transactionChangeLog,
+                                                   TransactionRepository transactionRepository,
+                                                   ObjectMapper objectMapper,
+                                                   ReplicationProperties properties) {
+            return new ReplicationLeader(
+                    transactionChangeLog,
+                    transactionRepository,
+                    objectMapper,
+                    properties.getPort(),
+                    properties.getBatchSize(),
+                    properties.getHeartbeatInterval());
+        }
+
+        /**
+         * Expose leader state as metrics
+         */
+        @Bean
+        public MeterBinder replicationLeaderMetrics(ReplicationLeader replicationLeader) {
+            return registry -> {
+                Gauge.builder("transaction.replication.followers", replicationLeader, ReplicationLeader::getFollowerCount)
+                        .description("Connected replication followers")
+                        .register(registry);
+                FunctionCounter.builder("transaction.replication.events.shipped", replicationLeader, ReplicationLeader::getEventsShippedCount)
+                        .description("Change events shipped to followers")
+                        .register(registry);
+                FunctionCounter.builder("transaction.replication.snapshots.shipped", replicationLeader, ReplicationLeader::getSnapshotsShippedCount)
+                        .description("Full snapshots shipped to followers")
+                        .register(registry);
+            };
+        }
+    }
+
+    /**
+     * Follower role: applies the leader's change log and serves reads only
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "transaction.replication", name = "role", havingValue = "follower")
+    static class FollowerConfig implements WebMvcConfigurer {
+
+        private final ObjectProvider<ReplicationFollower> replicationFollower;
+        private final ReplicationProperties properties;
+
+        FollowerConfig(ObjectProvider<ReplicationFollower> replicationFollower, ReplicationProperties properties) {
+            this.replicationFollower = replicationFollower;
+            this.properties = properties;
+        }
+
+        /**
+         * Configure replication follower
+         */
+        @Bean(initMethod = "start", destroyMethod = "stop")
+        public ReplicationFollower replicationFollower(TransactionRepository transactionRepository,
+                                                       ObjectProvider<TransactionMutationListener> mutationListeners,
+                                                       CacheManager cacheManager,
+                                                       ObjectMapper objectMapper) {
+            return new ReplicationFollower(
+                    transactionRepository,
+                    mutationListeners.orderedStream().toList(),
+                    cacheManager,
+                    objectMapper,
+                    properties.getLeaderHost(),
+                    properties.getLeaderPort(),
+                    properties.getHeartbeatInterval(),
+                    properties.getReconnectDelay());
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new ReplicaRequestInterceptor(
+                            replicationFollower.getObject(),
+                            properties.getLeaderUrl(),
+                            properties.getReadYourWritesTimeout()))
+                    .addPathPatterns("/api/transactions", "/api/transactions/**")
+                    .excludePathPatterns("/api/transactions/health");
+        }
+
+        /**
+         * Expose follower position and lag as metrics
+         */
+        @Bean
+        public MeterBinder replicationFollowerMetrics(ReplicationFollower replicationFollower) {
+            return registry -> {
+                Gauge.builder("transaction.replication.applied.sequence", replicationFollower, ReplicationFollower::currentSequence)
+                        .description("Sequence of the latest change applied locally")
+                        .register(registry);
+                Gauge.builder("transaction.replication.leader.sequence", replicationFollower, ReplicationFollower::getLeaderSequence)
+                        .description("Latest leader sequence known to this follower")
+                        .register(registry);
+                Gauge.builder("transaction.replication.lag.events", replicationFollower, ReplicationFollower::getLagEvents)
+                        .description("Leader changes not yet applied locally")
+                        .register(registry);
+                Gauge.builder("transaction.replication.lag.seconds", replicationFollower, ReplicationFollower::getLagSeconds)
+                        .description("Time since this follower was last caught up with the leader")
+                        .register(registry);
+                Gauge.builder("transaction.replication.connected", replicationFollower, f -> f.isConnected() ? 1 : 0)
+                        .description("Whether the follower is connected to the leader")
+                        .register(registry);
+                FunctionCounter.builder("transaction.replication.events.applied", replicationFollower, ReplicationFollower::getEventsAppliedCount)
+                        .description("Change events applied from the leader")
+                        .register(registry);
+                FunctionCounter.builder("transaction.replication.snapshots.applied", replicationFollower, ReplicationFollower::getSnapshotsAppliedCount)
+                        .description("Full snapshots applied from the leader")
+                        .register(registry);
+                FunctionCounter.builder("transaction.replication.apply.failures", replicationFollower, ReplicationFollower::getApplyFailureCount)
+                        .description("Replicated changes that failed to apply and were retried after reconnecting")
+                        .register(registry);
+            };
+        }
+    }
+}
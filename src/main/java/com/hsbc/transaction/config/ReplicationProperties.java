@@ -0,0 +1,133 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Replication Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.replication")
+public class ReplicationProperties {
+
+    /**
+     * Replication role of this instance: none, leader or follower
+     */
+    private String role = "none";
+
+    /**
+     * Port on which a leader accepts follower connections
+     */
+    private int port = 9090;
+
+    /**
+     * Replication host of the leader (follower only)
+     */
+    private String leaderHost = "localhost";
+
+    /**
+     * Replication port of the leader (follower only)
+     */
+    private int leaderPort = 9090;
+
+    /**
+     * Public API URL of the leader, reported to clients that send writes to a follower
+     */
+    private String leaderUrl;
+
+    /**
+     * Maximum number of log events sent per batch
+     */
+    private int batchSize = 256;
+
+    /**
+     * Interval of heartbeats carrying the leader's head sequence
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    /**
+     * Delay between reconnection attempts of a follower
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+
+    /**
+     * How long a follower read waits to reach a requested sequence
+     */
+    private Duration readYourWritesTimeout = Duration.ofSeconds(2);
+
+    // Getters and Setters
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public String getLeaderHost() {
+        return leaderHost;
+    }
+
+    public void setLeaderHost(String leaderHost) {
+        this.leaderHost = leaderHost;
+    }
+
+    public int getLeaderPort() {
+        return leaderPort;
+    }
+
+    public void setLeaderPort(int leaderPort) {
+        this.leaderPort = leaderPort;
+    }
+
+    public String getLeaderUrl() {
+        return leaderUrl;
+    }
+
+    public void setLeaderUrl(String leaderUrl) {
+        this.leaderUrl = leaderUrl;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    public void setReconnectDelay(Duration reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public Duration getReadYourWritesTimeout() {
+        return readYourWritesTimeout;
+    }
+
+    public void setReadYourWritesTimeout(Duration readYourWritesTimeout) {
+        this.readYourWritesTimeout = readYourWritesTimeout;
+    }
+}
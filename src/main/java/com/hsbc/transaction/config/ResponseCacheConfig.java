@@ -0,0 +1,76 @@
+package com.hsbc.transaction.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.responsecache.CachedJsonHttpMessageConverter;
+import com.hsbc.transaction.responsecache.EncodedResponseCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Encoded Response Cache Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@ConditionalOnProperty(prefix = "transaction.response-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig implements WebMvcConfigurer {
+
+    private final ResponseCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final EncodedResponseCache encodedResponseCache;
+
+    public ResponseCacheConfig(ResponseCacheProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.encodedResponseCache = new EncodedResponseCache(properties.getMaximumBytes(), properties.getGzipMinBytes());
+    }
+
+    /**
+     * Write transaction responses ahead of the regular Jackson converter
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new CachedJsonHttpMessageConverter(encodedResponseCache, objectMapper, properties.isGzip()));
+    }
+
+    @Bean
+    public EncodedResponseCache encodedResponseCache() {
+        return encodedResponseCache;
+    }
+
+    /**
+     * Expose reuse counts and held bytes as metrics
+     */
+    @Bean
+    public MeterBinder responseCacheMetrics() {
+        return registry -> {
+            FunctionCounter.builder("transaction.response-cache.hits", encodedResponseCache, EncodedResponseCache::getHitCount)
+                    .description("Responses written from previously encoded bytes")
+                    .register(registry);
+            FunctionCounter.builder("transaction.response-cache.misses", encodedResponseCache, EncodedResponseCache::getMissCount)
+                    .description("Responses that had to be serialized")
+                    .register(registry);
+            FunctionCounter.builder("transaction.response-cache.gzip.hits", encodedResponseCache, EncodedResponseCache::getGzipHitCount)
+                    .description("Responses written from previously compressed bytes")
+                    .register(registry);
+            Gauge.builder("transaction.response-cache.entries", encodedResponseCache, EncodedResponseCache::getEntryCount)
+                    .description("Responses with encoded bytes held")
+                    .register(registry);
+            Gauge.builder("transaction.response-cache.bytes", encodedResponseCache, EncodedResponseCache::getSizeBytes)
+                    .description("Encoded bytes held")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+}
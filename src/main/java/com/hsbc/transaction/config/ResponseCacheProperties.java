@@ -0,0 +1,66 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Encoded Response Cache Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Whether encoded transaction responses are reused
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upper bound of the encoded bytes held
+     */
+    private long maximumBytes = 64L * 1024 * 1024;
+
+    /**
+     * Whether responses are sent gzip-compressed to clients that accept it
+     */
+    private boolean gzip = true;
+
+    /**
+     * Smallest JSON body that is compressed
+     */
+    private int gzipMinBytes = 1024;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumBytes() {
+        return maximumBytes;
+    }
+
+    public void setMaximumBytes(long maximumBytes) {
+        this.maximumBytes = maximumBytes;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    public int getGzipMinBytes() {
+        return gzipMinBytes;
+    }
+
+    public void setGzipMinBytes(int gzipMinBytes) {
+        this.gzipMinBytes = gzipMinBytes;
+    }
+}
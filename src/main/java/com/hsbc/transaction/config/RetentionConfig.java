@@ -0,0 +1,107 @@
+package com.hsbc.transaction.config;
+
+import com.hsbc.transaction.archive.ArchivingTransactionRepository;
+import com.hsbc.transaction.archive.RetentionTask;
+import com.hsbc.transaction.archive.TransactionArchive;
+import com.hsbc.transaction.bloom.ReferenceNumberFilter;
+import com.hsbc.transaction.repository.TransactionRepository;
+import com.hsbc.transaction.service.TransactionMutationListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Clock;
+
+/**
+ * Retention and Archival Configuration Class
+ *
+ * Archive segments do not survive a restart, so retention is refused on top
+ * of the persistent write-behind repository, which would drop archived rows
+ * from the database for good.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(RetentionProperties.class)
+@ConditionalOnProperty(prefix = "transaction.retention", name = "enabled", havingValue = "true")
+public class RetentionConfig {
+
+    /**
+     * Configure archive of segment files
+     */
+    @Bean(destroyMethod = "close")
+    public TransactionArchive transactionArchive(RetentionProperties properties,
+                                                 @Value("${transaction.repository.type:memory}") String repositoryType) {
+        if ("write-behind".equals(repositoryType)) {
+            throw new IllegalStateException("Retention cannot be enabled with the write-behind repository: "
+                    + "archived transactions would be lost on restart");
+        }
+        return new TransactionArchive(properties.getDirectory(), properties.getBlockRecords(),
+                properties.getBlockCacheBlocks());
+    }
+
+    /**
+     * Repository used by the application: the configured in-memory repository backed by the archive
+     */
+    @Bean
+    @Primary
+    public ArchivingTransactionRepository archivingTransactionRepository(TransactionRepository transactionRepository,
+                                                                         TransactionArchive transactionArchive) {
+        return new ArchivingTransactionRepository(transactionRepository, transactionArchive);
+    }
+
+    /**
+     * Configure periodic archiving
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public RetentionTask retentionTask(ArchivingTransactionRepository archivingTransactionRepository,
+                                       RetentionProperties properties,
+                                       ObjectProvider<TransactionMutationListener> mutationListeners,
+                                       ObjectProvider<ReferenceNumberFilter> referenceFilter) {
+        // Set here rather than on the repository bean: listeners and filter are built from the repository
+        archivingTransactionRepository.setMutationListeners(mutationListeners.orderedStream().toList());
+        referenceFilter.ifAvailable(archivingTransactionRepository::setReferenceFilter);
+        return new RetentionTask(archivingTransactionRepository, properties.getHotRetention(),
+                properties.getInterval(), Clock.systemDefaultZone());
+    }
+
+    /**
+     * Expose archive state as metrics
+     */
+    @Bean
+    public MeterBinder retentionMetrics(ArchivingTransactionRepository archivingTransactionRepository,
+                                        TransactionArchive transactionArchive) {
+        return registry -> {
+            Gauge.builder("transaction.retention.hot", archivingTransactionRepository, ArchivingTransactionRepository::getHotCount)
+                    .description("Transactions held in memory")
+                    .register(registry);
+            Gauge.builder("transaction.retention.archived", transactionArchive, TransactionArchive::count)
+                    .description("Live transactions held in archive segments")
+                    .register(registry);
+            Gauge.builder("transaction.retention.segments", transactionArchive, TransactionArchive::getSegmentCount)
+                    .description("Archive segment files")
+                    .register(registry);
+            Gauge.builder("transaction.retention.segment.bytes", transactionArchive, TransactionArchive::getSizeBytes)
+                    .description("Total size of archive segment files")
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("transaction.retention.archived.total", transactionArchive, TransactionArchive::getArchivedCount)
+                    .description("Transactions moved into the archive")
+                    .register(registry);
+            FunctionCounter.builder("transaction.retention.block.cache.hits", transactionArchive, TransactionArchive::getBlockCacheHitCount)
+                    .description("Archive block reads served from the block cache")
+                    .register(registry);
+            FunctionCounter.builder("transaction.retention.block.cache.misses", transactionArchive, TransactionArchive::getBlockCacheMissCount)
+                    .description("Archive block reads that decompressed a block from disk")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Retention and Archival Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.retention")
+public class RetentionProperties {
+
+    /**
+     * Whether old transactions are moved out of memory into archive segments
+     */
+    private boolean enabled = false;
+
+    /**
+     * Age after which a transaction is archived, by its timestamp
+     */
+    private Duration hotRetention = Duration.ofDays(30);
+
+    /**
+     * Time between archiving passes
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    /**
+     * Directory for archive segment files
+     */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "transaction-archive");
+
+    /**
+     * Records per compressed segment block
+     */
+    private int blockRecords = 128;
+
+    /**
+     * Maximum number of decompressed blocks kept in memory
+     */
+    private long blockCacheBlocks = 256;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getHotRetention() {
+        return hotRetention;
+    }
+
+    public void setHotRetention(Duration hotRetention) {
+        this.hotRetention = hotRetention;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public int getBlockRecords() {
+        return blockRecords;
+    }
+
+    public void setBlockRecords(int blockRecords) {
+        this.blockRecords = blockRecords;
+    }
+
+    public long getBlockCacheBlocks() {
+        return blockCacheBlocks;
+    }
+
+    public void setBlockCacheBlocks(long blockCacheBlocks) {
+        this.blockCacheBlocks = blockCacheBlocks;
+    }
+}
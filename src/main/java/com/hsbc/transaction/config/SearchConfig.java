@@ -0,0 +1,57 @@
+package com.hsbc.transaction.config;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TransactionRepository;
+import com.hsbc.transaction.search.TransactionSearchIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDateTime;
+
+/**
+ * Full-text Search Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+@ConditionalOnProperty(prefix = "transaction.search", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SearchConfig {
+
+    /**
+     * Configure description index, seeded with the repository's current content
+     */
+    @Bean
+    public TransactionSearchIndex transactionSearchIndex(TransactionRepository transactionRepository) {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        LocalDateTime now = LocalDateTime.now();
+        for (Transaction transaction : transactionRepository.findAll()) {
+            index.onSaved(transaction, now);
+        }
+        return index;
+    }
+
+    /**
+     * Expose index size as metrics
+     */
+    @Bean
+    public MeterBinder searchMetrics(TransactionSearchIndex transactionSearchIndex) {
+        return registry -> {
+            Gauge.builder("transaction.search.documents", transactionSearchIndex, TransactionSearchIndex::getDocumentCount)
+                    .description("Indexed transaction descriptions")
+                    .register(registry);
+            Gauge.builder("transaction.search.terms", transactionSearchIndex, TransactionSearchIndex::getTermCount)
+                    .description("Distinct indexed terms")
+                    .register(registry);
+            Gauge.builder("transaction.search.postings.bytes", transactionSearchIndex, TransactionSearchIndex::getPostingsBytes)
+                    .description("Size of the compressed posting lists")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.hsbc.transaction.config;
+
+import com.hsbc.transaction.repository.TransactionRepository;
+import com.hsbc.transaction.snapshot.TransactionSnapshotIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Snapshot Paging Configuration Class
+ *
+ * The index keeps its own copy of every in-memory transaction and
+ * serializes all writes on one lock; disable it to give up consistent
+ * paging in exchange for parallel writes and half the memory.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(SnapshotProperties.class)
+@ConditionalOnProperty(prefix = "transaction.snapshot", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SnapshotConfig {
+
+    /**
+     * Configure versioned transaction index, seeded with the repository's current content
+     */
+    @Bean
+    public TransactionSnapshotIndex transactionSnapshotIndex(TransactionRepository transactionRepository,
+                                                             SnapshotProperties properties) {
+        TransactionSnapshotIndex index = new TransactionSnapshotIndex(properties.getTtl(), properties.getMaxOpen());
+        transactionRepository.findAll().forEach(index::put);
+        return index;
+    }
+
+    /**
+     * Expose snapshot state as metrics
+     */
+    @Bean
+    public MeterBinder snapshotMetrics(TransactionSnapshotIndex transactionSnapshotIndex) {
+        return registry -> {
+            Gauge.builder("transaction.snapshot.version", transactionSnapshotIndex, TransactionSnapshotIndex::getCurrentVersion)
+                    .description("Current version of the transaction index")
+                    .register(registry);
+            Gauge.builder("transaction.snapshot.open", transactionSnapshotIndex, TransactionSnapshotIndex::getOpenSnapshotCount)
+                    .description("Paging snapshots currently kept open")
+                    .register(registry);
+            FunctionCounter.builder("transaction.snapshot.expired", transactionSnapshotIndex, TransactionSnapshotIndex::getExpiredLookupCount)
+                    .description("Requests for expired or unknown snapshots")
+                    .register(registry);
+        };
+    }
+}
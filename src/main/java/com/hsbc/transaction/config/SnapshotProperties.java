@@ -0,0 +1,55 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Snapshot Paging Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.snapshot")
+public class SnapshotProperties {
+
+    /**
+     * Whether the versioned index is kept and consistent paging is enabled
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a snapshot is kept after it was last read
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * Maximum number of snapshots kept open at the same time
+     */
+    private long maxOpen = 10000;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getMaxOpen() {
+        return maxOpen;
+    }
+
+    public void setMaxOpen(long maxOpen) {
+        this.maxOpen = maxOpen;
+    }
+}
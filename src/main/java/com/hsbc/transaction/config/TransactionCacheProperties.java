@@ -0,0 +1,157 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Transaction Cache Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.cache")
+public class TransactionCacheProperties {
+
+    /**
+     * Cache of single transactions by ID
+     */
+    private Spec transactions = new Spec(64L * 1024 * 1024, Duration.ofHours(1), null);
+
+    /**
+     * Cache of transaction list pages; emptied by every write
+     */
+    private Spec transactionList = new Spec(16L * 1024 * 1024, Duration.ofMinutes(10), null);
+
+    /**
+     * Number of most recent transactions loaded into the single transaction cache at startup, 0 to disable
+     */
+    private int preloadCount = 10_000;
+
+    private Adaptive adaptive = new Adaptive();
+
+    // Getters and Setters
+    public Spec getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(Spec transactions) {
+        this.transactions = transactions;
+    }
+
+    public Spec getTransactionList() {
+        return transactionList;
+    }
+
+    public void setTransactionList(Spec transactionList) {
+        this.transactionList = transactionList;
+    }
+
+    public int getPreloadCount() {
+        return preloadCount;
+    }
+
+    public void setPreloadCount(int preloadCount) {
+        this.preloadCount = preloadCount;
+    }
+
+    public Adaptive getAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(Adaptive adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Size and expiry of a single cache
+     */
+    public static class Spec {
+        private long maximumBytes;
+        private Duration expireAfterWrite;
+        private Duration refreshAfterWrite;
+
+        public Spec() {}
+
+        public Spec(long maximumBytes, Duration expireAfterWrite, Duration refreshAfterWrite) {
+            this.maximumBytes = maximumBytes;
+            this.expireAfterWrite = expireAfterWrite;
+            this.refreshAfterWrite = refreshAfterWrite;
+        }
+
+        public long getMaximumBytes() {
+            return maximumBytes;
+        }
+
+        public void setMaximumBytes(long maximumBytes) {
+            this.maximumBytes = maximumBytes;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public Duration getRefreshAfterWrite() {
+            return refreshAfterWrite;
+        }
+
+        public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+            this.refreshAfterWrite = refreshAfterWrite;
+        }
+    }
+
+    /**
+     * Resizing of the caches within a shared memory budget
+     */
+    public static class Adaptive {
+        private boolean enabled = false;
+        private long memoryBudgetBytes = 128L * 1024 * 1024;
+        private long minimumBytes = 1024L * 1024;
+        private double step = 0.05;
+        private Duration interval = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMemoryBudgetBytes() {
+            return memoryBudgetBytes;
+        }
+
+        public void setMemoryBudgetBytes(long memoryBudgetBytes) {
+            this.memoryBudgetBytes = memoryBudgetBytes;
+        }
+
+        public long getMinimumBytes() {
+            return minimumBytes;
+        }
+
+        public void setMinimumBytes(long minimumBytes) {
+            this.minimumBytes = minimumBytes;
+        }
+
+        public double getStep() {
+            return step;
+        }
+
+        public void setStep(double step) {
+            this.step = step;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+    }
+}
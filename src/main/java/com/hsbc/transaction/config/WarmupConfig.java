@@ -0,0 +1,60 @@
+package com.hsbc.transaction.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.warmup.WarmupRunner;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JIT Warm-up Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+@ConditionalOnProperty(prefix = "transaction.warmup", name = "enabled", havingValue = "true")
+public class WarmupConfig {
+
+    /**
+     * Configure warm-up runner; as the "warmup" health indicator it belongs to the readiness group
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public WarmupRunner warmup(ObjectMapper objectMapper, WarmupProperties properties) {
+        return new WarmupRunner(objectMapper, properties.getTransactionsPerRound(), properties.getTolerance(),
+                properties.getStableRounds(), properties.getMaxDuration());
+    }
+
+    /**
+     * Expose warm-up progress and outcome as metrics
+     */
+    @Bean
+    public MeterBinder warmupMetrics(WarmupRunner warmup) {
+        return registry -> {
+            TimeGauge.builder("transaction.warmup.duration", warmup, TimeUnit.SECONDS, WarmupRunner::getDurationSeconds)
+                    .description("Time spent warming up so far")
+                    .register(registry);
+            FunctionCounter.builder("transaction.warmup.rounds", warmup, WarmupRunner::getRounds)
+                    .description("Warm-up rounds run")
+                    .register(registry);
+            Gauge.builder("transaction.warmup.round.latency", warmup, WarmupRunner::getLastRoundNanosPerTransaction)
+                    .description("Time per transaction in the last warm-up round")
+                    .baseUnit("nanoseconds")
+                    .register(registry);
+            for (WarmupRunner.Outcome outcome : WarmupRunner.Outcome.values()) {
+                Gauge.builder("transaction.warmup.outcome", warmup, runner -> runner.getOutcome() == outcome ? 1 : 0)
+                        .description("1 for the current state of the warm-up")
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * JIT Warm-up Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.warmup")
+public class WarmupProperties {
+
+    /**
+     * Whether synthetic traffic warms up the JIT before the readiness probe reports UP
+     */
+    private boolean enabled = false;
+
+    /**
+     * Transactions created, read, updated and deleted per warm-up round (at most 1000)
+     */
+    private int transactionsPerRound = 200;
+
+    /**
+     * Largest relative change in time per transaction between rounds that still counts as stable
+     */
+    private double tolerance = 0.1;
+
+    /**
+     * Consecutive stable rounds that end the warm-up
+     */
+    private int stableRounds = 5;
+
+    /**
+     * Time after which the warm-up gives up and the application becomes ready anyway
+     */
+    private Duration maxDuration = Duration.ofSeconds(60);
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getTransactionsPerRound() {
+        return transactionsPerRound;
+    }
+
+    public void setTransactionsPerRound(int transactionsPerRound) {
+        this.transactionsPerRound = transactionsPerRound;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public int getStableRounds() {
+        return stableRounds;
+    }
+
+    public void setStableRounds(int stableRounds) {
+        this.stableRounds = stableRounds;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hsbc.transaction.config;
+
+import com.hsbc.transaction.repository.impl.WriteBehindTransactionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Write-behind Repository Configuration Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+@ConditionalOnProperty(prefix = "transaction.repository", name = "type", havingValue = "write-behind")
+public class WriteBehindConfig {
+
+    /**
+     * Configure repository served from memory and flushed to the embedded database
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public WriteBehindTransactionRepository writeBehindTransactionRepository(WriteBehindProperties properties) {
+        return new WriteBehindTransactionRepository(properties.getUrl(), properties.getUsername(),
+                properties.getPassword(), properties.getBatchSize(), properties.getFlushInterval(),
+                properties.getQueueCapacity(), properties.getShutdownTimeout());
+    }
+
+    /**
+     * Expose write-behind queue and flushes as metrics
+     */
+    @Bean
+    public MeterBinder writeBehindMetrics(WriteBehindTransactionRepository repository) {
+        return registry -> {
+            Gauge.builder("transaction.write-behind.pending", repository, WriteBehindTransactionRepository::getQueueDepth)
+                    .description("Transactions written in memory but not yet flushed to the database")
+                    .register(registry);
+            FunctionCounter.builder("transaction.write-behind.rows", repository, WriteBehindTransactionRepository::getFlushedRowCount)
+                    .description("Rows merged or deleted in the database")
+                    .register(registry);
+            FunctionCounter.builder("transaction.write-behind.batches", repository, WriteBehindTransactionRepository::getBatchCount)
+                    .description("Committed flush batches")
+                    .register(registry);
+            FunctionCounter.builder("transaction.write-behind.coalesced", repository, WriteBehindTransactionRepository::getCoalescedCount)
+                    .description("Writes folded into a pending write of the same transaction")
+                    .register(registry);
+            FunctionCounter.builder("transaction.write-behind.blocked", repository, WriteBehindTransactionRepository::getBlockedWriteCount)
+                    .description("Writes that waited for queue space")
+                    .register(registry);
+            FunctionCounter.builder("transaction.write-behind.failures", repository, WriteBehindTransactionRepository::getFailedFlushCount)
+                    .description("Flush batches that failed and were retried")
+                    .register(registry);
+            Gauge.builder("transaction.write-behind.unflushed", repository, WriteBehindTransactionRepository::getUnflushedCount)
+                    .description("Transactions left unflushed when the repository was stopped")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package com.hsbc.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Write-behind Repository Configuration Properties
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "transaction.repository.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * JDBC URL of the embedded database
+     */
+    private String url = "jdbc:h2:file:./data/transactions";
+
+    private String username = "sa";
+
+    private String password = "";
+
+    /**
+     * Maximum rows written per JDBC batch
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest time a write waits before it is flushed
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Maximum transactions waiting to be flushed before writes block
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Longest time shutdown waits for the final flush before giving up on unflushed writes
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    // Getters and Setters
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
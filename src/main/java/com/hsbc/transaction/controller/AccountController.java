@@ -0,0 +1,79 @@
+package com.hsbc.transaction.controller;
+
+import com.hsbc.transaction.dto.AccountBalanceResponse;
+import com.hsbc.transaction.dto.CursorPagedResponse;
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.exception.AccountNotFoundException;
+import com.hsbc.transaction.ledger.AccountLedger;
+import com.hsbc.transaction.service.TransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Account Controller - balances and transaction timelines of accounts
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/accounts")
+@Tag(name = "Accounts", description = "Account balances and transactions")
+public class AccountController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountController.class);
+
+    private final TransactionService transactionService;
+    private final AccountLedger ledger;
+
+    @Autowired
+    public AccountController(TransactionService transactionService, ObjectProvider<AccountLedger> ledger) {
+        this.transactionService = transactionService;
+        this.ledger = ledger.getIfAvailable();
+    }
+
+    /**
+     * Get current balances of an account; not found when the ledger is disabled
+     */
+    @GetMapping("/{accountId}/balance")
+    @Operation(summary = "Get Account Balance", description = "Current balance of an account per currency, read without locking")
+    public ResponseEntity<AccountBalanceResponse> getBalance(
+            @Parameter(description = "Account ID", required = true) @PathVariable String accountId) {
+        if (ledger == null) {
+            throw new AccountNotFoundException("Account ledger is disabled, no balance for account: " + accountId);
+        }
+        return ledger.balances(accountId)
+                .map(balances -> ResponseEntity.ok(new AccountBalanceResponse(accountId, balances)))
+                .orElseThrow(() -> AccountNotFoundException.withId(accountId));
+    }
+
+    /**
+     * Get transactions of an account, newest first
+     */
+    @GetMapping("/{accountId}/transactions")
+    @Operation(summary = "Get Account Transactions",
+            description = "Transactions of an account or its counterparty account, newest first, paged with a cursor")
+    public ResponseEntity<CursorPagedResponse<TransactionResponse>> getTransactions(
+            @Parameter(description = "Account ID", required = true)
+            @PathVariable String accountId,
+
+            @Parameter(description = "Cursor returned with the previous page, omit for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size (1-100)", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+
+        logger.debug("Querying account transactions, account: {}, cursor: {}, size: {}", accountId, cursor, size);
+        return ResponseEntity.ok(transactionService.getAccountTransactions(accountId, cursor, size));
+    }
+}
@@ -0,0 +1,98 @@
+package com.hsbc.transaction.controller;
+
+import com.hsbc.transaction.analytics.TransactionAnalytics;
+import com.hsbc.transaction.dto.AmountHistogramResponse;
+import com.hsbc.transaction.dto.AnalyticsSummaryResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Analytics Controller - aggregate queries over the transaction set
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Transaction Analytics", description = "Aggregates over transactions in a time range")
+@ConditionalOnProperty(prefix = "transaction.analytics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    private final TransactionAnalytics transactionAnalytics;
+
+    @Autowired
+    public AnalyticsController(TransactionAnalytics transactionAnalytics) {
+        this.transactionAnalytics = transactionAnalytics;
+    }
+
+    /**
+     * Count and sum transactions per group
+     */
+    @GetMapping("/summary")
+    @Operation(summary = "Summarize Transactions",
+            description = "Count and total amount per currency or transaction type in a time range")
+    public ResponseEntity<AnalyticsSummaryResponse> summarize(
+            @Parameter(description = "Inclusive start of the time range (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+
+            @Parameter(description = "Exclusive end of the time range (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+
+            @Parameter(description = "Grouping column: currency or transactionType")
+            @RequestParam(defaultValue = "currency") String groupBy,
+
+            @Parameter(description = "Only this currency")
+            @RequestParam(required = false) String currency,
+
+            @Parameter(description = "Only this transaction type")
+            @RequestParam(required = false) String transactionType) {
+
+        logger.debug("Summarizing transactions from {} to {} by {}", from, to, groupBy);
+        return ResponseEntity.ok(transactionAnalytics.summarize(from, to, groupBy, currency, transactionType));
+    }
+
+    /**
+     * Count transactions per amount bucket
+     */
+    @GetMapping("/histogram")
+    @Operation(summary = "Amount Histogram",
+            description = "Transaction count per amount bucket in a time range; the last bucket is open-ended")
+    public ResponseEntity<AmountHistogramResponse> histogram(
+            @Parameter(description = "Inclusive start of the time range (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+
+            @Parameter(description = "Exclusive end of the time range (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+
+            @Parameter(description = "Only this currency")
+            @RequestParam(required = false) String currency,
+
+            @Parameter(description = "Only this transaction type")
+            @RequestParam(required = false) String transactionType,
+
+            @Parameter(description = "Width of each amount bucket")
+            @RequestParam(defaultValue = "100") BigDecimal bucketWidth,
+
+            @Parameter(description = "Number of buckets (max 1000)")
+            @RequestParam(defaultValue = "20") int buckets) {
+
+        logger.debug("Amount histogram from {} to {}, width {}, buckets {}", from, to, bucketWidth, buckets);
+        return ResponseEntity.ok(transactionAnalytics.histogram(from, to, currency, transactionType, bucketWidth, buckets));
+    }
+}
@@ -0,0 +1,63 @@
+package com.hsbc.transaction.controller;
+
+import com.hsbc.transaction.changefeed.ChangeFeedPublisher;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Change Feed Controller - Server-Sent Events stream of transaction mutations
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/transactions/changes")
+@Tag(name = "Transaction Change Feed", description = "Stream of transaction create, update and delete events")
+public class ChangeFeedController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedController.class);
+
+    private final ChangeFeedPublisher changeFeedPublisher;
+
+    @Autowired
+    public ChangeFeedController(ChangeFeedPublisher changeFeedPublisher) {
+        this.changeFeedPublisher = changeFeedPublisher;
+    }
+
+    /**
+     * Subscribe to transaction changes
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream Transaction Changes",
+            description = "Stream change events; resume with fromSequence or the Last-Event-ID header")
+    public SseEmitter streamChanges(
+            @Parameter(description = "Resume after this sequence number (0 replays all retained events)")
+            @RequestParam(required = false) Long fromSequence,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        Long afterSequence = fromSequence;
+        if (afterSequence == null && lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                afterSequence = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring malformed Last-Event-ID: {}", lastEventId);
+            }
+        }
+
+        logger.debug("Change feed subscription, after sequence: {}", afterSequence);
+        return changeFeedPublisher.subscribe(afterSequence);
+    }
+}
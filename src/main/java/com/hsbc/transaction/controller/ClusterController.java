@@ -0,0 +1,140 @@
+package com.hsbc.transaction.controller;
+
+import com.hsbc.transaction.cluster.ClusterClient;
+import com.hsbc.transaction.cluster.ClusteredTransactionService;
+import com.hsbc.transaction.dto.BatchDeleteRequest;
+import com.hsbc.transaction.dto.BatchResponse;
+import com.hsbc.transaction.dto.BatchUpdateRequest;
+import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionHistoryResponse;
+import com.hsbc.transaction.dto.TransactionLookupRequest;
+import com.hsbc.transaction.dto.TransactionLookupResponse;
+import com.hsbc.transaction.dto.TransactionRequest;
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.dto.TransactionSearchHit;
+import com.hsbc.transaction.exception.InvalidTransactionException;
+import com.hsbc.transaction.repository.TimelinePosition;
+import com.hsbc.transaction.service.impl.TransactionServiceImpl;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cluster Controller - internal node-to-node API
+ *
+ * Every operation here runs against the local store only; routing has
+ * already been done by the calling node.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Hidden
+@RestController
+@RequestMapping(ClusterClient.INTERNAL_PATH)
+@ConditionalOnProperty(prefix = "transaction.cluster", name = "enabled", havingValue = "true")
+public class ClusterController {
+
+    private final TransactionServiceImpl localService;
+    private final ClusteredTransactionService clusteredService;
+
+    @Autowired
+    public ClusterController(TransactionServiceImpl localService, ClusteredTransactionService clusteredService) {
+        this.localService = localService;
+        this.clusteredService = clusteredService;
+    }
+
+    @PostMapping("/transactions")
+    public ResponseEntity<TransactionResponse> createTransaction(@RequestBody TransactionRequest request) {
+        return new ResponseEntity<>(localService.createTransaction(request), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/transactions/{id}")
+    public ResponseEntity<TransactionResponse> getTransaction(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(asOf == null
+                ? localService.getTransactionById(id)
+                : localService.getTransactionAsOf(id, asOf));
+    }
+
+    @PostMapping("/transactions/lookup")
+    public ResponseEntity<TransactionLookupResponse> lookupTransactions(@RequestBody TransactionLookupRequest request) {
+        return ResponseEntity.ok(localService.lookupTransactions(request.getIds()));
+    }
+
+    @GetMapping("/transactions/{id}/history")
+    public ResponseEntity<TransactionHistoryResponse> getTransactionHistory(@PathVariable String id) {
+        return ResponseEntity.ok(localService.getTransactionHistory(id));
+    }
+
+    @GetMapping("/transactions")
+    public ResponseEntity<PagedResponse<TransactionResponse>> getNewestTransactions(@RequestParam int limit) {
+        return ResponseEntity.ok(clusteredService.getLocalNewest(limit));
+    }
+
+    @GetMapping("/transactions/search")
+    public ResponseEntity<PagedResponse<TransactionSearchHit>> searchTransactions(@RequestParam String q,
+                                                                                @RequestParam int limit) {
+        return ResponseEntity.ok(clusteredService.getLocalSearchHits(q, limit));
+    }
+
+    @GetMapping("/accounts/{accountId}/transactions")
+    public ResponseEntity<List<TransactionResponse>> getAccountTransactions(@PathVariable String accountId,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam int limit) {
+        TimelinePosition after = null;
+        if (cursor != null) {
+            try {
+                after = TimelinePosition.fromCursor(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidTransactionException("Invalid cursor: " + cursor);
+            }
+        }
+        return ResponseEntity.ok(clusteredService.getLocalAccountTransactions(accountId, after, limit));
+    }
+
+    @PutMapping("/transactions/{id}")
+    public ResponseEntity<TransactionResponse> updateTransaction(@PathVariable String id,
+                                                                 @RequestBody TransactionRequest request) {
+        return ResponseEntity.ok(localService.updateTransaction(id, request));
+    }
+
+    @DeleteMapping("/transactions/{id}")
+    public ResponseEntity<Void> deleteTransaction(@PathVariable String id) {
+        localService.deleteTransaction(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PatchMapping("/transactions/batch")
+    public ResponseEntity<BatchResponse> updateTransactions(@RequestBody BatchUpdateRequest request) {
+        return ResponseEntity.ok(localService.updateTransactions(request.getItems()));
+    }
+
+    @DeleteMapping("/transactions/batch")
+    public ResponseEntity<BatchResponse> deleteTransactions(@RequestBody BatchDeleteRequest request) {
+        return ResponseEntity.ok(localService.deleteTransactions(request.getIds()));
+    }
+
+    @GetMapping("/transactions/{id}/exists")
+    public ResponseEntity<Boolean> existsTransaction(@PathVariable String id) {
+        return ResponseEntity.ok(localService.existsById(id));
+    }
+
+    @GetMapping("/references/{referenceNumber}/exists")
+    public ResponseEntity<Boolean> existsReferenceNumber(@PathVariable String referenceNumber) {
+        return ResponseEntity.ok(clusteredService.existsByReferenceNumberLocally(referenceNumber));
+    }
+
+    @PostMapping("/references/exists")
+    public ResponseEntity<Set<String>> existingReferenceNumbers(@RequestBody List<String> referenceNumbers) {
+        return ResponseEntity.ok(clusteredService.existingReferenceNumbersLocally(referenceNumbers));
+    }
+}
@@ -0,0 +1,45 @@
+package com.hsbc.transaction.controller;
+
+import com.hsbc.transaction.dto.HotKeyResponse;
+import com.hsbc.transaction.hotkey.HotKeySketch;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Hot Key Controller - most read transactions
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/transactions/hot-keys")
+@Tag(name = "Hot Keys", description = "Transactions with the heaviest read traffic")
+@ConditionalOnProperty(prefix = "transaction.hot-keys", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HotKeyController {
+
+    private final HotKeySketch hotKeySketch;
+
+    @Autowired
+    public HotKeyController(HotKeySketch hotKeySketch) {
+        this.hotKeySketch = hotKeySketch;
+    }
+
+    /**
+     * List current hot keys
+     */
+    @GetMapping
+    @Operation(summary = "List Hot Keys", description = "Transaction IDs currently read most often, with estimated reads in the current sample, most read first")
+    public ResponseEntity<List<HotKeyResponse>> getHotKeys() {
+        return ResponseEntity.ok(hotKeySketch.hotKeys().stream()
+                .map(hotKey -> new HotKeyResponse(hotKey.key(), hotKey.estimatedReads()))
+                .toList());
+    }
+}
@@ -1,20 +1,31 @@
 package com.hsbc.transaction.controller;
 
+import com.hsbc.transaction.dto.BatchDeleteRequest;
+import com.hsbc.transaction.dto.BatchResponse;
+import com.hsbc.transaction.dto.BatchUpdateRequest;
 import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionHistoryResponse;
+import com.hsbc.transaction.dto.TransactionLookupRequest;
+import com.hsbc.transaction.dto.TransactionLookupResponse;
 import com.hsbc.transaction.dto.TransactionRequest;
 import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.dto.TransactionSearchHit;
 import com.hsbc.transaction.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 /**
  * Transaction Controller - RESTful API
  *
@@ -40,6 +51,8 @@ public class TransactionController {
      */
     @PostMapping
     @Operation(summary = "Create Transaction", description = "Create a new financial transaction record")
+    @Parameter(in = ParameterIn.HEADER, name = "Idempotency-Key",
+            description = "Optional key; retries with the same key return the original response")
     public ResponseEntity<TransactionResponse> createTransaction(
             @Valid @RequestBody TransactionRequest request) {
 
@@ -53,16 +66,45 @@ public class TransactionController {
      * Get transaction by ID
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Get Transaction", description = "Get transaction details by transaction ID")
+    @Operation(summary = "Get Transaction", description = "Get transaction details by transaction ID, optionally as of a point in time")
     public ResponseEntity<TransactionResponse> getTransaction(
             @Parameter(description = "Transaction ID", required = true)
-            @PathVariable String id) {
+            @PathVariable String id,
+            @Parameter(description = "Return the version current at this time (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
 
         logger.debug("Querying transaction, ID: {}", id);
-        TransactionResponse response = transactionService.getTransactionById(id);
+        TransactionResponse response = asOf == null
+                ? transactionService.getTransactionById(id)
+                : transactionService.getTransactionAsOf(id, asOf);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get many transactions by ID
+     */
+    @PostMapping("/lookup")
+    @Operation(summary = "Look Up Transactions", description = "Get up to 1000 transactions by ID in one call; unknown IDs are listed in missingIds")
+    public ResponseEntity<TransactionLookupResponse> lookupTransactions(
+            @Valid @RequestBody TransactionLookupRequest request) {
+
+        logger.debug("Looking up {} transactions", request.getIds().size());
+        return ResponseEntity.ok(transactionService.lookupTransactions(request.getIds()));
+    }
+
+    /**
+     * Get transaction history
+     */
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Get Transaction History", description = "Get every version of a transaction, oldest first")
+    public ResponseEntity<TransactionHistoryResponse> getTransactionHistory(
+            @Parameter(description = "Transaction ID", required = true)
+            @PathVariable String id) {
+
+        logger.debug("Querying transaction history, ID: {}", id);
+        return ResponseEntity.ok(transactionService.getTransactionHistory(id));
+    }
+
     /**
      * Get paginated transaction list
      */
@@ -73,13 +115,40 @@ public class TransactionController {
             @RequestParam(defaultValue = "0") int page,
 
             @Parameter(description = "Page size (1-100)", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(description = "Open a point-in-time snapshot and page through it")
+            @RequestParam(defaultValue = "false") boolean consistent,
+
+            @Parameter(description = "Snapshot token returned with an earlier page")
+            @RequestParam(required = false) String snapshot) {
 
         logger.debug("Paginated query transactions, page: {}, size: {}", page, size);
-        PagedResponse<TransactionResponse> response = transactionService.getTransactions(page, size);
+        PagedResponse<TransactionResponse> response = consistent || snapshot != null
+                ? transactionService.getTransactionsAtSnapshot(page, size, snapshot)
+                : transactionService.getTransactions(page, size);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Search transactions by description
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search Transactions", description = "Full-text search over transaction descriptions, best match first")
+    public ResponseEntity<PagedResponse<TransactionSearchHit>> searchTransactions(
+            @Parameter(description = "Search text; every word must occur in the description", required = true)
+            @RequestParam String q,
+
+            @Parameter(description = "Page number (starting from 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Page size (1-100)", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+
+        logger.debug("Searching transactions, query: {}, page: {}, size: {}", q, page, size);
+        return ResponseEntity.ok(transactionService.searchTransactions(q, page, size));
+    }
+
     /**
      * Update transaction
      */
@@ -111,6 +180,30 @@ public class TransactionController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Update many transactions
+     */
+    @PatchMapping("/batch")
+    @Operation(summary = "Batch Update Transactions", description = "Apply up to 1000 partial updates; each item succeeds or fails on its own")
+    public ResponseEntity<BatchResponse> updateTransactions(@Valid @RequestBody BatchUpdateRequest request) {
+        logger.info("Received batch update request, items: {}", request.getItems().size());
+        BatchResponse response = transactionService.updateTransactions(request.getItems());
+        logger.info("Batch update finished, succeeded: {}, failed: {}", response.getSucceeded(), response.getFailed());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Delete many transactions
+     */
+    @DeleteMapping("/batch")
+    @Operation(summary = "Batch Delete Transactions", description = "Delete up to 1000 transactions by ID; each item succeeds or fails on its own")
+    public ResponseEntity<BatchResponse> deleteTransactions(@Valid @RequestBody BatchDeleteRequest request) {
+        logger.info("Received batch delete request, items: {}", request.getIds().size());
+        BatchResponse response = transactionService.deleteTransactions(request.getIds());
+        logger.info("Batch delete finished, succeeded: {}, failed: {}", response.getSucceeded(), response.getFailed());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Check if transaction exists
      */
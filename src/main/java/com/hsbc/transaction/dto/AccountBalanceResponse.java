@@ -0,0 +1,50 @@
+package com.hsbc.transaction.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Account Balance Response DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class AccountBalanceResponse {
+
+    private String accountId;
+    private Map<String, BigDecimal> balances;
+
+    // Default constructor
+    public AccountBalanceResponse() {}
+
+    // Constructor with parameters
+    public AccountBalanceResponse(String accountId, Map<String, BigDecimal> balances) {
+        this.accountId = accountId;
+        this.balances = balances;
+    }
+
+    // Getters and Setters
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public Map<String, BigDecimal> getBalances() {
+        return balances;
+    }
+
+    public void setBalances(Map<String, BigDecimal> balances) {
+        this.balances = balances;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountBalanceResponse{" +
+                "accountId='" + accountId + '\'' +
+                ", balances=" + balances +
+                '}';
+    }
+}
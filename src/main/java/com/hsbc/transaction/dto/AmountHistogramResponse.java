@@ -0,0 +1,84 @@
+package com.hsbc.transaction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Amount Histogram Response DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class AmountHistogramResponse {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String currency;
+    private BigDecimal bucketWidth;
+    private List<Long> counts;
+
+    // Default constructor
+    public AmountHistogramResponse() {}
+
+    // Constructor with parameters
+    public AmountHistogramResponse(LocalDateTime from, LocalDateTime to, String currency, BigDecimal bucketWidth, List<Long> counts) {
+        this.from = from;
+        this.to = to;
+        this.currency = currency;
+        this.bucketWidth = bucketWidth;
+        this.counts = counts;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getBucketWidth() {
+        return bucketWidth;
+    }
+
+    public void setBucketWidth(BigDecimal bucketWidth) {
+        this.bucketWidth = bucketWidth;
+    }
+
+    public List<Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(List<Long> counts) {
+        this.counts = counts;
+    }
+
+    @Override
+    public String toString() {
+        return "AmountHistogramResponse{" +
+                "from=" + from +
+                ", to=" + to +
+                ", currency='" + currency + '\'' +
+                ", bucketWidth=" + bucketWidth +
+                ", counts=" + counts +
+                '}';
+    }
+}
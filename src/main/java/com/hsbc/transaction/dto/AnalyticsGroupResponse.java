@@ -0,0 +1,60 @@
+package com.hsbc.transaction.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Analytics Group Response DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class AnalyticsGroupResponse {
+
+    private String key;
+    private long count;
+    private BigDecimal totalAmount;
+
+    // Default constructor
+    public AnalyticsGroupResponse() {}
+
+    // Constructor with parameters
+    public AnalyticsGroupResponse(String key, long count, BigDecimal totalAmount) {
+        this.key = key;
+        this.count = count;
+        this.totalAmount = totalAmount;
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalyticsGroupResponse{" +
+                "key='" + key + '\'' +
+                ", count=" + count +
+                ", totalAmount=" + totalAmount +
+                '}';
+    }
+}
@@ -0,0 +1,83 @@
+package com.hsbc.transaction.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Analytics Summary Response DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class AnalyticsSummaryResponse {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String groupBy;
+    private long totalCount;
+    private List<AnalyticsGroupResponse> groups;
+
+    // Default constructor
+    public AnalyticsSummaryResponse() {}
+
+    // Constructor with parameters
+    public AnalyticsSummaryResponse(LocalDateTime from, LocalDateTime to, String groupBy, long totalCount, List<AnalyticsGroupResponse> groups) {
+        this.from = from;
+        this.to = to;
+        this.groupBy = groupBy;
+        this.totalCount = totalCount;
+        this.groups = groups;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(String groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public List<AnalyticsGroupResponse> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<AnalyticsGroupResponse> groups) {
+        this.groups = groups;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalyticsSummaryResponse{" +
+                "from=" + from +
+                ", to=" + to +
+                ", groupBy='" + groupBy + '\'' +
+                ", totalCount=" + totalCount +
+                ", groups=" + groups +
+                '}';
+    }
+}
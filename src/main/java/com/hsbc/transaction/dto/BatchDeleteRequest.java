@@ -0,0 +1,43 @@
+package com.hsbc.transaction.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Batch Delete Request DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class BatchDeleteRequest {
+
+    @NotEmpty(message = "Transaction IDs cannot be empty")
+    @Size(max = 1000, message = "A batch cannot exceed 1000 items")
+    private List<String> ids;
+
+    // Default constructor
+    public BatchDeleteRequest() {}
+
+    // Constructor with parameters
+    public BatchDeleteRequest(List<String> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchDeleteRequest{" +
+                "ids=" + ids +
+                '}';
+    }
+}
@@ -0,0 +1,83 @@
+package com.hsbc.transaction.dto;
+
+/**
+ * Batch Item Result DTO
+ *
+ * The status is the HTTP status the item would have had as a single request.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class BatchItemResult {
+
+    private String id;
+    private int status;
+    private String message;
+    private TransactionResponse transaction;
+
+    // Default constructor
+    public BatchItemResult() {}
+
+    // Constructor with parameters
+    public BatchItemResult(String id, int status, String message, TransactionResponse transaction) {
+        this.id = id;
+        this.status = status;
+        this.message = message;
+        this.transaction = transaction;
+    }
+
+    public static BatchItemResult success(String id, int status, TransactionResponse transaction) {
+        return new BatchItemResult(id, status, null, transaction);
+    }
+
+    public static BatchItemResult failure(String id, int status, String message) {
+        return new BatchItemResult(id, status, message, null);
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public boolean isSuccessful() {
+        return status < 300;
+    }
+
+    public TransactionResponse getTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(TransactionResponse transaction) {
+        this.transaction = transaction;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchItemResult{" +
+                "id='" + id + '\'' +
+                ", status=" + status +
+                ", message='" + message + '\'' +
+                ", transaction=" + transaction +
+                '}';
+    }
+}
@@ -0,0 +1,65 @@
+package com.hsbc.transaction.dto;
+
+import java.util.List;
+
+/**
+ * Batch Response DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class BatchResponse {
+
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> results;
+
+    // Default constructor
+    public BatchResponse() {}
+
+    // Constructor with parameters
+    public BatchResponse(int succeeded, int failed, List<BatchItemResult> results) {
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.results = results;
+    }
+
+    public static BatchResponse of(List<BatchItemResult> results) {
+        int succeeded = (int) results.stream().filter(BatchItemResult::isSuccessful).count();
+        return new BatchResponse(succeeded, results.size() - succeeded, results);
+    }
+
+    // Getters and Setters
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResponse{" +
+                "succeeded=" + succeeded +
+                ", failed=" + failed +
+                ", results=" + results +
+                '}';
+    }
+}
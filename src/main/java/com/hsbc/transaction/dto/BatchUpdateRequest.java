@@ -0,0 +1,44 @@
+package com.hsbc.transaction.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Batch Update Request DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class BatchUpdateRequest {
+
+    @NotEmpty(message = "Batch items cannot be empty")
+    @Size(max = 1000, message = "A batch cannot exceed 1000 items")
+    private List<@Valid TransactionPatch> items;
+
+    // Default constructor
+    public BatchUpdateRequest() {}
+
+    // Constructor with parameters
+    public BatchUpdateRequest(List<TransactionPatch> items) {
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public List<TransactionPatch> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TransactionPatch> items) {
+        this.items = items;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchUpdateRequest{" +
+                "items=" + items +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+package com.hsbc.transaction.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Cursor Paged Response DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class CursorPagedResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean last;
+
+    // Cursor of the next page, absent on the last page
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    // Default constructor
+    public CursorPagedResponse() {}
+
+    // Constructor with parameters
+    public CursorPagedResponse(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.last = nextCursor == null;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isLast() {
+        return last;
+    }
+
+    public void setLast(boolean last) {
+        this.last = last;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPagedResponse{" +
+                "content=" + content +
+                ", size=" + size +
+                ", last=" + last +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+package com.hsbc.transaction.dto;
+
+/**
+ * Hot Key Response DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class HotKeyResponse {
+
+    private String transactionId;
+    private int estimatedReads;
+
+    // Default constructor
+    public HotKeyResponse() {}
+
+    // Constructor with parameters
+    public HotKeyResponse(String transactionId, int estimatedReads) {
+        this.transactionId = transactionId;
+        this.estimatedReads = estimatedReads;
+    }
+
+    // Getters and Setters
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public int getEstimatedReads() {
+        return estimatedReads;
+    }
+
+    public void setEstimatedReads(int estimatedReads) {
+        this.estimatedReads = estimatedReads;
+    }
+
+    @Override
+    public String toString() {
+        return "HotKeyResponse{" +
+                "transactionId='" + transactionId + '\'' +
+                ", estimatedReads=" + estimatedReads +
+                '}';
+    }
+}
@@ -1,5 +1,7 @@
 package com.hsbc.transaction.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
@@ -18,6 +20,10 @@ public class PagedResponse<T> {
     private boolean first;
     private boolean last;
 
+    // Token of the snapshot the page was read from, only set for snapshot paging
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String snapshot;
+
     // Default constructor
     public PagedResponse() {}
 
@@ -89,6 +95,14 @@ public class PagedResponse<T> {
         this.last = last;
     }
 
+    public String getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(String snapshot) {
+        this.snapshot = snapshot;
+    }
+
     @Override
     public String toString() {
         return "PagedResponse{" +
@@ -99,6 +113,7 @@ public class PagedResponse<T> {
                 ", totalPages=" + totalPages +
                 ", first=" + first +
                 ", last=" + last +
+                ", snapshot=" + snapshot +
                 '}';
     }
 }
@@ -0,0 +1,84 @@
+package com.hsbc.transaction.dto;
+
+import com.hsbc.transaction.changefeed.ChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transaction Change Event DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionChangeEvent {
+
+    private long sequence;
+    private ChangeType type;
+    private String transactionId;
+    private LocalDateTime occurredAt;
+    private TransactionResponse transaction;
+
+    // Default constructor
+    public TransactionChangeEvent() {}
+
+    // Constructor with parameters
+    public TransactionChangeEvent(long sequence, ChangeType type, String transactionId,
+                                  LocalDateTime occurredAt, TransactionResponse transaction) {
+        this.sequence = sequence;
+        this.type = type;
+        this.transactionId = transactionId;
+        this.occurredAt = occurredAt;
+        this.transaction = transaction;
+    }
+
+    // Getters and Setters
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public void setType(ChangeType type) {
+        this.type = type;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public TransactionResponse getTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(TransactionResponse transaction) {
+        this.transaction = transaction;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionChangeEvent{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", transactionId='" + transactionId + '\'' +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+package com.hsbc.transaction.dto;
+
+import java.util.List;
+
+/**
+ * Transaction History Response DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionHistoryResponse {
+
+    private String id;
+    private List<TransactionVersionResponse> versions;
+
+    // Default constructor
+    public TransactionHistoryResponse() {}
+
+    // Constructor with parameters
+    public TransactionHistoryResponse(String id, List<TransactionVersionResponse> versions) {
+        this.id = id;
+        this.versions = versions;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<TransactionVersionResponse> getVersions() {
+        return versions;
+    }
+
+    public void setVersions(List<TransactionVersionResponse> versions) {
+        this.versions = versions;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionHistoryResponse{" +
+                "id='" + id + '\'' +
+                ", versions=" + versions +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.hsbc.transaction.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Transaction Lookup Request DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionLookupRequest {
+
+    @NotEmpty(message = "Transaction IDs cannot be empty")
+    @Size(max = 1000, message = "At most 1000 transaction IDs can be looked up at once")
+    private List<String> ids;
+
+    // Default constructor
+    public TransactionLookupRequest() {}
+
+    // Constructor with parameters
+    public TransactionLookupRequest(List<String> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionLookupRequest{" +
+                "ids=" + ids +
+                '}';
+    }
+}
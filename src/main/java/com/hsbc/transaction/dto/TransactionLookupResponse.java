@@ -0,0 +1,49 @@
+package com.hsbc.transaction.dto;
+
+import java.util.List;
+
+/**
+ * Transaction Lookup Response DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionLookupResponse {
+
+    private List<TransactionResponse> transactions;
+    private List<String> missingIds;
+
+    // Default constructor
+    public TransactionLookupResponse() {}
+
+    // Constructor with parameters
+    public TransactionLookupResponse(List<TransactionResponse> transactions, List<String> missingIds) {
+        this.transactions = transactions;
+        this.missingIds = missingIds;
+    }
+
+    // Getters and Setters
+    public List<TransactionResponse> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionResponse> transactions) {
+        this.transactions = transactions;
+    }
+
+    public List<String> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<String> missingIds) {
+        this.missingIds = missingIds;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionLookupResponse{" +
+                "transactions=" + transactions +
+                ", missingIds=" + missingIds +
+                '}';
+    }
+}
@@ -0,0 +1,100 @@
+package com.hsbc.transaction.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * Transaction Patch DTO
+ *
+ * Fields left null keep their current value.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionPatch {
+
+    @NotBlank(message = "Transaction ID cannot be blank")
+    private String id;
+    private BigDecimal amount;
+    private String currency;
+    private String transactionType;
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+    private String referenceNumber;
+
+    // Default constructor
+    public TransactionPatch() {}
+
+    // Constructor with parameters
+    public TransactionPatch(String id, BigDecimal amount, String currency, String transactionType, String description, String referenceNumber) {
+        this.id = id;
+        this.amount = amount;
+        this.currency = currency;
+        this.transactionType = transactionType;
+        this.description = description;
+        this.referenceNumber = referenceNumber;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(String transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getReferenceNumber() {
+        return referenceNumber;
+    }
+
+    public void setReferenceNumber(String referenceNumber) {
+        this.referenceNumber = referenceNumber;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionPatch{" +
+                "id='" + id + '\'' +
+                ", amount=" + amount +
+                ", currency='" + currency + '\'' +
+                ", transactionType='" + transactionType + '\'' +
+                ", description='" + description + '\'' +
+                ", referenceNumber='" + referenceNumber + '\'' +
+                '}';
+    }
+}
@@ -28,6 +28,12 @@ public class TransactionRequest {
 
     private String referenceNumber;
 
+    @Size(max = 64, message = "Account ID cannot exceed 64 characters")
+    private String accountId;
+
+    @Size(max = 64, message = "Counterparty account ID cannot exceed 64 characters")
+    private String counterpartyAccountId;
+
     // Default constructor
     public TransactionRequest() {}
 
@@ -81,6 +87,22 @@ public class TransactionRequest {
         this.referenceNumber = referenceNumber;
     }
 
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getCounterpartyAccountId() {
+        return counterpartyAccountId;
+    }
+
+    public void setCounterpartyAccountId(String counterpartyAccountId) {
+        this.counterpartyAccountId = counterpartyAccountId;
+    }
+
     @Override
     public String toString() {
         return "TransactionRequest{" +
@@ -89,6 +111,8 @@ public class TransactionRequest {
                 ", transactionType='" + transactionType + '\'' +
                 ", description='" + description + '\'' +
                 ", referenceNumber='" + referenceNumber + '\'' +
+                ", accountId='" + accountId + '\'' +
+                ", counterpartyAccountId='" + counterpartyAccountId + '\'' +
                 '}';
     }
 }
@@ -1,5 +1,8 @@
 package com.hsbc.transaction.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hsbc.transaction.model.Transaction;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -18,6 +21,10 @@ public class TransactionResponse {
     private LocalDateTime timestamp;
     private String description;
     private String referenceNumber;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String accountId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String counterpartyAccountId;
 
     // Default constructor
     public TransactionResponse() {}
@@ -34,6 +41,36 @@ public class TransactionResponse {
         this.referenceNumber = referenceNumber;
     }
 
+    /**
+     * Create response from transaction entity
+     */
+    public static TransactionResponse from(Transaction transaction) {
+        TransactionResponse response = new TransactionResponse(
+                transaction.getId(),
+                transaction.getAmount(),
+                transaction.getCurrency(),
+                transaction.getTransactionType(),
+                transaction.getTimestamp(),
+                transaction.getDescription(),
+                transaction.getReferenceNumber()
+        );
+        response.setAccountId(transaction.getAccountId());
+        response.setCounterpartyAccountId(transaction.getCounterpartyAccountId());
+        return response;
+    }
+
+    /**
+     * Restore transaction entity from response, keeping its id and timestamp
+     */
+    public Transaction toTransaction() {
+        Transaction transaction = new Transaction(amount, currency, transactionType, description, referenceNumber);
+        transaction.setId(id);
+        transaction.setTimestamp(timestamp);
+        transaction.setAccountId(accountId);
+        transaction.setCounterpartyAccountId(counterpartyAccountId);
+        return transaction;
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
@@ -91,6 +128,22 @@ public class TransactionResponse {
         this.referenceNumber = referenceNumber;
     }
 
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getCounterpartyAccountId() {
+        return counterpartyAccountId;
+    }
+
+    public void setCounterpartyAccountId(String counterpartyAccountId) {
+        this.counterpartyAccountId = counterpartyAccountId;
+    }
+
     @Override
     public String toString() {
         return "TransactionResponse{" +
@@ -101,6 +154,8 @@ public class TransactionResponse {
                 ", timestamp=" + timestamp +
                 ", description='" + description + '\'' +
                 ", referenceNumber='" + referenceNumber + '\'' +
+                ", accountId='" + accountId + '\'' +
+                ", counterpartyAccountId='" + counterpartyAccountId + '\'' +
                 '}';
     }
 }
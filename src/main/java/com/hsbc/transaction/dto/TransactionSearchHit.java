@@ -0,0 +1,47 @@
+package com.hsbc.transaction.dto;
+
+/**
+ * Transaction Search Hit DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionSearchHit {
+
+    private double score;
+    private TransactionResponse transaction;
+
+    // Default constructor
+    public TransactionSearchHit() {}
+
+    // Constructor with parameters
+    public TransactionSearchHit(double score, TransactionResponse transaction) {
+        this.score = score;
+        this.transaction = transaction;
+    }
+
+    // Getters and Setters
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public TransactionResponse getTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(TransactionResponse transaction) {
+        this.transaction = transaction;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionSearchHit{" +
+                "score=" + score +
+                ", transaction=" + transaction +
+                '}';
+    }
+}
@@ -0,0 +1,84 @@
+package com.hsbc.transaction.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transaction Version Response DTO
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionVersionResponse {
+
+    private int version;
+    private LocalDateTime validFrom;
+    private LocalDateTime validTo;
+    private List<String> changedFields;
+    private TransactionResponse transaction;
+
+    // Default constructor
+    public TransactionVersionResponse() {}
+
+    // Constructor with parameters
+    public TransactionVersionResponse(int version, LocalDateTime validFrom, LocalDateTime validTo,
+                                      List<String> changedFields, TransactionResponse transaction) {
+        this.version = version;
+        this.validFrom = validFrom;
+        this.validTo = validTo;
+        this.changedFields = changedFields;
+        this.transaction = transaction;
+    }
+
+    // Getters and Setters
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDateTime validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public LocalDateTime getValidTo() {
+        return validTo;
+    }
+
+    public void setValidTo(LocalDateTime validTo) {
+        this.validTo = validTo;
+    }
+
+    public List<String> getChangedFields() {
+        return changedFields;
+    }
+
+    public void setChangedFields(List<String> changedFields) {
+        this.changedFields = changedFields;
+    }
+
+    public TransactionResponse getTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(TransactionResponse transaction) {
+        this.transaction = transaction;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionVersionResponse{" +
+                "version=" + version +
+                ", validFrom=" + validFrom +
+                ", validTo=" + validTo +
+                ", changedFields=" + changedFields +
+                ", transaction=" + transaction +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+package com.hsbc.transaction.exception;
+
+/**
+ * Account Not Found Exception
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class AccountNotFoundException extends RuntimeException {
+
+    public AccountNotFoundException(String message) {
+        super(message);
+    }
+
+    public static AccountNotFoundException withId(String accountId) {
+        return new AccountNotFoundException("Account not found, ID: " + accountId);
+    }
+}
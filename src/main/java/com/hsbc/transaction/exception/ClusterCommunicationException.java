@@ -0,0 +1,25 @@
+package com.hsbc.transaction.exception;
+
+/**
+ * Cluster Communication Exception
+ *
+ * Thrown when a request cannot be completed because another cluster node
+ * is unreachable or answered unexpectedly.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ClusterCommunicationException extends RuntimeException {
+
+    public ClusterCommunicationException(String message) {
+        super(message);
+    }
+
+    public ClusterCommunicationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public static ClusterCommunicationException unreachable(String nodeId, Throwable cause) {
+        return new ClusterCommunicationException("Cluster node unavailable: " + nodeId, cause);
+    }
+}
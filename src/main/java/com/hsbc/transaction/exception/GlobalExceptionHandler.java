@@ -2,6 +2,7 @@ package com.hsbc.transaction.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -39,6 +40,36 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handle account not found exception
+     */
+    @ExceptionHandler(AccountNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleAccountNotFoundException(AccountNotFoundException ex) {
+        logger.warn("Account not found: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Account Not Found",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handle withdrawal beyond an account's balance
+     */
+    @ExceptionHandler(InsufficientFundsException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientFundsException(InsufficientFundsException ex) {
+        logger.warn("Insufficient funds: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                "Insufficient Funds",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     /**
      * Handle duplicate transaction exception
      */
@@ -69,6 +100,74 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handle service overloaded exception
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        logger.debug("Request shed: {}", ex.getMessage());
+        HttpStatus status = HttpStatus.valueOf(ex.getStatus());
+        ErrorResponse errorResponse = new ErrorResponse(
+                status.value(),
+                "Service Overloaded",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handle cluster communication exception
+     */
+    @ExceptionHandler(ClusterCommunicationException.class)
+    public ResponseEntity<ErrorResponse> handleClusterCommunicationException(ClusterCommunicationException ex) {
+        logger.error("Cluster communication failed: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Cluster Node Unavailable",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handle expired paging snapshot
+     */
+    @ExceptionHandler(SnapshotExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleSnapshotExpiredException(SnapshotExpiredException ex) {
+        logger.debug("Snapshot expired: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.GONE.value(),
+                "Snapshot Expired",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.GONE);
+    }
+
+    /**
+     * Handle write sent to a read replica
+     */
+    @ExceptionHandler(ReadOnlyReplicaException.class)
+    public ResponseEntity<ErrorResponse> handleReadOnlyReplicaException(ReadOnlyReplicaException ex) {
+        logger.debug("Write rejected by read replica: {}", ex.getMessage());
+        // 421 Misdirected Request: the request must be sent to another server
+        ErrorResponse errorResponse = new ErrorResponse(
+                421,
+                "Read Only Replica",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(421);
+        if (ex.getLeaderUrl() != null && !ex.getLeaderUrl().isBlank()) {
+            builder.header(HttpHeaders.LOCATION, ex.getLeaderUrl());
+        }
+        return builder.body(errorResponse);
+    }
+
     /**
      * Handle parameter validation exception
      */
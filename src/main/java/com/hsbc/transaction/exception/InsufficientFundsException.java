@@ -0,0 +1,22 @@
+package com.hsbc.transaction.exception;
+
+import java.math.BigDecimal;
+
+/**
+ * Insufficient Funds Exception
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class InsufficientFundsException extends RuntimeException {
+
+    public InsufficientFundsException(String message) {
+        super(message);
+    }
+
+    public static InsufficientFundsException forAccount(String accountId, String currency, BigDecimal balance,
+                                                        BigDecimal required) {
+        return new InsufficientFundsException("Insufficient funds in account " + accountId + ": balance "
+                + balance.toPlainString() + " " + currency + ", required " + required.toPlainString() + " " + currency);
+    }
+}
@@ -0,0 +1,30 @@
+package com.hsbc.transaction.exception;
+
+/**
+ * Read Only Replica Exception
+ *
+ * Thrown when a write is sent to a replication follower.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ReadOnlyReplicaException extends RuntimeException {
+
+    private final String leaderUrl;
+
+    public ReadOnlyReplicaException(String message, String leaderUrl) {
+        super(message);
+        this.leaderUrl = leaderUrl;
+    }
+
+    public static ReadOnlyReplicaException writeRejected(String leaderUrl) {
+        String message = leaderUrl != null && !leaderUrl.isBlank()
+                ? "This instance is a read replica, send writes to the leader at " + leaderUrl
+                : "This instance is a read replica, send writes to the leader";
+        return new ReadOnlyReplicaException(message, leaderUrl);
+    }
+
+    public String getLeaderUrl() {
+        return leaderUrl;
+    }
+}
@@ -0,0 +1,40 @@
+package com.hsbc.transaction.exception;
+
+/**
+ * Service Overloaded Exception
+ *
+ * Thrown when admission control sheds a request instead of queueing it, or
+ * when a read replica cannot serve a read at the requested position in time.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final int status;
+    private final int retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, int status, int retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public static ServiceOverloadedException shed(String category, int status, int retryAfterSeconds) {
+        return new ServiceOverloadedException(
+                "Too many concurrent " + category + " requests, please retry later", status, retryAfterSeconds);
+    }
+
+    public static ServiceOverloadedException replicaBehind(long sequence, int retryAfterSeconds) {
+        return new ServiceOverloadedException(
+                "Replica has not caught up to sequence " + sequence + " yet, please retry later", 503, retryAfterSeconds);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
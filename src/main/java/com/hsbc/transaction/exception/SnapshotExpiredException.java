@@ -0,0 +1,21 @@
+package com.hsbc.transaction.exception;
+
+/**
+ * Snapshot Expired Exception
+ *
+ * Thrown when a paging snapshot token is unknown or its snapshot has expired.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class SnapshotExpiredException extends RuntimeException {
+
+    public SnapshotExpiredException(String message) {
+        super(message);
+    }
+
+    public static SnapshotExpiredException withToken(String token) {
+        return new SnapshotExpiredException(
+                "Snapshot has expired or is unknown: " + token + ", restart paging from page 0");
+    }
+}
@@ -1,5 +1,7 @@
 package com.hsbc.transaction.exception;
 
+import java.time.LocalDateTime;
+
 /**
  * Transaction Not Found Exception
  *
@@ -19,4 +21,8 @@ public class TransactionNotFoundException extends RuntimeException {
     public static TransactionNotFoundException withId(String id) {
         return new TransactionNotFoundException("Transaction record not found, ID: " + id);
     }
+
+    public static TransactionNotFoundException asOf(String id, LocalDateTime asOf) {
+        return new TransactionNotFoundException("Transaction record not found as of " + asOf + ", ID: " + id);
+    }
 }
@@ -0,0 +1,162 @@
+package com.hsbc.transaction.history;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * File holding cold transaction versions
+ *
+ * Blocks are written once and read by position, so the heap only keeps
+ * their offsets. Released blocks become free extents, merged with free
+ * neighbours; a new block takes the smallest free extent it fits in, and
+ * free space at the end of the file is truncated. Each application
+ * instance uses its own file, which is deleted on shutdown like the
+ * in-memory data it belongs to.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ColdVersionStore implements Closeable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private long size;
+    // Free extents by offset, and their offsets by length for best-fit allocation
+    private final TreeMap<Long, Integer> freeByOffset = new TreeMap<>();
+    private final TreeMap<Integer, NavigableSet<Long>> freeByLength = new TreeMap<>();
+    private long freeBytes;
+
+    public ColdVersionStore(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            this.file = Files.createTempFile(directory, "cold-versions-", ".dat");
+            this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create cold version file in " + directory, e);
+        }
+    }
+
+    /**
+     * Write a block into free space, or at the end of the file
+     *
+     * @return offset of the block
+     */
+    public synchronized long append(byte[] block) {
+        long offset = allocate(block.length);
+        ByteBuffer buffer = ByteBuffer.wrap(block);
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cold versions to " + file, e);
+        }
+        return offset;
+    }
+
+    /**
+     * Give back the space of a block that is no longer read
+     */
+    public synchronized void release(long offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+        long start = offset;
+        long end = offset + length;
+        Map.Entry<Long, Integer> before = freeByOffset.floorEntry(start);
+        if (before != null && before.getKey() + before.getValue() == start) {
+            removeFree(before.getKey(), before.getValue());
+            start = before.getKey();
+        }
+        Integer after = freeByOffset.get(end);
+        if (after != null) {
+            removeFree(end, after);
+            end += after;
+        }
+        if (end == size) {
+            size = start;
+            try {
+                channel.truncate(size);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to truncate " + file, e);
+            }
+            return;
+        }
+        // Extents beyond Integer.MAX_VALUE bytes are not tracked as one piece
+        addFree(start, (int) Math.min(Integer.MAX_VALUE, end - start));
+    }
+
+    /**
+     * Read a block written earlier
+     */
+    public byte[] read(long offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException("Cold version block beyond end of " + file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read cold versions from " + file, e);
+        }
+        return buffer.array();
+    }
+
+    public synchronized long getSizeBytes() {
+        return size;
+    }
+
+    public synchronized long getFreeBytes() {
+        return freeBytes;
+    }
+
+    private long allocate(int length) {
+        Map.Entry<Integer, NavigableSet<Long>> fit = freeByLength.ceilingEntry(length);
+        if (fit == null) {
+            long offset = size;
+            size += length;
+            return offset;
+        }
+        long offset = fit.getValue().first();
+        int extent = fit.getKey();
+        removeFree(offset, extent);
+        if (extent > length) {
+            addFree(offset + length, extent - length);
+        }
+        return offset;
+    }
+
+    private void addFree(long offset, int length) {
+        freeByOffset.put(offset, length);
+        freeByLength.computeIfAbsent(length, l -> new TreeSet<>()).add(offset);
+        freeBytes += length;
+    }
+
+    private void removeFree(long offset, int length) {
+        freeByOffset.remove(offset);
+        NavigableSet<Long> offsets = freeByLength.get(length);
+        offsets.remove(offset);
+        if (offsets.isEmpty()) {
+            freeByLength.remove(length);
+        }
+        freeBytes -= length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
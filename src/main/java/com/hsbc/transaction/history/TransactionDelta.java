@@ -0,0 +1,187 @@
+package com.hsbc.transaction.history;
+
+import com.hsbc.transaction.model.Transaction;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Reverse delta of one transaction version
+ *
+ * Holds only the fields in which a version differs from the next newer one,
+ * so restoring it onto the newer state yields the older state. ID and
+ * timestamp never change and are not stored.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+final class TransactionDelta {
+
+    static final int AMOUNT = 1;
+    static final int CURRENCY = 1 << 1;
+    static final int TRANSACTION_TYPE = 1 << 2;
+    static final int DESCRIPTION = 1 << 3;
+    static final int REFERENCE_NUMBER = 1 << 4;
+    static final int ACCOUNT_ID = 1 << 5;
+    static final int COUNTERPARTY_ACCOUNT_ID = 1 << 6;
+    static final int ALL_FIELDS = (1 << 7) - 1;
+
+    private static final String[] FIELD_NAMES = {
+            "amount", "currency", "transactionType", "description", "referenceNumber", "accountId",
+            "counterpartyAccountId"
+    };
+
+    private final int version;
+    private final LocalDateTime validFrom;
+    private final int changedFields;
+    // Values of the changed fields only, in field bit order
+    private final Object[] values;
+
+    private TransactionDelta(int version, LocalDateTime validFrom, int changedFields, Object[] values) {
+        this.version = version;
+        this.validFrom = validFrom;
+        this.changedFields = changedFields;
+        this.values = values;
+    }
+
+    /**
+     * Create the delta that restores {@code older} from {@code newer}
+     */
+    static TransactionDelta between(int version, LocalDateTime validFrom, Transaction older, Transaction newer) {
+        return of(version, validFrom, older, changedFields(older, newer));
+    }
+
+    /**
+     * Create a delta holding every field, which restores the full state onto any base
+     */
+    static TransactionDelta full(int version, LocalDateTime validFrom, Transaction state) {
+        return of(version, validFrom, state, ALL_FIELDS);
+    }
+
+    private static TransactionDelta of(int version, LocalDateTime validFrom, Transaction state, int fields) {
+        List<Object> values = new ArrayList<>(Integer.bitCount(fields));
+        Object[] all = fieldValues(state);
+        for (int i = 0; i < all.length; i++) {
+            if ((fields & (1 << i)) != 0) {
+                values.add(all[i]);
+            }
+        }
+        return new TransactionDelta(version, validFrom, fields, values.toArray());
+    }
+
+    /**
+     * Get bit set of the fields in which two states differ
+     */
+    static int changedFields(Transaction a, Transaction b) {
+        Object[] first = fieldValues(a);
+        Object[] second = fieldValues(b);
+        int fields = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (!Objects.equals(first[i], second[i])) {
+                fields |= 1 << i;
+            }
+        }
+        return fields;
+    }
+
+    static Set<String> fieldNames(int fields) {
+        Set<String> names = new LinkedHashSet<>();
+        for (int i = 0; i < FIELD_NAMES.length; i++) {
+            if ((fields & (1 << i)) != 0) {
+                names.add(FIELD_NAMES[i]);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Restore the state of this version from the next newer state
+     */
+    Transaction restore(Transaction newer) {
+        Transaction older = new Transaction(newer);
+        int index = 0;
+        if ((changedFields & AMOUNT) != 0) {
+            older.setAmount((BigDecimal) values[index++]);
+        }
+        if ((changedFields & CURRENCY) != 0) {
+            older.setCurrency((String) values[index++]);
+        }
+        if ((changedFields & TRANSACTION_TYPE) != 0) {
+            older.setTransactionType((String) values[index++]);
+        }
+        if ((changedFields & DESCRIPTION) != 0) {
+            older.setDescription((String) values[index++]);
+        }
+        if ((changedFields & REFERENCE_NUMBER) != 0) {
+            older.setReferenceNumber((String) values[index++]);
+        }
+        if ((changedFields & ACCOUNT_ID) != 0) {
+            older.setAccountId((String) values[index++]);
+        }
+        if ((changedFields & COUNTERPARTY_ACCOUNT_ID) != 0) {
+            older.setCounterpartyAccountId((String) values[index]);
+        }
+        return older;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(version);
+        out.writeLong(validFrom.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(validFrom.getNano());
+        out.writeByte(changedFields);
+        for (Object value : values) {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeUTF(value.toString());
+            }
+        }
+    }
+
+    static TransactionDelta readFrom(DataInput in) throws IOException {
+        int version = in.readInt();
+        LocalDateTime validFrom = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        int fields = in.readByte();
+        Object[] values = new Object[Integer.bitCount(fields)];
+        int index = 0;
+        for (int i = 0; i < FIELD_NAMES.length; i++) {
+            if ((fields & (1 << i)) != 0) {
+                String value = in.readBoolean() ? in.readUTF() : null;
+                values[index++] = value != null && (1 << i) == AMOUNT ? new BigDecimal(value) : value;
+            }
+        }
+        return new TransactionDelta(version, validFrom, fields, values);
+    }
+
+    private static Object[] fieldValues(Transaction transaction) {
+        return new Object[]{
+                transaction.getAmount(),
+                transaction.getCurrency(),
+                transaction.getTransactionType(),
+                transaction.getDescription(),
+                transaction.getReferenceNumber(),
+                transaction.getAccountId(),
+                transaction.getCounterpartyAccountId()
+        };
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    int getChangedFields() {
+        return changedFields;
+    }
+}
@@ -0,0 +1,158 @@
+package com.hsbc.transaction.history;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.service.TransactionMutationListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Version history of all transactions
+ *
+ * Records every change as a reverse delta against the newer state, so the
+ * memory cost of an update is proportional to the fields it changed. Only
+ * the most recent versions of each transaction stay on the heap; older
+ * ones are moved to the {@link ColdVersionStore}. A transaction gets a
+ * version chain on its first update; until then its only version is read
+ * from the repository. When the transaction is archived its chain is
+ * frozen: every version moves to the cold store, so the history stays
+ * readable without holding it on the heap. Chains are dropped, and their
+ * cold blocks released, when the transaction is deleted.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionHistoryStore implements TransactionMutationListener {
+
+    private final ColdVersionStore coldStore;
+    private final int hotVersions;
+    private final Function<String, Optional<Transaction>> currentState;
+
+    private final Map<String, VersionChain> chains = new ConcurrentHashMap<>();
+    private final AtomicLong versionCount = new AtomicLong();
+    private final AtomicLong coldVersionCount = new AtomicLong();
+
+    /**
+     * @param currentState lookup of the stored state of a transaction that has no chain
+     */
+    public TransactionHistoryStore(ColdVersionStore coldStore, int hotVersions,
+                                   Function<String, Optional<Transaction>> currentState) {
+        this.coldStore = coldStore;
+        this.hotVersions = hotVersions;
+        this.currentState = currentState;
+    }
+
+    @Override
+    public void onSaved(Transaction transaction, LocalDateTime changedAt) {
+        // New transactions have no chain; saves without a known previous state extend an existing one
+        chains.computeIfPresent(transaction.getId(), (id, chain) -> record(chain, transaction, changedAt));
+    }
+
+    @Override
+    public void onUpdated(Transaction previous, Transaction transaction, LocalDateTime changedAt) {
+        chains.compute(transaction.getId(), (id, chain) -> {
+            if (chain == null) {
+                versionCount.incrementAndGet();
+                chain = new VersionChain(coldStore, hotVersions, previous, createdAt(previous, changedAt));
+            }
+            return record(chain, transaction, changedAt);
+        });
+    }
+
+    @Override
+    public void onDeleted(String id, LocalDateTime changedAt) {
+        drop(id);
+    }
+
+    @Override
+    public void onArchived(String id, LocalDateTime archivedAt) {
+        chains.computeIfPresent(id, (key, chain) -> {
+            coldVersionCount.addAndGet(chain.freeze());
+            return chain;
+        });
+    }
+
+    /**
+     * Get all versions of a transaction, oldest first
+     *
+     * @param id transaction ID
+     * @return versions, empty if the transaction does not exist
+     */
+    public Optional<List<TransactionVersion>> history(String id) {
+        VersionChain chain = chains.get(id);
+        if (chain != null) {
+            return Optional.of(chain.versions());
+        }
+        return currentState.apply(id).map(transaction -> List.of(
+                new TransactionVersion(1, transaction.getTimestamp(), null, Set.of(), transaction)));
+    }
+
+    /**
+     * Get the state of a transaction at a point in time
+     *
+     * @param id transaction ID
+     * @param time point in time
+     * @return copy of the state current at that time, empty if the transaction did not exist then
+     */
+    public Optional<Transaction> asOf(String id, LocalDateTime time) {
+        VersionChain chain = chains.get(id);
+        if (chain != null) {
+            return Optional.ofNullable(chain.asOf(time)).map(Transaction::new);
+        }
+        return currentState.apply(id)
+                .filter(transaction -> transaction.getTimestamp() == null || !time.isBefore(transaction.getTimestamp()));
+    }
+
+    public int getTrackedTransactionCount() {
+        return chains.size();
+    }
+
+    public long getVersionCount() {
+        return versionCount.get();
+    }
+
+    public long getColdVersionCount() {
+        return coldVersionCount.get();
+    }
+
+    public long getColdStoreBytes() {
+        return coldStore.getSizeBytes();
+    }
+
+    public long getColdStoreFreeBytes() {
+        return coldStore.getFreeBytes();
+    }
+
+    private VersionChain record(VersionChain chain, Transaction transaction, LocalDateTime changedAt) {
+        int spilled = chain.record(transaction, changedAt);
+        if (spilled >= 0) {
+            versionCount.incrementAndGet();
+            coldVersionCount.addAndGet(spilled);
+        }
+        return chain;
+    }
+
+    private void drop(String id) {
+        VersionChain chain = chains.remove(id);
+        if (chain != null) {
+            versionCount.addAndGet(-chain.getCurrentVersion());
+            coldVersionCount.addAndGet(-chain.getColdVersionCount());
+            chain.release();
+        }
+    }
+
+    /**
+     * The first version is valid from the creation time of the transaction
+     */
+    private static LocalDateTime createdAt(Transaction transaction, LocalDateTime changedAt) {
+        return transaction.getTimestamp() != null && transaction.getTimestamp().isBefore(changedAt)
+                ? transaction.getTimestamp()
+                : changedAt;
+    }
+}
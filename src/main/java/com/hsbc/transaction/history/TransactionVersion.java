@@ -0,0 +1,21 @@
+package com.hsbc.transaction.history;
+
+import com.hsbc.transaction.model.Transaction;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * One historical version of a transaction
+ *
+ * @param version version number, starting from 1
+ * @param validFrom time the version became current
+ * @param validTo time the version was replaced, null for the current version
+ * @param changedFields fields changed compared to the previous version
+ * @param transaction state of the version
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public record TransactionVersion(int version, LocalDateTime validFrom, LocalDateTime validTo,
+                                 Set<String> changedFields, Transaction transaction) {
+}
@@ -0,0 +1,287 @@
+package com.hsbc.transaction.history;
+
+import com.hsbc.transaction.model.Transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * All versions of one transaction
+ *
+ * The current state is kept in full. Older versions are reverse deltas,
+ * newest first; the most recent ones stay on the heap, older ones are
+ * written to the cold store in blocks. Every block starts with the full
+ * state it is based on, so reading an old version touches one block only.
+ *
+ * A frozen chain, of a transaction that left the in-memory store, keeps
+ * every version in the cold store, the current state included, and only
+ * block locations on the heap. Recording a new state thaws it again.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+final class VersionChain {
+
+    private final ColdVersionStore coldStore;
+    private final int hotVersions;
+    private final int blockSize;
+
+    // Null while frozen
+    private Transaction current;
+    // Block holding the current state while frozen, and the fields not kept in deltas
+    private ColdBlock frozenCurrent;
+    private Transaction frozenSkeleton;
+    private int currentVersion;
+    private LocalDateTime currentSince;
+
+    // Newest first
+    private final ArrayDeque<TransactionDelta> hot = new ArrayDeque<>();
+    // Oldest first
+    private final List<ColdBlock> cold = new ArrayList<>();
+
+    VersionChain(ColdVersionStore coldStore, int hotVersions, Transaction initial, LocalDateTime createdAt) {
+        this.coldStore = coldStore;
+        this.hotVersions = hotVersions;
+        this.blockSize = Math.max(1, hotVersions);
+        this.current = new Transaction(initial);
+        this.currentVersion = 1;
+        this.currentSince = createdAt;
+    }
+
+    /**
+     * Record a new state
+     *
+     * @return number of versions moved to the cold store, or -1 if nothing changed
+     */
+    synchronized int record(Transaction state, LocalDateTime changedAt) {
+        thaw();
+        Transaction next = new Transaction(state);
+        if (TransactionDelta.changedFields(current, next) == 0) {
+            return -1;
+        }
+        hot.addFirst(TransactionDelta.between(currentVersion, currentSince, current, next));
+        current = next;
+        currentVersion++;
+        currentSince = changedAt;
+
+        if (hot.size() >= hotVersions + blockSize) {
+            spillOldest(blockSize);
+            return blockSize;
+        }
+        return 0;
+    }
+
+    /**
+     * Move all versions, the current state included, to the cold store
+     *
+     * @return number of versions moved
+     */
+    synchronized int freeze() {
+        if (current == null) {
+            return 0;
+        }
+        int moved = hot.size();
+        if (moved > 0) {
+            spillOldest(moved);
+        }
+        byte[] encoded = encode(current, List.of());
+        frozenCurrent = new ColdBlock(coldStore.append(encoded), encoded.length, currentSince, 0);
+        frozenSkeleton = skeleton(current);
+        current = null;
+        return moved + 1;
+    }
+
+    /**
+     * Free the cold blocks of a chain that is no longer read
+     */
+    synchronized void release() {
+        // Readers still holding the chain see the last state, never a reused block
+        thaw();
+        for (ColdBlock block : cold) {
+            coldStore.release(block.offset(), block.length());
+        }
+        cold.clear();
+        hot.clear();
+    }
+
+    synchronized int getCurrentVersion() {
+        return currentVersion;
+    }
+
+    synchronized int getColdVersionCount() {
+        int count = frozenCurrent != null ? 1 : 0;
+        for (ColdBlock block : cold) {
+            count += block.count();
+        }
+        return count;
+    }
+
+    /**
+     * Get all versions, oldest first
+     */
+    synchronized List<TransactionVersion> versions() {
+        List<TransactionVersion> versions = new ArrayList<>(currentVersion);
+        Transaction current = current();
+        // The fields a version changed are recorded in the delta of its predecessor
+        Transaction state = new Transaction(current);
+        LocalDateTime validTo = null;
+        LocalDateTime validFrom = currentSince;
+        int version = currentVersion;
+
+        for (TransactionDelta delta : hot) {
+            versions.add(new TransactionVersion(version, validFrom, validTo,
+                    TransactionDelta.fieldNames(delta.getChangedFields()), state));
+            validTo = validFrom;
+            state = delta.restore(state);
+            validFrom = delta.getValidFrom();
+            version = delta.getVersion();
+        }
+        for (int b = cold.size() - 1; b >= 0; b--) {
+            for (TransactionDelta delta : cold.get(b).read(coldStore).deltas()) {
+                versions.add(new TransactionVersion(version, validFrom, validTo,
+                        TransactionDelta.fieldNames(delta.getChangedFields()), state));
+                validTo = validFrom;
+                state = delta.restore(state);
+                validFrom = delta.getValidFrom();
+                version = delta.getVersion();
+            }
+        }
+        versions.add(new TransactionVersion(version, validFrom, validTo, Set.of(), state));
+        Collections.reverse(versions);
+        return versions;
+    }
+
+    /**
+     * Get the state that was current at the given time, or null if there was none
+     */
+    synchronized Transaction asOf(LocalDateTime time) {
+        Transaction current = current();
+        if (!time.isBefore(currentSince)) {
+            return current;
+        }
+
+        Transaction state = current;
+        for (TransactionDelta delta : hot) {
+            state = delta.restore(state);
+            if (!time.isBefore(delta.getValidFrom())) {
+                return state;
+            }
+        }
+        for (int b = cold.size() - 1; b >= 0; b--) {
+            ColdBlock block = cold.get(b);
+            if (time.isBefore(block.oldestValidFrom)) {
+                continue;
+            }
+            DecodedBlock decoded = block.read(coldStore);
+            state = decoded.base().restore(current);
+            for (TransactionDelta delta : decoded.deltas()) {
+                state = delta.restore(state);
+                if (!time.isBefore(delta.getValidFrom())) {
+                    return state;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Transaction current() {
+        return current != null ? current : frozenCurrent.read(coldStore).base().restore(frozenSkeleton);
+    }
+
+    private void thaw() {
+        if (current == null) {
+            current = current();
+            coldStore.release(frozenCurrent.offset(), frozenCurrent.length());
+            frozenCurrent = null;
+            frozenSkeleton = null;
+        }
+    }
+
+    private void spillOldest(int count) {
+        // State the spilled deltas apply to: restore the hot deltas newer than them
+        int keep = hot.size() - count;
+        Transaction base = current;
+        Iterator<TransactionDelta> newestFirst = hot.iterator();
+        for (int i = 0; i < keep; i++) {
+            base = newestFirst.next().restore(base);
+        }
+
+        List<TransactionDelta> spilled = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            spilled.add(hot.removeLast());
+        }
+        Collections.reverse(spilled);
+
+        byte[] encoded = encode(base, spilled);
+        long offset = coldStore.append(encoded);
+        TransactionDelta oldest = spilled.get(spilled.size() - 1);
+        cold.add(new ColdBlock(offset, encoded.length, oldest.getValidFrom(), count));
+    }
+
+    /**
+     * Copy keeping only the fields that deltas do not restore
+     */
+    private static Transaction skeleton(Transaction state) {
+        Transaction skeleton = new Transaction(state);
+        skeleton.setAmount(null);
+        skeleton.setCurrency(null);
+        skeleton.setTransactionType(null);
+        skeleton.setDescription(null);
+        skeleton.setReferenceNumber(null);
+        skeleton.setAccountId(null);
+        skeleton.setCounterpartyAccountId(null);
+        return skeleton;
+    }
+
+    private byte[] encode(Transaction base, List<TransactionDelta> deltas) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            TransactionDelta.full(0, base.getTimestamp(), base).writeTo(out);
+            out.writeInt(deltas.size());
+            for (TransactionDelta delta : deltas) {
+                delta.writeTo(out);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Location of a block of cold versions
+     */
+    private record ColdBlock(long offset, int length, LocalDateTime oldestValidFrom, int count) {
+
+        DecodedBlock read(ColdVersionStore store) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(store.read(offset, length)))) {
+                TransactionDelta base = TransactionDelta.readFrom(in);
+                int count = in.readInt();
+                List<TransactionDelta> deltas = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    deltas.add(TransactionDelta.readFrom(in));
+                }
+                return new DecodedBlock(base, deltas);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Cold block contents; {@code base} holds every field of the state the deltas apply to
+     */
+    private record DecodedBlock(TransactionDelta base, List<TransactionDelta> deltas) {
+    }
+}
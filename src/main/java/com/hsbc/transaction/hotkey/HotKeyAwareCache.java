@@ -0,0 +1,125 @@
+package com.hsbc.transaction.hotkey;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache that keeps hot keys loaded
+ *
+ * Records every lookup in a {@link HotKeySketch}. Evicting a hot key, or
+ * clearing the cache, reloads hot keys from the source instead of
+ * dropping them, so their reads keep hitting after a write; a hot key
+ * whose source is gone is removed. Reads of a hot key older than the
+ * refresh-ahead age reload it in the background before it expires.
+ *
+ * Reloads run inside the cache's compute for the key, so a reload always
+ * reads the source after any write whose eviction came before it.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class HotKeyAwareCache extends CaffeineCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotKeyAwareCache.class);
+
+    private final HotKeySketch sketch;
+    private final Function<Object, Object> loader;
+    private final Duration refreshAheadAge;
+    private final Executor executor;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong reloadCount = new AtomicLong();
+
+    /**
+     * @param loader current value of a key from the source, or null if it has none
+     * @param refreshAheadAge age after which a read hot key is reloaded in the background, or null for never
+     * @param executor runs background reloads
+     */
+    public HotKeyAwareCache(String name, Cache<Object, Object> cache, HotKeySketch sketch,
+                            Function<Object, Object> loader, Duration refreshAheadAge, Executor executor) {
+        super(name, cache);
+        this.sketch = sketch;
+        this.loader = loader;
+        this.refreshAheadAge = refreshAheadAge;
+        this.executor = executor;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        if (key instanceof String id) {
+            sketch.record(id);
+        }
+        Object value = super.lookup(key);
+        if (value != null && refreshAheadAge != null && sketch.isHot(key)) {
+            refreshAheadIfOld(key);
+        }
+        return value;
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (sketch.isHot(key)) {
+            reload(key);
+        } else {
+            super.evict(key);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        if (sketch.isHot(key)) {
+            reload(key);
+            return true;
+        }
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        getNativeCache().asMap().keySet().removeIf(key -> !sketch.isHot(key));
+        sketch.hotKeys().forEach(hotKey -> reload(hotKey.key()));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = !getNativeCache().asMap().isEmpty();
+        clear();
+        return notEmpty;
+    }
+
+    public long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    private void reload(Object key) {
+        reloadCount.incrementAndGet();
+        getNativeCache().asMap().compute(key, (k, old) -> loader.apply(k));
+    }
+
+    private void refreshAheadIfOld(Object key) {
+        boolean old = getNativeCache().policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(key))
+                .map(age -> age.compareTo(refreshAheadAge) >= 0)
+                .orElse(false);
+        if (old && refreshing.add(key)) {
+            executor.execute(() -> {
+                try {
+                    reloadCount.incrementAndGet();
+                    getNativeCache().asMap().computeIfPresent(key, (k, current) -> loader.apply(k));
+                } catch (RuntimeException e) {
+                    logger.warn("Refresh-ahead of hot key {} failed", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        }
+    }
+}
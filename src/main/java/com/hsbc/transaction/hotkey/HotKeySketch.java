@@ -0,0 +1,178 @@
+package com.hsbc.transaction.hotkey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heavy-hitter sketch over transaction reads
+ *
+ * A Count-Min sketch estimates how often each ID was read; like TinyLFU it
+ * halves every counter once a sample of reads has been recorded, so the
+ * estimates follow recent traffic. The IDs with the highest estimates, at
+ * least the minimum number of reads, are kept as hot keys, up to a fixed
+ * capacity. A hot key stays hot until an aging leaves it below half the
+ * minimum, so keys near the threshold do not flap.
+ *
+ * Recording takes no locks unless the read admits a new hot key: a read
+ * whose estimate does not beat the coldest hot key of a full set is turned
+ * away without locking. Checking whether an ID is hot is a map lookup.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class HotKeySketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {0x97cb3127L, 0xc2b2ae3dL, 0x27d4eb2fL, 0x165667b1L};
+
+    private final AtomicIntegerArray counters;
+    private final int widthMask;
+    private final int capacity;
+    private final int minReads;
+    private final long sampleSize;
+
+    private final Map<String, Integer> hotKeys = new ConcurrentHashMap<>();
+    private final AtomicLong recordCount = new AtomicLong();
+    // Estimate a new key must beat while the hot set is full, never above the coldest hot key's
+    private volatile int admissionFloor;
+
+    /**
+     * A hot key and its estimated reads in the current sample
+     */
+    public record HotKey(String key, int estimatedReads) {
+    }
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     * @param capacity maximum number of hot keys
+     * @param minReads estimated reads needed to become hot
+     * @param sampleSize reads after which all counters are halved
+     */
+    public HotKeySketch(int width, int capacity, int minReads, long sampleSize) {
+        if (width <= 0 || capacity <= 0 || minReads <= 0 || sampleSize <= 0) {
+            throw new IllegalArgumentException("Hot key sketch width, capacity, minimum reads and sample size must be positive");
+        }
+        int rowWidth = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.counters = new AtomicIntegerArray(DEPTH * rowWidth);
+        this.widthMask = rowWidth - 1;
+        this.capacity = capacity;
+        this.minReads = minReads;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Record one read of a key
+     */
+    public void record(String key) {
+        long recorded = recordCount.incrementAndGet();
+        int hash = spread(key.hashCode());
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(indexOf(hash, row)));
+        }
+
+        if (hotKeys.replace(key, estimate) == null && estimate >= minReads
+                && (estimate > admissionFloor || hotKeys.size() < capacity)) {
+            admit(key, estimate);
+        }
+
+        if (recorded % sampleSize == 0) {
+            age();
+        }
+    }
+
+    /**
+     * Whether a key is currently hot
+     */
+    public boolean isHot(Object key) {
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * Estimated reads of a key in the current sample
+     */
+    public int estimate(String key) {
+        int hash = spread(key.hashCode());
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(indexOf(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Current hot keys, most read first
+     */
+    public List<HotKey> hotKeys() {
+        List<HotKey> keys = new ArrayList<>(hotKeys.size());
+        hotKeys.forEach((key, reads) -> keys.add(new HotKey(key, reads)));
+        keys.sort(Comparator.comparingInt(HotKey::estimatedReads).reversed().thenComparing(HotKey::key));
+        return keys;
+    }
+
+    public int getHotKeyCount() {
+        return hotKeys.size();
+    }
+
+    public long getRecordCount() {
+        return recordCount.get();
+    }
+
+    /**
+     * Add a key, displacing the least read hot key when full
+     */
+    private synchronized void admit(String key, int estimate) {
+        if (hotKeys.size() >= capacity) {
+            Map.Entry<String, Integer> coldest = null;
+            for (Map.Entry<String, Integer> entry : hotKeys.entrySet()) {
+                if (coldest == null || entry.getValue() < coldest.getValue()) {
+                    coldest = entry;
+                }
+            }
+            if (coldest == null || coldest.getValue() >= estimate) {
+                admissionFloor = coldest == null ? 0 : coldest.getValue();
+                return;
+            }
+            hotKeys.remove(coldest.getKey());
+        }
+        hotKeys.put(key, estimate);
+        admissionFloor = hotKeys.size() >= capacity ? coldestReads() : 0;
+    }
+
+    private int coldestReads() {
+        int coldest = Integer.MAX_VALUE;
+        for (int reads : hotKeys.values()) {
+            coldest = Math.min(coldest, reads);
+        }
+        return coldest;
+    }
+
+    /**
+     * Halve all counters; hot keys that fall below half the minimum cool down
+     */
+    private synchronized void age() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+        hotKeys.replaceAll((key, reads) -> reads >>> 1);
+        hotKeys.values().removeIf(reads -> reads < minReads / 2);
+        admissionFloor = hotKeys.size() >= capacity ? coldestReads() : 0;
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return row * (widthMask + 1) + ((int) h & widthMask);
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,258 @@
+package com.hsbc.transaction.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.exception.GlobalExceptionHandler.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency Filter for transaction creation
+ *
+ * Handles the {@code Idempotency-Key} header on {@code POST /api/transactions}.
+ * Replays are answered from the recorded bytes before the request reaches
+ * validation or the controller. Only final outcomes are recorded: server
+ * errors and retryable rejections such as {@code 429} from admission
+ * control release the key, so a retry is executed again. The fingerprint
+ * covers the negotiated {@code Accept} and {@code Accept-Encoding} headers
+ * besides the body, so recorded bytes are never replayed to a client that
+ * asked for a different representation; a gzip-compressed create is
+ * replayed with its {@code Content-Encoding} and {@code Vary} headers.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String COLLECTION_PATH = "/api/transactions";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration inFlightWaitTimeout;
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, Duration inFlightWaitTimeout) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.inFlightWaitTimeout = inFlightWaitTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !COLLECTION_PATH.equals(path) && !(COLLECTION_PATH + "/").equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String fingerprint = fingerprint(body, request);
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(key, fingerprint);
+            if (!claim.matches(fingerprint)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used with a different request payload or Accept headers");
+                return;
+            }
+            if (claim.isOwner()) {
+                execute(cachedRequest, response, chain, claim);
+                return;
+            }
+
+            StoredResponse stored;
+            try {
+                stored = store.await(claim, inFlightWaitTimeout);
+            } catch (TimeoutException e) {
+                writeError(response, HttpStatus.CONFLICT, "A request with the same Idempotency-Key is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for in-flight request", e);
+            }
+            if (stored != null) {
+                logger.debug("Replaying recorded response for Idempotency-Key: {}", key);
+                replay(response, stored);
+                return;
+            }
+            // The original request failed and released the key, so try to claim it again
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         IdempotencyStore.Claim claim) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean recorded = false;
+        try {
+            chain.doFilter(request, wrapper);
+            if (!isRetryable(wrapper.getStatus())) {
+                Collection<String> vary = wrapper.getHeaders(HttpHeaders.VARY);
+                store.complete(claim, new StoredResponse(wrapper.getStatus(), wrapper.getContentType(),
+                        wrapper.getHeader(HttpHeaders.CONTENT_ENCODING),
+                        vary.isEmpty() ? null : String.join(", ", vary),
+                        wrapper.getContentAsByteArray()));
+                recorded = true;
+            }
+        } finally {
+            if (!recorded) {
+                store.abandon(claim);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Whether a status tells the client to try again later, so it must not be replayed
+     */
+    static boolean isRetryable(int status) {
+        return status >= HttpStatus.INTERNAL_SERVER_ERROR.value()
+                || status == HttpStatus.REQUEST_TIMEOUT.value()
+                || status == HttpStatus.TOO_EARLY.value()
+                || status == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        if (stored.getContentEncoding() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, stored.getContentEncoding());
+        }
+        if (stored.getVary() != null) {
+            response.setHeader(HttpHeaders.VARY, stored.getVary());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(
+                status.value(),
+                "Idempotency Key Error",
+                message,
+                LocalDateTime.now()
+        );
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static String fingerprint(byte[] body, HttpServletRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(body);
+            for (String header : new String[]{HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING}) {
+                String value = request.getHeader(header);
+                // Separator keeps a missing header distinct from an empty one
+                digest.update((byte) 0);
+                if (value != null) {
+                    digest.update(value.trim().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Request wrapper serving an already consumed body
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Async reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
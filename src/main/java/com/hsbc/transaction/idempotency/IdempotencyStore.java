@@ -0,0 +1,121 @@
+package com.hsbc.transaction.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, time-expiring store of idempotency keys
+ *
+ * The first request with a key claims it and records its response when done.
+ * Concurrent duplicates wait on the same future instead of executing again.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+    private final AtomicLong replays = new AtomicLong();
+
+    public IdempotencyStore(long maximumKeys, Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Claim a key for execution
+     *
+     * @param key idempotency key
+     * @param fingerprint hash of the request payload
+     * @return the claim; {@link Claim#isOwner()} tells whether the caller must execute the request
+     */
+    public Claim claim(String key, String fingerprint) {
+        Entry fresh = new Entry(fingerprint);
+        Entry existing = entries.asMap().putIfAbsent(key, fresh);
+        if (existing == null) {
+            return new Claim(key, fresh, true);
+        }
+        return new Claim(key, existing, false);
+    }
+
+    /**
+     * Record the response of an owned claim and release any waiting duplicates
+     */
+    public void complete(Claim claim, StoredResponse response) {
+        claim.entry.future.complete(response);
+    }
+
+    /**
+     * Give up an owned claim so that the key can be retried
+     */
+    public void abandon(Claim claim) {
+        entries.asMap().remove(claim.key, claim.entry);
+        claim.entry.future.complete(null);
+    }
+
+    /**
+     * Wait for the response recorded by the owner of a claim
+     *
+     * @return the recorded response, or null if the owner abandoned the key
+     */
+    public StoredResponse await(Claim claim, Duration timeout) throws TimeoutException, InterruptedException {
+        try {
+            StoredResponse response = claim.entry.future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (response != null) {
+                replays.incrementAndGet();
+            }
+            return response;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    public long getReplayCount() {
+        return replays.get();
+    }
+
+    /**
+     * Claimed key with its pending or recorded response
+     */
+    public static final class Claim {
+        private final String key;
+        private final Entry entry;
+        private final boolean owner;
+
+        private Claim(String key, Entry entry, boolean owner) {
+            this.key = key;
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        public boolean isOwner() {
+            return owner;
+        }
+
+        public boolean matches(String fingerprint) {
+            return entry.fingerprint.equals(fingerprint);
+        }
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> future = new CompletableFuture<>();
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hsbc.transaction.idempotency;
+
+/**
+ * Recorded response of an idempotent request
+ *
+ * The body is kept as the exact bytes sent to the first caller, so a replay
+ * is a plain copy to the output stream. The {@code Content-Encoding} and
+ * {@code Vary} headers are kept with it, since the bytes may be compressed.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public final class StoredResponse {
+
+    private final int status;
+    private final String contentType;
+    private final String contentEncoding;
+    private final String vary;
+    private final byte[] body;
+
+    public StoredResponse(int status, String contentType, String contentEncoding, String vary, byte[] body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.contentEncoding = contentEncoding;
+        this.vary = vary;
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    public String getVary() {
+        return vary;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+}
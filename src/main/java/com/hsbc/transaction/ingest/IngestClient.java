@@ -0,0 +1,156 @@
+package com.hsbc.transaction.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.dto.TransactionRequest;
+import com.hsbc.transaction.dto.TransactionResponse;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client of the streaming ingest endpoint
+ *
+ * Creates are written to a buffered stream and sent when the buffer fills or
+ * on {@link #flush()}, without waiting for earlier answers. A reader thread
+ * completes the future of each create as its acknowledgement arrives.
+ * Thread-safe.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class IngestClient implements Closeable {
+
+    private final ObjectMapper cborMapper;
+    private final Socket socket;
+    private final DataOutputStream out;
+    private final Map<Long, CompletableFuture<Ack>> pending = new ConcurrentHashMap<>();
+    private final Thread reader;
+
+    // Guarded by out
+    private long nextRequestId;
+    // Why the connection ended, guarded by out
+    private IOException failure;
+
+    /**
+     * Answer to one create
+     *
+     * @param status HTTP-style status, {@code 201} when the transaction was created
+     * @param transaction the created transaction, or null on failure or if the server could not encode it
+     * @param message error message, or null on success
+     */
+    public record Ack(int status, TransactionResponse transaction, String message) {
+
+        public boolean isCreated() {
+            return status == 201;
+        }
+    }
+
+    /**
+     * Connect to an ingest server
+     *
+     * @param cborMapper mapper with the compact transaction encoding
+     */
+    public IngestClient(String host, int port, ObjectMapper cborMapper) throws IOException {
+        this.cborMapper = cborMapper;
+        this.socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+        out.writeInt(IngestProtocol.MAGIC);
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+        this.reader = Thread.ofVirtual().name("ingest-client-reader").start(() -> readAcks(in));
+    }
+
+    /**
+     * Queue a create; call {@link #flush()} to send everything queued so far
+     *
+     * @return completes with the server's answer
+     */
+    public CompletableFuture<Ack> create(TransactionRequest request) throws IOException {
+        byte[] payload = cborMapper.writeValueAsBytes(request);
+        CompletableFuture<Ack> future = new CompletableFuture<>();
+        synchronized (out) {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+                return future;
+            }
+            long requestId = nextRequestId++;
+            pending.put(requestId, future);
+            out.writeByte(IngestProtocol.CREATE);
+            out.writeLong(requestId);
+            IngestProtocol.writePayload(out, payload);
+        }
+        return future;
+    }
+
+    /**
+     * Send queued creates
+     */
+    public void flush() throws IOException {
+        synchronized (out) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Send queued creates, wait for all answers and disconnect
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            synchronized (out) {
+                out.flush();
+                socket.shutdownOutput();
+            }
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            socket.close();
+        }
+    }
+
+    private void readAcks(DataInputStream in) {
+        IOException error = null;
+        try {
+            int kind;
+            while ((kind = in.read()) != -1) {
+                if (kind != IngestProtocol.ACKS) {
+                    throw new IOException("Unexpected ingest frame kind: " + kind);
+                }
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    long requestId = in.readLong();
+                    int status = in.readShort();
+                    byte[] payload = IngestProtocol.readPayload(in);
+                    Ack ack = status == 201
+                            ? new Ack(status, payload.length > 0
+                                    ? cborMapper.readValue(payload, TransactionResponse.class) : null, null)
+                            : new Ack(status, null, new String(payload, StandardCharsets.UTF_8));
+                    CompletableFuture<Ack> future = pending.remove(requestId);
+                    if (future != null) {
+                        future.complete(ack);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            error = e;
+        }
+        IOException cause = error != null ? error : new IOException("Ingest connection closed");
+        // Creates queued from now on fail at once; those queued before are failed here
+        synchronized (out) {
+            this.failure = cause;
+        }
+        pending.values().forEach(future -> future.completeExceptionally(cause));
+        pending.clear();
+    }
+}
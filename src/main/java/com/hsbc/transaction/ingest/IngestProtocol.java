@@ -0,0 +1,55 @@
+package com.hsbc.transaction.ingest;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Wire protocol of the streaming ingest endpoint
+ *
+ * After connecting, the client sends the int {@link #MAGIC}. Both sides then
+ * stream frames, each starting with a one-byte kind:
+ * <ul>
+ *   <li>{@code C} create, client to server: long request ID chosen by the
+ *       client + int length + CBOR transaction request</li>
+ *   <li>{@code A} acknowledgements, server to client: int count, then per
+ *       create: long request ID + short HTTP-style status + int length +
+ *       payload. The payload is the CBOR transaction for {@code 201}, or
+ *       empty if the stored transaction could not be encoded, and a UTF-8
+ *       error message for any other status.</li>
+ * </ul>
+ * Creates are applied and acknowledged in the order they were sent. The
+ * client closes its output to finish; the server then acknowledges what is
+ * left and closes the connection.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+final class IngestProtocol {
+
+    static final int MAGIC = 0x54584931; // "TXI1"
+
+    static final byte CREATE = 'C';
+    static final byte ACKS = 'A';
+
+    // Guard against corrupt length prefixes
+    private static final int MAX_PAYLOAD_BYTES = 1024 * 1024;
+
+    private IngestProtocol() {
+    }
+
+    static void writePayload(DataOutputStream out, byte[] payload) throws IOException {
+        out.writeInt(payload.length);
+        out.write(payload);
+    }
+
+    static byte[] readPayload(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+            throw new IOException("Invalid ingest frame length: " + length);
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return payload;
+    }
+}
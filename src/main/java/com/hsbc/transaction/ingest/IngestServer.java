@@ -0,0 +1,269 @@
+package com.hsbc.transaction.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.dto.TransactionRequest;
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.exception.ClusterCommunicationException;
+import com.hsbc.transaction.exception.DuplicateTransactionException;
+import com.hsbc.transaction.exception.InsufficientFundsException;
+import com.hsbc.transaction.exception.InvalidTransactionException;
+import com.hsbc.transaction.exception.ReadOnlyReplicaException;
+import com.hsbc.transaction.exception.ServiceOverloadedException;
+import com.hsbc.transaction.service.TransactionService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming ingest server
+ *
+ * Accepts transaction creates over long-lived TCP connections using
+ * {@link IngestProtocol}. Clients pipeline creates without waiting for
+ * answers; each connection is served by its own virtual thread, which applies
+ * the creates in order through {@link TransactionService} and answers them
+ * in batches: whenever no further create is already buffered, or after
+ * {@code ackBatchSize} creates. Requests are validated with the same bean
+ * constraints as the REST API. A client that sends faster than it is served
+ * is held back by TCP flow control.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class IngestServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestServer.class);
+
+    private final TransactionService transactionService;
+    private final Validator validator;
+    private final ObjectMapper cborMapper;
+    private final int port;
+    private final int ackBatchSize;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong ackBatches = new AtomicLong();
+
+    private volatile ServerSocket serverSocket;
+    private volatile boolean running;
+
+    private record Ack(long requestId, int status, byte[] payload) {
+    }
+
+    /**
+     * @param cborMapper mapper for request and response payloads
+     * @param port port to listen on; 0 picks a free one
+     * @param ackBatchSize maximum creates answered in one acknowledgement frame
+     */
+    public IngestServer(TransactionService transactionService, Validator validator, ObjectMapper cborMapper,
+                        int port, int ackBatchSize) {
+        this.transactionService = transactionService;
+        this.validator = validator;
+        this.cborMapper = cborMapper;
+        this.port = port;
+        this.ackBatchSize = ackBatchSize;
+    }
+
+    /**
+     * Start accepting client connections
+     */
+    public void start() {
+        try {
+            serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(new InetSocketAddress(port));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open ingest port " + port, e);
+        }
+        running = true;
+        executor.submit(this::acceptLoop);
+        logger.info("Streaming ingest listening on port {}", getPort());
+    }
+
+    /**
+     * Disconnect clients and stop accepting connections
+     */
+    public void stop() {
+        running = false;
+        closeQuietly(serverSocket);
+        connections.forEach(IngestServer::closeQuietly);
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                executor.submit(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("Failed to accept ingest connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        String client = String.valueOf(socket.getRemoteSocketAddress());
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+
+            if (in.readInt() != IngestProtocol.MAGIC) {
+                logger.warn("Ingest client {} sent an unknown handshake, closing", client);
+                return;
+            }
+            logger.info("Ingest client {} connected", client);
+
+            List<Ack> acks = new ArrayList<>(ackBatchSize);
+            int kind;
+            while ((kind = in.read()) != -1) {
+                if (kind != IngestProtocol.CREATE) {
+                    throw new IOException("Unexpected ingest frame kind: " + kind);
+                }
+                long requestId = in.readLong();
+                acks.add(create(requestId, IngestProtocol.readPayload(in)));
+
+                // Answer once the client has nothing more in flight, or the batch is full
+                if (acks.size() >= ackBatchSize || in.available() == 0) {
+                    writeAcks(out, acks);
+                }
+            }
+            writeAcks(out, acks);
+            logger.info("Ingest client {} finished", client);
+        } catch (IOException e) {
+            logger.info("Ingest client {} disconnected: {}", client, e.getMessage());
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private Ack create(long requestId, byte[] payload) {
+        TransactionRequest request;
+        try {
+            request = cborMapper.readValue(payload, TransactionRequest.class);
+        } catch (JsonProcessingException e) {
+            return reject(requestId, 400, "Malformed transaction request: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            return reject(requestId, 400, "Malformed transaction request");
+        }
+
+        Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            // Same field-to-message form as the REST validation errors, in field order
+            String message = violations.stream()
+                    .collect(Collectors.toMap(violation -> violation.getPropertyPath().toString(),
+                            ConstraintViolation::getMessage, (first, second) -> first, TreeMap::new))
+                    .toString();
+            return reject(requestId, 400, message);
+        }
+
+        TransactionResponse response;
+        try {
+            response = transactionService.createTransaction(request);
+        } catch (InvalidTransactionException e) {
+            return reject(requestId, 400, e.getMessage());
+        } catch (DuplicateTransactionException e) {
+            return reject(requestId, 409, e.getMessage());
+        } catch (InsufficientFundsException e) {
+            return reject(requestId, 422, e.getMessage());
+        } catch (ReadOnlyReplicaException e) {
+            return reject(requestId, 421, e.getMessage());
+        } catch (ServiceOverloadedException e) {
+            return reject(requestId, e.getStatus(), e.getMessage());
+        } catch (ClusterCommunicationException e) {
+            return reject(requestId, 503, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Ingest create failed, request ID: {}", requestId, e);
+            return reject(requestId, 500, "Internal server error");
+        }
+
+        // The transaction is stored; a failure from here on must not make the client retry it
+        created.incrementAndGet();
+        try {
+            return new Ack(requestId, 201, cborMapper.writeValueAsBytes(response));
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to encode created transaction {}, request ID: {}", response.getId(), requestId, e);
+            return new Ack(requestId, 201, new byte[0]);
+        }
+    }
+
+    private Ack reject(long requestId, int status, String message) {
+        rejected.incrementAndGet();
+        return new Ack(requestId, status, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeAcks(DataOutputStream out, List<Ack> acks) throws IOException {
+        if (acks.isEmpty()) {
+            return;
+        }
+        out.writeByte(IngestProtocol.ACKS);
+        out.writeInt(acks.size());
+        for (Ack ack : acks) {
+            out.writeLong(ack.requestId());
+            out.writeShort(ack.status());
+            IngestProtocol.writePayload(out, ack.payload());
+        }
+        out.flush();
+        acks.clear();
+        ackBatches.incrementAndGet();
+    }
+
+    public int getPort() {
+        ServerSocket socket = serverSocket;
+        return socket != null ? socket.getLocalPort() : port;
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getAckBatchCount() {
+        return ackBatches.get();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // Closing anyway
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.hsbc.transaction.ledger;
+
+import com.hsbc.transaction.exception.InsufficientFundsException;
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.service.TransactionMutationListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Account Ledger
+ *
+ * Keeps a running balance per account and currency. Every transaction with
+ * an account posts entries: deposits and refunds credit the account,
+ * withdrawals and payments debit it, and a transfer debits the account and
+ * credits its counterparty. The entries last posted for each transaction
+ * are remembered, so an update posts only the difference and a delete
+ * reverses them.
+ *
+ * A change that lowers a balance is checked for sufficient funds before it
+ * is committed. Accounts are guarded by striped locks; a change locks the
+ * stripes of all its accounts in stripe order, so two transfers between the
+ * same accounts in opposite directions cannot deadlock, and changes to
+ * different accounts mostly run in parallel. Balances are published as
+ * immutable maps, so reading one takes no lock.
+ *
+ * Changes to one transaction must be serialized by the caller, as the
+ * service's mutation locks do. As a mutation listener the ledger also
+ * follows changes applied without the service, e.g. by a replica; a change
+ * already posted is recognized and not applied twice.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class AccountLedger implements TransactionMutationListener {
+
+    private static final List<Entry> NO_ENTRIES = List.of();
+
+    /**
+     * One signed posting of an amount to an account
+     */
+    record Entry(String accountId, String currency, BigDecimal amount) {
+    }
+
+    private record BalanceKey(String accountId, String currency) {
+    }
+
+    private final Lock[] stripes;
+    private final int stripeMask;
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    // Entries last posted per transaction; transactions without an account are absent
+    private final Map<String, List<Entry>> posted = new ConcurrentHashMap<>();
+
+    private final AtomicLong postingCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * @param lockStripes number of account lock stripes, rounded up to a power of two
+     */
+    public AccountLedger(int lockStripes) {
+        if (lockStripes <= 0) {
+            throw new IllegalArgumentException("Ledger lock stripes must be positive: " + lockStripes);
+        }
+        int count = Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1;
+        this.stripes = new Lock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.stripeMask = count - 1;
+    }
+
+    /**
+     * Post the change of a transaction to its new state and commit it, or reject it for insufficient funds
+     *
+     * The commit runs while the accounts are locked; balances change only if it returns normally.
+     *
+     * @param transactionId transaction ID
+     * @param after state after the change, null for a delete
+     * @param commit stores the change
+     * @return result of the commit
+     * @throws InsufficientFundsException if the change would leave an account balance below zero
+     */
+    public <T> T post(String transactionId, Transaction after, Supplier<T> commit) {
+        List<Entry> before = posted.getOrDefault(transactionId, NO_ENTRIES);
+        List<Entry> entries = entriesOf(after);
+        if (before.equals(entries)) {
+            return commit.get();
+        }
+
+        Map<BalanceKey, BigDecimal> deltas = deltas(before, entries);
+        List<Lock> locks = lock(deltas);
+        try {
+            for (Map.Entry<BalanceKey, BigDecimal> delta : deltas.entrySet()) {
+                if (delta.getValue().signum() < 0) {
+                    BalanceKey key = delta.getKey();
+                    BigDecimal balance = balanceOf(key);
+                    if (balance.add(delta.getValue()).signum() < 0) {
+                        rejectedCount.incrementAndGet();
+                        throw InsufficientFundsException.forAccount(key.accountId(), key.currency(), balance,
+                                delta.getValue().negate());
+                    }
+                }
+            }
+            T result = commit.get();
+            apply(transactionId, entries, deltas);
+            return result;
+        } finally {
+            unlock(locks);
+        }
+    }
+
+    /**
+     * Whether changing a transaction to a new state, null for a delete, would change any balance
+     */
+    public boolean changesBalances(String transactionId, Transaction after) {
+        return !posted.getOrDefault(transactionId, NO_ENTRIES).equals(entriesOf(after));
+    }
+
+    /**
+     * Post stored transactions without checking funds, e.g. when rebuilding the ledger at startup
+     */
+    public void load(Collection<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            follow(transaction.getId(), transaction);
+        }
+    }
+
+    @Override
+    public void onSaved(Transaction transaction, LocalDateTime changedAt) {
+        follow(transaction.getId(), transaction);
+    }
+
+    @Override
+    public void onDeleted(String id, LocalDateTime changedAt) {
+        follow(id, null);
+    }
+
+    /**
+     * Current balances of an account by currency
+     */
+    public Optional<Map<String, BigDecimal>> balances(String accountId) {
+        Account account = accountId != null ? accounts.get(accountId) : null;
+        return account != null ? Optional.of(account.balances) : Optional.empty();
+    }
+
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    public long getPostingCount() {
+        return postingCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Apply a change that has already been stored
+     */
+    private void follow(String transactionId, Transaction after) {
+        List<Entry> before = posted.getOrDefault(transactionId, NO_ENTRIES);
+        List<Entry> entries = entriesOf(after);
+        if (before.equals(entries)) {
+            return;
+        }
+        Map<BalanceKey, BigDecimal> deltas = deltas(before, entries);
+        List<Lock> locks = lock(deltas);
+        try {
+            apply(transactionId, entries, deltas);
+        } finally {
+            unlock(locks);
+        }
+    }
+
+    /**
+     * Apply balance changes and remember the posted entries; the caller holds the account locks
+     */
+    private void apply(String transactionId, List<Entry> entries, Map<BalanceKey, BigDecimal> deltas) {
+        Map<String, Map<String, BigDecimal>> byAccount = new HashMap<>();
+        deltas.forEach((key, delta) ->
+                byAccount.computeIfAbsent(key.accountId(), id -> new HashMap<>()).put(key.currency(), delta));
+        byAccount.forEach((accountId, changes) ->
+                accounts.computeIfAbsent(accountId, id -> new Account()).add(changes));
+
+        if (entries.isEmpty()) {
+            posted.remove(transactionId);
+        } else {
+            posted.put(transactionId, entries);
+        }
+        postingCount.addAndGet(entries.size());
+    }
+
+    private BigDecimal balanceOf(BalanceKey key) {
+        Account account = accounts.get(key.accountId());
+        BigDecimal balance = account != null ? account.balances.get(key.currency()) : null;
+        return balance != null ? balance : BigDecimal.ZERO;
+    }
+
+    /**
+     * Net balance changes of replacing one set of entries by another, leaving out zero changes
+     */
+    private static Map<BalanceKey, BigDecimal> deltas(List<Entry> before, List<Entry> after) {
+        Map<BalanceKey, BigDecimal> deltas = new HashMap<>();
+        for (Entry entry : before) {
+            deltas.merge(new BalanceKey(entry.accountId(), entry.currency()), entry.amount().negate(), BigDecimal::add);
+        }
+        for (Entry entry : after) {
+            deltas.merge(new BalanceKey(entry.accountId(), entry.currency()), entry.amount(), BigDecimal::add);
+        }
+        deltas.values().removeIf(delta -> delta.signum() == 0);
+        return deltas;
+    }
+
+    /**
+     * Ledger entries of a transaction state; none without an account
+     */
+    static List<Entry> entriesOf(Transaction transaction) {
+        if (transaction == null || transaction.getAccountId() == null || transaction.getAmount() == null
+                || transaction.getCurrency() == null || transaction.getTransactionType() == null) {
+            return NO_ENTRIES;
+        }
+        String currency = transaction.getCurrency().toUpperCase();
+        BigDecimal amount = transaction.getAmount();
+        return switch (transaction.getTransactionType().toUpperCase()) {
+            case "DEPOSIT", "REFUND" -> List.of(new Entry(transaction.getAccountId(), currency, amount));
+            case "WITHDRAWAL", "PAYMENT" -> List.of(new Entry(transaction.getAccountId(), currency, amount.negate()));
+            case "TRANSFER" -> transaction.getCounterpartyAccountId() == null
+                    ? List.of(new Entry(transaction.getAccountId(), currency, amount.negate()))
+                    : List.of(new Entry(transaction.getAccountId(), currency, amount.negate()),
+                            new Entry(transaction.getCounterpartyAccountId(), currency, amount));
+            default -> NO_ENTRIES;
+        };
+    }
+
+    /**
+     * Lock the stripes of all accounts in the deltas, in stripe order
+     */
+    private List<Lock> lock(Map<BalanceKey, BigDecimal> deltas) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (BalanceKey key : deltas.keySet()) {
+            indexes.add(stripeOf(key.accountId()));
+        }
+        List<Lock> locked = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            stripes[index].lock();
+            locked.add(stripes[index]);
+        }
+        return locked;
+    }
+
+    private static void unlock(List<Lock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    private int stripeOf(String accountId) {
+        int h = accountId.hashCode();
+        return (h ^ (h >>> 16)) & stripeMask;
+    }
+
+    /**
+     * Balances of one account, replaced as a whole under the account's stripe lock
+     */
+    private static final class Account {
+        private volatile Map<String, BigDecimal> balances = Map.of();
+
+        void add(Map<String, BigDecimal> changes) {
+            Map<String, BigDecimal> updated = new TreeMap<>(balances);
+            changes.forEach((currency, delta) -> updated.merge(currency, delta, BigDecimal::add));
+            balances = Collections.unmodifiableMap(updated);
+        }
+    }
+}
@@ -35,6 +35,12 @@ public class Transaction {
 
     private String referenceNumber;
 
+    @Size(max = 64, message = "Account ID cannot exceed 64 characters")
+    private String accountId;
+
+    @Size(max = 64, message = "Counterparty account ID cannot exceed 64 characters")
+    private String counterpartyAccountId;
+
     /**
      * Default constructor
      */
@@ -55,6 +61,21 @@ public class Transaction {
         this.referenceNumber = referenceNumber;
     }
 
+    /**
+     * Copy constructor
+     */
+    public Transaction(Transaction source) {
+        this.id = source.id;
+        this.amount = source.amount;
+        this.currency = source.currency;
+        this.transactionType = source.transactionType;
+        this.timestamp = source.timestamp;
+        this.description = source.description;
+        this.referenceNumber = source.referenceNumber;
+        this.accountId = source.accountId;
+        this.counterpartyAccountId = source.counterpartyAccountId;
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
@@ -112,6 +133,22 @@ public class Transaction {
         this.referenceNumber = referenceNumber;
     }
 
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getCounterpartyAccountId() {
+        return counterpartyAccountId;
+    }
+
+    public void setCounterpartyAccountId(String counterpartyAccountId) {
+        this.counterpartyAccountId = counterpartyAccountId;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -135,6 +172,8 @@ public class Transaction {
                 ", timestamp=" + timestamp +
                 ", description='" + description + '\'' +
                 ", referenceNumber='" + referenceNumber + '\'' +
+                ", accountId='" + accountId + '\'' +
+                ", counterpartyAccountId='" + counterpartyAccountId + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,58 @@
+package com.hsbc.transaction.replication;
+
+import com.hsbc.transaction.exception.InvalidTransactionException;
+import com.hsbc.transaction.exception.ReadOnlyReplicaException;
+import com.hsbc.transaction.exception.ServiceOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Request interceptor of a replication follower
+ *
+ * Rejects writes, which only the leader accepts, and holds reads that ask
+ * for a minimum replication sequence until the follower has applied it.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ReplicaRequestInterceptor implements HandlerInterceptor {
+
+    private final ReplicationFollower follower;
+    private final String leaderUrl;
+    private final Duration readYourWritesTimeout;
+
+    public ReplicaRequestInterceptor(ReplicationFollower follower, String leaderUrl, Duration readYourWritesTimeout) {
+        this.follower = follower;
+        this.leaderUrl = leaderUrl;
+        this.readYourWritesTimeout = readYourWritesTimeout;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            throw ReadOnlyReplicaException.writeRejected(leaderUrl);
+        }
+
+        String minSequence = request.getHeader(ReplicationPosition.MIN_SEQUENCE_HEADER);
+        if (minSequence == null || minSequence.isBlank()) {
+            return true;
+        }
+
+        long sequence;
+        try {
+            sequence = Long.parseLong(minSequence.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidTransactionException(
+                    "Invalid " + ReplicationPosition.MIN_SEQUENCE_HEADER + " header: " + minSequence);
+        }
+        if (!follower.awaitSequence(sequence, readYourWritesTimeout)) {
+            throw ServiceOverloadedException.replicaBehind(sequence, 1);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,358 @@
+package com.hsbc.transaction.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.changefeed.ChangeType;
+import com.hsbc.transaction.config.CacheConfig;
+import com.hsbc.transaction.dto.TransactionChangeEvent;
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TransactionRepository;
+import com.hsbc.transaction.service.TransactionMutationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Replication follower
+ *
+ * Connects to the leader, applies the shipped change log to the local
+ * repository and reconnects from its last applied sequence after a
+ * disconnect. Events carry the full transaction state, so applying one
+ * twice is harmless. A change that fails to apply is logged and retried
+ * after reconnecting, with the delay doubling while no progress is made.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ReplicationFollower implements ReplicationPosition {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationFollower.class);
+
+    // Leader is considered gone after this many missed heartbeats
+    private static final int MISSED_HEARTBEATS = 5;
+    // Reconnect delay doubles at most this many times while applying fails
+    private static final int MAX_BACKOFF_DOUBLINGS = 6;
+
+    private final TransactionRepository repository;
+    private final List<TransactionMutationListener> mutationListeners;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final String leaderHost;
+    private final int leaderPort;
+    private final Duration heartbeatInterval;
+    private final Duration reconnectDelay;
+
+    private final ReentrantLock progressLock = new ReentrantLock();
+    private final Condition progressed = progressLock.newCondition();
+    private final AtomicLong eventsApplied = new AtomicLong();
+    private final AtomicLong snapshotsApplied = new AtomicLong();
+    private final AtomicLong applyFailures = new AtomicLong();
+
+    // Failures to apply since the last progress, only touched by the worker
+    private int consecutiveFailures;
+
+    private volatile long leaderEpoch;
+    private volatile long appliedSequence;
+    private volatile long leaderSequence;
+    private volatile long caughtUpAtMillis = System.currentTimeMillis();
+    private volatile boolean connected;
+    private volatile boolean running;
+    private volatile Socket socket;
+    private Thread worker;
+
+    public ReplicationFollower(TransactionRepository repository, List<TransactionMutationListener> mutationListeners,
+                               CacheManager cacheManager, ObjectMapper objectMapper, String leaderHost, int leaderPort,
+                               Duration heartbeatInterval, Duration reconnectDelay) {
+        this.repository = repository;
+        this.mutationListeners = List.copyOf(mutationListeners);
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.leaderHost = leaderHost;
+        this.leaderPort = leaderPort;
+        this.heartbeatInterval = heartbeatInterval;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /**
+     * Start following the leader in the background
+     */
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("replication-follower").start(this::run);
+        logger.info("Replication follower started, leader: {}:{}", leaderHost, leaderPort);
+    }
+
+    /**
+     * Disconnect from the leader
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        closeSocket();
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Wait until the given sequence has been applied locally
+     *
+     * @param sequence minimum sequence
+     * @param timeout maximum wait
+     * @return true if the sequence has been applied
+     */
+    public boolean awaitSequence(long sequence, Duration timeout) throws InterruptedException {
+        if (appliedSequence >= sequence) {
+            return true;
+        }
+        long remaining = timeout.toNanos();
+        progressLock.lock();
+        try {
+            while (appliedSequence < sequence) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = progressed.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                connection.connect(new InetSocketAddress(leaderHost, leaderPort),
+                        (int) reconnectDelay.multipliedBy(MISSED_HEARTBEATS).toMillis());
+                connection.setSoTimeout((int) heartbeatInterval.multipliedBy(MISSED_HEARTBEATS).toMillis());
+                connection.setTcpNoDelay(true);
+
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+                out.writeLong(leaderEpoch);
+                out.writeLong(appliedSequence);
+                out.flush();
+                connected = true;
+                logger.info("Connected to replication leader, resuming after sequence {}", appliedSequence);
+
+                follow(new DataInputStream(new BufferedInputStream(connection.getInputStream())));
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("Replication connection to {}:{} lost: {}", leaderHost, leaderPort, e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                applyFailures.incrementAndGet();
+                consecutiveFailures++;
+                logger.error("Failed to apply replicated change after sequence {}, reconnecting", appliedSequence, e);
+            } finally {
+                connected = false;
+                socket = null;
+            }
+
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelay.toMillis() << Math.min(consecutiveFailures, MAX_BACKOFF_DOUBLINGS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void follow(DataInputStream in) throws IOException {
+        Set<String> snapshotIds = null;
+        long snapshotEpoch = 0;
+        long snapshotSequence = 0;
+
+        while (running) {
+            byte kind = in.readByte();
+            switch (kind) {
+                case ReplicationProtocol.EVENT -> {
+                    TransactionChangeEvent event = objectMapper.readValue(
+                            ReplicationProtocol.readPayload(in), TransactionChangeEvent.class);
+                    apply(event);
+                    eventsApplied.incrementAndGet();
+                    advanceTo(event.getSequence());
+                }
+                case ReplicationProtocol.HEARTBEAT -> {
+                    leaderSequence = in.readLong();
+                    advanceTo(appliedSequence);
+                }
+                case ReplicationProtocol.SNAPSHOT_START -> {
+                    snapshotEpoch = in.readLong();
+                    snapshotSequence = in.readLong();
+                    snapshotIds = new HashSet<>();
+                    logger.info("Receiving snapshot at sequence {}", snapshotSequence);
+                }
+                case ReplicationProtocol.SNAPSHOT_RECORD -> {
+                    if (snapshotIds == null) {
+                        throw new IOException("Snapshot record outside of a snapshot");
+                    }
+                    TransactionResponse record = objectMapper.readValue(
+                            ReplicationProtocol.readPayload(in), TransactionResponse.class);
+                    // Snapshot records carry no change time; they are seen as changed on arrival
+                    upsert(record, LocalDateTime.now());
+                    snapshotIds.add(record.getId());
+                }
+                case ReplicationProtocol.SNAPSHOT_FINISH -> {
+                    if (snapshotIds == null) {
+                        throw new IOException("Snapshot end outside of a snapshot");
+                    }
+                    removeAllExcept(snapshotIds);
+                    snapshotIds = null;
+                    snapshotsApplied.incrementAndGet();
+                    // Sequences of a new epoch may be lower than the ones applied before
+                    leaderEpoch = snapshotEpoch;
+                    appliedSequence = snapshotSequence;
+                    advanceTo(snapshotSequence);
+                }
+                default -> throw new IOException("Unknown replication frame: " + kind);
+            }
+        }
+    }
+
+    private void apply(TransactionChangeEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            delete(event.getTransactionId(), event.getOccurredAt());
+        } else {
+            upsert(event.getTransaction(), event.getOccurredAt());
+        }
+    }
+
+    private void upsert(TransactionResponse record, LocalDateTime changedAt) {
+        Transaction transaction = record.toTransaction();
+        Optional<Transaction> previous = repository.findById(transaction.getId());
+        try {
+            repository.save(transaction);
+        } catch (IllegalArgumentException e) {
+            // The reference number is still held by a record whose change has not arrived yet
+            repository.findByReferenceNumber(transaction.getReferenceNumber())
+                    .filter(holder -> !holder.getId().equals(transaction.getId()))
+                    .ifPresent(holder -> delete(holder.getId(), changedAt));
+            repository.save(transaction);
+        }
+        if (previous.isPresent()) {
+            mutationListeners.forEach(listener -> listener.onUpdated(previous.get(), transaction, changedAt));
+        } else {
+            mutationListeners.forEach(listener -> listener.onSaved(transaction, changedAt));
+        }
+        evict(transaction.getId());
+    }
+
+    private void delete(String id, LocalDateTime changedAt) {
+        if (repository.deleteById(id)) {
+            mutationListeners.forEach(listener -> listener.onDeleted(id, changedAt));
+        }
+        evict(id);
+    }
+
+    private void removeAllExcept(Set<String> retainedIds) {
+        LocalDateTime changedAt = LocalDateTime.now();
+        for (Transaction transaction : repository.findAll()) {
+            if (!retainedIds.contains(transaction.getId())) {
+                delete(transaction.getId(), changedAt);
+            }
+        }
+    }
+
+    private void evict(String id) {
+        Cache transactions = cacheManager.getCache(CacheConfig.TRANSACTION_CACHE);
+        if (transactions != null) {
+            transactions.evict(id);
+        }
+        Cache lists = cacheManager.getCache(CacheConfig.TRANSACTION_LIST_CACHE);
+        if (lists != null) {
+            lists.clear();
+        }
+    }
+
+    private void advanceTo(long sequence) {
+        progressLock.lock();
+        try {
+            if (sequence > appliedSequence) {
+                consecutiveFailures = 0;
+            }
+            appliedSequence = Math.max(appliedSequence, sequence);
+            if (appliedSequence >= leaderSequence) {
+                caughtUpAtMillis = System.currentTimeMillis();
+            }
+            progressed.signalAll();
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    private void closeSocket() {
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // Closing anyway
+            }
+        }
+    }
+
+    @Override
+    public long currentSequence() {
+        return appliedSequence;
+    }
+
+    public long getLeaderSequence() {
+        return leaderSequence;
+    }
+
+    /**
+     * Number of leader changes not yet applied locally
+     */
+    public long getLagEvents() {
+        return Math.max(0, leaderSequence - appliedSequence);
+    }
+
+    /**
+     * Time since this follower last had every known leader change applied
+     */
+    public double getLagSeconds() {
+        if (appliedSequence >= leaderSequence) {
+            return 0;
+        }
+        return (System.currentTimeMillis() - caughtUpAtMillis) / 1000.0;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public long getEventsAppliedCount() {
+        return eventsApplied.get();
+    }
+
+    public long getSnapshotsAppliedCount() {
+        return snapshotsApplied.get();
+    }
+
+    public long getApplyFailureCount() {
+        return applyFailures.get();
+    }
+}
@@ -0,0 +1,214 @@
+package com.hsbc.transaction.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.changefeed.TransactionChangeLog;
+import com.hsbc.transaction.dto.TransactionChangeEvent;
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replication leader
+ *
+ * Ships the transaction change log to followers over plain TCP sockets.
+ * Every follower is served by its own virtual thread tailing the log from
+ * the follower's last applied sequence, so a slow follower only delays
+ * itself. A follower that is further behind than the log retains receives
+ * a full snapshot first.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class ReplicationLeader implements ReplicationPosition {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationLeader.class);
+
+    private final TransactionChangeLog changeLog;
+    private final TransactionRepository repository;
+    private final ObjectMapper objectMapper;
+    private final int port;
+    private final int batchSize;
+    private final Duration heartbeatInterval;
+
+    // Identifies this run of the leader; sequences restart with every run
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong eventsShipped = new AtomicLong();
+    private final AtomicLong snapshotsShipped = new AtomicLong();
+
+    private volatile ServerSocket serverSocket;
+    private volatile boolean running;
+
+    public ReplicationLeader(TransactionChangeLog changeLog, TransactionRepository repository,
+                             ObjectMapper objectMapper, int port, int batchSize, Duration heartbeatInterval) {
+        this.changeLog = changeLog;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.port = port;
+        this.batchSize = batchSize;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * Start accepting follower connections
+     */
+    public void start() {
+        try {
+            serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(new InetSocketAddress(port));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open replication port " + port, e);
+        }
+        running = true;
+        executor.submit(this::acceptLoop);
+        logger.info("Replication leader listening on port {}", getPort());
+    }
+
+    /**
+     * Disconnect followers and stop accepting connections
+     */
+    public void stop() {
+        running = false;
+        closeQuietly(serverSocket);
+        followers.forEach(ReplicationLeader::closeQuietly);
+        changeLog.wakeUpReaders();
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                followers.add(socket);
+                executor.submit(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("Failed to accept replication connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        String follower = String.valueOf(socket.getRemoteSocketAddress());
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+
+            long followerEpoch = in.readLong();
+            long cursor = in.readLong();
+            logger.info("Follower {} connected from sequence {}", follower, cursor);
+
+            if (followerEpoch != epoch || cursor > changeLog.getHeadSequence()) {
+                cursor = sendSnapshot(out);
+            }
+
+            while (running) {
+                TransactionChangeLog.ReadResult result = changeLog.readAfter(cursor, batchSize);
+                if (result.hasGap()) {
+                    logger.info("Follower {} fell behind the change log at {}, sending snapshot", follower, cursor);
+                    cursor = sendSnapshot(out);
+                    continue;
+                }
+
+                if (result.getEvents().isEmpty()) {
+                    if (!changeLog.awaitAfter(cursor, heartbeatInterval)) {
+                        ReplicationProtocol.writeSequence(out, ReplicationProtocol.HEARTBEAT, changeLog.getHeadSequence());
+                        out.flush();
+                    }
+                    continue;
+                }
+
+                for (TransactionChangeEvent event : result.getEvents()) {
+                    ReplicationProtocol.writePayload(out, ReplicationProtocol.EVENT, objectMapper.writeValueAsBytes(event));
+                    cursor = event.getSequence();
+                }
+                ReplicationProtocol.writeSequence(out, ReplicationProtocol.HEARTBEAT, changeLog.getHeadSequence());
+                out.flush();
+                eventsShipped.addAndGet(result.getEvents().size());
+            }
+        } catch (IOException e) {
+            logger.info("Follower {} disconnected: {}", follower, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followers.remove(socket);
+        }
+    }
+
+    /**
+     * Send the full store; events after the returned sequence are shipped afterwards
+     */
+    private long sendSnapshot(DataOutputStream out) throws IOException {
+        // Changes up to this sequence are already visible in the repository.
+        // Later ones may or may not be, and are replayed idempotently afterwards.
+        long sequence = changeLog.getHeadSequence();
+        ReplicationProtocol.writeSequence(out, ReplicationProtocol.SNAPSHOT_START, epoch);
+        out.writeLong(sequence);
+        for (Transaction transaction : repository.findAll()) {
+            ReplicationProtocol.writePayload(out, ReplicationProtocol.SNAPSHOT_RECORD,
+                    objectMapper.writeValueAsBytes(TransactionResponse.from(transaction)));
+        }
+        out.writeByte(ReplicationProtocol.SNAPSHOT_FINISH);
+        out.flush();
+        snapshotsShipped.incrementAndGet();
+        return sequence;
+    }
+
+    @Override
+    public long currentSequence() {
+        return changeLog.getHeadSequence();
+    }
+
+    public int getPort() {
+        ServerSocket socket = serverSocket;
+        return socket != null ? socket.getLocalPort() : port;
+    }
+
+    public int getFollowerCount() {
+        return followers.size();
+    }
+
+    public long getEventsShippedCount() {
+        return eventsShipped.get();
+    }
+
+    public long getSnapshotsShippedCount() {
+        return snapshotsShipped.get();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // Closing anyway
+        }
+    }
+}
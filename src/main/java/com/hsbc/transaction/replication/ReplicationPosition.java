@@ -0,0 +1,31 @@
+package com.hsbc.transaction.replication;
+
+/**
+ * Replication position of this instance
+ *
+ * On a leader this is the latest recorded change, on a follower the latest
+ * change applied locally. Clients echo it back to followers to get
+ * read-your-writes consistency.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public interface ReplicationPosition {
+
+    /**
+     * Response header carrying the current position
+     */
+    String SEQUENCE_HEADER = "X-Replication-Sequence";
+
+    /**
+     * Request header with the minimum position a follower must have applied before reading
+     */
+    String MIN_SEQUENCE_HEADER = "X-Min-Replication-Sequence";
+
+    /**
+     * Get current replication sequence
+     *
+     * @return sequence number
+     */
+    long currentSequence();
+}
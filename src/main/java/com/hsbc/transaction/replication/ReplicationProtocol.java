@@ -0,0 +1,59 @@
+package com.hsbc.transaction.replication;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Wire protocol between replication leader and followers
+ *
+ * After connecting, the follower sends the leader epoch and the last
+ * sequence it applied, both as longs. Sequences are only comparable within
+ * one epoch, so a follower of another epoch always starts with a snapshot.
+ * The leader then sends frames, each starting with a one-byte kind:
+ * <ul>
+ *   <li>{@code E} change event: int length + JSON event</li>
+ *   <li>{@code S} snapshot start: long epoch + long sequence covered by the snapshot</li>
+ *   <li>{@code R} snapshot record: int length + JSON transaction</li>
+ *   <li>{@code F} snapshot finished</li>
+ *   <li>{@code H} heartbeat: long head sequence of the leader</li>
+ * </ul>
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+final class ReplicationProtocol {
+
+    static final byte EVENT = 'E';
+    static final byte SNAPSHOT_START = 'S';
+    static final byte SNAPSHOT_RECORD = 'R';
+    static final byte SNAPSHOT_FINISH = 'F';
+    static final byte HEARTBEAT = 'H';
+
+    // Guard against corrupt length prefixes
+    private static final int MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+
+    private ReplicationProtocol() {
+    }
+
+    static void writePayload(DataOutputStream out, byte kind, byte[] payload) throws IOException {
+        out.writeByte(kind);
+        out.writeInt(payload.length);
+        out.write(payload);
+    }
+
+    static void writeSequence(DataOutputStream out, byte kind, long sequence) throws IOException {
+        out.writeByte(kind);
+        out.writeLong(sequence);
+    }
+
+    static byte[] readPayload(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+            throw new IOException("Invalid replication frame length: " + length);
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return payload;
+    }
+}
@@ -0,0 +1,46 @@
+package com.hsbc.transaction.replication;
+
+import com.hsbc.transaction.controller.TransactionController;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the replication sequence to transaction API responses
+ *
+ * The value is read after the handler ran, so on the leader it covers the
+ * write that produced the response. Clients pass it to followers in the
+ * {@link ReplicationPosition#MIN_SEQUENCE_HEADER} header to read their own writes.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@RestControllerAdvice(assignableTypes = TransactionController.class)
+@ConditionalOnExpression("'${transaction.replication.role:none}' != 'none'")
+public class ReplicationSequenceAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ReplicationPosition replicationPosition;
+
+    public ReplicationSequenceAdvice(ReplicationPosition replicationPosition) {
+        this.replicationPosition = replicationPosition;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        response.getHeaders().set(ReplicationPosition.SEQUENCE_HEADER,
+                String.valueOf(replicationPosition.currentSequence()));
+        return body;
+    }
+}
@@ -0,0 +1,72 @@
+package com.hsbc.transaction.repository;
+
+import com.hsbc.transaction.model.Transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Position of a transaction in a newest-first listing
+ *
+ * Positions order by timestamp, newest first; the ID breaks ties between
+ * equal timestamps, so every stored transaction has a distinct position and
+ * a listing can continue after any of them. A position travels to clients
+ * as an opaque cursor string.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public record TimelinePosition(LocalDateTime timestamp, String id) implements Comparable<TimelinePosition> {
+
+    private static final Comparator<TimelinePosition> NEWEST_FIRST = Comparator
+            .comparing(TimelinePosition::timestamp, Comparator.reverseOrder())
+            .thenComparing(TimelinePosition::id);
+
+    public static TimelinePosition of(Transaction transaction) {
+        LocalDateTime timestamp = transaction.getTimestamp() != null ? transaction.getTimestamp() : LocalDateTime.MIN;
+        return new TimelinePosition(timestamp, transaction.getId());
+    }
+
+    /**
+     * Whether a transaction comes after this position in a newest-first listing
+     */
+    public boolean isFollowedBy(Transaction transaction) {
+        return compareTo(of(transaction)) < 0;
+    }
+
+    @Override
+    public int compareTo(TimelinePosition other) {
+        return NEWEST_FIRST.compare(this, other);
+    }
+
+    /**
+     * Encode as a URL-safe cursor
+     */
+    public String toCursor() {
+        String value = timestamp.toEpochSecond(ZoneOffset.UTC) + ":" + timestamp.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor created by {@link #toCursor()}
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static TimelinePosition fromCursor(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split(":", 3);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                throw new IllegalArgumentException("Malformed cursor: " + cursor);
+            }
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(Long.parseLong(parts[0]),
+                    Integer.parseInt(parts[1]), ZoneOffset.UTC);
+            return new TimelinePosition(timestamp, parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+    }
+}
@@ -2,12 +2,35 @@ package com.hsbc.transaction.repository;
 
 import com.hsbc.transaction.model.Transaction;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Transaction Repository Interface
  *
+ * Contract shared by every backend, checked by the conformance tests in
+ * {@code TransactionRepositoryContractTest}:
+ * <ul>
+ *   <li>Transactions are stored and returned as copies; changing a returned
+ *       transaction does not change the store until it is saved again</li>
+ *   <li>A non-blank reference number belongs to at most one transaction, also
+ *       under concurrent saves; a saved transaction that changes or drops its
+ *       reference number releases the old one. Blank reference numbers are
+ *       not indexed</li>
+ *   <li>Listings are ordered by timestamp, newest first</li>
+ *   <li>A transaction is listed under its account and, for a transfer, also
+ *       under its counterparty account. Account listings are ordered by
+ *       {@link TimelinePosition} and read from an index, so a page costs
+ *       time in its size, not in the number of stored transactions</li>
+ *   <li>Null or blank IDs and reference numbers are never found, exist or
+ *       delete anything; they do not throw</li>
+ * </ul>
+ *
+ * The backend is selected with {@code transaction.repository.type}.
+ *
  * @author HSBC Development Team
  * @version 1.0.0
  */
@@ -18,9 +41,23 @@ public interface TransactionRepository {
      *
      * @param transaction transaction object
      * @return saved transaction object
+     * @throws IllegalArgumentException if the transaction is null or its reference number is held by another transaction
      */
     Transaction save(Transaction transaction);
 
+    /**
+     * Save transactions in one call
+     *
+     * Each transaction is saved or rejected on its own; a transaction is
+     * rejected when its reference number is held by another transaction.
+     * Transactions of one call claiming the same reference number may be
+     * saved in any order.
+     *
+     * @param transactions transaction objects
+     * @return IDs of rejected transactions
+     */
+    Set<String> saveAll(List<Transaction> transactions);
+
     /**
      * Find transaction by ID
      *
@@ -29,6 +66,14 @@ public interface TransactionRepository {
      */
     Optional<Transaction> findById(String id);
 
+    /**
+     * Find transactions by ID in one call
+     *
+     * @param ids transaction IDs
+     * @return found transactions by ID, in the order of the given IDs; missing IDs are left out
+     */
+    Map<String, Transaction> findAllById(Collection<String> ids);
+
     /**
      * Find all transactions
      *
@@ -41,7 +86,7 @@ public interface TransactionRepository {
      *
      * @param page page number (starting from 0)
      * @param size page size
-     * @return list of transactions
+     * @return list of transactions; empty for a negative page, a non-positive size or a page past the end
      */
     List<Transaction> findAll(int page, int size);
 
@@ -68,6 +113,14 @@ public interface TransactionRepository {
      */
     boolean deleteById(String id);
 
+    /**
+     * Delete transactions in one call
+     *
+     * @param ids transaction IDs
+     * @return IDs that were deleted
+     */
+    Set<String> deleteAllById(Collection<String> ids);
+
     /**
      * Check if transaction exists
      *
@@ -83,4 +136,14 @@ public interface TransactionRepository {
      * @return whether exists
      */
     boolean existsByReferenceNumber(String referenceNumber);
+
+    /**
+     * Find transactions of an account, newest first
+     *
+     * @param accountId account or counterparty account ID
+     * @param after position to continue after, null to start with the newest transaction
+     * @param limit maximum number of transactions
+     * @return transactions after the position, at most limit
+     */
+    List<Transaction> findByAccount(String accountId, TimelinePosition after, int limit);
 }
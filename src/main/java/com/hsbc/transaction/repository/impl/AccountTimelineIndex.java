@@ -0,0 +1,248 @@
+package com.hsbc.transaction.repository.impl;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TimelinePosition;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Per-account timeline of stored transactions
+ *
+ * Keeps the positions of each account's transactions in a concurrent skip
+ * list, newest first, so a page of an account's listing is a seek to the
+ * cursor followed by a walk of the page size. A transaction is listed under
+ * its account and, for a transfer, also under its counterparty account.
+ * Accounts without transactions are dropped.
+ *
+ * Each account keeps at most {@code maxPositionsPerAccount} positions, the
+ * newest ones. Positions trimmed from an account, and later ones at or
+ * beyond its newest trimmed position, move to hourly blocks shared by all
+ * accounts; each block records the accounts it holds positions of. Pages
+ * reaching past an account's own positions walk the blocks from the cursor
+ * onwards and read only those holding the account, so no read scans the
+ * store. Memory per account is therefore bounded, however busy it is.
+ *
+ * The index holds only positions; transactions are looked up in the store
+ * when a page is read and must still be at the listed position and belong
+ * to the account. An entry left behind by racing saves of one transaction
+ * is therefore skipped, never returned.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+final class AccountTimelineIndex {
+
+    static final int DEFAULT_MAX_POSITIONS_PER_ACCOUNT = 1000;
+
+    private static final long SECONDS_PER_BLOCK = 3600;
+
+    private final Map<String, Timeline> timelines = new ConcurrentHashMap<>();
+    // Trimmed positions by hour, newest first
+    private final ConcurrentSkipListMap<Long, TrimmedBlock> trimmed =
+            new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+    private final int maxPositionsPerAccount;
+
+    AccountTimelineIndex(int maxPositionsPerAccount) {
+        this.maxPositionsPerAccount = maxPositionsPerAccount > 0
+                ? maxPositionsPerAccount : DEFAULT_MAX_POSITIONS_PER_ACCOUNT;
+    }
+
+    /**
+     * Move a transaction from its previous to its current state
+     *
+     * @param previous previous state, null if new
+     * @param current current state, null if deleted
+     */
+    void update(Transaction previous, Transaction current) {
+        TimelinePosition before = previous != null ? TimelinePosition.of(previous) : null;
+        TimelinePosition after = current != null ? TimelinePosition.of(current) : null;
+        if (previous != null) {
+            for (String accountId : accountsOf(previous)) {
+                if (after == null || !before.equals(after) || !belongsTo(current, accountId)) {
+                    remove(accountId, before);
+                }
+            }
+        }
+        if (current != null) {
+            for (String accountId : accountsOf(current)) {
+                timelines.compute(accountId, (id, timeline) -> {
+                    Timeline target = timeline != null ? timeline : new Timeline();
+                    target.add(accountId, after, maxPositionsPerAccount);
+                    return target;
+                });
+            }
+        }
+    }
+
+    /**
+     * Read a page of an account's timeline
+     *
+     * @param lookup stored transaction by ID, null if absent
+     * @return copies of the transactions after the position
+     */
+    List<Transaction> find(String accountId, TimelinePosition after, int limit, Function<String, Transaction> lookup) {
+        Timeline timeline = accountId != null ? timelines.get(accountId) : null;
+        if (timeline == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<Transaction> page = new ArrayList<>(Math.min(limit, 128));
+        NavigableSet<TimelinePosition> positions = timeline.positions;
+        for (TimelinePosition position : after != null ? positions.tailSet(after, false) : positions) {
+            if (addIfCurrent(page, position, accountId, lookup) && page.size() == limit) {
+                return page;
+            }
+        }
+        if (timeline.trimmedFrom == null) {
+            return page;
+        }
+        // Every position of the account's own was walked; older ones are in the trimmed blocks
+        TimelinePosition last = page.isEmpty() ? after : TimelinePosition.of(page.get(page.size() - 1));
+        Map<Long, TrimmedBlock> blocks = last != null ? trimmed.tailMap(blockOf(last), true) : trimmed;
+        for (TrimmedBlock block : blocks.values()) {
+            if (!block.accounts.contains(accountId)) {
+                continue;
+            }
+            NavigableSet<TrimmedEntry> entries = last != null
+                    ? block.entries.tailSet(new TrimmedEntry(last, null), false) : block.entries;
+            for (TrimmedEntry entry : entries) {
+                if (accountId.equals(entry.accountId())
+                        && addIfCurrent(page, entry.position(), accountId, lookup) && page.size() == limit) {
+                    return page;
+                }
+            }
+        }
+        return page;
+    }
+
+    void clear() {
+        timelines.clear();
+        trimmed.clear();
+    }
+
+    int getAccountCount() {
+        return timelines.size();
+    }
+
+    private void remove(String accountId, TimelinePosition position) {
+        timelines.computeIfPresent(accountId, (id, timeline) -> {
+            if (!timeline.remove(position) && timeline.trimmedFrom != null) {
+                TrimmedBlock block = trimmed.get(blockOf(position));
+                if (block != null) {
+                    block.entries.remove(new TrimmedEntry(position, accountId));
+                }
+            }
+            // A trimmed account keeps its entry so reads still continue into the trimmed blocks
+            return timeline.count == 0 && timeline.trimmedFrom == null ? null : timeline;
+        });
+    }
+
+    private void addTrimmed(String accountId, TimelinePosition position) {
+        TrimmedBlock block = trimmed.computeIfAbsent(blockOf(position), key -> new TrimmedBlock());
+        block.accounts.add(accountId);
+        block.entries.add(new TrimmedEntry(position, accountId));
+    }
+
+    /**
+     * Add a copy of the transaction at a position if it is still there and belongs to the account
+     */
+    private static boolean addIfCurrent(List<Transaction> page, TimelinePosition position, String accountId,
+                                        Function<String, Transaction> lookup) {
+        Transaction transaction = lookup.apply(position.id());
+        if (transaction != null && belongsTo(transaction, accountId)
+                && position.equals(TimelinePosition.of(transaction))) {
+            page.add(new Transaction(transaction));
+            return true;
+        }
+        return false;
+    }
+
+    private static long blockOf(TimelinePosition position) {
+        return Math.floorDiv(position.timestamp().toEpochSecond(ZoneOffset.UTC), SECONDS_PER_BLOCK);
+    }
+
+    private static List<String> accountsOf(Transaction transaction) {
+        String accountId = transaction.getAccountId();
+        String counterpartyAccountId = transaction.getCounterpartyAccountId();
+        if (accountId == null) {
+            return counterpartyAccountId != null ? List.of(counterpartyAccountId) : List.of();
+        }
+        return counterpartyAccountId != null && !counterpartyAccountId.equals(accountId)
+                ? List.of(accountId, counterpartyAccountId) : List.of(accountId);
+    }
+
+    static boolean belongsTo(Transaction transaction, String accountId) {
+        return accountId.equals(transaction.getAccountId())
+                || Objects.equals(accountId, transaction.getCounterpartyAccountId());
+    }
+
+    /**
+     * Positions of one account, mutated only inside the map's compute calls
+     */
+    private final class Timeline {
+        private final NavigableSet<TimelinePosition> positions = new ConcurrentSkipListSet<>();
+        // ConcurrentSkipListSet.size() walks the whole set
+        private int count;
+        // Newest position moved to the trimmed blocks; it and older positions are kept there
+        private volatile TimelinePosition trimmedFrom;
+
+        void add(String accountId, TimelinePosition position, int maxPositions) {
+            if (trimmedFrom != null && trimmedFrom.compareTo(position) <= 0) {
+                addTrimmed(accountId, position);
+                return;
+            }
+            if (positions.add(position) && ++count > maxPositions) {
+                // Listed in its block before it leaves the timeline, so a concurrent read finds it in either
+                TimelinePosition oldest = positions.last();
+                addTrimmed(accountId, oldest);
+                trimmedFrom = oldest;
+                positions.remove(oldest);
+                count--;
+            }
+        }
+
+        boolean remove(TimelinePosition position) {
+            if (positions.remove(position)) {
+                count--;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Trimmed positions of one hour, with the accounts they were trimmed from
+     *
+     * The account set is not shrunk when entries are removed; it only lets
+     * reads skip blocks that never held an account.
+     */
+    private static final class TrimmedBlock {
+        private final Set<String> accounts = ConcurrentHashMap.newKeySet();
+        private final NavigableSet<TrimmedEntry> entries = new ConcurrentSkipListSet<>();
+    }
+
+    /**
+     * Trimmed position of an account; a null account sorts after every account at the same position
+     */
+    private record TrimmedEntry(TimelinePosition position, String accountId) implements Comparable<TrimmedEntry> {
+
+        private static final Comparator<TrimmedEntry> ORDER = Comparator.comparing(TrimmedEntry::position)
+                .thenComparing(TrimmedEntry::accountId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+        @Override
+        public int compareTo(TrimmedEntry other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.hsbc.transaction.repository.impl;
 
 import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TimelinePosition;
 import com.hsbc.transaction.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
@@ -15,10 +19,22 @@ import java.util.stream.Collectors;
  * @version 1.0.0
  */
 @Repository
+@ConditionalOnProperty(prefix = "transaction.repository", name = "type", havingValue = "memory", matchIfMissing = true)
 public class InMemoryTransactionRepository implements TransactionRepository {
 
     private final Map<String, Transaction> transactions = new ConcurrentHashMap<>();
     private final Map<String, String> referenceNumberToId = new ConcurrentHashMap<>();
+    private final AccountTimelineIndex accountTimelines;
+
+    public InMemoryTransactionRepository() {
+        this(AccountTimelineIndex.DEFAULT_MAX_POSITIONS_PER_ACCOUNT);
+    }
+
+    @Autowired
+    public InMemoryTransactionRepository(
+            @Value("${transaction.repository.account-timeline-limit:1000}") int accountTimelineLimit) {
+        this.accountTimelines = new AccountTimelineIndex(accountTimelineLimit);
+    }
 
     @Override
     public Transaction save(Transaction transaction) {
@@ -26,25 +42,48 @@ public class InMemoryTransactionRepository implements TransactionRepository {
             throw new IllegalArgumentException("Transaction object cannot be null");
         }
 
-        // Check if reference number is duplicate (except for itself)
-        if (transaction.getReferenceNumber() != null &&
-            !transaction.getReferenceNumber().trim().isEmpty()) {
-            String existingId = referenceNumberToId.get(transaction.getReferenceNumber());
-            if (existingId != null && !existingId.equals(transaction.getId())) {
-                throw new IllegalArgumentException("Reference number already exists: " + transaction.getReferenceNumber());
-            }
+        if (!store(transaction)) {
+            throw new IllegalArgumentException("Reference number already exists: " + transaction.getReferenceNumber());
         }
+        return transaction;
+    }
 
-        // Save transaction
-        transactions.put(transaction.getId(), transaction);
+    @Override
+    public Set<String> saveAll(List<Transaction> batch) {
+        Set<String> rejected = new HashSet<>();
+        for (Transaction transaction : batch) {
+            if (!store(transaction)) {
+                rejected.add(transaction.getId());
+            }
+        }
+        return rejected;
+    }
 
-        // Update reference number index
-        if (transaction.getReferenceNumber() != null &&
-            !transaction.getReferenceNumber().trim().isEmpty()) {
-            referenceNumberToId.put(transaction.getReferenceNumber(), transaction.getId());
+    /**
+     * Store a copy of a transaction, claiming its reference number first
+     *
+     * @return false if the reference number is held by another transaction
+     */
+    private boolean store(Transaction transaction) {
+        String id = transaction.getId();
+        String referenceNumber = hasText(transaction.getReferenceNumber()) ? transaction.getReferenceNumber() : null;
+        if (referenceNumber != null) {
+            String existingId = referenceNumberToId.putIfAbsent(referenceNumber, id);
+            if (existingId != null && !existingId.equals(id)) {
+                return false;
+            }
         }
 
-        return transaction;
+        Transaction stored = new Transaction(transaction);
+        Transaction previous = transactions.put(id, stored);
+        accountTimelines.update(previous, stored);
+
+        // Release the reference number the transaction no longer uses
+        if (previous != null && hasText(previous.getReferenceNumber())
+                && !previous.getReferenceNumber().equals(referenceNumber)) {
+            referenceNumberToId.remove(previous.getReferenceNumber(), id);
+        }
+        return true;
     }
 
     @Override
@@ -52,14 +91,26 @@ public class InMemoryTransactionRepository implements TransactionRepository {
         if (id == null || id.trim().isEmpty()) {
             return Optional.empty();
         }
-        return Optional.ofNullable(transactions.get(id));
+        Transaction transaction = transactions.get(id);
+        return transaction != null ? Optional.of(new Transaction(transaction)) : Optional.empty();
+    }
+
+    @Override
+    public Map<String, Transaction> findAllById(Collection<String> ids) {
+        Map<String, Transaction> found = new LinkedHashMap<>();
+        for (String id : ids) {
+            Transaction transaction = id != null ? transactions.get(id) : null;
+            if (transaction != null) {
+                found.put(id, new Transaction(transaction));
+            }
+        }
+        return found;
     }
 
     @Override
     public List<Transaction> findAll() {
-        return new ArrayList<>(transactions.values())
-                .stream()
-                .sorted((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp())) // Sort by time descending
+        return sortedByTime().stream()
+                .map(Transaction::new)
                 .collect(Collectors.toList());
     }
 
@@ -69,15 +120,41 @@ public class InMemoryTransactionRepository implements TransactionRepository {
             return Collections.emptyList();
         }
 
-        List<Transaction> allTransactions = findAll();
-        int start = page * size;
-        int end = Math.min(start + size, allTransactions.size());
+        long end = (long) page * size + size;
+        List<Transaction> newest = end < transactions.size() ? newestByTime((int) end) : sortedByTime();
+        int start = (int) Math.min((long) page * size, newest.size());
 
-        if (start >= allTransactions.size()) {
-            return Collections.emptyList();
+        return newest.subList(start, newest.size()).stream()
+                .map(Transaction::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The given number of newest stored transactions, newest first, without sorting the whole store
+     */
+    private List<Transaction> newestByTime(int limit) {
+        Comparator<Transaction> oldestFirst = Comparator.comparing(Transaction::getTimestamp);
+        PriorityQueue<Transaction> newest = new PriorityQueue<>(limit + 1, oldestFirst);
+        for (Transaction transaction : transactions.values()) {
+            if (newest.size() < limit) {
+                newest.add(transaction);
+            } else if (oldestFirst.compare(transaction, newest.peek()) > 0) {
+                newest.poll();
+                newest.add(transaction);
+            }
         }
+        List<Transaction> sorted = new ArrayList<>(newest);
+        sorted.sort(oldestFirst.reversed());
+        return sorted;
+    }
 
-        return allTransactions.subList(start, end);
+    /**
+     * Stored transactions, newest first
+     */
+    private List<Transaction> sortedByTime() {
+        List<Transaction> sorted = new ArrayList<>(transactions.values());
+        sorted.sort((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp())); // Sort by time descending
+        return sorted;
     }
 
     @Override
@@ -105,15 +182,27 @@ public class InMemoryTransactionRepository implements TransactionRepository {
 
         Transaction transaction = transactions.remove(id);
         if (transaction != null) {
+            accountTimelines.update(transaction, null);
             // Remove reference number index
             if (transaction.getReferenceNumber() != null) {
-                referenceNumberToId.remove(transaction.getReferenceNumber());
+                referenceNumberToId.remove(transaction.getReferenceNumber(), id);
             }
             return true;
         }
         return false;
     }
 
+    @Override
+    public Set<String> deleteAllById(Collection<String> ids) {
+        Set<String> deleted = new HashSet<>();
+        for (String id : ids) {
+            if (deleteById(id)) {
+                deleted.add(id);
+            }
+        }
+        return deleted;
+    }
+
     @Override
     public boolean existsById(String id) {
         if (id == null || id.trim().isEmpty()) {
@@ -130,12 +219,22 @@ public class InMemoryTransactionRepository implements TransactionRepository {
         return referenceNumberToId.containsKey(referenceNumber);
     }
 
+    @Override
+    public List<Transaction> findByAccount(String accountId, TimelinePosition after, int limit) {
+        return accountTimelines.find(accountId, after, limit, transactions::get);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
     /**
      * Clear all data (for testing)
      */
     public void clear() {
         transactions.clear();
         referenceNumberToId.clear();
+        accountTimelines.clear();
     }
 
     /**
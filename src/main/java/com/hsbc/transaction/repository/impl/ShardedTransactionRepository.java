@@ -0,0 +1,443 @@
+package com.hsbc.transaction.repository.impl;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TimelinePosition;
+import com.hsbc.transaction.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sharded In-Memory Transaction Repository Implementation
+ *
+ * Transactions are hash-partitioned by ID. Each shard owns its ID map and a
+ * time-ordered index and is guarded by its own write lock, so writes to
+ * different shards never contend. Reference numbers are reserved in a single
+ * concurrent index with {@code putIfAbsent}, which keeps them globally unique
+ * without locking other shards. Account timelines are kept in one index
+ * across shards and updated under the lock of the transaction's shard. Full
+ * scans fan out across shards on a fork-join pool and time-ordered results
+ * are combined with a k-way merge.
+ *
+ * Records are copied on the way in and out, so callers can never modify
+ * stored state without going through {@link #save(Transaction)}.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@Repository
+@ConditionalOnProperty(prefix = "transaction.repository", name = "type", havingValue = "sharded")
+public class ShardedTransactionRepository implements TransactionRepository {
+
+    // Below this size a sequential scan is cheaper than forking tasks
+    private static final int PARALLEL_SCAN_THRESHOLD = 4096;
+
+    private static final Comparator<SortKey> NEWEST_FIRST = Comparator
+            .comparing(SortKey::timestamp, Comparator.reverseOrder())
+            .thenComparing(SortKey::id);
+
+    private final Shard[] shards;
+    private final Map<String, String> referenceNumberToId = new ConcurrentHashMap<>();
+    private final AccountTimelineIndex accountTimelines;
+    private final ForkJoinPool scanPool;
+
+    public ShardedTransactionRepository(int shardCount) {
+        this(shardCount, AccountTimelineIndex.DEFAULT_MAX_POSITIONS_PER_ACCOUNT);
+    }
+
+    @Autowired
+    public ShardedTransactionRepository(@Value("${transaction.repository.shards:0}") int shardCount,
+                                        @Value("${transaction.repository.account-timeline-limit:1000}") int accountTimelineLimit) {
+        this.accountTimelines = new AccountTimelineIndex(accountTimelineLimit);
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors() * 2;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard();
+        }
+        this.scanPool = new ForkJoinPool(Math.min(count, Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        if (transaction == null) {
+            throw new IllegalArgumentException("Transaction object cannot be null");
+        }
+
+        Shard shard = shardFor(transaction.getId());
+        shard.lock.lock();
+        try {
+            if (!saveInShard(shard, transaction)) {
+                throw new IllegalArgumentException("Reference number already exists: " + transaction.getReferenceNumber());
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+        return transaction;
+    }
+
+    @Override
+    public Set<String> saveAll(List<Transaction> transactions) {
+        // Take each shard's lock once for all of its transactions
+        Map<Shard, List<Transaction>> byShard = new IdentityHashMap<>();
+        for (Transaction transaction : transactions) {
+            byShard.computeIfAbsent(shardFor(transaction.getId()), shard -> new ArrayList<>()).add(transaction);
+        }
+
+        Set<String> rejected = new HashSet<>();
+        byShard.forEach((shard, batch) -> {
+            shard.lock.lock();
+            try {
+                for (Transaction transaction : batch) {
+                    if (!saveInShard(shard, transaction)) {
+                        rejected.add(transaction.getId());
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        });
+        return rejected;
+    }
+
+    /**
+     * Store a transaction in its shard, whose lock the caller holds
+     *
+     * @return false if the reference number is held by another transaction
+     */
+    private boolean saveInShard(Shard shard, Transaction transaction) {
+        String id = transaction.getId();
+        String referenceNumber = hasText(transaction.getReferenceNumber()) ? transaction.getReferenceNumber() : null;
+        Transaction stored = new Transaction(transaction);
+
+        Transaction previous = shard.byId.get(id);
+        String previousReference = previous != null && hasText(previous.getReferenceNumber())
+                ? previous.getReferenceNumber() : null;
+
+        // Reserve the new reference number before touching the shard
+        if (referenceNumber != null && !referenceNumber.equals(previousReference)) {
+            String owner = referenceNumberToId.putIfAbsent(referenceNumber, id);
+            if (owner != null && !owner.equals(id)) {
+                return false;
+            }
+        }
+
+        shard.byId.put(id, stored);
+        if (previous != null) {
+            shard.byTime.remove(SortKey.of(previous));
+        }
+        shard.byTime.put(SortKey.of(stored), stored);
+        accountTimelines.update(previous, stored);
+
+        // Release the reference number this transaction no longer uses
+        if (previousReference != null && !previousReference.equals(referenceNumber)) {
+            referenceNumberToId.remove(previousReference, id);
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<Transaction> findById(String id) {
+        if (!hasText(id)) {
+            return Optional.empty();
+        }
+        Transaction stored = shardFor(id).byId.get(id);
+        return stored != null ? Optional.of(new Transaction(stored)) : Optional.empty();
+    }
+
+    @Override
+    public Map<String, Transaction> findAllById(Collection<String> ids) {
+        Map<String, Transaction> found = new LinkedHashMap<>();
+        for (String id : ids) {
+            if (hasText(id)) {
+                Transaction stored = shardFor(id).byId.get(id);
+                if (stored != null) {
+                    found.put(id, new Transaction(stored));
+                }
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        List<List<Transaction>> perShard = fanOut(shard -> new ArrayList<>(shard.byTime.values()));
+        List<Iterator<Transaction>> iterators = new ArrayList<>(perShard.size());
+        int total = 0;
+        for (List<Transaction> list : perShard) {
+            iterators.add(list.iterator());
+            total += list.size();
+        }
+        return merge(iterators, 0, total);
+    }
+
+    @Override
+    public List<Transaction> findAll(int page, int size) {
+        if (page < 0 || size <= 0) {
+            return Collections.emptyList();
+        }
+
+        long offset = (long) page * size;
+        if (offset >= count()) {
+            return Collections.emptyList();
+        }
+
+        // Shard indexes are already sorted, so a lazy merge only touches offset + size entries
+        List<Iterator<Transaction>> iterators = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            iterators.add(shard.byTime.values().iterator());
+        }
+        return merge(iterators, offset, size);
+    }
+
+    @Override
+    public long count() {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += shard.byId.size();
+        }
+        return total;
+    }
+
+    @Override
+    public Optional<Transaction> findByReferenceNumber(String referenceNumber) {
+        if (!hasText(referenceNumber)) {
+            return Optional.empty();
+        }
+        String id = referenceNumberToId.get(referenceNumber);
+        if (id != null) {
+            return findById(id);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        if (!hasText(id)) {
+            return false;
+        }
+
+        Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            return deleteInShard(shard, id);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public Set<String> deleteAllById(Collection<String> ids) {
+        Map<Shard, List<String>> byShard = new IdentityHashMap<>();
+        for (String id : ids) {
+            if (hasText(id)) {
+                byShard.computeIfAbsent(shardFor(id), shard -> new ArrayList<>()).add(id);
+            }
+        }
+
+        Set<String> deleted = new HashSet<>();
+        byShard.forEach((shard, batch) -> {
+            shard.lock.lock();
+            try {
+                for (String id : batch) {
+                    if (deleteInShard(shard, id)) {
+                        deleted.add(id);
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        });
+        return deleted;
+    }
+
+    /**
+     * Remove a transaction from its shard, whose lock the caller holds
+     */
+    private boolean deleteInShard(Shard shard, String id) {
+        Transaction removed = shard.byId.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        shard.byTime.remove(SortKey.of(removed));
+        accountTimelines.update(removed, null);
+        if (hasText(removed.getReferenceNumber())) {
+            referenceNumberToId.remove(removed.getReferenceNumber(), id);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        if (!hasText(id)) {
+            return false;
+        }
+        return shardFor(id).byId.containsKey(id);
+    }
+
+    @Override
+    public boolean existsByReferenceNumber(String referenceNumber) {
+        if (!hasText(referenceNumber)) {
+            return false;
+        }
+        return referenceNumberToId.containsKey(referenceNumber);
+    }
+
+    @Override
+    public List<Transaction> findByAccount(String accountId, TimelinePosition after, int limit) {
+        return accountTimelines.find(accountId, after, limit, id -> hasText(id) ? shardFor(id).byId.get(id) : null);
+    }
+
+    /**
+     * Clear all data (for testing)
+     */
+    public void clear() {
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                shard.byId.clear();
+                shard.byTime.clear();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        referenceNumberToId.clear();
+        accountTimelines.clear();
+    }
+
+    /**
+     * Get number of shards
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanPool.shutdown();
+    }
+
+    /**
+     * Run a task against every shard, in parallel when the store is large enough
+     */
+    private <R> List<R> fanOut(ShardTask<R> task) {
+        List<R> results = new ArrayList<>(shards.length);
+        if (count() < PARALLEL_SCAN_THRESHOLD) {
+            for (Shard shard : shards) {
+                results.add(task.apply(shard));
+            }
+            return results;
+        }
+
+        List<Callable<R>> tasks = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            tasks.add(() -> task.apply(shard));
+        }
+        try {
+            for (Future<R> future : scanPool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning shards", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Shard scan failed", e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * K-way merge of newest-first iterators, skipping the first {@code offset} entries
+     */
+    private static List<Transaction> merge(List<Iterator<Transaction>> iterators, long offset, int limit) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, iterators.size()),
+                (a, b) -> NEWEST_FIRST.compare(a.key, b.key));
+        for (Iterator<Transaction> iterator : iterators) {
+            if (iterator.hasNext()) {
+                heap.add(new Cursor(iterator, iterator.next()));
+            }
+        }
+
+        List<Transaction> result = new ArrayList<>(Math.min(limit, 1024));
+        long skipped = 0;
+        while (!heap.isEmpty() && result.size() < limit) {
+            Cursor cursor = heap.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                result.add(new Transaction(cursor.current));
+            }
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private Shard shardFor(String id) {
+        return shards[(id.hashCode() & Integer.MAX_VALUE) % shards.length];
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    /**
+     * Single partition with its own indexes and write lock
+     */
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Transaction> byId = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<SortKey, Transaction> byTime = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+    }
+
+    /**
+     * Time-ordered index key; the ID breaks ties between equal timestamps
+     */
+    private record SortKey(LocalDateTime timestamp, String id) {
+        static SortKey of(Transaction transaction) {
+            LocalDateTime timestamp = transaction.getTimestamp() != null ? transaction.getTimestamp() : LocalDateTime.MIN;
+            return new SortKey(timestamp, transaction.getId());
+        }
+    }
+
+    /**
+     * Head of one shard's iterator inside the merge heap
+     */
+    private static final class Cursor {
+        private final Iterator<Transaction> iterator;
+        private Transaction current;
+        private SortKey key;
+
+        private Cursor(Iterator<Transaction> iterator, Transaction first) {
+            this.iterator = iterator;
+            this.current = first;
+            this.key = SortKey.of(first);
+        }
+
+        private boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            current = iterator.next();
+            key = SortKey.of(current);
+            return true;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ShardTask<R> {
+        R apply(Shard shard);
+    }
+}
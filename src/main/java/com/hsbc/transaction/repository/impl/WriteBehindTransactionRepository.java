@@ -0,0 +1,568 @@
+package com.hsbc.transaction.repository.impl;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TimelinePosition;
+import com.hsbc.transaction.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind Transaction Repository Implementation
+ *
+ * Serves every read from an {@link InMemoryTransactionRepository} and copies
+ * writes to an embedded SQL database in the background. A write only marks
+ * its transaction ID dirty; the writer thread later stores whatever the
+ * memory holds for each dirty ID at that moment, a JDBC batch of MERGEs for
+ * present transactions and DELETEs for removed ones, committed together.
+ * Repeated writes to an ID before its flush are thereby coalesced into
+ * one row write, and the database always receives the newest state.
+ *
+ * A batch is flushed once it reaches the batch size or the oldest dirty ID
+ * has waited for the flush interval. When the number of IDs waiting or
+ * being written reaches the queue capacity, writes of new IDs block until
+ * a flush completes. A failed flush is retried with the IDs marked dirty
+ * again. On start the memory is filled from the database.
+ *
+ * Stopping drains the queue, but gives up after a few failed flushes or
+ * once the shutdown timeout has passed; the IDs left unflushed are logged
+ * and counted.
+ *
+ * Amounts are stored as DECFLOAT with their scale in a separate column, so
+ * they come back exactly as written.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class WriteBehindTransactionRepository implements TransactionRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindTransactionRepository.class);
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+    // Failed flushes tolerated after stop before the rest of the queue is given up
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS transactions (
+                id VARCHAR(64) PRIMARY KEY,
+                amount DECFLOAT,
+                amount_scale INT,
+                currency VARCHAR(3),
+                transaction_type VARCHAR(32),
+                timestamp TIMESTAMP(9),
+                description VARCHAR,
+                reference_number VARCHAR,
+                account_id VARCHAR(64),
+                counterparty_account_id VARCHAR(64)
+            )""";
+    // Tables created before transactions carried accounts
+    private static final String ADD_ACCOUNT_ID_COLUMN =
+            "ALTER TABLE transactions ADD COLUMN IF NOT EXISTS account_id VARCHAR(64)";
+    private static final String ADD_COUNTERPARTY_ACCOUNT_ID_COLUMN =
+            "ALTER TABLE transactions ADD COLUMN IF NOT EXISTS counterparty_account_id VARCHAR(64)";
+    private static final String CREATE_TIMESTAMP_INDEX =
+            "CREATE INDEX IF NOT EXISTS transactions_timestamp ON transactions (timestamp)";
+    private static final String MERGE = "MERGE INTO transactions (id, amount, amount_scale, currency, transaction_type, "
+            + "timestamp, description, reference_number, account_id, counterparty_account_id) KEY (id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM transactions WHERE id = ?";
+    private static final String SELECT_ALL = "SELECT id, amount, amount_scale, currency, transaction_type, timestamp, "
+            + "description, reference_number, account_id, counterparty_account_id FROM transactions";
+
+    private final InMemoryTransactionRepository memory = new InMemoryTransactionRepository();
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final int queueCapacity;
+    private final Duration shutdownTimeout;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dirtyAdded = lock.newCondition();
+    private final Condition spaceFreed = lock.newCondition();
+    // Guarded by lock
+    private final Set<String> dirty = new LinkedHashSet<>();
+    private final Set<String> inFlight = new LinkedHashSet<>();
+    private long oldestDirtyNanos;
+    private boolean flushRequested;
+    private boolean running;
+    private int shutdownFailures;
+
+    private final AtomicLong flushedRowCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong blockedWriteCount = new AtomicLong();
+    private final AtomicLong failedFlushCount = new AtomicLong();
+    private final AtomicLong unflushedCount = new AtomicLong();
+
+    private Connection connection;
+    private Thread writer;
+
+    /**
+     * @param url JDBC URL of the database, e.g. {@code jdbc:h2:file:./data/transactions}
+     * @param batchSize rows per flushed batch
+     * @param flushInterval longest time a dirty ID waits for its flush
+     * @param queueCapacity most IDs waiting or being written before writes block
+     * @param shutdownTimeout longest time {@link #stop()} waits for the final flush
+     */
+    public WriteBehindTransactionRepository(String url, String username, String password, int batchSize,
+                                            Duration flushInterval, int queueCapacity, Duration shutdownTimeout) {
+        if (batchSize <= 0 || queueCapacity < batchSize) {
+            throw new IllegalArgumentException("Write-behind batch size must be positive and at most the queue capacity");
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.queueCapacity = queueCapacity;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * Open the database, load its transactions into memory and start flushing
+     */
+    public void start() throws SQLException {
+        connection = DriverManager.getConnection(url, username, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+            statement.execute(ADD_ACCOUNT_ID_COLUMN);
+            statement.execute(ADD_COUNTERPARTY_ACCOUNT_ID_COLUMN);
+            statement.execute(CREATE_TIMESTAMP_INDEX);
+        }
+        connection.setAutoCommit(false);
+        connection.commit();
+
+        long start = System.nanoTime();
+        List<Transaction> stored = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(SELECT_ALL)) {
+            while (rows.next()) {
+                stored.add(toTransaction(rows));
+            }
+        }
+        connection.commit();
+        memory.saveAll(stored);
+        logger.info("Recovered {} transactions from {} in {} ms", stored.size(), url,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        lock.lock();
+        try {
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        writer = Thread.ofPlatform().daemon().name("write-behind").start(this::writeLoop);
+    }
+
+    /**
+     * Flush everything still dirty within the shutdown timeout, report what was not, and close the database
+     */
+    public void stop() throws InterruptedException, SQLException {
+        lock.lock();
+        try {
+            running = false;
+            dirtyAdded.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (writer != null && !writer.join(shutdownTimeout)) {
+            logger.warn("Write-behind writer did not finish within {}, interrupting it", shutdownTimeout);
+            writer.interrupt();
+        }
+        Set<String> unflushed;
+        lock.lock();
+        try {
+            unflushed = new LinkedHashSet<>(inFlight);
+            unflushed.addAll(dirty);
+        } finally {
+            lock.unlock();
+        }
+        unflushedCount.set(unflushed.size());
+        if (!unflushed.isEmpty()) {
+            logger.error("Write-behind stopped with {} transactions not flushed to {}: {}",
+                    unflushed.size(), url, unflushed);
+        }
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Write all currently dirty IDs and wait until they are stored
+     */
+    public void flush() throws InterruptedException {
+        lock.lock();
+        try {
+            flushRequested = true;
+            dirtyAdded.signalAll();
+            while (running && (!dirty.isEmpty() || !inFlight.isEmpty())) {
+                spaceFreed.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        Transaction saved = memory.save(transaction);
+        markDirty(List.of(saved.getId()));
+        return saved;
+    }
+
+    @Override
+    public Set<String> saveAll(List<Transaction> transactions) {
+        Set<String> rejected = memory.saveAll(transactions);
+        List<String> ids = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            if (!rejected.contains(transaction.getId())) {
+                ids.add(transaction.getId());
+            }
+        }
+        markDirty(ids);
+        return rejected;
+    }
+
+    @Override
+    public Optional<Transaction> findById(String id) {
+        return memory.findById(id);
+    }
+
+    @Override
+    public Map<String, Transaction> findAllById(Collection<String> ids) {
+        return memory.findAllById(ids);
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        return memory.findAll();
+    }
+
+    @Override
+    public List<Transaction> findAll(int page, int size) {
+        return memory.findAll(page, size);
+    }
+
+    @Override
+    public long count() {
+        return memory.count();
+    }
+
+    @Override
+    public Optional<Transaction> findByReferenceNumber(String referenceNumber) {
+        return memory.findByReferenceNumber(referenceNumber);
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        boolean deleted = memory.deleteById(id);
+        if (deleted) {
+            markDirty(List.of(id));
+        }
+        return deleted;
+    }
+
+    @Override
+    public Set<String> deleteAllById(Collection<String> ids) {
+        Set<String> deleted = memory.deleteAllById(ids);
+        markDirty(deleted);
+        return deleted;
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return memory.existsById(id);
+    }
+
+    @Override
+    public boolean existsByReferenceNumber(String referenceNumber) {
+        return memory.existsByReferenceNumber(referenceNumber);
+    }
+
+    @Override
+    public List<Transaction> findByAccount(String accountId, TimelinePosition after, int limit) {
+        return memory.findByAccount(accountId, after, limit);
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return dirty.size() + inFlight.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getFlushedRowCount() {
+        return flushedRowCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public long getBlockedWriteCount() {
+        return blockedWriteCount.get();
+    }
+
+    public long getFailedFlushCount() {
+        return failedFlushCount.get();
+    }
+
+    /**
+     * IDs given up by the last {@link #stop()} without being written to the database
+     */
+    public long getUnflushedCount() {
+        return unflushedCount.get();
+    }
+
+    /**
+     * Queue IDs for the next flush, blocking while the queue is full
+     */
+    private void markDirty(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            boolean blocked = false;
+            for (String id : ids) {
+                if (dirty.contains(id)) {
+                    coalescedCount.incrementAndGet();
+                    continue;
+                }
+                while (running && dirty.size() + inFlight.size() >= queueCapacity) {
+                    blocked = true;
+                    spaceFreed.awaitUninterruptibly();
+                }
+                if (dirty.isEmpty()) {
+                    // Starts the flush window the writer waits on
+                    oldestDirtyNanos = System.nanoTime();
+                    dirtyAdded.signal();
+                }
+                dirty.add(id);
+                if (dirty.size() == batchSize) {
+                    dirtyAdded.signal();
+                }
+            }
+            if (blocked) {
+                blockedWriteCount.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            List<String> batch = takeBatch();
+            if (batch == null) {
+                return;
+            }
+            try {
+                write(batch);
+                finish(batch);
+            } catch (SQLException e) {
+                failedFlushCount.incrementAndGet();
+                logger.warn("Write-behind flush of {} transactions failed: {}", batch.size(), e.getMessage());
+                rollbackQuietly();
+                if (!retry(batch)) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // Keep the writer alive; a dead writer would block every save once the queue is full
+                failedFlushCount.incrementAndGet();
+                logger.error("Write-behind flush of {} transactions failed unexpectedly", batch.size(), e);
+                rollbackQuietly();
+                if (!retry(batch)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait for a full batch, or for the oldest dirty ID to be due; null once stopped and drained
+     */
+    private List<String> takeBatch() {
+        lock.lock();
+        try {
+            while (true) {
+                if (dirty.isEmpty()) {
+                    if (!running) {
+                        return null;
+                    }
+                    dirtyAdded.awaitUninterruptibly();
+                    continue;
+                }
+                long waitNanos = oldestDirtyNanos + flushInterval.toNanos() - System.nanoTime();
+                if (dirty.size() >= batchSize || waitNanos <= 0 || flushRequested || !running) {
+                    break;
+                }
+                dirtyAdded.awaitNanos(waitNanos);
+            }
+            List<String> batch = new ArrayList<>(Math.min(batchSize, dirty.size()));
+            Iterator<String> iterator = dirty.iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            inFlight.addAll(batch);
+            oldestDirtyNanos = System.nanoTime();
+            flushRequested = !dirty.isEmpty() && flushRequested;
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Store the current state of each ID in one database transaction
+     */
+    private void write(List<String> ids) throws SQLException {
+        Map<String, Transaction> present = memory.findAllById(ids);
+        try (PreparedStatement merge = connection.prepareStatement(MERGE);
+             PreparedStatement delete = connection.prepareStatement(DELETE)) {
+            int merges = 0;
+            int deletes = 0;
+            for (String id : ids) {
+                Transaction transaction = present.get(id);
+                if (transaction != null) {
+                    bind(merge, transaction);
+                    merge.addBatch();
+                    merges++;
+                } else {
+                    delete.setString(1, id);
+                    delete.addBatch();
+                    deletes++;
+                }
+            }
+            if (merges > 0) {
+                merge.executeBatch();
+            }
+            if (deletes > 0) {
+                delete.executeBatch();
+            }
+            connection.commit();
+        }
+        flushedRowCount.addAndGet(ids.size());
+        batchCount.incrementAndGet();
+    }
+
+    private void finish(List<String> written) {
+        lock.lock();
+        try {
+            inFlight.removeAll(written);
+            spaceFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Mark a failed batch dirty again after the retry delay
+     *
+     * @return false if the writer is stopping and has failed too often or was interrupted, leaving the batch unflushed
+     */
+    private boolean retry(List<String> batch) {
+        boolean giveUp;
+        lock.lock();
+        try {
+            giveUp = !running && ++shutdownFailures >= SHUTDOWN_FLUSH_ATTEMPTS;
+        } finally {
+            lock.unlock();
+        }
+        if (!giveUp) {
+            try {
+                Thread.sleep(RETRY_DELAY);
+            } catch (InterruptedException e) {
+                // Interrupted by stop() after the shutdown timeout
+                Thread.currentThread().interrupt();
+                giveUp = true;
+            }
+        }
+        lock.lock();
+        try {
+            inFlight.removeAll(batch);
+            if (dirty.isEmpty()) {
+                oldestDirtyNanos = System.nanoTime();
+            }
+            dirty.addAll(batch);
+            spaceFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return !giveUp;
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.debug("Rollback after failed flush failed: {}", e.getMessage());
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Transaction transaction) throws SQLException {
+        statement.setString(1, transaction.getId());
+        statement.setBigDecimal(2, transaction.getAmount());
+        if (transaction.getAmount() != null) {
+            statement.setInt(3, transaction.getAmount().scale());
+        } else {
+            statement.setNull(3, Types.INTEGER);
+        }
+        statement.setString(4, transaction.getCurrency());
+        statement.setString(5, transaction.getTransactionType());
+        statement.setObject(6, transaction.getTimestamp());
+        statement.setString(7, transaction.getDescription());
+        statement.setString(8, transaction.getReferenceNumber());
+        statement.setString(9, transaction.getAccountId());
+        statement.setString(10, transaction.getCounterpartyAccountId());
+    }
+
+    private static Transaction toTransaction(ResultSet rows) throws SQLException {
+        Transaction transaction = new Transaction();
+        transaction.setId(rows.getString("id"));
+        BigDecimal amount = rows.getBigDecimal("amount");
+        transaction.setAmount(amount != null ? amount.setScale(rows.getInt("amount_scale")) : null);
+        transaction.setCurrency(rows.getString("currency"));
+        transaction.setTransactionType(rows.getString("transaction_type"));
+        transaction.setTimestamp(rows.getObject("timestamp", LocalDateTime.class));
+        transaction.setDescription(rows.getString("description"));
+        transaction.setReferenceNumber(rows.getString("reference_number"));
+        transaction.setAccountId(rows.getString("account_id"));
+        transaction.setCounterpartyAccountId(rows.getString("counterparty_account_id"));
+        return transaction;
+    }
+}
@@ -0,0 +1,95 @@
+package com.hsbc.transaction.responsecache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * JSON writer for transaction responses that reuses encoded bytes
+ *
+ * Writes {@link TransactionResponse} and {@link PagedResponse} bodies with
+ * the application's {@link ObjectMapper}, but only the first time a given
+ * response object is written; later writes of the same object copy its
+ * bytes, gzip-compressed when the client accepts it. Reading is left to the
+ * regular Jackson converter.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class CachedJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final EncodedResponseCache cache;
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+
+    public CachedJsonHttpMessageConverter(EncodedResponseCache cache, ObjectMapper objectMapper, boolean gzip) {
+        super(MediaType.APPLICATION_JSON);
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return TransactionResponse.class.isAssignableFrom(clazz) || PagedResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        boolean compressed = gzip && acceptsGzip();
+        EncodedResponseCache.EncodedBody body = cache.get(value, compressed, objectMapper::writeValueAsBytes);
+
+        HttpHeaders headers = outputMessage.getHeaders();
+        if (gzip) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        byte[] bytes = body.json();
+        if (compressed && body.gzip() != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            bytes = body.gzip();
+        }
+        headers.setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    private static boolean acceptsGzip() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().toLowerCase(Locale.ROOT).split(";");
+            if (parts[0].trim().equals("gzip")) {
+                // "gzip;q=0" explicitly refuses it
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
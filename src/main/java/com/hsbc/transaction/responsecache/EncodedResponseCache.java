@@ -0,0 +1,122 @@
+package com.hsbc.transaction.responsecache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded bytes of response objects
+ *
+ * Entries are keyed by the identity of the response object and held only as
+ * long as that object is reachable. Responses served from the transaction
+ * caches are the same instance on every hit, so their bytes are reused until
+ * the cache entry is evicted, and an update can never be answered with bytes
+ * of an earlier version.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class EncodedResponseCache {
+
+    private final Cache<Object, EncodedBody> bodies;
+    private final int gzipMinBytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong gzipHits = new AtomicLong();
+
+    /**
+     * Encoded form of one response
+     *
+     * @param json the JSON bytes
+     * @param gzip the gzip-compressed JSON bytes, or null until first requested
+     */
+    public record EncodedBody(byte[] json, byte[] gzip) {
+    }
+
+    /**
+     * Produces the JSON bytes of a response on a miss
+     */
+    @FunctionalInterface
+    public interface Encoder {
+        byte[] encode(Object value) throws IOException;
+    }
+
+    /**
+     * @param maximumBytes upper bound of the bytes held, JSON and gzip together
+     * @param gzipMinBytes smallest JSON body worth compressing
+     */
+    public EncodedResponseCache(long maximumBytes, int gzipMinBytes) {
+        this.gzipMinBytes = gzipMinBytes;
+        this.bodies = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumWeight(maximumBytes)
+                .weigher((Object key, EncodedBody body) ->
+                        body.json().length + (body.gzip() == null ? 0 : body.gzip().length))
+                .build();
+    }
+
+    /**
+     * Get the bytes of a response, encoding it on the first request
+     *
+     * @param value response object
+     * @param gzip whether the caller wants the compressed form
+     * @return the encoded body; {@link EncodedBody#gzip()} is only set if requested and worth compressing
+     */
+    public EncodedBody get(Object value, boolean gzip, Encoder encoder) throws IOException {
+        EncodedBody body = bodies.getIfPresent(value);
+        if (body == null) {
+            misses.incrementAndGet();
+            body = new EncodedBody(encoder.encode(value), null);
+            bodies.put(value, body);
+        } else {
+            hits.incrementAndGet();
+        }
+
+        if (!gzip || body.json().length < gzipMinBytes) {
+            return body;
+        }
+        if (body.gzip() != null) {
+            gzipHits.incrementAndGet();
+            return body;
+        }
+        // Compress once and re-insert so the entry is weighed with both forms
+        EncodedBody compressed = new EncodedBody(body.json(), compress(body.json()));
+        bodies.put(value, compressed);
+        return compressed;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getGzipHitCount() {
+        return gzipHits.get();
+    }
+
+    public long getEntryCount() {
+        return bodies.estimatedSize();
+    }
+
+    public long getSizeBytes() {
+        return bodies.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+}
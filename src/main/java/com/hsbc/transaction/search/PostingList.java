@@ -0,0 +1,227 @@
+package com.hsbc.transaction.search;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Posting list of one term
+ *
+ * Stores (document, term frequency) pairs in increasing document order as
+ * variable-length integers, with documents delta-encoded, so most entries
+ * take two bytes. Writers append under the list's own lock; readers decode
+ * the published {@link Snapshot} without locking, since bytes below its
+ * length are never rewritten.
+ *
+ * Removed entries are only recorded on the write path. {@link #compact}
+ * rebuilds the list without them outside the lock and then swaps it in,
+ * re-encoding any entries appended meanwhile.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+final class PostingList {
+
+    /**
+     * Immutable view of the list at one point
+     */
+    record Snapshot(byte[] data, int length, int entries, int lastDocument) {
+    }
+
+    private volatile Snapshot snapshot = empty(8);
+
+    // Guarded by this: documents whose entry was deleted or re-indexed
+    private final Set<Integer> stale = new HashSet<>();
+    // Bumped when entries are rewritten rather than appended
+    private int rewrites;
+    private boolean compactionPending;
+    private boolean retired;
+
+    /**
+     * Add an entry
+     *
+     * Documents normally arrive in increasing order and are appended; one
+     * overtaken by a concurrent writer with a later number is inserted in
+     * place.
+     *
+     * @return false if the list was removed from the index and must not be written
+     */
+    synchronized boolean add(int document, int frequency) {
+        if (retired) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        if (document > current.lastDocument()) {
+            snapshot = append(current, document, frequency);
+            return true;
+        }
+        byte[] data = new byte[current.length() + 10];
+        int length = 0;
+        int lastDocument = -1;
+        boolean inserted = false;
+        Cursor cursor = new Cursor(current);
+        while (cursor.next()) {
+            if (!inserted && document < cursor.document) {
+                length = writeVarInt(data, length, document - lastDocument);
+                length = writeVarInt(data, length, frequency);
+                lastDocument = document;
+                inserted = true;
+            }
+            length = writeVarInt(data, length, cursor.document - lastDocument);
+            length = writeVarInt(data, length, cursor.frequency);
+            lastDocument = cursor.document;
+        }
+        rewrites++;
+        snapshot = new Snapshot(data, length, current.entries() + 1, lastDocument);
+        return true;
+    }
+
+    /**
+     * Record that a document's entry was removed
+     *
+     * @return true if removed entries are now the majority and the caller should schedule {@link #compact}
+     */
+    synchronized boolean markStale(int document) {
+        stale.add(document);
+        if (compactionPending || stale.size() * 2 <= snapshot.entries()) {
+            return false;
+        }
+        compactionPending = true;
+        return true;
+    }
+
+    /**
+     * Rewrite the list without removed entries
+     */
+    void compact() {
+        Snapshot base;
+        Set<Integer> removed;
+        int baseRewrites;
+        synchronized (this) {
+            if (retired) {
+                return;
+            }
+            base = snapshot;
+            removed = new HashSet<>(stale);
+            baseRewrites = rewrites;
+        }
+
+        Snapshot compacted = copy(new Cursor(base), removed, empty(base.length()));
+
+        synchronized (this) {
+            Snapshot current = snapshot;
+            if (rewrites != baseRewrites) {
+                // An insertion moved the entries; redo the copy under the lock
+                compacted = copy(new Cursor(current), removed, empty(current.length()));
+            } else if (current.length() > base.length()) {
+                compacted = copy(new Cursor(current, base.length(), base.lastDocument()), removed, compacted);
+            }
+            stale.removeAll(removed);
+            compactionPending = false;
+            snapshot = compacted;
+        }
+    }
+
+    /**
+     * Mark the list removed if it has no live entries left
+     *
+     * @return true if it was marked; later {@link #add} calls fail
+     */
+    synchronized boolean retireIfEmpty() {
+        if (stale.size() < snapshot.entries()) {
+            return false;
+        }
+        retired = true;
+        return true;
+    }
+
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    synchronized int getStaleCount() {
+        return stale.size();
+    }
+
+    private static Snapshot empty(int capacity) {
+        return new Snapshot(new byte[Math.max(8, capacity)], 0, 0, -1);
+    }
+
+    private static Snapshot append(Snapshot current, int document, int frequency) {
+        byte[] data = current.data();
+        if (current.length() + 10 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        int length = writeVarInt(data, current.length(), document - current.lastDocument());
+        length = writeVarInt(data, length, frequency);
+        return new Snapshot(data, length, current.entries() + 1, document);
+    }
+
+    /**
+     * Append the cursor's remaining entries that are not removed to a snapshot
+     */
+    private static Snapshot copy(Cursor cursor, Set<Integer> removed, Snapshot target) {
+        Snapshot result = target;
+        while (cursor.next()) {
+            if (!removed.contains(cursor.document)) {
+                result = append(result, cursor.document, cursor.frequency);
+            }
+        }
+        return result;
+    }
+
+    private static int writeVarInt(byte[] data, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            data[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * Sequential decoder over a snapshot
+     */
+    static final class Cursor {
+        private final byte[] data;
+        private final int length;
+        private int position;
+        int document = -1;
+        int frequency;
+
+        Cursor(Snapshot snapshot) {
+            this(snapshot, 0, -1);
+        }
+
+        /**
+         * Decoder starting at an entry boundary, after the given document
+         */
+        Cursor(Snapshot snapshot, int position, int document) {
+            this.data = snapshot.data();
+            this.length = snapshot.length();
+            this.position = position;
+            this.document = document;
+        }
+
+        boolean next() {
+            if (position >= length) {
+                return false;
+            }
+            document += readVarInt();
+            frequency = readVarInt();
+            return true;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
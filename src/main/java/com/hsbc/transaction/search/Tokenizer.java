@@ -0,0 +1,55 @@
+package com.hsbc.transaction.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Description tokenizer
+ *
+ * Splits text into lower-case runs of letters and digits. Ideographic
+ * characters (CJK) are not separated by spaces, so each one becomes a
+ * token of its own.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+final class Tokenizer {
+
+    // Longer runs are truncated; nobody searches for them verbatim
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        int index = 0;
+        while (index < text.length()) {
+            int codePoint = text.codePointAt(index);
+            index += Character.charCount(codePoint);
+            if (Character.isIdeographic(codePoint)) {
+                flush(current, tokens);
+                tokens.add(new String(Character.toChars(codePoint)));
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                if (current.length() < MAX_TOKEN_LENGTH) {
+                    current.appendCodePoint(Character.toLowerCase(codePoint));
+                }
+            } else {
+                flush(current, tokens);
+            }
+        }
+        flush(current, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder current, List<String> tokens) {
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+            current.setLength(0);
+        }
+    }
+}
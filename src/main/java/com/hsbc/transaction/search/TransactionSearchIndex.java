@@ -0,0 +1,255 @@
+package com.hsbc.transaction.search;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.service.TransactionMutationListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Full-text index over transaction descriptions
+ *
+ * An inverted index from description terms to compressed
+ * {@link PostingList posting lists}. Every indexed version of a
+ * description gets a new document number, so posting lists only ever grow
+ * at the end; the entries of replaced or deleted versions are skipped by
+ * queries and dropped when their list is compacted.
+ *
+ * Updates run concurrently: descriptions are tokenized without any lock,
+ * document numbers come from a counter, and each posting list is locked
+ * only while an entry is appended to it. Compaction of lists dominated by
+ * removed entries is handed to a background executor. Updates become
+ * visible to queries as they are made; queries take no locks. Results
+ * contain every term of the query and are ranked by BM25.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionSearchIndex implements TransactionMutationListener {
+
+    // BM25 parameters, the customary defaults
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * Ranking order: best score first, newer documents first on equal score
+     */
+    private static final Comparator<Scored> BEST_FIRST = Comparator
+            .comparingDouble(Scored::score).reversed()
+            .thenComparing(Comparator.comparingInt(Scored::document).reversed());
+
+    private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+    // Live documents by number, and the current document of each transaction
+    private final Map<Integer, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Document> byTransaction = new ConcurrentHashMap<>();
+    private final AtomicLong totalLength = new AtomicLong();
+    private final AtomicInteger nextDocument = new AtomicInteger();
+    private final Executor compactor;
+
+    public TransactionSearchIndex() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param compactor runs posting list compaction
+     */
+    public TransactionSearchIndex(Executor compactor) {
+        this.compactor = compactor;
+    }
+
+    /**
+     * A search hit: transaction ID and relevance score
+     */
+    public record Hit(String transactionId, double score) {
+    }
+
+    /**
+     * One page of hits and the number of all matching transactions
+     */
+    public record Result(long total, List<Hit> hits) {
+    }
+
+    @Override
+    public void onSaved(Transaction transaction, LocalDateTime changedAt) {
+        Map<String, Integer> frequencies = frequencies(Tokenizer.tokenize(transaction.getDescription()));
+        Document current = byTransaction.get(transaction.getId());
+        if (current != null && current.frequencies().equals(frequencies)) {
+            // Description unchanged; nothing to re-index
+            return;
+        }
+
+        Document previous;
+        if (!frequencies.isEmpty()) {
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            Document document = new Document(nextDocument.getAndIncrement(), transaction.getId(), length, frequencies);
+            documents.put(document.number(), document);
+            totalLength.addAndGet(length);
+            frequencies.forEach((term, frequency) -> addPosting(term, document.number(), frequency));
+            previous = byTransaction.put(transaction.getId(), document);
+        } else {
+            previous = byTransaction.remove(transaction.getId());
+        }
+        // Whichever writer replaces a document retires it, so concurrent updates of one ID leave one live
+        if (previous != null) {
+            retire(previous);
+        }
+    }
+
+    @Override
+    public void onDeleted(String id, LocalDateTime changedAt) {
+        Document current = byTransaction.remove(id);
+        if (current != null) {
+            retire(current);
+        }
+    }
+
+    @Override
+    public void onArchived(String id, LocalDateTime archivedAt) {
+        // Only transactions held in memory are searchable
+        onDeleted(id, archivedAt);
+    }
+
+    /**
+     * Find transactions whose description contains every term of the query
+     *
+     * @param query free text, tokenized like descriptions
+     * @param offset number of best hits to skip
+     * @param limit maximum number of hits to return
+     * @return hits ranked best first
+     */
+    public Result search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty()) {
+            return new Result(0, List.of());
+        }
+
+        int termCount = terms.size();
+        PostingList.Snapshot[] lists = new PostingList.Snapshot[termCount];
+        int index = 0;
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list == null) {
+                return new Result(0, List.of());
+            }
+            lists[index++] = list.snapshot();
+        }
+        // Drive the intersection from the rarest term
+        Arrays.sort(lists, Comparator.comparingInt(PostingList.Snapshot::entries));
+
+        int documentCount = Math.max(1, documents.size());
+        double averageLength = Math.max(1.0, (double) totalLength.get() / documentCount);
+        double[] idf = new double[termCount];
+        PostingList.Cursor[] cursors = new PostingList.Cursor[termCount];
+        for (int i = 0; i < termCount; i++) {
+            int frequency = lists[i].entries();
+            idf[i] = Math.log(1 + (documentCount - frequency + 0.5) / (frequency + 0.5));
+            cursors[i] = new PostingList.Cursor(lists[i]);
+        }
+
+        int wanted = offset + limit;
+        PriorityQueue<Scored> best = new PriorityQueue<>(BEST_FIRST.reversed());
+        long total = 0;
+        candidates:
+        while (cursors[0].next()) {
+            int candidate = cursors[0].document;
+            for (int i = 1; i < termCount; i++) {
+                PostingList.Cursor cursor = cursors[i];
+                while (cursor.document < candidate) {
+                    if (!cursor.next()) {
+                        break candidates;
+                    }
+                }
+                if (cursor.document != candidate) {
+                    continue candidates;
+                }
+            }
+            Document document = documents.get(candidate);
+            if (document == null) {
+                continue;
+            }
+
+            double norm = K1 * (1 - B + B * document.length() / averageLength);
+            double score = 0;
+            for (int i = 0; i < termCount; i++) {
+                int frequency = cursors[i].frequency;
+                score += idf[i] * frequency * (K1 + 1) / (frequency + norm);
+            }
+            total++;
+            if (wanted > 0) {
+                best.offer(new Scored(candidate, document.transactionId(), score));
+                if (best.size() > wanted) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort(BEST_FIRST);
+        List<Hit> hits = ranked.stream()
+                .skip(offset)
+                .map(scored -> new Hit(scored.transactionId(), scored.score()))
+                .toList();
+        return new Result(total, hits);
+    }
+
+    public int getDocumentCount() {
+        return documents.size();
+    }
+
+    public int getTermCount() {
+        return postings.size();
+    }
+
+    public long getPostingsBytes() {
+        long total = 0;
+        for (PostingList list : postings.values()) {
+            total += list.snapshot().length();
+        }
+        return total;
+    }
+
+    private void addPosting(String term, int document, int frequency) {
+        while (!postings.computeIfAbsent(term, key -> new PostingList()).add(document, frequency)) {
+            // The list was removed as empty in between; the next lookup creates a fresh one
+        }
+    }
+
+    private void retire(Document document) {
+        documents.remove(document.number());
+        totalLength.addAndGet(-document.length());
+        for (String term : document.frequencies().keySet()) {
+            PostingList list = postings.get(term);
+            if (list.markStale(document.number())) {
+                compactor.execute(list::compact);
+            }
+            postings.computeIfPresent(term, (key, current) -> current.retireIfEmpty() ? null : current);
+        }
+    }
+
+    private static Map<String, Integer> frequencies(List<String> tokens) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private record Document(int number, String transactionId, int length, Map<String, Integer> frequencies) {
+    }
+
+    private record Scored(int document, String transactionId, double score) {
+    }
+}
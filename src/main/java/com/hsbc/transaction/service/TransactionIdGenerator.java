@@ -0,0 +1,21 @@
+package com.hsbc.transaction.service;
+
+/**
+ * Transaction ID Generator Interface
+ *
+ * Overrides the random UUID assigned by {@link com.hsbc.transaction.model.Transaction}
+ * when IDs must satisfy extra constraints, e.g. falling into a node's hash range.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface TransactionIdGenerator {
+
+    /**
+     * Generate a new transaction ID
+     *
+     * @return transaction ID
+     */
+    String nextId();
+}
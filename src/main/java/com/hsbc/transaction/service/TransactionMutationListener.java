@@ -0,0 +1,58 @@
+package com.hsbc.transaction.service;
+
+import com.hsbc.transaction.model.Transaction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transaction Mutation Listener Interface
+ *
+ * Secondary structures that derive from stored transactions are kept up to
+ * date through this interface. Listeners are called synchronously after the
+ * repository accepted the change, in the order changes to one transaction
+ * were made; they must not modify the given transaction.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public interface TransactionMutationListener {
+
+    /**
+     * Called after a transaction was created or updated
+     *
+     * @param transaction state after the change
+     * @param changedAt time of the change
+     */
+    void onSaved(Transaction transaction, LocalDateTime changedAt);
+
+    /**
+     * Called after an existing transaction was updated
+     *
+     * @param previous state before the change
+     * @param transaction state after the change
+     * @param changedAt time of the change
+     */
+    default void onUpdated(Transaction previous, Transaction transaction, LocalDateTime changedAt) {
+        onSaved(transaction, changedAt);
+    }
+
+    /**
+     * Called after a transaction was deleted
+     *
+     * @param id transaction ID
+     * @param changedAt time of the change
+     */
+    void onDeleted(String id, LocalDateTime changedAt);
+
+    /**
+     * Called after a transaction was moved out of memory into the archive
+     *
+     * The transaction still exists and is read from the archive; listeners
+     * that keep copies of transactions in memory should drop theirs.
+     *
+     * @param id transaction ID
+     * @param archivedAt time of the move
+     */
+    default void onArchived(String id, LocalDateTime archivedAt) {
+    }
+}
@@ -1,8 +1,17 @@
 package com.hsbc.transaction.service;
 
+import com.hsbc.transaction.dto.BatchResponse;
+import com.hsbc.transaction.dto.CursorPagedResponse;
 import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionHistoryResponse;
+import com.hsbc.transaction.dto.TransactionLookupResponse;
+import com.hsbc.transaction.dto.TransactionPatch;
 import com.hsbc.transaction.dto.TransactionRequest;
 import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.dto.TransactionSearchHit;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Transaction Service Interface
@@ -28,6 +37,31 @@ public interface TransactionService {
      */
     TransactionResponse getTransactionById(String id);
 
+    /**
+     * Get many transactions by ID in one call
+     *
+     * @param ids transaction IDs
+     * @return found transactions in request order and the IDs that do not exist
+     */
+    TransactionLookupResponse lookupTransactions(List<String> ids);
+
+    /**
+     * Get transaction as it was at a point in time
+     *
+     * @param id transaction ID
+     * @param asOf point in time
+     * @return transaction response of the version current at that time
+     */
+    TransactionResponse getTransactionAsOf(String id, LocalDateTime asOf);
+
+    /**
+     * Get all versions of a transaction
+     *
+     * @param id transaction ID
+     * @return transaction history, oldest version first
+     */
+    TransactionHistoryResponse getTransactionHistory(String id);
+
     /**
      * Get paginated transaction list
      *
@@ -37,6 +71,36 @@ public interface TransactionService {
      */
     PagedResponse<TransactionResponse> getTransactions(int page, int size);
 
+    /**
+     * Get paginated transaction list from a consistent point-in-time snapshot
+     *
+     * @param page page number (starting from 0)
+     * @param size page size
+     * @param snapshot token returned with an earlier page, or null to open a new snapshot
+     * @return paginated transaction response carrying the snapshot token
+     */
+    PagedResponse<TransactionResponse> getTransactionsAtSnapshot(int page, int size, String snapshot);
+
+    /**
+     * Search transactions by words of their description
+     *
+     * @param query search text; every word must occur in the description
+     * @param page page number (starting from 0)
+     * @param size page size
+     * @return paginated hits, best match first
+     */
+    PagedResponse<TransactionSearchHit> searchTransactions(String query, int page, int size);
+
+    /**
+     * Query transactions of an account, newest first
+     *
+     * @param accountId account or counterparty account ID
+     * @param cursor cursor returned with the previous page, null for the first page
+     * @param size page size
+     * @return page of transactions with the cursor of the next page
+     */
+    CursorPagedResponse<TransactionResponse> getAccountTransactions(String accountId, String cursor, int size);
+
     /**
      * Update transaction
      *
@@ -53,6 +117,22 @@ public interface TransactionService {
      */
     void deleteTransaction(String id);
 
+    /**
+     * Update many transactions; fields left null in a patch keep their value
+     *
+     * @param patches one patch per transaction
+     * @return result of every patch, in request order
+     */
+    BatchResponse updateTransactions(List<TransactionPatch> patches);
+
+    /**
+     * Delete many transactions
+     *
+     * @param ids transaction IDs
+     * @return result of every ID, in request order
+     */
+    BatchResponse deleteTransactions(List<String> ids);
+
     /**
      * Check if transaction exists
      *
@@ -1,25 +1,62 @@
 package com.hsbc.transaction.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.hsbc.transaction.bloom.ReferenceNumberFilter;
+import com.hsbc.transaction.changefeed.ChangeType;
+import com.hsbc.transaction.changefeed.TransactionChangeLog;
 import com.hsbc.transaction.config.CacheConfig;
+import com.hsbc.transaction.dto.BatchItemResult;
+import com.hsbc.transaction.dto.BatchResponse;
+import com.hsbc.transaction.dto.CursorPagedResponse;
 import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionHistoryResponse;
+import com.hsbc.transaction.dto.TransactionLookupResponse;
+import com.hsbc.transaction.dto.TransactionPatch;
 import com.hsbc.transaction.dto.TransactionRequest;
 import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.dto.TransactionSearchHit;
+import com.hsbc.transaction.dto.TransactionVersionResponse;
 import com.hsbc.transaction.exception.DuplicateTransactionException;
+import com.hsbc.transaction.exception.InsufficientFundsException;
 import com.hsbc.transaction.exception.InvalidTransactionException;
 import com.hsbc.transaction.exception.TransactionNotFoundException;
+import com.hsbc.transaction.history.TransactionHistoryStore;
+import com.hsbc.transaction.ledger.AccountLedger;
 import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TimelinePosition;
 import com.hsbc.transaction.repository.TransactionRepository;
+import com.hsbc.transaction.search.TransactionSearchIndex;
+import com.hsbc.transaction.service.TransactionIdGenerator;
+import com.hsbc.transaction.service.TransactionMutationListener;
 import com.hsbc.transaction.service.TransactionService;
+import com.hsbc.transaction.snapshot.TransactionSnapshot;
+import com.hsbc.transaction.snapshot.TransactionSnapshotIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -43,11 +80,104 @@ public class TransactionServiceImpl implements TransactionService {
             "DEPOSIT", "WITHDRAWAL", "TRANSFER", "PAYMENT", "REFUND"
     );
 
+    // Striped locks so that mutations of the same transaction are applied and logged in one order
+    private static final int MUTATION_LOCK_STRIPES = 64;
+
+    private static final int MAX_LOOKUP_IDS = 1000;
+    private static final int MAX_BATCH_ITEMS = 1000;
+
+    private static final int MAX_ACCOUNT_ID_LENGTH = 64;
+
+    private static final int MAX_SEARCH_QUERY_LENGTH = 256;
+    // Ranking keeps every hit up to the requested page in memory
+    private static final int MAX_SEARCH_DEPTH = 10_000;
+
     private final TransactionRepository transactionRepository;
+    private final TransactionChangeLog changeLog;
+    private final Lock[] mutationLocks = new Lock[MUTATION_LOCK_STRIPES];
+
+    private TransactionIdGenerator idGenerator;
+    private List<TransactionMutationListener> mutationListeners = List.of();
+    private TransactionSnapshotIndex snapshotIndex;
+    private TransactionHistoryStore historyStore;
+    private TransactionSearchIndex searchIndex;
+    private ReferenceNumberFilter referenceFilter;
+    private AccountLedger ledger;
+    private Cache<Object, Object> transactionCache;
 
     @Autowired
-    public TransactionServiceImpl(TransactionRepository transactionRepository) {
+    public TransactionServiceImpl(TransactionRepository transactionRepository, TransactionChangeLog changeLog) {
         this.transactionRepository = transactionRepository;
+        this.changeLog = changeLog;
+        for (int i = 0; i < MUTATION_LOCK_STRIPES; i++) {
+            mutationLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Set optional transaction ID generator
+     */
+    @Autowired(required = false)
+    public void setIdGenerator(TransactionIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * Set optional versioned index for consistent paging
+     */
+    @Autowired(required = false)
+    public void setSnapshotIndex(TransactionSnapshotIndex snapshotIndex) {
+        this.snapshotIndex = snapshotIndex;
+    }
+
+    /**
+     * Set optional transaction history store
+     */
+    @Autowired(required = false)
+    public void setHistoryStore(TransactionHistoryStore historyStore) {
+        this.historyStore = historyStore;
+    }
+
+    /**
+     * Set optional description search index
+     */
+    @Autowired(required = false)
+    public void setSearchIndex(TransactionSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Set optional filter answering most reference number checks without the repository
+     */
+    @Autowired(required = false)
+    public void setReferenceFilter(ReferenceNumberFilter referenceFilter) {
+        this.referenceFilter = referenceFilter;
+    }
+
+    /**
+     * Set optional account ledger, which checks and posts every change to an account
+     */
+    @Autowired(required = false)
+    public void setLedger(AccountLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    /**
+     * Use the native single-transaction cache for batched lookups and evictions, if it is a Caffeine cache
+     */
+    @Autowired(required = false)
+    public void setCacheManager(CacheManager cacheManager) {
+        this.transactionCache = cacheManager.getCache(CacheConfig.TRANSACTION_CACHE) instanceof CaffeineCache caffeineCache
+                ? caffeineCache.getNativeCache()
+                : null;
+    }
+
+    /**
+     * Set listeners notified of every applied mutation
+     */
+    @Autowired(required = false)
+    public void setMutationListeners(List<TransactionMutationListener> mutationListeners) {
+        this.mutationListeners = List.copyOf(mutationListeners);
     }
 
     @Override
@@ -61,7 +191,7 @@ public class TransactionServiceImpl implements TransactionService {
         // Check reference number is duplicated
         if (request.getReferenceNumber() != null &&
             !request.getReferenceNumber().trim().isEmpty() &&
-            transactionRepository.existsByReferenceNumber(request.getReferenceNumber())) {
+            referenceNumberExists(request.getReferenceNumber())) {
             throw DuplicateTransactionException.withReferenceNumber(request.getReferenceNumber());
         }
 
@@ -73,15 +203,25 @@ public class TransactionServiceImpl implements TransactionService {
                 request.getDescription(),
                 request.getReferenceNumber()
         );
+        transaction.setAccountId(request.getAccountId());
+        transaction.setCounterpartyAccountId(request.getCounterpartyAccountId());
+        if (idGenerator != null) {
+            transaction.setId(idGenerator.nextId());
+        }
 
         // Save transaction
+        Transaction savedTransaction;
         try {
-            Transaction savedTransaction = transactionRepository.save(transaction);
-            logger.info("Transaction created successfully, ID: {}", savedTransaction.getId());
-            return convertToResponse(savedTransaction);
+            savedTransaction = posted(transaction.getId(), transaction, () -> transactionRepository.save(transaction));
         } catch (IllegalArgumentException e) {
             throw new DuplicateTransactionException("Failed to create transaction: " + e.getMessage());
         }
+        logger.info("Transaction created successfully, ID: {}", savedTransaction.getId());
+        TransactionResponse response = convertToResponse(savedTransaction);
+        LocalDateTime changedAt = LocalDateTime.now();
+        changeLog.append(ChangeType.CREATED, response.getId(), response, changedAt);
+        mutationListeners.forEach(listener -> listener.onSaved(savedTransaction, changedAt));
+        return response;
     }
 
     @Override
@@ -99,18 +239,70 @@ public class TransactionServiceImpl implements TransactionService {
         return convertToResponse(transaction);
     }
 
+    @Override
+    public TransactionLookupResponse lookupTransactions(List<String> ids) {
+        logger.debug("Looking up {} transactions", ids == null ? 0 : ids.size());
+
+        List<String> distinctIds = validateLookupIds(ids);
+
+        // Cached IDs are served from the cache, all misses are loaded in one repository call
+        Map<Object, Object> found = transactionCache != null
+                ? transactionCache.getAll(distinctIds, this::loadResponses)
+                : loadResponses(distinctIds);
+
+        List<TransactionResponse> transactions = new ArrayList<>(found.size());
+        List<String> missingIds = new ArrayList<>();
+        for (String id : distinctIds) {
+            if (found.get(id) instanceof TransactionResponse response) {
+                transactions.add(response);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new TransactionLookupResponse(transactions, missingIds);
+    }
+
+    @Override
+    public TransactionResponse getTransactionAsOf(String id, LocalDateTime asOf) {
+        logger.debug("Querying transaction as of {}, ID: {}", asOf, id);
+
+        if (id == null || id.trim().isEmpty()) {
+            throw new InvalidTransactionException("Transaction ID cannot be empty");
+        }
+
+        return requireHistoryStore().asOf(id, asOf)
+                .map(this::convertToResponse)
+                .orElseThrow(() -> TransactionNotFoundException.asOf(id, asOf));
+    }
+
+    @Override
+    public TransactionHistoryResponse getTransactionHistory(String id) {
+        logger.debug("Querying transaction history, ID: {}", id);
+
+        if (id == null || id.trim().isEmpty()) {
+            throw new InvalidTransactionException("Transaction ID cannot be empty");
+        }
+
+        List<TransactionVersionResponse> versions = requireHistoryStore().history(id)
+                .orElseThrow(() -> TransactionNotFoundException.withId(id))
+                .stream()
+                .map(version -> new TransactionVersionResponse(
+                        version.version(),
+                        version.validFrom(),
+                        version.validTo(),
+                        List.copyOf(version.changedFields()),
+                        convertToResponse(version.transaction())))
+                .collect(Collectors.toList());
+
+        return new TransactionHistoryResponse(id, versions);
+    }
+
     @Override
     @Cacheable(value = CacheConfig.TRANSACTION_LIST_CACHE, key = "'page:' + #page + ':size:' + #size")
     public PagedResponse<TransactionResponse> getTransactions(int page, int size) {
         logger.debug("Paginated querying transaction, page: {}，size: {}", page, size);
 
-        // Validate page parameters
-        if (page < 0) {
-            throw new InvalidTransactionException("Page number cannot be less than 0");
-        }
-        if (size <= 0 || size > 100) {
-            throw new InvalidTransactionException("Page size must be between 1-100");
-        }
+        validatePageParameters(page, size);
 
         List<Transaction> transactions = transactionRepository.findAll(page, size);
         long totalElements = transactionRepository.count();
@@ -123,8 +315,61 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    @CacheEvict(value = {CacheConfig.TRANSACTION_CACHE, CacheConfig.TRANSACTION_LIST_CACHE},
-                key = "#id", allEntries = true)
+    public PagedResponse<TransactionResponse> getTransactionsAtSnapshot(int page, int size, String snapshot) {
+        logger.debug("Snapshot querying transaction, page: {}, size: {}, snapshot: {}", page, size, snapshot);
+
+        validatePageParameters(page, size);
+        TransactionSnapshotIndex snapshotIndex = requireSnapshotIndex();
+
+        TransactionSnapshot view = snapshot == null || snapshot.isBlank()
+                ? snapshotIndex.open()
+                : snapshotIndex.resolve(snapshot);
+
+        List<TransactionResponse> responseList = view.page(page, size).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+
+        PagedResponse<TransactionResponse> response = new PagedResponse<>(responseList, page, size, view.count());
+        response.setSnapshot(snapshotIndex.tokenOf(view));
+        return response;
+    }
+
+    @Override
+    public PagedResponse<TransactionSearchHit> searchTransactions(String query, int page, int size) {
+        logger.debug("Searching transactions, query: {}, page: {}, size: {}", query, page, size);
+
+        validateSearchQuery(query);
+        validatePageParameters(page, size);
+        if ((long) (page + 1) * size > MAX_SEARCH_DEPTH) {
+            throw new InvalidTransactionException("Page too deep for a search, maximum offset is " + MAX_SEARCH_DEPTH);
+        }
+
+        TransactionSearchIndex.Result result = requireSearchIndex().search(query, page * size, size);
+        List<TransactionSearchHit> hits = new ArrayList<>(result.hits().size());
+        for (TransactionSearchIndex.Hit hit : result.hits()) {
+            // A hit deleted since the index was read is left out
+            transactionRepository.findById(hit.transactionId())
+                    .ifPresent(transaction -> hits.add(new TransactionSearchHit(hit.score(), convertToResponse(transaction))));
+        }
+        return new PagedResponse<>(hits, page, size, result.total());
+    }
+
+    @Override
+    public CursorPagedResponse<TransactionResponse> getAccountTransactions(String accountId, String cursor, int size) {
+        logger.debug("Getting account transactions, account: {}, cursor: {}, size: {}", accountId, cursor, size);
+
+        TimelinePosition after = validateAccountPageParameters(accountId, cursor, size);
+
+        // One extra transaction tells whether a next page exists
+        List<Transaction> transactions = transactionRepository.findByAccount(accountId, after, size + 1);
+        return toCursorPage(transactions.stream().map(this::convertToResponse).collect(Collectors.toList()), size);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.TRANSACTION_CACHE, key = "#id"),
+            @CacheEvict(value = CacheConfig.TRANSACTION_LIST_CACHE, allEntries = true)
+    })
     public TransactionResponse updateTransaction(String id, TransactionRequest request) {
         logger.info("Starting to update transaction, ID: {}，request: {}", id, request);
 
@@ -135,6 +380,19 @@ public class TransactionServiceImpl implements TransactionService {
         // Validate request
         validateTransactionRequest(request);
 
+        Lock lock = mutationLockFor(id);
+        lock.lock();
+        try {
+            return applyUpdate(id, request);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply update while holding the transaction's mutation lock
+     */
+    private TransactionResponse applyUpdate(String id, TransactionRequest request) {
         // Get existing transaction
         Transaction existingTransaction = transactionRepository.findById(id)
                 .orElseThrow(() -> TransactionNotFoundException.withId(id));
@@ -143,30 +401,40 @@ public class TransactionServiceImpl implements TransactionService {
         if (request.getReferenceNumber() != null &&
             !request.getReferenceNumber().trim().isEmpty() &&
             !request.getReferenceNumber().equals(existingTransaction.getReferenceNumber()) &&
-            transactionRepository.existsByReferenceNumber(request.getReferenceNumber())) {
+            referenceNumberExists(request.getReferenceNumber())) {
             throw DuplicateTransactionException.withReferenceNumber(request.getReferenceNumber());
         }
 
         // Update transaction information
+        Transaction previous = new Transaction(existingTransaction);
         existingTransaction.setAmount(request.getAmount());
         existingTransaction.setCurrency(request.getCurrency());
         existingTransaction.setTransactionType(request.getTransactionType());
         existingTransaction.setDescription(request.getDescription());
         existingTransaction.setReferenceNumber(request.getReferenceNumber());
+        existingTransaction.setAccountId(request.getAccountId());
+        existingTransaction.setCounterpartyAccountId(request.getCounterpartyAccountId());
 
         // Save update
+        Transaction updatedTransaction;
         try {
-            Transaction updatedTransaction = transactionRepository.save(existingTransaction);
-            logger.info("Transaction updated successfully, ID: {}", updatedTransaction.getId());
-            return convertToResponse(updatedTransaction);
+            updatedTransaction = posted(id, existingTransaction, () -> transactionRepository.save(existingTransaction));
         } catch (IllegalArgumentException e) {
             throw new DuplicateTransactionException("Failed to update transaction: " + e.getMessage());
         }
+        logger.info("Transaction updated successfully, ID: {}", updatedTransaction.getId());
+        TransactionResponse response = convertToResponse(updatedTransaction);
+        LocalDateTime changedAt = LocalDateTime.now();
+        changeLog.append(ChangeType.UPDATED, id, response, changedAt);
+        mutationListeners.forEach(listener -> listener.onUpdated(previous, updatedTransaction, changedAt));
+        return response;
     }
 
     @Override
-    @CacheEvict(value = {CacheConfig.TRANSACTION_CACHE, CacheConfig.TRANSACTION_LIST_CACHE},
-                key = "#id", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.TRANSACTION_CACHE, key = "#id"),
+            @CacheEvict(value = CacheConfig.TRANSACTION_LIST_CACHE, allEntries = true)
+    })
     public void deleteTransaction(String id) {
         logger.info("Starting to delete transaction, ID: {}", id);
 
@@ -174,16 +442,177 @@ public class TransactionServiceImpl implements TransactionService {
             throw new InvalidTransactionException("Transaction ID cannot be empty");
         }
 
-        if (!transactionRepository.existsById(id)) {
-            throw TransactionNotFoundException.withId(id);
+        Lock lock = mutationLockFor(id);
+        lock.lock();
+        try {
+            if (!transactionRepository.existsById(id)) {
+                throw TransactionNotFoundException.withId(id);
+            }
+
+            boolean deleted = posted(id, null, () -> transactionRepository.deleteById(id));
+            if (deleted) {
+                logger.info("Transaction deleted successfully, ID: {}", id);
+                LocalDateTime changedAt = LocalDateTime.now();
+                changeLog.append(ChangeType.DELETED, id, null, changedAt);
+                mutationListeners.forEach(listener -> listener.onDeleted(id, changedAt));
+            } else {
+                throw new RuntimeException("Failed to delete transaction, ID: " + id);
+            }
+        } finally {
+            lock.unlock();
         }
+    }
+
+    @Override
+    @CacheEvict(value = CacheConfig.TRANSACTION_LIST_CACHE, allEntries = true)
+    public BatchResponse updateTransactions(List<TransactionPatch> patches) {
+        logger.info("Starting batch update of {} transactions", patches == null ? 0 : patches.size());
+
+        validateBatchSize(patches == null ? 0 : patches.size());
+        BatchItemResult[] results = new BatchItemResult[patches.size()];
+        Map<String, Integer> positions = batchPositions(
+                patches.stream().map(patch -> patch == null ? null : patch.getId()).toList(), results);
+
+        List<Lock> locks = lockAll(positions.keySet());
+        try {
+            Map<String, Transaction> existing = transactionRepository.findAllById(positions.keySet());
+            Set<String> claimedReferences = new HashSet<>();
+            List<Transaction> updates = new ArrayList<>(existing.size());
+            for (Map.Entry<String, Integer> position : positions.entrySet()) {
+                String id = position.getKey();
+                int index = position.getValue();
+                Transaction current = existing.get(id);
+                if (current == null) {
+                    results[index] = BatchItemResult.failure(id, 404, TransactionNotFoundException.withId(id).getMessage());
+                    continue;
+                }
+
+                TransactionRequest merged = merge(current, patches.get(index));
+                try {
+                    validateTransactionRequest(merged);
+                } catch (InvalidTransactionException e) {
+                    results[index] = BatchItemResult.failure(id, 400, e.getMessage());
+                    continue;
+                }
+
+                // Reference numbers must be unique within the batch as well as in the store
+                String referenceNumber = merged.getReferenceNumber();
+                if (referenceNumber != null && !referenceNumber.trim().isEmpty()
+                        && !referenceNumber.equals(current.getReferenceNumber())
+                        && (!claimedReferences.add(referenceNumber) || referenceNumberExists(referenceNumber))) {
+                    results[index] = BatchItemResult.failure(id, 409,
+                            DuplicateTransactionException.withReferenceNumber(referenceNumber).getMessage());
+                    continue;
+                }
+
+                Transaction update = new Transaction(current);
+                update.setAmount(merged.getAmount());
+                update.setCurrency(merged.getCurrency());
+                update.setTransactionType(merged.getTransactionType());
+                update.setDescription(merged.getDescription());
+                update.setReferenceNumber(merged.getReferenceNumber());
+                updates.add(update);
+            }
+
+            // Updates that move a balance are checked and saved one by one, the others in one call
+            Set<String> rejected = new HashSet<>();
+            Set<String> savedSeparately = new HashSet<>();
+            if (ledger != null) {
+                for (Transaction update : updates) {
+                    if (!ledger.changesBalances(update.getId(), update)) {
+                        continue;
+                    }
+                    savedSeparately.add(update.getId());
+                    try {
+                        ledger.post(update.getId(), update, () -> transactionRepository.save(update));
+                    } catch (InsufficientFundsException e) {
+                        rejected.add(update.getId());
+                        results[positions.get(update.getId())] = BatchItemResult.failure(update.getId(), 422, e.getMessage());
+                    } catch (IllegalArgumentException e) {
+                        rejected.add(update.getId());
+                    }
+                }
+            }
+            rejected.addAll(transactionRepository.saveAll(savedSeparately.isEmpty() ? updates
+                    : updates.stream().filter(update -> !savedSeparately.contains(update.getId())).toList()));
+            LocalDateTime changedAt = LocalDateTime.now();
+            for (Transaction update : updates) {
+                int index = positions.get(update.getId());
+                if (results[index] != null) {
+                    continue;
+                }
+                if (rejected.contains(update.getId())) {
+                    results[index] = BatchItemResult.failure(update.getId(), 409,
+                            DuplicateTransactionException.withReferenceNumber(update.getReferenceNumber()).getMessage());
+                    continue;
+                }
+                TransactionResponse response = convertToResponse(update);
+                changeLog.append(ChangeType.UPDATED, update.getId(), response, changedAt);
+                Transaction previous = existing.get(update.getId());
+                mutationListeners.forEach(listener -> listener.onUpdated(previous, update, changedAt));
+                results[index] = BatchItemResult.success(update.getId(), 200, response);
+            }
+        } finally {
+            evictTransactions(positions.keySet());
+            unlockAll(locks);
+        }
+
+        BatchResponse response = BatchResponse.of(Arrays.asList(results));
+        logger.info("Batch update finished, succeeded: {}, failed: {}", response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    @Override
+    @CacheEvict(value = CacheConfig.TRANSACTION_LIST_CACHE, allEntries = true)
+    public BatchResponse deleteTransactions(List<String> ids) {
+        logger.info("Starting batch delete of {} transactions", ids == null ? 0 : ids.size());
 
-        boolean deleted = transactionRepository.deleteById(id);
-        if (deleted) {
-            logger.info("Transaction deleted successfully, ID: {}", id);
-        } else {
-            throw new RuntimeException("Failed to delete transaction, ID: " + id);
+        validateBatchSize(ids == null ? 0 : ids.size());
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        Map<String, Integer> positions = batchPositions(ids, results);
+
+        List<Lock> locks = lockAll(positions.keySet());
+        try {
+            // Deletes that move a balance are checked one by one, the others made in one call
+            Set<String> deleted = new HashSet<>();
+            Set<String> together = new LinkedHashSet<>(positions.keySet());
+            if (ledger != null) {
+                for (String id : positions.keySet()) {
+                    if (!ledger.changesBalances(id, null)) {
+                        continue;
+                    }
+                    together.remove(id);
+                    try {
+                        if (ledger.post(id, null, () -> transactionRepository.deleteById(id))) {
+                            deleted.add(id);
+                        }
+                    } catch (InsufficientFundsException e) {
+                        results[positions.get(id)] = BatchItemResult.failure(id, 422, e.getMessage());
+                    }
+                }
+            }
+            deleted.addAll(transactionRepository.deleteAllById(together));
+            LocalDateTime changedAt = LocalDateTime.now();
+            positions.forEach((id, index) -> {
+                if (results[index] != null) {
+                    return;
+                }
+                if (deleted.contains(id)) {
+                    changeLog.append(ChangeType.DELETED, id, null, changedAt);
+                    mutationListeners.forEach(listener -> listener.onDeleted(id, changedAt));
+                    results[index] = BatchItemResult.success(id, 204, null);
+                } else {
+                    results[index] = BatchItemResult.failure(id, 404, TransactionNotFoundException.withId(id).getMessage());
+                }
+            });
+        } finally {
+            evictTransactions(positions.keySet());
+            unlockAll(locks);
         }
+
+        BatchResponse response = BatchResponse.of(Arrays.asList(results));
+        logger.info("Batch delete finished, succeeded: {}, failed: {}", response.getSucceeded(), response.getFailed());
+        return response;
     }
 
     @Override
@@ -194,6 +623,219 @@ public class TransactionServiceImpl implements TransactionService {
         return transactionRepository.existsById(id);
     }
 
+    private TransactionHistoryStore requireHistoryStore() {
+        if (historyStore == null) {
+            throw new InvalidTransactionException("Transaction history is disabled");
+        }
+        return historyStore;
+    }
+
+    /**
+     * Evict the given transactions from the single-transaction cache, leaving other entries cached
+     */
+    private void evictTransactions(Collection<String> ids) {
+        if (transactionCache != null) {
+            transactionCache.invalidateAll(ids);
+        }
+    }
+
+    /**
+     * Load transactions missing from the cache with one repository call
+     */
+    private Map<Object, Object> loadResponses(Collection<?> ids) {
+        List<String> keys = ids.stream().map(String.class::cast).toList();
+        Map<Object, Object> responses = new HashMap<>();
+        transactionRepository.findAllById(keys)
+                .forEach((id, transaction) -> responses.put(id, convertToResponse(transaction)));
+        return responses;
+    }
+
+    /**
+     * Commit a change through the ledger when one is configured
+     */
+    private <T> T posted(String id, Transaction after, Supplier<T> commit) {
+        return ledger != null ? ledger.post(id, after, commit) : commit.get();
+    }
+
+    /**
+     * Check reference number existence, through the filter when one is configured
+     */
+    private boolean referenceNumberExists(String referenceNumber) {
+        if (referenceFilter == null) {
+            return transactionRepository.existsByReferenceNumber(referenceNumber);
+        }
+        return referenceFilter.exists(referenceNumber, transactionRepository::existsByReferenceNumber);
+    }
+
+    private TransactionSnapshotIndex requireSnapshotIndex() {
+        if (snapshotIndex == null) {
+            throw new InvalidTransactionException("Snapshot paging is disabled");
+        }
+        return snapshotIndex;
+    }
+
+    private TransactionSearchIndex requireSearchIndex() {
+        if (searchIndex == null) {
+            throw new InvalidTransactionException("Transaction search is disabled");
+        }
+        return searchIndex;
+    }
+
+    /**
+     * Get the mutation lock stripe of a transaction
+     */
+    private Lock mutationLockFor(String id) {
+        return mutationLocks[stripeOf(id)];
+    }
+
+    private static int stripeOf(String id) {
+        return (id.hashCode() & Integer.MAX_VALUE) % MUTATION_LOCK_STRIPES;
+    }
+
+    /**
+     * Lock the mutation lock stripes of all given transactions, in stripe order
+     */
+    private List<Lock> lockAll(Collection<String> ids) {
+        Set<Integer> stripes = new TreeSet<>();
+        for (String id : ids) {
+            stripes.add(stripeOf(id));
+        }
+        List<Lock> locked = new ArrayList<>(stripes.size());
+        for (int stripe : stripes) {
+            mutationLocks[stripe].lock();
+            locked.add(mutationLocks[stripe]);
+        }
+        return locked;
+    }
+
+    private static void unlockAll(List<Lock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    /**
+     * Validate the number of batch items
+     */
+    private void validateBatchSize(int size) {
+        if (size == 0) {
+            throw new InvalidTransactionException("Batch items cannot be empty");
+        }
+        if (size > MAX_BATCH_ITEMS) {
+            throw new InvalidTransactionException("A batch cannot exceed " + MAX_BATCH_ITEMS + " items");
+        }
+    }
+
+    /**
+     * Map each valid, first-seen batch ID to its position; record failures for the others
+     */
+    private static Map<String, Integer> batchPositions(List<String> ids, BatchItemResult[] results) {
+        Map<String, Integer> positions = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (id == null || id.trim().isEmpty()) {
+                results[i] = BatchItemResult.failure(id, 400, "Transaction ID cannot be empty");
+            } else if (positions.putIfAbsent(id, i) != null) {
+                results[i] = BatchItemResult.failure(id, 400, "Transaction ID appears more than once in the batch");
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Apply a patch to the current state of a transaction
+     */
+    private static TransactionRequest merge(Transaction current, TransactionPatch patch) {
+        TransactionRequest merged = new TransactionRequest(
+                patch.getAmount() != null ? patch.getAmount() : current.getAmount(),
+                patch.getCurrency() != null ? patch.getCurrency() : current.getCurrency(),
+                patch.getTransactionType() != null ? patch.getTransactionType() : current.getTransactionType(),
+                patch.getDescription() != null ? patch.getDescription() : current.getDescription(),
+                patch.getReferenceNumber() != null ? patch.getReferenceNumber() : current.getReferenceNumber());
+        merged.setAccountId(current.getAccountId());
+        merged.setCounterpartyAccountId(current.getCounterpartyAccountId());
+        return merged;
+    }
+
+    /**
+     * Validate page parameters
+     */
+    private void validatePageParameters(int page, int size) {
+        if (page < 0) {
+            throw new InvalidTransactionException("Page number cannot be less than 0");
+        }
+        if (size <= 0 || size > 100) {
+            throw new InvalidTransactionException("Page size must be between 1-100");
+        }
+    }
+
+    /**
+     * Validate account page parameters and decode the cursor
+     *
+     * @return position to continue after, null for the first page
+     */
+    private static TimelinePosition validateAccountPageParameters(String accountId, String cursor, int size) {
+        if (accountId == null || accountId.trim().isEmpty()) {
+            throw new InvalidTransactionException("Account ID cannot be empty");
+        }
+        if (size <= 0 || size > 100) {
+            throw new InvalidTransactionException("Page size must be between 1-100");
+        }
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return TimelinePosition.fromCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTransactionException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Cut a page from up to size + 1 transactions, newest first
+     */
+    private static CursorPagedResponse<TransactionResponse> toCursorPage(List<TransactionResponse> transactions, int size) {
+        if (transactions.size() <= size) {
+            return new CursorPagedResponse<>(transactions, size, null);
+        }
+        List<TransactionResponse> content = new ArrayList<>(transactions.subList(0, size));
+        TransactionResponse last = content.get(size - 1);
+        return new CursorPagedResponse<>(content, size,
+                new TimelinePosition(last.getTimestamp(), last.getId()).toCursor());
+    }
+
+    /**
+     * Validate lookup IDs and drop duplicates, keeping the first occurrence
+     */
+    private List<String> validateLookupIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidTransactionException("Transaction IDs cannot be empty");
+        }
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            throw new InvalidTransactionException("At most " + MAX_LOOKUP_IDS + " transaction IDs can be looked up at once");
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id == null || id.trim().isEmpty()) {
+                throw new InvalidTransactionException("Transaction ID cannot be empty");
+            }
+            distinct.add(id);
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    /**
+     * Validate search query
+     */
+    private void validateSearchQuery(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new InvalidTransactionException("Search query cannot be empty");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new InvalidTransactionException("Search query cannot exceed " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+    }
+
     /**
      * Validate transaction request
      */
@@ -220,20 +862,30 @@ public class TransactionServiceImpl implements TransactionService {
             !SUPPORTED_TRANSACTION_TYPES.contains(request.getTransactionType().toUpperCase())) {
             throw InvalidTransactionException.invalidTransactionType(request.getTransactionType());
         }
+
+        // Validate accounts: a counterparty only on a transfer out of another account
+        String accountId = request.getAccountId();
+        String counterpartyAccountId = request.getCounterpartyAccountId();
+        if (accountId != null && (accountId.trim().isEmpty() || accountId.length() > MAX_ACCOUNT_ID_LENGTH)) {
+            throw new InvalidTransactionException("Account ID must be 1-" + MAX_ACCOUNT_ID_LENGTH + " characters");
+        }
+        if (counterpartyAccountId != null) {
+            if (counterpartyAccountId.trim().isEmpty() || counterpartyAccountId.length() > MAX_ACCOUNT_ID_LENGTH) {
+                throw new InvalidTransactionException("Counterparty account ID must be 1-" + MAX_ACCOUNT_ID_LENGTH + " characters");
+            }
+            if (accountId == null || !"TRANSFER".equalsIgnoreCase(request.getTransactionType())) {
+                throw new InvalidTransactionException("A counterparty account is only allowed on a transfer from an account");
+            }
+            if (counterpartyAccountId.equals(accountId)) {
+                throw new InvalidTransactionException("A transfer cannot go to its own account");
+            }
+        }
     }
 
     /**
      * Convert to response object
      */
     private TransactionResponse convertToResponse(Transaction transaction) {
-        return new TransactionResponse(
-                transaction.getId(),
-                transaction.getAmount(),
-                transaction.getCurrency(),
-                transaction.getTransactionType(),
-                transaction.getTimestamp(),
-                transaction.getDescription(),
-                transaction.getReferenceNumber()
-        );
+        return TransactionResponse.from(transaction);
     }
 }
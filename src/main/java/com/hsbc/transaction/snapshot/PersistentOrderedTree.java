@@ -0,0 +1,124 @@
+package com.hsbc.transaction.snapshot;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Persistent ordered tree
+ *
+ * An immutable treap with subtree sizes. Updates copy only the nodes on the
+ * path to the changed key and return a new root, so every root ever
+ * returned stays a valid, unchanging version of the tree. Keeping a version
+ * costs one reference; positional reads cost O(log n) plus the range read.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+final class PersistentOrderedTree {
+
+    private PersistentOrderedTree() {
+    }
+
+    /**
+     * Immutable tree node; a null node is the empty tree
+     */
+    static final class Node<K, V> {
+        final K key;
+        final V value;
+        final int priority;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int size;
+
+        Node(K key, V value, int priority, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+        }
+
+        private Node<K, V> withChildren(Node<K, V> newLeft, Node<K, V> newRight) {
+            return new Node<>(key, value, priority, newLeft, newRight);
+        }
+    }
+
+    static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Insert or replace the entry with the given key
+     */
+    static <K, V> Node<K, V> put(Node<K, V> root, K key, V value, int priority, Comparator<? super K> comparator) {
+        Split<K, V> lower = split(root, key, comparator, false);
+        Split<K, V> upper = split(lower.right, key, comparator, true);
+        Node<K, V> node = new Node<>(key, value, priority, null, null);
+        return merge(merge(lower.left, node), upper.right);
+    }
+
+    /**
+     * Remove the entry with the given key, if present
+     */
+    static <K, V> Node<K, V> remove(Node<K, V> root, K key, Comparator<? super K> comparator) {
+        Split<K, V> lower = split(root, key, comparator, false);
+        Split<K, V> upper = split(lower.right, key, comparator, true);
+        return upper.left == null ? root : merge(lower.left, upper.right);
+    }
+
+    /**
+     * Append up to {@code limit} values starting at position {@code offset} in key order
+     */
+    static <K, V> void range(Node<K, V> node, long offset, int limit, List<V> out) {
+        if (node == null || limit <= out.size()) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (offset < leftSize) {
+            range(node.left, offset, limit, out);
+        }
+        if (out.size() < limit && offset <= leftSize) {
+            out.add(node.value);
+        }
+        if (out.size() < limit) {
+            range(node.right, Math.max(0, offset - leftSize - 1), limit, out);
+        }
+    }
+
+    /**
+     * Split into keys before {@code key} and the rest; with {@code inclusive} the key itself goes left
+     */
+    private static <K, V> Split<K, V> split(Node<K, V> node, K key, Comparator<? super K> comparator,
+                                            boolean inclusive) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+        int cmp = comparator.compare(node.key, key);
+        if (cmp < 0 || (inclusive && cmp == 0)) {
+            Split<K, V> rest = split(node.right, key, comparator, inclusive);
+            return new Split<>(node.withChildren(node.left, rest.left), rest.right);
+        }
+        Split<K, V> rest = split(node.left, key, comparator, inclusive);
+        return new Split<>(rest.left, node.withChildren(rest.right, node.right));
+    }
+
+    /**
+     * Join two trees where every key of {@code left} is before every key of {@code right}
+     */
+    private static <K, V> Node<K, V> merge(Node<K, V> left, Node<K, V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority >= right.priority) {
+            return left.withChildren(left.left, merge(left.right, right));
+        }
+        return right.withChildren(merge(left, right.left), right.right);
+    }
+
+    private record Split<K, V>(Node<K, V> left, Node<K, V> right) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.hsbc.transaction.snapshot;
+
+import com.hsbc.transaction.model.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable point-in-time view of all transactions, newest first
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public final class TransactionSnapshot {
+
+    private final long version;
+    final PersistentOrderedTree.Node<TransactionSnapshotIndex.SortKey, Transaction> root;
+
+    TransactionSnapshot(long version, PersistentOrderedTree.Node<TransactionSnapshotIndex.SortKey, Transaction> root) {
+        this.version = version;
+        this.root = root;
+    }
+
+    /**
+     * Get one page of the snapshot
+     *
+     * @param page page number (starting from 0)
+     * @param size page size
+     * @return copies of the transactions on the page
+     */
+    public List<Transaction> page(int page, int size) {
+        if (page < 0 || size <= 0) {
+            return Collections.emptyList();
+        }
+        long offset = (long) page * size;
+        if (offset >= count()) {
+            return Collections.emptyList();
+        }
+        List<Transaction> stored = new ArrayList<>(size);
+        PersistentOrderedTree.range(root, offset, size, stored);
+
+        List<Transaction> result = new ArrayList<>(stored.size());
+        for (Transaction transaction : stored) {
+            result.add(new Transaction(transaction));
+        }
+        return result;
+    }
+
+    public long count() {
+        return PersistentOrderedTree.size(root);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    static TransactionSnapshot empty() {
+        return new TransactionSnapshot(0, null);
+    }
+}
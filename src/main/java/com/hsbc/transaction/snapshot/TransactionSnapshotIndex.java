@@ -0,0 +1,180 @@
+package com.hsbc.transaction.snapshot;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hsbc.transaction.exception.SnapshotExpiredException;
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.service.TransactionMutationListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Versioned, time-ordered index of all transactions
+ *
+ * Every write publishes a new version of a persistent tree, so taking a
+ * snapshot is a single reference read and never copies the store. Snapshots
+ * handed out to clients are tracked by token and expire after a period
+ * without access, which lets their tree versions be garbage collected.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class TransactionSnapshotIndex implements TransactionMutationListener {
+
+    private static final Comparator<SortKey> NEWEST_FIRST = Comparator
+            .comparing(SortKey::timestamp, Comparator.reverseOrder())
+            .thenComparing(SortKey::id);
+
+    // Tokens from a previous run of the application never resolve
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+
+    private final Map<String, SortKey> keysById = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Cache<Long, TransactionSnapshot> openSnapshots;
+    private final AtomicLong expiredLookups = new AtomicLong();
+
+    private volatile TransactionSnapshot current = TransactionSnapshot.empty();
+
+    public TransactionSnapshotIndex(Duration snapshotTtl, long maxOpenSnapshots) {
+        this.openSnapshots = Caffeine.newBuilder()
+                .expireAfterAccess(snapshotTtl)
+                .maximumSize(maxOpenSnapshots)
+                .build();
+    }
+
+    @Override
+    public void onSaved(Transaction transaction, LocalDateTime changedAt) {
+        put(transaction);
+    }
+
+    @Override
+    public void onDeleted(String id, LocalDateTime changedAt) {
+        remove(id);
+    }
+
+    @Override
+    public void onArchived(String id, LocalDateTime archivedAt) {
+        // Snapshots cover the transactions held in memory
+        remove(id);
+    }
+
+    /**
+     * Add or replace a transaction in the index
+     */
+    public void put(Transaction transaction) {
+        SortKey key = new SortKey(transaction.getTimestamp(), transaction.getId());
+        // The index keeps its own copy, so later changes to the caller's object are not visible
+        Transaction copy = new Transaction(transaction);
+        int priority = ThreadLocalRandom.current().nextInt();
+
+        writeLock.lock();
+        try {
+            PersistentOrderedTree.Node<SortKey, Transaction> root = current.root;
+            SortKey previous = keysById.put(transaction.getId(), key);
+            if (previous != null && !previous.equals(key)) {
+                root = PersistentOrderedTree.remove(root, previous, NEWEST_FIRST);
+            }
+            root = PersistentOrderedTree.put(root, key, copy, priority, NEWEST_FIRST);
+            current = new TransactionSnapshot(current.getVersion() + 1, root);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Remove a transaction from the index
+     */
+    public void remove(String id) {
+        writeLock.lock();
+        try {
+            SortKey previous = keysById.remove(id);
+            if (previous != null) {
+                current = new TransactionSnapshot(current.getVersion() + 1,
+                        PersistentOrderedTree.remove(current.root, previous, NEWEST_FIRST));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Open a snapshot of the current version
+     *
+     * @return snapshot, registered under {@link #tokenOf(TransactionSnapshot)}
+     */
+    public TransactionSnapshot open() {
+        TransactionSnapshot snapshot = current;
+        openSnapshots.asMap().putIfAbsent(snapshot.getVersion(), snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Get a snapshot opened earlier
+     *
+     * @param token snapshot token
+     * @return snapshot
+     * @throws SnapshotExpiredException if the token is unknown or the snapshot has expired
+     */
+    public TransactionSnapshot resolve(String token) {
+        long version = parseVersion(token);
+        TransactionSnapshot snapshot = openSnapshots.getIfPresent(version);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        // An expired snapshot of the still current version is as good as a new one
+        TransactionSnapshot latest = current;
+        if (version == latest.getVersion()) {
+            openSnapshots.asMap().putIfAbsent(version, latest);
+            return latest;
+        }
+        expiredLookups.incrementAndGet();
+        throw SnapshotExpiredException.withToken(token);
+    }
+
+    /**
+     * Get the token clients use to return to a snapshot
+     */
+    public String tokenOf(TransactionSnapshot snapshot) {
+        return Long.toString(epoch, 36) + "-" + Long.toString(snapshot.getVersion(), 36);
+    }
+
+    private long parseVersion(String token) {
+        int separator = token.indexOf('-');
+        if (separator > 0) {
+            try {
+                if (Long.parseLong(token.substring(0, separator), 36) == epoch) {
+                    return Long.parseLong(token.substring(separator + 1), 36);
+                }
+            } catch (NumberFormatException e) {
+                // Falls through to expired
+            }
+        }
+        expiredLookups.incrementAndGet();
+        throw SnapshotExpiredException.withToken(token);
+    }
+
+    public long getCurrentVersion() {
+        return current.getVersion();
+    }
+
+    public long getOpenSnapshotCount() {
+        return openSnapshots.estimatedSize();
+    }
+
+    public long getExpiredLookupCount() {
+        return expiredLookups.get();
+    }
+
+    /**
+     * Position of a transaction in the index: newest first, ties broken by ID
+     */
+    record SortKey(LocalDateTime timestamp, String id) {
+    }
+}
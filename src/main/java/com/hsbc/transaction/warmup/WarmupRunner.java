@@ -0,0 +1,257 @@
+package com.hsbc.transaction.warmup;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.changefeed.TransactionChangeLog;
+import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionPatch;
+import com.hsbc.transaction.dto.TransactionRequest;
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.repository.impl.InMemoryTransactionRepository;
+import com.hsbc.transaction.search.TransactionSearchIndex;
+import com.hsbc.transaction.service.impl.TransactionServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JIT Warm-up Runner
+ *
+ * Drives synthetic traffic through a throwaway {@link TransactionServiceImpl}
+ * over its own in-memory repository, and through the application's JSON
+ * mapper, so that the request paths are compiled before real traffic
+ * arrives. Traffic runs in rounds over a fixed number of transactions; the
+ * warm-up is stable once the time per transaction of several consecutive
+ * rounds stays within a tolerance of the round before. It gives up after a
+ * maximum duration.
+ *
+ * As a health indicator it reports OUT_OF_SERVICE until the warm-up has
+ * finished, whatever the outcome, so it can gate the readiness group. Only
+ * that group maps OUT_OF_SERVICE to 503; the root health endpoint stays 200.
+ * Log events of the warm-up thread are dropped.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class WarmupRunner implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    // Each round looks up and batch-updates all of its transactions in one call
+    private static final int MAX_TRANSACTIONS_PER_ROUND = 1000;
+
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "HKD"};
+    private static final String[] TYPES = {"DEPOSIT", "WITHDRAWAL", "TRANSFER", "PAYMENT", "REFUND"};
+    private static final String[] WORDS = {"salary", "rent", "coffee", "invoice", "refund", "grocery", "transfer", "fee"};
+
+    /**
+     * State of the warm-up
+     */
+    public enum Outcome {
+        PENDING, RUNNING, STABLE, TIMED_OUT, FAILED;
+
+        boolean isFinished() {
+            return this == STABLE || this == TIMED_OUT || this == FAILED;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final int transactionsPerRound;
+    private final double tolerance;
+    private final int stableRounds;
+    private final Duration maxDuration;
+
+    private volatile Outcome outcome = Outcome.PENDING;
+    private volatile long durationNanos;
+    private volatile long rounds;
+    private volatile long lastRoundNanosPerTransaction;
+    private volatile Thread thread;
+
+    public WarmupRunner(ObjectMapper objectMapper, int transactionsPerRound, double tolerance, int stableRounds,
+                        Duration maxDuration) {
+        if (transactionsPerRound <= 0 || stableRounds <= 0 || tolerance <= 0) {
+            throw new IllegalArgumentException("Warm-up transactions per round, stable rounds and tolerance must be positive");
+        }
+        if (transactionsPerRound > MAX_TRANSACTIONS_PER_ROUND) {
+            throw new IllegalArgumentException("Warm-up transactions per round cannot exceed " + MAX_TRANSACTIONS_PER_ROUND);
+        }
+        this.objectMapper = objectMapper;
+        this.transactionsPerRound = transactionsPerRound;
+        this.tolerance = tolerance;
+        this.stableRounds = stableRounds;
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * Start warming up in the background
+     */
+    public void start() {
+        thread = Thread.ofPlatform().daemon().name("warmup").start(this::run);
+    }
+
+    /**
+     * Stop warming up
+     */
+    public void stop() {
+        Thread running = thread;
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = outcome.isFinished() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("outcome", outcome)
+                .withDetail("rounds", rounds)
+                .withDetail("durationMs", Duration.ofNanos(durationNanos).toMillis())
+                .withDetail("lastRoundNanosPerTransaction", lastRoundNanosPerTransaction)
+                .build();
+    }
+
+    /**
+     * Run the warm-up on the calling thread until it is stable, times out or is interrupted
+     */
+    void run() {
+        outcome = Outcome.RUNNING;
+        Thread current = Thread.currentThread();
+        TurboFilter mute = muteLogging(current);
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        try {
+            TransactionServiceImpl service = throwawayService();
+            long previous = 0;
+            int stable = 0;
+            Outcome result = Outcome.TIMED_OUT;
+            while (System.nanoTime() < deadline && !current.isInterrupted()) {
+                long roundStart = System.nanoTime();
+                runRound(service, rounds);
+                long perTransaction = (System.nanoTime() - roundStart) / transactionsPerRound;
+                rounds++;
+                lastRoundNanosPerTransaction = perTransaction;
+                durationNanos = System.nanoTime() - start;
+
+                stable = previous > 0 && Math.abs(perTransaction - previous) <= tolerance * previous ? stable + 1 : 0;
+                previous = perTransaction;
+                if (stable >= stableRounds) {
+                    result = Outcome.STABLE;
+                    break;
+                }
+            }
+            outcome = result;
+        } catch (RuntimeException | IOException e) {
+            outcome = Outcome.FAILED;
+            logger.warn("Warm-up failed, accepting traffic without it", e);
+        } finally {
+            durationNanos = System.nanoTime() - start;
+            unmuteLogging(mute);
+        }
+        logger.info("Warm-up finished: {} after {} rounds in {} ms, {} ns per transaction",
+                outcome, rounds, Duration.ofNanos(durationNanos).toMillis(), lastRoundNanosPerTransaction);
+    }
+
+    /**
+     * One round: create, read, page, search, update and delete a set of transactions, encoding every response
+     */
+    private void runRound(TransactionServiceImpl service, long round) throws IOException {
+        int creates = transactionsPerRound;
+        List<String> ids = new ArrayList<>(creates);
+        List<TransactionPatch> patches = new ArrayList<>(creates);
+        for (int i = 0; i < creates; i++) {
+            TransactionRequest request = objectMapper.readValue(objectMapper.writeValueAsBytes(request(round, i)),
+                    TransactionRequest.class);
+            TransactionResponse created = service.createTransaction(request);
+            ids.add(created.getId());
+            patches.add(new TransactionPatch(created.getId(), null, null, null, word(i + 3) + " adjusted", null));
+        }
+        for (int i = 0; i < creates; i++) {
+            String id = ids.get(i);
+            objectMapper.writeValueAsBytes(service.getTransactionById(id));
+            service.existsById(id);
+            if (i % 2 == 0) {
+                objectMapper.writeValueAsBytes(service.updateTransaction(id, request(round, i + creates)));
+            }
+        }
+        PagedResponse<TransactionResponse> page = service.getTransactions((int) (round % 4), 20);
+        objectMapper.writeValueAsBytes(page);
+        objectMapper.writeValueAsBytes(service.searchTransactions(word((int) round), 0, 10));
+        objectMapper.writeValueAsBytes(service.lookupTransactions(ids));
+        objectMapper.writeValueAsBytes(service.updateTransactions(patches));
+        objectMapper.writeValueAsBytes(service.deleteTransactions(ids.subList(0, creates / 2)));
+        for (String id : ids.subList(creates / 2, creates)) {
+            service.deleteTransaction(id);
+        }
+    }
+
+    private static TransactionRequest request(long round, int index) {
+        return new TransactionRequest(
+                BigDecimal.valueOf(100 + index * 37L % 100_000, 2),
+                CURRENCIES[index % CURRENCIES.length],
+                TYPES[index % TYPES.length],
+                word(index) + " " + word(index + 1) + " " + index,
+                "WARMUP-" + round + "-" + index);
+    }
+
+    private static String word(int index) {
+        return WORDS[index % WORDS.length];
+    }
+
+    private static TransactionServiceImpl throwawayService() {
+        TransactionServiceImpl service = new TransactionServiceImpl(new InMemoryTransactionRepository(),
+                new TransactionChangeLog(1024));
+        service.setSearchIndex(new TransactionSearchIndex());
+        return service;
+    }
+
+    private static TurboFilter muteLogging(Thread warmupThread) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return null;
+        }
+        TurboFilter filter = new TurboFilter() {
+            @Override
+            public FilterReply decide(org.slf4j.Marker marker, ch.qos.logback.classic.Logger logger,
+                                      ch.qos.logback.classic.Level level, String format, Object[] params, Throwable t) {
+                return Thread.currentThread() == warmupThread ? FilterReply.DENY : FilterReply.NEUTRAL;
+            }
+        };
+        filter.start();
+        context.addTurboFilter(filter);
+        return filter;
+    }
+
+    private static void unmuteLogging(TurboFilter filter) {
+        if (filter != null && LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            context.getTurboFilterList().remove(filter);
+        }
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isFinished() {
+        return outcome.isFinished();
+    }
+
+    public double getDurationSeconds() {
+        return durationNanos / 1e9;
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    public long getLastRoundNanosPerTransaction() {
+        return lastRoundNanosPerTransaction;
+    }
+}
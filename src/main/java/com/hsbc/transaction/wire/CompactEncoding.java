@@ -0,0 +1,99 @@
+package com.hsbc.transaction.wire;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Conversions between transaction fields and their compact binary form
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+final class CompactEncoding {
+
+    private static final int UUID_TEXT_LENGTH = 36;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private CompactEncoding() {
+    }
+
+    /**
+     * The 16 bytes of a canonical UUID, or null if the ID is not one
+     */
+    static byte[] uuidBytes(String id) {
+        if (id == null || id.length() != UUID_TEXT_LENGTH) {
+            return null;
+        }
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        // Only IDs that print back identically can be restored from their bytes
+        if (!uuid.toString().equals(id)) {
+            return null;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    static String uuidString(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Binary ID must be 16 bytes, was " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+
+    /**
+     * The amount in minor units of its currency, or null if it has finer precision than the currency
+     */
+    static Long minorUnits(BigDecimal amount, String currency) {
+        if (amount == null) {
+            return null;
+        }
+        try {
+            return amount.movePointRight(fractionDigits(currency)).setScale(0).longValueExact();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    static BigDecimal fromMinorUnits(long minorUnits, String currency) {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    /**
+     * Nanoseconds since 1970-01-01T00:00 of a local date-time, read as if it were UTC
+     */
+    static long epochNanos(LocalDateTime timestamp) {
+        return Math.addExact(Math.multiplyExact(timestamp.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND),
+                timestamp.getNano());
+    }
+
+    static LocalDateTime fromEpochNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    private static int fractionDigits(String currency) {
+        if (currency != null) {
+            try {
+                int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+                if (digits >= 0) {
+                    return digits;
+                }
+            } catch (IllegalArgumentException e) {
+                // Unknown code, fall through to the common case
+            }
+        }
+        return 2;
+    }
+}
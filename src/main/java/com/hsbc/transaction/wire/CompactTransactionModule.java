@@ -0,0 +1,143 @@
+package com.hsbc.transaction.wire;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.hsbc.transaction.dto.TransactionResponse;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Compact encoding of transactions for binary wire formats
+ *
+ * Keeps the JSON field names but writes {@link TransactionResponse} values
+ * in their smallest natural form:
+ * <ul>
+ *   <li>{@code id}: the 16 raw bytes of the UUID</li>
+ *   <li>{@code amount}: an integer in minor units of the currency (cents,
+ *       or yen for JPY), or a decimal if the amount is finer than that</li>
+ *   <li>{@code timestamp}: integer nanoseconds since 1970-01-01T00:00</li>
+ * </ul>
+ * Every container of transactions (pages, batch results, lookups, search
+ * hits) picks this up. Meant for a binary {@code ObjectMapper} only; JSON
+ * output is unchanged.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public class CompactTransactionModule extends SimpleModule {
+
+    public CompactTransactionModule() {
+        super("CompactTransactionModule");
+        addSerializer(TransactionResponse.class, new Serializer());
+        addDeserializer(TransactionResponse.class, new Deserializer());
+    }
+
+    /**
+     * CBOR mapper with the modules and settings of a JSON mapper, plus this module
+     */
+    public static ObjectMapper cborMapper(ObjectMapper jsonMapper) {
+        return jsonMapper.copyWith(new CBORFactory()).registerModule(new CompactTransactionModule());
+    }
+
+    static final class Serializer extends StdSerializer<TransactionResponse> {
+
+        Serializer() {
+            super(TransactionResponse.class);
+        }
+
+        @Override
+        public void serialize(TransactionResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            int fields = 7 + (value.getAccountId() != null ? 1 : 0)
+                    + (value.getCounterpartyAccountId() != null ? 1 : 0);
+            gen.writeStartObject(value, fields);
+
+            byte[] id = CompactEncoding.uuidBytes(value.getId());
+            if (id != null) {
+                gen.writeBinaryField("id", id);
+            } else {
+                gen.writeStringField("id", value.getId());
+            }
+
+            Long minorUnits = CompactEncoding.minorUnits(value.getAmount(), value.getCurrency());
+            if (minorUnits != null) {
+                gen.writeNumberField("amount", minorUnits);
+            } else {
+                gen.writeNumberField("amount", value.getAmount());
+            }
+
+            gen.writeStringField("currency", value.getCurrency());
+            gen.writeStringField("transactionType", value.getTransactionType());
+            if (value.getTimestamp() != null) {
+                gen.writeNumberField("timestamp", CompactEncoding.epochNanos(value.getTimestamp()));
+            } else {
+                gen.writeNullField("timestamp");
+            }
+            gen.writeStringField("description", value.getDescription());
+            gen.writeStringField("referenceNumber", value.getReferenceNumber());
+            if (value.getAccountId() != null) {
+                gen.writeStringField("accountId", value.getAccountId());
+            }
+            if (value.getCounterpartyAccountId() != null) {
+                gen.writeStringField("counterpartyAccountId", value.getCounterpartyAccountId());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class Deserializer extends StdDeserializer<TransactionResponse> {
+
+        Deserializer() {
+            super(TransactionResponse.class);
+        }
+
+        @Override
+        public TransactionResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartObjectToken()) {
+                return (TransactionResponse) ctxt.handleUnexpectedToken(TransactionResponse.class, p);
+            }
+            TransactionResponse response = new TransactionResponse();
+            Long minorUnits = null;
+
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken token = p.nextToken();
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "id" -> response.setId(token == JsonToken.VALUE_STRING
+                            ? p.getText() : CompactEncoding.uuidString(p.getBinaryValue()));
+                    case "amount" -> {
+                        if (token == JsonToken.VALUE_NUMBER_INT) {
+                            minorUnits = p.getLongValue();
+                        } else {
+                            response.setAmount(p.getDecimalValue());
+                        }
+                    }
+                    case "currency" -> response.setCurrency(p.getText());
+                    case "transactionType" -> response.setTransactionType(p.getText());
+                    case "timestamp" -> response.setTimestamp(CompactEncoding.fromEpochNanos(p.getLongValue()));
+                    case "description" -> response.setDescription(p.getText());
+                    case "referenceNumber" -> response.setReferenceNumber(p.getText());
+                    case "accountId" -> response.setAccountId(p.getText());
+                    case "counterpartyAccountId" -> response.setCounterpartyAccountId(p.getText());
+                    default -> p.skipChildren();
+                }
+            }
+
+            // The currency may follow the amount, so minor units are resolved last
+            if (minorUnits != null) {
+                response.setAmount(CompactEncoding.fromMinorUnits(minorUnits, response.getCurrency()));
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.hsbc.transaction.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Adaptive Concurrency Limiter Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void tryAcquire_LimitReached_ShouldRejectWithoutQueueing() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.5, 2.0);
+
+        // When
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void release_LatencySpike_ShouldDecreaseLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 10, 0.5, 2.0);
+        limiter.tryAcquire();
+        limiter.release(1_000_000L, false);
+
+        // When
+        limiter.tryAcquire();
+        limiter.release(50_000_000L, false);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void release_StableLatencyUnderLoad_ShouldIncreaseLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.5, 2.0);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.release(1_000_000L, false);
+            limiter.release(1_000_000L, false);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isGreaterThan(2);
+        assertThat(limiter.getLimit()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void release_Dropped_ShouldNotGoBelowMinimum() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 3, 10, 0.1, 2.0);
+        limiter.tryAcquire();
+
+        // When
+        limiter.release(1_000_000L, true);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void classify_ShouldSeparateReadsWritesAndListScans() {
+        assertThat(AdmissionControlInterceptor.classify(new MockHttpServletRequest("GET", "/api/transactions")))
+                .isEqualTo(RequestCategory.LIST);
+        assertThat(AdmissionControlInterceptor.classify(new MockHttpServletRequest("GET", "/api/transactions/abc")))
+                .isEqualTo(RequestCategory.READ);
+        assertThat(AdmissionControlInterceptor.classify(new MockHttpServletRequest("POST", "/api/transactions")))
+                .isEqualTo(RequestCategory.WRITE);
+        assertThat(AdmissionControlInterceptor.classify(new MockHttpServletRequest("DELETE", "/api/transactions/abc")))
+                .isEqualTo(RequestCategory.WRITE);
+        assertThat(AdmissionControlInterceptor.classify(new MockHttpServletRequest("POST", "/api/transactions/lookup")))
+                .isEqualTo(RequestCategory.LIST);
+        assertThat(AdmissionControlInterceptor.classify(new MockHttpServletRequest("GET", "/api/transactions/search")))
+                .isEqualTo(RequestCategory.LIST);
+        assertThat(AdmissionControlInterceptor.classify(new MockHttpServletRequest("PATCH", "/api/transactions/batch")))
+                .isEqualTo(RequestCategory.WRITE);
+    }
+}
@@ -0,0 +1,154 @@
+package com.hsbc.transaction.analytics;
+
+import com.hsbc.transaction.model.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Columnar Transaction Store Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class ColumnarTransactionStoreTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY"};
+    private static final String[] TYPES = {"DEPOSIT", "WITHDRAWAL", "PAYMENT"};
+
+    private ColumnarTransactionStore store;
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void totals_AfterUpdatesAndDeletes_ShouldMatchRowScan() {
+        // Given - enough rows for parallel scans, and enough churn to trigger compaction
+        store = new ColumnarTransactionStore(1024, 4);
+        Map<String, Transaction> rows = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            Transaction transaction = randomTransaction("t-" + random.nextInt(60_000), random);
+            rows.put(transaction.getId(), transaction);
+            store.onSaved(transaction, BASE_TIME);
+            if (i % 10 == 0) {
+                String deleted = "t-" + random.nextInt(60_000);
+                rows.remove(deleted);
+                store.onDeleted(deleted, BASE_TIME);
+            }
+        }
+        LocalDateTime from = BASE_TIME.plusDays(10);
+        LocalDateTime to = BASE_TIME.plusDays(20);
+
+        // When
+        List<ColumnarTransactionStore.GroupTotal> byCurrency = store.totals(from, to, null, "DEPOSIT",
+                ColumnarTransactionStore.GroupBy.CURRENCY);
+
+        // Then
+        Map<String, BigDecimal> expected = rows.values().stream()
+                .filter(t -> !t.getTimestamp().isBefore(from) && t.getTimestamp().isBefore(to))
+                .filter(t -> t.getTransactionType().equals("DEPOSIT"))
+                .collect(Collectors.groupingBy(Transaction::getCurrency, TreeMap::new,
+                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
+        assertThat(byCurrency).extracting(ColumnarTransactionStore.GroupTotal::key)
+                .containsExactlyElementsOf(expected.keySet());
+        for (ColumnarTransactionStore.GroupTotal total : byCurrency) {
+            assertThat(total.totalAmount()).isEqualByComparingTo(expected.get(total.key()));
+        }
+        assertThat(store.getLiveRowCount()).isEqualTo(rows.size());
+        assertThat(store.getRowCount()).isLessThan(100_000);
+    }
+
+    @Test
+    void histogram_ShouldBucketAmountsAndCapLastBucket() {
+        // Given
+        store = new ColumnarTransactionStore(64, 1);
+        String[] amounts = {"5", "9.99", "10", "25.5", "1000"};
+        for (int i = 0; i < amounts.length; i++) {
+            Transaction transaction = new Transaction(new BigDecimal(amounts[i]), "USD", "DEPOSIT", null, null);
+            transaction.setTimestamp(BASE_TIME.plusHours(i));
+            store.onSaved(transaction, BASE_TIME);
+        }
+
+        // When
+        long[] histogram = store.histogram(null, null, "USD", null, new BigDecimal("10"), 3);
+
+        // Then
+        assertThat(histogram).containsExactly(2, 1, 2);
+        assertThat(store.histogram(null, null, "CHF", null, BigDecimal.TEN, 3)).containsExactly(0, 0, 0);
+        assertThat(store.totals(BASE_TIME.plusHours(1), BASE_TIME.plusHours(3), null, null,
+                ColumnarTransactionStore.GroupBy.TRANSACTION_TYPE))
+                .containsExactly(new ColumnarTransactionStore.GroupTotal("DEPOSIT", 2, new BigDecimal("19.99")));
+    }
+
+    @Test
+    void onSaved_WithAmountBeyondFixedPointRange_ShouldLeaveTransactionOutAndCountIt() {
+        // Given
+        store = new ColumnarTransactionStore(64, 1);
+        Transaction transaction = new Transaction(new BigDecimal("100"), "USD", "DEPOSIT", null, null);
+        transaction.setId("t-1");
+        transaction.setTimestamp(BASE_TIME);
+        store.onSaved(transaction, BASE_TIME);
+
+        // When - updated to an amount whose fixed-point value overflows a long
+        transaction.setAmount(ColumnarTransactionStore.MAX_AMOUNT.add(BigDecimal.ONE));
+        store.onSaved(transaction, BASE_TIME);
+
+        // Then
+        assertThat(store.getUnsupportedAmountCount()).isEqualTo(1);
+        assertThat(store.getLiveRowCount()).isZero();
+        assertThat(store.totals(null, null, null, null, ColumnarTransactionStore.GroupBy.CURRENCY)).isEmpty();
+    }
+
+    @Test
+    void totals_WithAmountsNearMaximum_ShouldSumWithoutOverflow() {
+        // Given - enough rows for a parallel scan, with amounts at the limit within one chunk and across chunks
+        store = new ColumnarTransactionStore(1024, 4);
+        BigDecimal expected = BigDecimal.ZERO;
+        for (int i = 0; i < 70_000; i++) {
+            BigDecimal amount = i < 3 || i % 7_000 == 0 ? ColumnarTransactionStore.MAX_AMOUNT : BigDecimal.ONE;
+            Transaction transaction = new Transaction(amount, "USD", "DEPOSIT", null, null);
+            transaction.setId("t-" + i);
+            transaction.setTimestamp(BASE_TIME.plusSeconds(i));
+            store.onSaved(transaction, BASE_TIME);
+            expected = expected.add(amount);
+        }
+
+        // When
+        List<ColumnarTransactionStore.GroupTotal> all = store.totals(null, null, null, null,
+                ColumnarTransactionStore.GroupBy.CURRENCY);
+        List<ColumnarTransactionStore.GroupTotal> firstChunks = store.totals(null, BASE_TIME.plusSeconds(14_001),
+                null, null, ColumnarTransactionStore.GroupBy.CURRENCY);
+
+        // Then
+        assertThat(all).hasSize(1);
+        assertThat(all.get(0).count()).isEqualTo(70_000);
+        assertThat(all.get(0).totalAmount()).isEqualByComparingTo(expected);
+        assertThat(firstChunks.get(0).totalAmount()).isEqualByComparingTo(
+                ColumnarTransactionStore.MAX_AMOUNT.multiply(BigDecimal.valueOf(5)).add(BigDecimal.valueOf(13_996)));
+    }
+
+    private static Transaction randomTransaction(String id, Random random) {
+        Transaction transaction = new Transaction(
+                BigDecimal.valueOf(random.nextInt(1_000_000), 2),
+                CURRENCIES[random.nextInt(CURRENCIES.length)],
+                TYPES[random.nextInt(TYPES.length)],
+                null, null);
+        transaction.setId(id);
+        transaction.setTimestamp(BASE_TIME.plusMinutes(random.nextInt(60 * 24 * 30)));
+        return transaction;
+    }
+}
@@ -0,0 +1,198 @@
+package com.hsbc.transaction.archive;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TimelinePosition;
+import com.hsbc.transaction.repository.impl.InMemoryTransactionRepository;
+import com.hsbc.transaction.service.TransactionMutationListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Archiving Transaction Repository Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class ArchivingTransactionRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private InMemoryTransactionRepository hot;
+    private TransactionArchive archive;
+    private ArchivingTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        hot = new InMemoryTransactionRepository();
+        // Small blocks and cache so lookups cross block boundaries and evict
+        archive = new TransactionArchive(tempDir, 8, 4);
+        repository = new ArchivingTransactionRepository(hot, archive);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        archive.close();
+    }
+
+    @Test
+    void archiveOlderThan_ShouldKeepEveryRecordReadable() {
+        // Given - one transaction every 3 hours over 20 days
+        List<Transaction> expected = new ArrayList<>();
+        for (int i = 0; i < 160; i++) {
+            expected.add(repository.save(transaction("t-" + i, NOW.minusHours(3L * i), "REF-" + i)));
+        }
+        expected.sort(TransactionArchive.NEWEST_FIRST);
+
+        // When
+        int archived = repository.archiveOlderThan(NOW.minusDays(7));
+
+        // Then
+        assertThat(archived).isEqualTo(160 - 57);
+        assertThat(hot.size()).isEqualTo(57);
+        assertThat(archive.getSegmentCount()).isBetween(13, 14);
+        assertThat(repository.count()).isEqualTo(160);
+
+        assertThat(repository.findById("t-150")).get().extracting(Transaction::getReferenceNumber).isEqualTo("REF-150");
+        assertThat(repository.findById("missing")).isEmpty();
+        assertThat(repository.findByReferenceNumber("REF-100")).get().extracting(Transaction::getId).isEqualTo("t-100");
+        assertThat(repository.existsByReferenceNumber("REF-120")).isTrue();
+        assertThat(repository.findAll()).extracting(Transaction::getId)
+                .containsExactlyElementsOf(ids(expected));
+
+        List<String> paged = new ArrayList<>();
+        for (int page = 0; page * 7 < 160; page++) {
+            paged.addAll(ids(repository.findAll(page, 7)));
+        }
+        assertThat(paged).containsExactlyElementsOf(ids(expected));
+    }
+
+    @Test
+    void archivedRecord_WhenUpdatedOrDeleted_ShouldFollowHotState() {
+        // Given
+        for (int i = 0; i < 40; i++) {
+            repository.save(transaction("t-" + i, NOW.minusDays(30).plusMinutes(i), "REF-" + i));
+        }
+        repository.archiveOlderThan(NOW.minusDays(7));
+        assertThat(hot.size()).isZero();
+
+        // When - update one archived record and delete another
+        Transaction revived = repository.findById("t-3").orElseThrow();
+        revived.setAmount(new BigDecimal("999"));
+        revived.setReferenceNumber("REF-NEW");
+        repository.save(revived);
+        assertThat(repository.deleteById("t-4")).isTrue();
+
+        // Then
+        assertThat(repository.findById("t-3")).get().extracting(Transaction::getAmount).isEqualTo(new BigDecimal("999"));
+        assertThat(repository.findById("t-4")).isEmpty();
+        assertThat(repository.deleteById("t-4")).isFalse();
+        assertThat(repository.existsByReferenceNumber("REF-3")).isFalse();
+        assertThat(repository.count()).isEqualTo(39);
+        assertThat(repository.findAll(0, 100)).hasSize(39);
+        assertThatThrownBy(() -> repository.save(transaction("other", NOW, "REF-5")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Archiving the day again rewrites its segment without the stale copies
+        repository.archiveOlderThan(NOW.minusDays(7));
+        assertThat(archive.getSegmentCount()).isEqualTo(1);
+        assertThat(archive.count()).isEqualTo(39);
+        assertThat(repository.findById("t-3")).get().extracting(Transaction::getReferenceNumber).isEqualTo("REF-NEW");
+        assertThat(repository.findAll(0, 100)).extracting(Transaction::getId).doesNotContain("t-4").hasSize(39);
+    }
+
+    @Test
+    void archiveOlderThan_ShouldNotifyListenersOfMovedRecordsOnly() {
+        // Given
+        List<String> notified = new ArrayList<>();
+        repository.setMutationListeners(List.of(new TransactionMutationListener() {
+            @Override
+            public void onSaved(Transaction transaction, LocalDateTime changedAt) {
+            }
+
+            @Override
+            public void onDeleted(String id, LocalDateTime changedAt) {
+            }
+
+            @Override
+            public void onArchived(String id, LocalDateTime archivedAt) {
+                notified.add(id);
+            }
+        }));
+        for (int i = 0; i < 10; i++) {
+            repository.save(transaction("t-" + i, NOW.minusDays(i), "REF-" + i));
+        }
+
+        // When
+        int archived = repository.archiveOlderThan(NOW.minusDays(7).minusHours(1));
+
+        // Then
+        assertThat(archived).isEqualTo(2);
+        assertThat(notified).containsExactlyInAnyOrder("t-8", "t-9");
+    }
+
+    @Test
+    void findByAccount_ShouldPageAcrossHotAndArchivedRecords() {
+        // Given - every third transaction on account A, every seventh a transfer to A
+        List<Transaction> expected = new ArrayList<>();
+        for (int i = 0; i < 160; i++) {
+            Transaction transaction = transaction("t-" + i, NOW.minusHours(3L * i), null);
+            transaction.setAccountId(i % 3 == 0 ? "A" : "B");
+            if (i % 7 == 0 && i % 3 != 0) {
+                transaction.setTransactionType("TRANSFER");
+                transaction.setCounterpartyAccountId("A");
+            }
+            repository.save(transaction);
+            if (i % 3 == 0 || i % 7 == 0) {
+                expected.add(transaction);
+            }
+        }
+        repository.archiveOlderThan(NOW.minusDays(7));
+
+        // An archived record moved to another account leaves A's timeline
+        Transaction moved = repository.findById("t-150").orElseThrow();
+        moved.setAccountId("C");
+        repository.save(moved);
+        expected.removeIf(transaction -> transaction.getId().equals("t-150"));
+        expected.sort(TransactionArchive.NEWEST_FIRST);
+
+        // When
+        List<String> paged = new ArrayList<>();
+        TimelinePosition after = null;
+        List<Transaction> page;
+        do {
+            page = repository.findByAccount("A", after, 4);
+            paged.addAll(ids(page));
+            after = page.isEmpty() ? after : TimelinePosition.of(page.get(page.size() - 1));
+        } while (page.size() == 4);
+
+        // Then
+        assertThat(paged).containsExactlyElementsOf(ids(expected));
+        assertThat(repository.findByAccount("C", null, 10)).extracting(Transaction::getId).containsExactly("t-150");
+        assertThat(repository.findByAccount("nobody", null, 10)).isEmpty();
+    }
+
+    private static List<String> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getId).toList();
+    }
+
+    private static Transaction transaction(String id, LocalDateTime timestamp, String referenceNumber) {
+        Transaction transaction = new Transaction(new BigDecimal("10.50"), "USD", "DEPOSIT", "archived", referenceNumber);
+        transaction.setId(id);
+        transaction.setTimestamp(timestamp);
+        return transaction;
+    }
+}
@@ -0,0 +1,140 @@
+package com.hsbc.transaction.bloom;
+
+import com.hsbc.transaction.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Reference Number Filter Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class ReferenceNumberFilterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void scalableFilter_ShouldGrowWithoutFalseNegativesAndKeepTargetRate() {
+        // Given - far more keys than the first layer holds
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("REF-" + i);
+        }
+
+        // When
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("NEW-" + i))
+                .count();
+
+        // Then
+        assertThat(IntStream.range(0, 100_000)).allMatch(i -> filter.mightContain("REF-" + i));
+        assertThat(filter.getLayerCount()).isGreaterThan(5);
+        assertThat(falsePositives / 100_000.0).isLessThan(0.015);
+        assertThat(filter.getExpectedFalsePositiveRate()).isLessThan(0.015);
+    }
+
+    @Test
+    void exists_ShouldProbeOnlyWhenFilterCannotRuleOut() {
+        // Given
+        ReferenceNumberFilter filter = new ReferenceNumberFilter(1_000, 0.01);
+        filter.rebuild(() -> List.of("REF-1", "REF-2"));
+        filter.onSaved(transaction("t-3", "REF-3"), NOW);
+        Set<String> stored = Set.of("REF-1", "REF-2", "REF-3");
+        List<String> probed = new ArrayList<>();
+
+        // When
+        boolean existing = filter.exists("REF-3", reference -> probed.add(reference) && stored.contains(reference));
+        long newFound = IntStream.range(0, 1_000)
+                .filter(i -> filter.exists("NEW-" + i, reference -> probed.add(reference) && stored.contains(reference)))
+                .count();
+
+        // Then
+        assertThat(existing).isTrue();
+        assertThat(newFound).isZero();
+        assertThat(filter.getConfirmedProbeCount()).isEqualTo(1);
+        assertThat(probed).hasSize(1 + (int) filter.getFalsePositiveCount());
+        assertThat(filter.getSkippedProbeCount() + filter.getFalsePositiveCount()).isEqualTo(1_000);
+        assertThat(filter.getObservedFalsePositiveRate()).isLessThan(0.05);
+    }
+
+    @Test
+    void rebuild_ShouldDropStaleReferencesAndKeepAddsMadeDuringIt() {
+        // Given
+        ReferenceNumberFilter filter = new ReferenceNumberFilter(1_000, 0.01);
+        filter.onSaved(transaction("t-1", "REF-1"), NOW);
+        filter.onSaved(transaction("t-2", "REF-2"), NOW);
+        filter.onUpdated(transaction("t-1", "REF-1"), transaction("t-1", "REF-1B"), NOW);
+        filter.onDeleted("t-2", NOW);
+        assertThat(filter.getStaleCount()).isEqualTo(2);
+
+        // When - a save lands while the repository is being read
+        ReferenceFilterRebuildTask task = new ReferenceFilterRebuildTask(filter, () -> {
+            filter.onSaved(transaction("t-3", "REF-3"), NOW);
+            return List.of("REF-1B");
+        }, Duration.ofHours(1), 2);
+        boolean rebuilt = task.runOnce();
+
+        // Then
+        assertThat(rebuilt).isTrue();
+        assertThat(filter.getStaleCount()).isZero();
+        assertThat(filter.mightContain("REF-1B")).isTrue();
+        assertThat(filter.mightContain("REF-3")).isTrue();
+        assertThat(filter.mightContain("REF-1")).isFalse();
+        assertThat(filter.mightContain("REF-2")).isFalse();
+        assertThat(task.runOnce()).isFalse();
+    }
+
+    @Test
+    void concurrentAdds_ShouldNeverLoseReferenceNumbers() throws Exception {
+        // Given
+        ReferenceNumberFilter filter = new ReferenceNumberFilter(100, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When - writers add while the filter keeps growing layers
+        try {
+            for (int writer = 0; writer < 4; writer++) {
+                int offset = writer;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < 40_000; i += 4) {
+                        filter.onSaved(transaction("t-" + i, "REF-" + i), NOW);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        Set<String> missing = new HashSet<>();
+        for (int i = 0; i < 40_000; i++) {
+            if (!filter.exists("REF-" + i, reference -> true)) {
+                missing.add("REF-" + i);
+            }
+        }
+        assertThat(missing).isEmpty();
+    }
+
+    private static Transaction transaction(String id, String referenceNumber) {
+        Transaction transaction = new Transaction(new BigDecimal("10.00"), "USD", "DEPOSIT", "filtered", referenceNumber);
+        transaction.setId(id);
+        return transaction;
+    }
+}
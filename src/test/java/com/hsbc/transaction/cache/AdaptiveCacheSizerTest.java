@@ -0,0 +1,72 @@
+package com.hsbc.transaction.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Adaptive Cache Sizer Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class AdaptiveCacheSizerTest {
+
+    @Test
+    void resize_ShouldMoveCapacityFromIdleCacheToThrashingCache() {
+        Cache<Object, Object> thrashing = cache(100);
+        Cache<Object, Object> idle = cache(900);
+        Map<String, Cache<Object, Object>> caches = new LinkedHashMap<>();
+        caches.put("thrashing", thrashing);
+        caches.put("idle", idle);
+        AdaptiveCacheSizer sizer = new AdaptiveCacheSizer(caches, 1000, 50, 0.1, Duration.ofSeconds(30));
+
+        Random random = new Random(42);
+        for (int round = 0; round < 5; round++) {
+            // Uniform over more keys than fit, so every step of capacity adds hits; the idle cache holds all it is asked for
+            for (int i = 0; i < 5000; i++) {
+                thrashing.get(random.nextInt(600), k -> k);
+            }
+            for (int key = 0; key < 10; key++) {
+                idle.get(key, k -> k);
+            }
+            thrashing.cleanUp();
+            assertThat(sizer.resize()).isTrue();
+        }
+
+        assertThat(sizer.getMaximumBytes("thrashing")).isEqualTo(600);
+        assertThat(sizer.getMaximumBytes("idle")).isEqualTo(400);
+        assertThat(sizer.getResizeCount()).isEqualTo(5);
+    }
+
+    @Test
+    void constructor_OverBudget_ShouldScaleCachesDown() {
+        Map<String, Cache<Object, Object>> caches = new LinkedHashMap<>();
+        caches.put("a", cache(3000));
+        caches.put("b", cache(1000));
+
+        AdaptiveCacheSizer sizer = new AdaptiveCacheSizer(caches, 1000, 100, 0.1, Duration.ofSeconds(30));
+
+        // 800 bytes above the minimums, shared 2900:900
+        assertThat(sizer.getMaximumBytes("a")).isEqualTo(710);
+        assertThat(sizer.getMaximumBytes("b")).isEqualTo(289);
+        // Nothing was requested, so nothing gains from a resize
+        assertThat(sizer.resize()).isFalse();
+    }
+
+    private static Cache<Object, Object> cache(long maximumWeight) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((key, value) -> 1)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+}
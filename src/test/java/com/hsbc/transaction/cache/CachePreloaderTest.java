@@ -0,0 +1,52 @@
+package com.hsbc.transaction.cache;
+
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.impl.InMemoryTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Cache Preloader Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class CachePreloaderTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void preload_ShouldLoadNewestTransactionsAndKeepCachedEntries() {
+        // Given
+        InMemoryTransactionRepository repository = new InMemoryTransactionRepository();
+        for (int i = 0; i < 5; i++) {
+            Transaction transaction = new Transaction(new BigDecimal("10.00"), "USD", "DEPOSIT", "t-" + i, null);
+            transaction.setId("t-" + i);
+            transaction.setTimestamp(BASE_TIME.plusMinutes(i));
+            repository.save(transaction);
+        }
+        Cache cache = new ConcurrentMapCache("transactions");
+        TransactionResponse cached = TransactionResponse.from(repository.findById("t-4").orElseThrow());
+        cached.setDescription("cached");
+        cache.put("t-4", cached);
+
+        // When
+        int loaded = new CachePreloader(repository, cache, 3).preload();
+
+        // Then
+        assertThat(loaded).isEqualTo(3);
+        assertThat(cache.get("t-4", TransactionResponse.class).getDescription()).isEqualTo("cached");
+        assertThat(cache.get("t-3", TransactionResponse.class).getId()).isEqualTo("t-3");
+        assertThat(cache.get("t-2", TransactionResponse.class).getId()).isEqualTo("t-2");
+        assertThat(cache.get("t-1")).isNull();
+        assertThat(cache.get("t-0")).isNull();
+        assertThat(new CachePreloader(repository, new ConcurrentMapCache("empty"), 0).preload()).isZero();
+    }
+}
@@ -0,0 +1,58 @@
+package com.hsbc.transaction.cache;
+
+import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Payload Weigher Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class PayloadWeigherTest {
+
+    private final PayloadWeigher weigher = new PayloadWeigher();
+
+    @Test
+    void weigh_WithAccounts_ShouldAddTheirStrings() {
+        // Given
+        TransactionResponse plain = response();
+        TransactionResponse transfer = response();
+        transfer.setAccountId("ACC-1001");
+        transfer.setCounterpartyAccountId("ACC-2002");
+
+        // When
+        int plainWeight = weigher.weigh(plain.getId(), plain);
+        int transferWeight = weigher.weigh(transfer.getId(), transfer);
+
+        // Then - each account ID is a string object plus one byte per Latin-1 character
+        assertThat((long) plainWeight).isGreaterThan(PayloadWeigher.sizeOf(plain));
+        assertThat(transferWeight - plainWeight).isEqualTo(2 * (40 + "ACC-1001".length()));
+    }
+
+    @Test
+    void weigh_Page_ShouldCoverEveryItem() {
+        // Given
+        TransactionResponse item = response();
+        PagedResponse<TransactionResponse> page = new PagedResponse<>(List.of(item, item, item), 0, 3, 3);
+
+        // When
+        long pageSize = PayloadWeigher.sizeOf(page);
+
+        // Then
+        assertThat(pageSize).isGreaterThan(3 * PayloadWeigher.sizeOf(item));
+        assertThat(PayloadWeigher.sizeOf("unknown")).isPositive();
+    }
+
+    private static TransactionResponse response() {
+        return new TransactionResponse("550e8400-e29b-41d4-a716-446655440000", new BigDecimal("100.50"), "USD",
+                "DEPOSIT", LocalDateTime.of(2024, 1, 1, 0, 0), "Salary", "REF-1");
+    }
+}
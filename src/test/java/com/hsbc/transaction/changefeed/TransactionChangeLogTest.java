@@ -0,0 +1,111 @@
+package com.hsbc.transaction.changefeed;
+
+import com.hsbc.transaction.dto.TransactionChangeEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Transaction Change Log Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class TransactionChangeLogTest {
+
+    @Test
+    void append_ShouldAssignMonotonicSequenceNumbers() {
+        // Given
+        TransactionChangeLog log = new TransactionChangeLog(8);
+
+        // When
+        TransactionChangeEvent first = log.append(ChangeType.CREATED, "a", null);
+        TransactionChangeEvent second = log.append(ChangeType.UPDATED, "a", null);
+        TransactionChangeEvent third = log.append(ChangeType.DELETED, "a", null);
+
+        // Then
+        assertThat(first.getSequence()).isEqualTo(1);
+        assertThat(second.getSequence()).isEqualTo(2);
+        assertThat(third.getSequence()).isEqualTo(3);
+        assertThat(log.getHeadSequence()).isEqualTo(3);
+    }
+
+    @Test
+    void readAfter_ShouldResumeFromSequence() {
+        // Given
+        TransactionChangeLog log = new TransactionChangeLog(8);
+        for (int i = 0; i < 5; i++) {
+            log.append(ChangeType.CREATED, "id-" + i, null);
+        }
+
+        // When
+        TransactionChangeLog.ReadResult result = log.readAfter(2, 10);
+
+        // Then
+        assertThat(result.hasGap()).isFalse();
+        assertThat(result.getEvents()).extracting(TransactionChangeEvent::getSequence).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void readAfter_SequencePastHead_ShouldReportGapAndReturnRetainedEvents() {
+        // Given - a restarted log, resumed with a Last-Event-ID from the previous run
+        TransactionChangeLog log = new TransactionChangeLog(8);
+        TransactionChangeLog.ReadResult empty = log.readAfter(50, 10);
+        log.append(ChangeType.CREATED, "a", null);
+        log.append(ChangeType.CREATED, "b", null);
+
+        // When
+        TransactionChangeLog.ReadResult result = log.readAfter(50, 10);
+
+        // Then
+        assertThat(empty.hasGap()).isTrue();
+        assertThat(empty.getEvents()).isEmpty();
+        assertThat(result.hasGap()).isTrue();
+        assertThat(result.getOldestSequence()).isEqualTo(1);
+        assertThat(result.getEvents()).extracting(TransactionChangeEvent::getSequence).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void readAfter_OverwrittenEvents_ShouldReportGap() {
+        // Given
+        TransactionChangeLog log = new TransactionChangeLog(4);
+        for (int i = 0; i < 10; i++) {
+            log.append(ChangeType.CREATED, "id-" + i, null);
+        }
+
+        // When
+        TransactionChangeLog.ReadResult result = log.readAfter(0, 10);
+
+        // Then
+        assertThat(result.hasGap()).isTrue();
+        assertThat(result.getOldestSequence()).isEqualTo(7);
+        List<TransactionChangeEvent> events = result.getEvents();
+        assertThat(events).extracting(TransactionChangeEvent::getSequence).containsExactly(7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void awaitAfter_ShouldWakeUpOnAppend() throws Exception {
+        // Given
+        TransactionChangeLog log = new TransactionChangeLog(8);
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return log.awaitAfter(0, Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+
+        // When
+        Thread.sleep(50);
+        log.append(ChangeType.CREATED, "a", null);
+
+        // Then
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(log.awaitAfter(1, Duration.ofMillis(10))).isFalse();
+    }
+}
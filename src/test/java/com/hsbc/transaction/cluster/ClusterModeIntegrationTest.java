@@ -0,0 +1,196 @@
+package com.hsbc.transaction.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.TransactionManagementApplication;
+import com.hsbc.transaction.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Cluster Mode Integration Test Class
+ *
+ * Starts three nodes on localhost with file-based membership and drives
+ * them through the public API.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class ClusterModeIntegrationTest {
+
+    private static final int NODES = 3;
+
+    @TempDir
+    static Path tempDir;
+
+    private static final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private static final List<String> baseUrls = new ArrayList<>();
+    private static final HttpClient http = HttpClient.newHttpClient();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void startCluster() throws IOException {
+        StringBuilder members = new StringBuilder();
+        int[] ports = new int[NODES];
+        for (int i = 0; i < NODES; i++) {
+            ports[i] = freePort();
+            baseUrls.add("http://localhost:" + ports[i]);
+            members.append("node-").append(i).append('=').append(baseUrls.get(i)).append('\n');
+        }
+        Path membersFile = tempDir.resolve("members.properties");
+        Files.writeString(membersFile, members.toString());
+
+        for (int i = 0; i < NODES; i++) {
+            // Command-line arguments take precedence over application.yml
+            contexts.add(new SpringApplicationBuilder(TransactionManagementApplication.class)
+                    .run("--server.port=" + ports[i],
+                            "--transaction.cluster.enabled=true",
+                            "--transaction.ledger.enabled=false",
+                            "--transaction.analytics.enabled=false",
+                            "--transaction.cluster.node-id=node-" + i,
+                            "--transaction.cluster.members-file=" + membersFile,
+                            "--spring.jmx.enabled=false",
+                            "--logging.level.com.hsbc.transaction=WARN",
+                            "--logging.level.org.springframework.cache=WARN"));
+        }
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void cluster_ShouldPartitionRouteAndScatterGather() throws Exception {
+        // Given - creates spread over all entry nodes
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            JsonNode created = send("POST", baseUrls.get(i % NODES) + "/api/transactions",
+                    "{\"amount\":" + (i + 1) + ",\"currency\":\"USD\",\"transactionType\":\"DEPOSIT\","
+                            + "\"referenceNumber\":\"CL-" + i + "\"}", 201);
+            ids.add(created.get("id").asText());
+        }
+
+        // When & Then - every node can read every transaction
+        for (String id : ids) {
+            for (String baseUrl : baseUrls) {
+                JsonNode fetched = send("GET", baseUrl + "/api/transactions/" + id, null, 200);
+                assertThat(fetched.get("id").asText()).isEqualTo(id);
+            }
+        }
+
+        // Data is partitioned: no node stores everything, together they store all
+        long localTotal = 0;
+        for (ConfigurableApplicationContext context : contexts) {
+            long localCount = context.getBean(TransactionRepository.class).count();
+            assertThat(localCount).isLessThan(30);
+            localTotal += localCount;
+        }
+        assertThat(localTotal).isEqualTo(30);
+
+        // List queries gather from all nodes in time order
+        JsonNode page = send("GET", baseUrls.get(1) + "/api/transactions?page=0&size=100", null, 200);
+        assertThat(page.get("totalElements").asLong()).isEqualTo(30);
+        assertThat(page.get("content")).hasSize(30);
+
+        // Reference numbers stay unique across nodes
+        send("POST", baseUrls.get(2) + "/api/transactions",
+                "{\"amount\":1,\"currency\":\"USD\",\"transactionType\":\"DEPOSIT\",\"referenceNumber\":\"CL-5\"}", 409);
+
+        // Batch updates check changed references on every node
+        JsonNode batch = send("PATCH", baseUrls.get(0) + "/api/transactions/batch",
+                "{\"items\":[{\"id\":\"" + ids.get(6) + "\",\"referenceNumber\":\"CL-5\"},"
+                        + "{\"id\":\"" + ids.get(7) + "\",\"referenceNumber\":\"CL-7-NEW\"}]}", 200);
+        assertThat(batch.get("results").get(0).get("status").asInt()).isEqualTo(409);
+        assertThat(batch.get("results").get(1).get("status").asInt()).isEqualTo(200);
+
+        // Deletes are forwarded to the owner
+        String victim = ids.get(0);
+        send("DELETE", baseUrls.get(0) + "/api/transactions/" + victim, null, 204);
+        for (String baseUrl : baseUrls) {
+            send("GET", baseUrl + "/api/transactions/" + victim, null, 404);
+        }
+    }
+
+    @Test
+    void cluster_AccountTransactions_ShouldPageAcrossNodesWithCursor() throws Exception {
+        // Given - one account's transactions spread over the partitions
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 12; i++) {
+            JsonNode created = send("POST", baseUrls.get(i % NODES) + "/api/transactions",
+                    "{\"amount\":" + (i + 1) + ",\"currency\":\"USD\",\"transactionType\":\"DEPOSIT\","
+                            + "\"accountId\":\"CL-ACC\"}", 201);
+            ids.add(created.get("id").asText());
+        }
+
+        try {
+            // When - follow the cursor through pages of five
+            List<String> paged = new ArrayList<>();
+            List<String> timestamps = new ArrayList<>();
+            String url = baseUrls.get(1) + "/api/accounts/CL-ACC/transactions?size=5";
+            JsonNode page;
+            int pages = 0;
+            do {
+                page = send("GET", url, null, 200);
+                page.get("content").forEach(transaction -> {
+                    paged.add(transaction.get("id").asText());
+                    timestamps.add(transaction.get("timestamp").asText());
+                });
+                pages++;
+                url = baseUrls.get(1) + "/api/accounts/CL-ACC/transactions?size=5&cursor="
+                        + (page.has("nextCursor") ? page.get("nextCursor").asText() : "");
+            } while (page.has("nextCursor"));
+
+            // Then - every transaction once, newest first
+            assertThat(pages).isEqualTo(3);
+            assertThat(page.get("last").asBoolean()).isTrue();
+            assertThat(paged).hasSize(12).containsExactlyInAnyOrderElementsOf(ids);
+            assertThat(timestamps).isSortedAccordingTo(Comparator.reverseOrder());
+            send("GET", baseUrls.get(0) + "/api/accounts/CL-ACC/transactions?cursor=bogus", null, 400);
+            send("GET", baseUrls.get(0) + ClusterClient.INTERNAL_PATH + "/accounts/CL-ACC/transactions?cursor=bogus&limit=5",
+                    null, 400);
+        } finally {
+            // The cluster is shared with the other tests, which count all stored transactions
+            for (String id : ids) {
+                send("DELETE", baseUrls.get(0) + "/api/transactions/" + id, null, 204);
+            }
+        }
+    }
+
+    private static JsonNode send(String method, String url, String body, int expectedStatus) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json");
+        builder.method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body));
+        HttpResponse<String> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(method + " " + url + ": " + response.body()).isEqualTo(expectedStatus);
+        return response.body().isEmpty() ? null : objectMapper.readTree(response.body());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
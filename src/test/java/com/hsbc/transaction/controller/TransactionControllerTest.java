@@ -1,10 +1,19 @@
 package com.hsbc.transaction.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.hsbc.transaction.dto.BatchItemResult;
+import com.hsbc.transaction.dto.BatchResponse;
 import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionHistoryResponse;
+import com.hsbc.transaction.dto.TransactionLookupRequest;
+import com.hsbc.transaction.dto.TransactionLookupResponse;
 import com.hsbc.transaction.dto.TransactionRequest;
 import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.dto.TransactionSearchHit;
+import com.hsbc.transaction.dto.TransactionVersionResponse;
 import com.hsbc.transaction.service.TransactionService;
+import com.hsbc.transaction.wire.CompactTransactionModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +26,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -140,6 +150,39 @@ class TransactionControllerTest {
         verify(transactionService).getTransactionById("test-id");
     }
 
+    @Test
+    void getTransaction_WithAsOf_ShouldReturnVersionAtThatTime() throws Exception {
+        // Given
+        LocalDateTime asOf = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(transactionService.getTransactionAsOf("test-id", asOf)).thenReturn(validResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/transactions/test-id").param("asOf", "2024-01-01T12:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is("test-id")));
+
+        verify(transactionService).getTransactionAsOf("test-id", asOf);
+        verify(transactionService, never()).getTransactionById(any());
+    }
+
+    @Test
+    void getTransactionHistory_ExistingId_ShouldReturnVersions() throws Exception {
+        // Given
+        TransactionVersionResponse version = new TransactionVersionResponse(
+                1, LocalDateTime.of(2024, 1, 1, 0, 0), null, Arrays.asList("amount"), validResponse);
+        when(transactionService.getTransactionHistory("test-id"))
+                .thenReturn(new TransactionHistoryResponse("test-id", Arrays.asList(version)));
+
+        // When & Then
+        mockMvc.perform(get("/api/transactions/test-id/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is("test-id")))
+                .andExpect(jsonPath("$.versions", hasSize(1)))
+                .andExpect(jsonPath("$.versions[0].version", is(1)))
+                .andExpect(jsonPath("$.versions[0].changedFields[0]", is("amount")))
+                .andExpect(jsonPath("$.versions[0].transaction.id", is("test-id")));
+    }
+
     @Test
     void getTransactions_DefaultPagination_ShouldReturnPagedResponse() throws Exception {
         // Given
@@ -193,6 +236,31 @@ class TransactionControllerTest {
         verify(transactionService).getTransactions(1, 5);
     }
 
+    @Test
+    void getTransactions_WithSnapshotToken_ShouldPageSnapshot() throws Exception {
+        // Given
+        PagedResponse<TransactionResponse> pagedResponse = new PagedResponse<>(
+                Arrays.asList(validResponse),
+                1,
+                5,
+                6L
+        );
+        pagedResponse.setSnapshot("abc-1");
+        when(transactionService.getTransactionsAtSnapshot(1, 5, "abc-1")).thenReturn(pagedResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/transactions")
+                        .param("page", "1")
+                        .param("size", "5")
+                        .param("snapshot", "abc-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.snapshot", is("abc-1")));
+
+        verify(transactionService).getTransactionsAtSnapshot(1, 5, "abc-1");
+        verify(transactionService, never()).getTransactions(anyInt(), anyInt());
+    }
+
     @Test
     void updateTransaction_ValidRequest_ShouldReturnUpdatedTransaction() throws Exception {
         // Given
@@ -232,6 +300,93 @@ class TransactionControllerTest {
         verify(transactionService).updateTransaction(eq("test-id"), any(TransactionRequest.class));
     }
 
+    @Test
+    void lookupTransactions_ShouldReturnFoundAndMissingIds() throws Exception {
+        // Given
+        TransactionLookupResponse lookup = new TransactionLookupResponse(
+                Arrays.asList(validResponse), Arrays.asList("missing-id"));
+        when(transactionService.lookupTransactions(Arrays.asList("test-id", "missing-id"))).thenReturn(lookup);
+
+        // When & Then
+        mockMvc.perform(post("/api/transactions/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TransactionLookupRequest(Arrays.asList("test-id", "missing-id")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].id", is("test-id")))
+                .andExpect(jsonPath("$.missingIds[0]", is("missing-id")));
+    }
+
+    @Test
+    void lookupTransactions_EmptyIds_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/transactions/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionService, never()).lookupTransactions(any());
+    }
+
+    @Test
+    void updateTransactions_ShouldReturnPerItemResults() throws Exception {
+        // Given
+        BatchResponse batch = BatchResponse.of(Arrays.asList(
+                BatchItemResult.success("test-id", 200, validResponse),
+                BatchItemResult.failure("missing-id", 404, "Transaction not found")));
+        when(transactionService.updateTransactions(any())).thenReturn(batch);
+
+        // When & Then
+        mockMvc.perform(patch("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"id\":\"test-id\",\"amount\":250.00},{\"id\":\"missing-id\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.results[0].transaction.id", is("test-id")))
+                .andExpect(jsonPath("$.results[1].status", is(404)));
+
+        verify(transactionService).updateTransactions(argThat(items -> items.size() == 2));
+    }
+
+    @Test
+    void getTransactionById_AcceptCbor_ShouldReturnCompactBinary() throws Exception {
+        // Given
+        validResponse.setId("0f8fad5b-d9cb-469f-a165-70867728950e");
+        when(transactionService.getTransactionById("test-id")).thenReturn(validResponse);
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/transactions/test-id").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).registerModule(new CompactTransactionModule());
+        TransactionResponse decoded = cborMapper.readValue(body, TransactionResponse.class);
+        assertThat(decoded.getId()).isEqualTo(validResponse.getId());
+        assertThat(decoded.getAmount()).isEqualByComparingTo(validResponse.getAmount());
+        assertThat(decoded.getTimestamp()).isEqualTo(validResponse.getTimestamp());
+        assertThat(body.length).isLessThan(objectMapper.writeValueAsBytes(validResponse).length);
+    }
+
+    @Test
+    void searchTransactions_ShouldReturnRankedHits() throws Exception {
+        // Given
+        PagedResponse<TransactionSearchHit> page = new PagedResponse<>(
+                Arrays.asList(new TransactionSearchHit(1.5, validResponse)), 0, 10, 1);
+        when(transactionService.searchTransactions("coffee shop", 0, 10)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/transactions/search").param("q", "coffee shop"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.content[0].score", is(1.5)))
+                .andExpect(jsonPath("$.content[0].transaction.id", is("test-id")));
+
+        verify(transactionService).searchTransactions("coffee shop", 0, 10);
+    }
+
     @Test
     void deleteTransaction_ExistingId_ShouldReturnNoContent() throws Exception {
         // Given
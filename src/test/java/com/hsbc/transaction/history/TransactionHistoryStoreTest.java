@@ -0,0 +1,208 @@
+package com.hsbc.transaction.history;
+
+import com.hsbc.transaction.model.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Transaction History Store Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class TransactionHistoryStoreTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private ColdVersionStore coldStore;
+    private TransactionHistoryStore store;
+    private final Map<String, Transaction> repository = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        coldStore = new ColdVersionStore(tempDir);
+        store = new TransactionHistoryStore(coldStore, 2, id -> Optional.ofNullable(repository.get(id)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        coldStore.close();
+    }
+
+    @Test
+    void history_ShouldListVersionsWithChangedFields() {
+        // Given
+        save(transaction("100", "USD", "first"), BASE_TIME);
+        save(transaction("150", "USD", "first"), BASE_TIME.plusHours(1));
+        save(transaction("150", "EUR", "second"), BASE_TIME.plusHours(2));
+        // Saving the same state again is not a new version
+        save(transaction("150", "EUR", "second"), BASE_TIME.plusHours(3));
+
+        // When
+        List<TransactionVersion> versions = store.history("tx-1").orElseThrow();
+
+        // Then
+        assertThat(versions).extracting(TransactionVersion::version).containsExactly(1, 2, 3);
+        assertThat(versions.get(0).validTo()).isEqualTo(BASE_TIME.plusHours(1));
+        assertThat(versions.get(1).changedFields()).containsExactly("amount");
+        assertThat(versions.get(2).changedFields()).containsExactlyInAnyOrder("currency", "description");
+        assertThat(versions.get(2).validTo()).isNull();
+        assertThat(versions.get(0).transaction().getAmount()).isEqualByComparingTo("100");
+    }
+
+    @Test
+    void asOf_WithVersionsOnDisk_ShouldRestoreEachState() {
+        // Given - far more versions than are kept on the heap
+        for (int i = 0; i < 50; i++) {
+            save(transaction(String.valueOf(i), i % 2 == 0 ? "USD" : "EUR", "v" + i), BASE_TIME.plusMinutes(i));
+        }
+
+        // When & Then
+        assertThat(store.getColdVersionCount()).isGreaterThan(0);
+        assertThat(store.getColdStoreBytes()).isGreaterThan(0);
+        for (int i = 0; i < 50; i++) {
+            Transaction state = store.asOf("tx-1", BASE_TIME.plusMinutes(i).plusSeconds(30)).orElseThrow();
+            assertThat(state.getAmount()).isEqualByComparingTo(String.valueOf(i));
+            assertThat(state.getDescription()).isEqualTo("v" + i);
+        }
+        assertThat(store.asOf("tx-1", BASE_TIME.minusSeconds(1))).isEmpty();
+        assertThat(store.history("tx-1").orElseThrow())
+                .hasSize(50)
+                .extracting(version -> version.transaction().getDescription())
+                .startsWith("v0", "v1")
+                .endsWith("v49");
+    }
+
+    @Test
+    void history_WithoutUpdates_ShouldReadCurrentStateWithoutChain() {
+        // Given
+        save(transaction("100", "USD", "first"), BASE_TIME);
+
+        // When
+        List<TransactionVersion> versions = store.history("tx-1").orElseThrow();
+
+        // Then
+        assertThat(store.getTrackedTransactionCount()).isZero();
+        assertThat(store.getVersionCount()).isZero();
+        assertThat(versions).singleElement().satisfies(version -> {
+            assertThat(version.version()).isEqualTo(1);
+            assertThat(version.validFrom()).isEqualTo(BASE_TIME);
+            assertThat(version.validTo()).isNull();
+            assertThat(version.transaction().getAmount()).isEqualByComparingTo("100");
+        });
+        assertThat(store.asOf("tx-1", BASE_TIME.plusHours(1))).isPresent();
+        assertThat(store.asOf("tx-1", BASE_TIME.minusSeconds(1))).isEmpty();
+        assertThat(store.history("unknown")).isEmpty();
+    }
+
+    @Test
+    void onArchived_ShouldKeepHistoryOnDiskAndThawOnUpdate() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            save(transaction(String.valueOf(i), "USD", "v" + i), BASE_TIME.plusMinutes(i));
+        }
+        List<TransactionVersion> before = store.history("tx-1").orElseThrow();
+
+        // When - the repository no longer holds it in memory
+        store.onArchived("tx-1", BASE_TIME.plusHours(1));
+
+        // Then - every version, the current one included, is read from disk
+        assertThat(store.getColdVersionCount()).isEqualTo(store.getVersionCount());
+        assertThat(store.history("tx-1").orElseThrow()).isEqualTo(before);
+        assertThat(store.asOf("tx-1", BASE_TIME.plusMinutes(2).plusSeconds(1)).orElseThrow().getDescription())
+                .isEqualTo("v2");
+        assertThat(store.asOf("tx-1", BASE_TIME.plusHours(2)).orElseThrow().getId()).isEqualTo("tx-1");
+
+        // When - updated after archiving
+        save(transaction("99", "USD", "v5"), BASE_TIME.plusHours(2));
+
+        // Then
+        assertThat(store.history("tx-1").orElseThrow())
+                .extracting(version -> version.transaction().getDescription())
+                .containsExactly("v0", "v1", "v2", "v3", "v4", "v5");
+    }
+
+    @Test
+    void onDeleted_ShouldDropChainAndReuseItsSpace() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            save(transaction(String.valueOf(i), "USD", "v" + i), BASE_TIME.plusMinutes(i));
+        }
+        store.onArchived("tx-1", BASE_TIME.plusHours(1));
+        save(other("tx-2", "kept"), BASE_TIME);
+        save(other("tx-2", "kept again"), BASE_TIME.plusMinutes(1));
+        store.onArchived("tx-2", BASE_TIME.plusHours(1));
+        long fileSize = store.getColdStoreBytes();
+
+        // When
+        repository.remove("tx-1");
+        store.onDeleted("tx-1", BASE_TIME.plusHours(3));
+
+        // Then - a deleted transaction has no history, and its blocks are free
+        assertThat(store.getTrackedTransactionCount()).isEqualTo(1);
+        assertThat(store.history("tx-1")).isEmpty();
+        assertThat(store.asOf("tx-1", BASE_TIME.plusHours(2))).isEmpty();
+        assertThat(store.getColdStoreFreeBytes()).isPositive();
+        assertThat(store.getColdVersionCount()).isEqualTo(2);
+
+        // When - new versions are written
+        for (int i = 0; i < 10; i++) {
+            save(transaction(String.valueOf(i), "EUR", "w" + i), BASE_TIME.plusMinutes(10 + i));
+        }
+
+        // Then - into the freed space, without growing the file
+        assertThat(store.getColdStoreBytes()).isLessThanOrEqualTo(fileSize);
+        assertThat(store.history("tx-2").orElseThrow())
+                .extracting(version -> version.transaction().getDescription())
+                .containsExactly("kept", "kept again");
+
+        // When - the last chain goes, the file is truncated
+        store.onDeleted("tx-1", BASE_TIME.plusHours(4));
+        store.onDeleted("tx-2", BASE_TIME.plusHours(4));
+
+        // Then
+        assertThat(store.getColdStoreBytes()).isZero();
+        assertThat(store.getColdStoreFreeBytes()).isZero();
+    }
+
+    /**
+     * Store the state and notify the history store like the service does
+     */
+    private void save(Transaction transaction, LocalDateTime changedAt) {
+        Transaction previous = repository.put(transaction.getId(), transaction);
+        if (previous == null) {
+            store.onSaved(transaction, changedAt);
+        } else {
+            store.onUpdated(previous, transaction, changedAt);
+        }
+    }
+
+    private static Transaction other(String id, String description) {
+        Transaction transaction = transaction("1", "GBP", description);
+        transaction.setId(id);
+        return transaction;
+    }
+
+    private static Transaction transaction(String amount, String currency, String description) {
+        Transaction transaction = new Transaction(new BigDecimal(amount), currency, "DEPOSIT", description, "REF-1");
+        transaction.setId("tx-1");
+        transaction.setTimestamp(BASE_TIME);
+        return transaction;
+    }
+}
@@ -0,0 +1,93 @@
+package com.hsbc.transaction.hotkey;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Hot Key Aware Cache Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class HotKeyAwareCacheTest {
+
+    private final Map<Object, Object> source = new ConcurrentHashMap<>();
+    private HotKeySketch sketch;
+    private HotKeyAwareCache cache;
+
+    @BeforeEach
+    void setUp() {
+        sketch = new HotKeySketch(1024, 2, 10, 1_000_000);
+        cache = new HotKeyAwareCache("transactions", Caffeine.newBuilder().build(), sketch, source::get, null, Runnable::run);
+        source.put("hot", "v1");
+        source.put("cold", "v1");
+        cache.put("hot", "v1");
+        cache.put("cold", "v1");
+    }
+
+    @Test
+    void evict_HotKey_ShouldReloadInsteadOfDropping() {
+        readTimes("hot", 10);
+        readTimes("cold", 2);
+        assertThat(sketch.isHot("hot")).isTrue();
+        assertThat(sketch.isHot("cold")).isFalse();
+
+        source.put("hot", "v2");
+        source.put("cold", "v2");
+        cache.evict("hot");
+        cache.evict("cold");
+
+        assertThat(cache.getNativeCache().getIfPresent("hot")).isEqualTo("v2");
+        assertThat(cache.getNativeCache().getIfPresent("cold")).isNull();
+        assertThat(cache.getReloadCount()).isEqualTo(1);
+
+        // A deleted hot key is not kept
+        source.remove("hot");
+        cache.evict("hot");
+        assertThat(cache.getNativeCache().getIfPresent("hot")).isNull();
+    }
+
+    @Test
+    void clear_ShouldKeepHotKeysAndDropTheRest() {
+        readTimes("hot", 10);
+        source.put("hot", "v2");
+
+        cache.clear();
+
+        assertThat(cache.getNativeCache().asMap()).containsOnly(entry("hot", "v2"));
+    }
+
+    @Test
+    void sketch_ShouldKeepMostReadKeysAndCoolDownWithAge() {
+        HotKeySketch small = new HotKeySketch(1024, 2, 4, 100);
+        for (int i = 0; i < 10; i++) {
+            small.record("a");
+        }
+        for (int i = 0; i < 6; i++) {
+            small.record("b");
+        }
+        for (int i = 0; i < 8; i++) {
+            small.record("c");
+        }
+        // "c" displaced the less read "b"
+        assertThat(small.hotKeys()).extracting(HotKeySketch.HotKey::key).containsExactly("a", "c");
+
+        // Reads of other keys age the sketch three times; the hot keys fall below half the minimum
+        for (int i = 0; i < 276; i++) {
+            small.record("other-" + i);
+        }
+        assertThat(small.getHotKeyCount()).isZero();
+    }
+
+    private void readTimes(String key, int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(cache.get(key)).isNotNull();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.hsbc.transaction.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Idempotency Filter Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"amount\":100.00,\"currency\":\"USD\",\"transactionType\":\"DEPOSIT\"}";
+
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(
+                new IdempotencyStore(100, Duration.ofMinutes(1)),
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                Duration.ofSeconds(5));
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void doFilter_ReplayWithSameKey_ShouldReturnRecordedResponseWithoutExecuting() throws Exception {
+        // Given
+        FilterChain chain = createdChain(null);
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), chain);
+
+        // When
+        MockHttpServletResponse replay = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", BODY), replay, chain);
+
+        // Then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(replay.getStatus()).isEqualTo(201);
+        assertThat(replay.getContentAsString()).isEqualTo("{\"id\":\"1\"}");
+        assertThat(replay.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void doFilter_SameKeyDifferentPayload_ShouldReturnUnprocessableEntity() throws Exception {
+        // Given
+        FilterChain chain = createdChain(null);
+        filter.doFilter(request("key-2", BODY), new MockHttpServletResponse(), chain);
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("key-2", BODY.replace("100.00", "200.00")), response, chain);
+
+        // Then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void doFilter_SameKeyDifferentAccept_ShouldReturnUnprocessableEntity() throws Exception {
+        // Given
+        FilterChain chain = createdChain(null);
+        filter.doFilter(request("key-6", BODY), new MockHttpServletResponse(), chain);
+
+        // When - the recorded JSON must not be replayed to a client asking for CBOR
+        MockHttpServletRequest cbor = request("key-6", BODY);
+        cbor.addHeader("Accept", "application/cbor");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(cbor, response, chain);
+
+        // Then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void doFilter_RetryOfGzippedCreate_ShouldReplayContentEncodingOnlyToMatchingClient() throws Exception {
+        // Given - the create response was compressed for a client accepting gzip
+        FilterChain gzipped = (req, res) -> {
+            req.getInputStream().readAllBytes();
+            executions.incrementAndGet();
+            HttpServletResponse response = (HttpServletResponse) res;
+            response.setStatus(201);
+            response.setContentType("application/json");
+            response.addHeader("Vary", "Accept-Encoding");
+            response.setHeader("Content-Encoding", "gzip");
+            response.getOutputStream().write(gzip("{\"id\":\"1\"}"));
+        };
+        MockHttpServletRequest original = request("key-7", BODY);
+        original.addHeader("Accept-Encoding", "gzip");
+        filter.doFilter(original, new MockHttpServletResponse(), gzipped);
+
+        // When
+        MockHttpServletRequest retry = request("key-7", BODY);
+        retry.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse replay = new MockHttpServletResponse();
+        filter.doFilter(retry, replay, gzipped);
+        MockHttpServletResponse plain = new MockHttpServletResponse();
+        filter.doFilter(request("key-7", BODY), plain, gzipped);
+
+        // Then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(replay.getStatus()).isEqualTo(201);
+        assertThat(replay.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(replay.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(replay.getContentAsByteArray()))) {
+            assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"1\"}");
+        }
+        assertThat(plain.getStatus()).isEqualTo(422);
+        assertThat(plain.getHeader("Content-Encoding")).isNull();
+    }
+
+    @Test
+    void doFilter_ServerError_ShouldReleaseKeyForRetry() throws Exception {
+        // Given
+        FilterChain failing = (req, res) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(500);
+        };
+        filter.doFilter(request("key-3", BODY), new MockHttpServletResponse(), failing);
+
+        // When
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("key-3", BODY), retry, createdChain(null));
+
+        // Then
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    void doFilter_RetryableRejection_ShouldReleaseKeyForRetry() throws Exception {
+        // Given - shed by admission control before reaching the controller
+        FilterChain shed = (req, res) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(429);
+        };
+        filter.doFilter(request("key-5", BODY), new MockHttpServletResponse(), shed);
+
+        // When
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("key-5", BODY), retry, createdChain(null));
+
+        // Then
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(IdempotencyFilter.isRetryable(503)).isTrue();
+        assertThat(IdempotencyFilter.isRetryable(409)).isFalse();
+    }
+
+    @Test
+    void doFilter_ConcurrentDuplicates_ShouldWaitForFirstRequest() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = createdChain(release);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            Future<?>[] futures = new Future<?>[4];
+            MockHttpServletResponse[] responses = new MockHttpServletResponse[4];
+            for (int i = 0; i < 4; i++) {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                responses[i] = response;
+                futures[i] = executor.submit(() -> {
+                    filter.doFilter(request("key-4", BODY), response, chain);
+                    return null;
+                });
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+
+            // Then
+            assertThat(executions.get()).isEqualTo(1);
+            for (MockHttpServletResponse response : responses) {
+                assertThat(response.getStatus()).isEqualTo(201);
+                assertThat(response.getContentAsString()).isEqualTo("{\"id\":\"1\"}");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private FilterChain createdChain(CountDownLatch release) {
+        return (req, res) -> {
+            req.getInputStream().readAllBytes();
+            int id = executions.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            res.setContentType("application/json");
+            ((HttpServletResponse) res).setStatus(201);
+            res.getOutputStream().write(("{\"id\":\"" + id + "\"}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(bytes)) {
+            output.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transactions");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,146 @@
+package com.hsbc.transaction.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hsbc.transaction.changefeed.TransactionChangeLog;
+import com.hsbc.transaction.dto.TransactionRequest;
+import com.hsbc.transaction.ledger.AccountLedger;
+import com.hsbc.transaction.repository.impl.InMemoryTransactionRepository;
+import com.hsbc.transaction.service.impl.TransactionServiceImpl;
+import com.hsbc.transaction.wire.CompactTransactionModule;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Streaming Ingest Server Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class IngestServerTest {
+
+    private final ObjectMapper cborMapper = CompactTransactionModule.cborMapper(new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+    private ValidatorFactory validatorFactory;
+    private InMemoryTransactionRepository repository;
+    private AccountLedger ledger;
+    private IngestServer server;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        repository = new InMemoryTransactionRepository();
+        TransactionServiceImpl service = new TransactionServiceImpl(repository, new TransactionChangeLog(1024));
+        ledger = new AccountLedger(16);
+        service.setLedger(ledger);
+        server = new IngestServer(service, validatorFactory.getValidator(), cborMapper, 0, 64);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        validatorFactory.close();
+    }
+
+    @Test
+    void pipelinedCreates_ShouldBeAppliedInOrderAndAcknowledgedInBatches() throws Exception {
+        // Given
+        List<CompletableFuture<IngestClient.Ack>> acks = new ArrayList<>();
+
+        // When - 1000 creates sent without waiting, one with a reused reference and one invalid
+        try (IngestClient client = new IngestClient("localhost", server.getPort(), cborMapper)) {
+            for (int i = 0; i < 1000; i++) {
+                String reference = i == 500 ? "STREAM-0" : "STREAM-" + i;
+                BigDecimal amount = i == 700 ? new BigDecimal("-1") : new BigDecimal(i + 1);
+                acks.add(client.create(new TransactionRequest(amount, "USD", "DEPOSIT", "Streamed " + i, reference)));
+            }
+        }
+
+        // Then
+        for (int i = 0; i < acks.size(); i++) {
+            IngestClient.Ack ack = acks.get(i).get(5, TimeUnit.SECONDS);
+            if (i == 500) {
+                assertThat(ack.status()).isEqualTo(409);
+            } else if (i == 700) {
+                assertThat(ack.status()).isEqualTo(400);
+                assertThat(ack.message()).contains("amount");
+            } else {
+                assertThat(ack.isCreated()).isTrue();
+                assertThat(ack.transaction().getReferenceNumber()).isEqualTo("STREAM-" + i);
+                assertThat(repository.findById(ack.transaction().getId())).isPresent();
+            }
+        }
+        assertThat(repository.count()).isEqualTo(998);
+        assertThat(server.getCreatedCount()).isEqualTo(998);
+        assertThat(server.getRejectedCount()).isEqualTo(2);
+        assertThat(server.getAckBatchCount()).isBetween(1000L / 64, 999L);
+    }
+
+    @Test
+    void accountCreates_ShouldBeAcknowledgedWithAccountsOrRejectedForInsufficientFunds() throws Exception {
+        // Given
+        TransactionRequest deposit = new TransactionRequest(new BigDecimal("100.00"), "USD", "DEPOSIT", null, null);
+        deposit.setAccountId("ACC-1");
+        TransactionRequest overdraft = new TransactionRequest(new BigDecimal("150.00"), "USD", "WITHDRAWAL", null, null);
+        overdraft.setAccountId("ACC-1");
+
+        // When
+        IngestClient.Ack deposited;
+        IngestClient.Ack rejected;
+        try (IngestClient client = new IngestClient("localhost", server.getPort(), cborMapper)) {
+            CompletableFuture<IngestClient.Ack> first = client.create(deposit);
+            CompletableFuture<IngestClient.Ack> second = client.create(overdraft);
+            client.flush();
+            deposited = first.get(5, TimeUnit.SECONDS);
+            rejected = second.get(5, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertThat(deposited.isCreated()).isTrue();
+        assertThat(deposited.transaction().getAccountId()).isEqualTo("ACC-1");
+        assertThat(rejected.status()).isEqualTo(422);
+        assertThat(rejected.message()).contains("Insufficient funds");
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(ledger.balances("ACC-1").orElseThrow()).containsEntry("USD", new BigDecimal("100.00"));
+    }
+
+    @Test
+    void connectionClosedByServer_ShouldFailPendingCreates() throws Exception {
+        // Given
+        IngestClient client = new IngestClient("localhost", server.getPort(), cborMapper);
+        CompletableFuture<IngestClient.Ack> first = client.create(
+                new TransactionRequest(BigDecimal.TEN, "USD", "DEPOSIT", null, null));
+        client.flush();
+        assertThat(first.get(5, TimeUnit.SECONDS).isCreated()).isTrue();
+
+        // When
+        server.stop();
+        CompletableFuture<IngestClient.Ack> second = client.create(
+                new TransactionRequest(BigDecimal.TEN, "USD", "DEPOSIT", null, null));
+        try {
+            client.flush();
+        } catch (IOException ignored) {
+            // The write itself may already fail
+        }
+
+        // Then
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IOException.class);
+        client.close();
+    }
+}
@@ -0,0 +1,186 @@
+package com.hsbc.transaction.ledger;
+
+import com.hsbc.transaction.exception.InsufficientFundsException;
+import com.hsbc.transaction.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Account Ledger Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class AccountLedgerTest {
+
+    private AccountLedger ledger;
+    private AtomicInteger commits;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new AccountLedger(16);
+        commits = new AtomicInteger();
+    }
+
+    @Test
+    void post_DepositAndWithdrawal_ShouldMoveBalance() {
+        // When
+        post(transaction("t1", "100.00", "DEPOSIT", "A", null));
+        post(transaction("t2", "30.00", "WITHDRAWAL", "A", null));
+        post(transaction("t3", "5.00", "REFUND", "A", null));
+        post(transaction("t4", "10.00", "PAYMENT", "A", null));
+
+        // Then
+        assertThat(ledger.balances("A").orElseThrow().get("USD")).isEqualByComparingTo("65.00");
+        assertThat(ledger.balances("B")).isEmpty();
+        assertThat(ledger.getAccountCount()).isEqualTo(1);
+        assertThat(commits.get()).isEqualTo(4);
+    }
+
+    @Test
+    void post_WithdrawalBeyondBalance_ShouldRejectWithoutCommitting() {
+        // Given
+        post(transaction("t1", "50.00", "DEPOSIT", "A", null));
+
+        // When & Then
+        assertThatThrownBy(() -> post(transaction("t2", "50.01", "WITHDRAWAL", "A", null)))
+                .isInstanceOf(InsufficientFundsException.class)
+                .hasMessageContaining("A");
+        assertThat(commits.get()).isEqualTo(1);
+        assertThat(ledger.balances("A").orElseThrow().get("USD")).isEqualByComparingTo("50.00");
+        assertThat(ledger.getRejectedCount()).isEqualTo(1);
+        assertThat(ledger.changesBalances("t2", null)).isFalse();
+    }
+
+    @Test
+    void post_Transfer_ShouldMoveFundsBetweenAccounts() {
+        // Given
+        post(transaction("t1", "100.00", "DEPOSIT", "A", null));
+
+        // When
+        post(transaction("t2", "40.00", "TRANSFER", "A", "B"));
+
+        // Then
+        assertThat(ledger.balances("A").orElseThrow()).containsEntry("USD", new BigDecimal("60.00"));
+        assertThat(ledger.balances("B").orElseThrow()).containsEntry("USD", new BigDecimal("40.00"));
+        assertThatThrownBy(() -> post(transaction("t3", "41.00", "TRANSFER", "B", "A")))
+                .isInstanceOf(InsufficientFundsException.class);
+    }
+
+    @Test
+    void post_UpdateAndDelete_ShouldPostDifferenceAndReverse() {
+        // Given
+        post(transaction("t1", "100.00", "DEPOSIT", "A", null));
+        post(transaction("t2", "40.00", "WITHDRAWAL", "A", null));
+
+        // When
+        post(transaction("t2", "90.00", "WITHDRAWAL", "A", null));
+
+        // Then: only the difference is checked and posted
+        assertThat(ledger.balances("A").orElseThrow().get("USD")).isEqualByComparingTo("10.00");
+        assertThatThrownBy(() -> post(transaction("t2", "120.00", "WITHDRAWAL", "A", null)))
+                .isInstanceOf(InsufficientFundsException.class);
+        assertThatThrownBy(() -> post(transaction("t1", "100.00", "DEPOSIT", "B", null)))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        // When
+        ledger.post("t2", null, () -> commits.incrementAndGet());
+        post(transaction("t1", "100.00", "DEPOSIT", "B", null));
+
+        // Then
+        assertThat(ledger.balances("A").orElseThrow().get("USD")).isEqualByComparingTo("0.00");
+        assertThat(ledger.balances("B").orElseThrow().get("USD")).isEqualByComparingTo("100.00");
+        assertThat(ledger.changesBalances("t2", null)).isFalse();
+        assertThat(ledger.changesBalances("t1", null)).isTrue();
+    }
+
+    @Test
+    void onSaved_AfterPost_ShouldNotApplyTwice() {
+        // Given
+        Transaction deposit = transaction("t1", "100.00", "DEPOSIT", "A", null);
+        post(deposit);
+
+        // When
+        ledger.onSaved(deposit, LocalDateTime.now());
+        ledger.onSaved(transaction("t2", "20.00", "WITHDRAWAL", "A", null), LocalDateTime.now());
+        ledger.onDeleted("t1", LocalDateTime.now());
+        ledger.onDeleted("t1", LocalDateTime.now());
+
+        // Then: followed changes are applied once and without funds checks
+        assertThat(ledger.balances("A").orElseThrow().get("USD")).isEqualByComparingTo("-20.00");
+    }
+
+    @Test
+    void entriesOf_TransactionWithoutAccount_ShouldPostNothing() {
+        // When
+        post(transaction("t1", "100.00", "WITHDRAWAL", null, null));
+
+        // Then
+        assertThat(ledger.getAccountCount()).isZero();
+        assertThat(ledger.getPostingCount()).isZero();
+        assertThat(AccountLedger.entriesOf(transaction("t2", "1.00", "UNKNOWN", "A", null))).isEmpty();
+    }
+
+    @Test
+    void post_ConcurrentOppositeTransfers_ShouldNotDeadlockAndConserveFunds() throws Exception {
+        // Given
+        post(transaction("seed-a", "1000.00", "DEPOSIT", "A", null));
+        post(transaction("seed-b", "1000.00", "DEPOSIT", "B", null));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            // When
+            for (int i = 0; i < 2000; i++) {
+                String id = "t" + i;
+                boolean forward = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    try {
+                        ledger.post(id, transaction(id, "7.00", "TRANSFER", forward ? "A" : "B", forward ? "B" : "A"),
+                                () -> null);
+                    } catch (InsufficientFundsException e) {
+                        // Rejected transfers leave both balances unchanged
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            // Then
+            Map<String, BigDecimal> a = ledger.balances("A").orElseThrow();
+            Map<String, BigDecimal> b = ledger.balances("B").orElseThrow();
+            assertThat(a.get("USD").add(b.get("USD"))).isEqualByComparingTo("2000.00");
+            assertThat(a.get("USD").signum()).isNotNegative();
+            assertThat(b.get("USD").signum()).isNotNegative();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void post(Transaction transaction) {
+        ledger.post(transaction.getId(), transaction, () -> commits.incrementAndGet());
+    }
+
+    private static Transaction transaction(String id, String amount, String type, String accountId,
+                                           String counterpartyAccountId) {
+        Transaction transaction = new Transaction(new BigDecimal(amount), "usd", type, "Test", null);
+        transaction.setId(id);
+        transaction.setAccountId(accountId);
+        transaction.setCounterpartyAccountId(counterpartyAccountId);
+        return transaction;
+    }
+}
@@ -0,0 +1,202 @@
+package com.hsbc.transaction.replication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hsbc.transaction.TransactionManagementApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Replication Integration Test Class
+ *
+ * Runs a leader and two followers as separate JVM processes on localhost
+ * and checks read-your-writes reads and convergence of the replicas.
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class ReplicationIntegrationTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+    @TempDir
+    static Path tempDir;
+
+    private static final List<Process> processes = new ArrayList<>();
+    private static final HttpClient http = HttpClient.newHttpClient();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static int replicationPort;
+    private static String leaderUrl;
+    private static String followerUrl;
+
+    @BeforeAll
+    static void startLeaderAndFollower() throws Exception {
+        replicationPort = freePort();
+        leaderUrl = start("leader", "--transaction.replication.role=leader",
+                "--transaction.replication.port=" + replicationPort);
+        followerUrl = start("follower-1", followerArgs());
+        awaitHealthy(leaderUrl);
+        awaitHealthy(followerUrl);
+    }
+
+    @AfterAll
+    static void stopProcesses() {
+        processes.forEach(Process::destroyForcibly);
+    }
+
+    @Test
+    void replicas_ShouldServeOwnWritesAndConverge() throws Exception {
+        // Given - writes on the leader
+        Map<String, Long> sequences = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            HttpResponse<String> created = send("POST", leaderUrl + "/api/transactions",
+                    "{\"amount\":" + (i + 1) + ",\"currency\":\"USD\",\"transactionType\":\"DEPOSIT\","
+                            + "\"referenceNumber\":\"REP-" + i + "\"}", Map.of(), 201);
+            sequences.put(json(created).get("id").asText(), sequenceOf(created));
+        }
+
+        // When & Then - a follower read with the write's sequence sees the write
+        for (Map.Entry<String, Long> entry : sequences.entrySet()) {
+            HttpResponse<String> fetched = send("GET", followerUrl + "/api/transactions/" + entry.getKey(), null,
+                    Map.of(ReplicationPosition.MIN_SEQUENCE_HEADER, String.valueOf(entry.getValue())), 200);
+            assertThat(json(fetched).get("id").asText()).isEqualTo(entry.getKey());
+            assertThat(sequenceOf(fetched)).isGreaterThanOrEqualTo(entry.getValue());
+        }
+
+        String updatedId = sequences.keySet().iterator().next();
+        HttpResponse<String> updated = send("PUT", leaderUrl + "/api/transactions/" + updatedId,
+                "{\"amount\":999.99,\"currency\":\"EUR\",\"transactionType\":\"WITHDRAWAL\"}", Map.of(), 200);
+        HttpResponse<String> replicated = send("GET", followerUrl + "/api/transactions/" + updatedId, null,
+                Map.of(ReplicationPosition.MIN_SEQUENCE_HEADER, String.valueOf(sequenceOf(updated))), 200);
+        assertThat(json(replicated).get("currency").asText()).isEqualTo("EUR");
+
+        String deletedId = sequences.keySet().stream().filter(id -> !id.equals(updatedId)).findFirst().orElseThrow();
+        send("DELETE", leaderUrl + "/api/transactions/" + deletedId, null, Map.of(), 204);
+
+        // Writes are only accepted by the leader
+        send("POST", followerUrl + "/api/transactions",
+                "{\"amount\":1,\"currency\":\"USD\",\"transactionType\":\"DEPOSIT\"}", Map.of(), 421);
+
+        // A follower joining later catches up from a snapshot
+        String lateFollowerUrl = start("follower-2", followerArgs());
+        awaitHealthy(lateFollowerUrl);
+
+        String expected = listing(leaderUrl);
+        assertThat(expected).doesNotContain(deletedId).contains(updatedId);
+        awaitListing(followerUrl, expected);
+        awaitListing(lateFollowerUrl, expected);
+
+        // Lag is exposed as a metric
+        HttpResponse<String> lag = send("GET", followerUrl + "/actuator/metrics/transaction.replication.lag.events",
+                null, Map.of(), 200);
+        assertThat(json(lag).get("measurements").get(0).get("value").asDouble()).isZero();
+    }
+
+    private static String[] followerArgs() {
+        return new String[]{"--transaction.replication.role=follower",
+                "--transaction.replication.leader-port=" + replicationPort,
+                "--transaction.replication.leader-url=" + leaderUrl};
+    }
+
+    private static String start(String name, String... args) throws IOException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-cp", System.getProperty("java.class.path"),
+                TransactionManagementApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.jmx.enabled=false",
+                "--logging.level.org.springframework.cache=WARN"));
+        command.addAll(List.of(args));
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(tempDir.resolve(name + ".log").toFile())
+                .start());
+        return "http://localhost:" + port;
+    }
+
+    private static void awaitHealthy(String baseUrl) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = http.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions/health")).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(200);
+        }
+        fail("Instance at " + baseUrl + " did not start within " + STARTUP_TIMEOUT);
+    }
+
+    private static void awaitListing(String baseUrl, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        String actual = listing(baseUrl);
+        while (!actual.equals(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            actual = listing(baseUrl);
+        }
+        assertThat(actual).as("listing of " + baseUrl).isEqualTo(expected);
+    }
+
+    /**
+     * All transactions of an instance ordered by id, independent of timestamp ties
+     */
+    private static String listing(String baseUrl) throws Exception {
+        JsonNode page = json(send("GET", baseUrl + "/api/transactions?page=0&size=100", null, Map.of(), 200));
+        TreeMap<String, String> byId = new TreeMap<>();
+        page.get("content").forEach(node -> byId.put(node.get("id").asText(), node.toString()));
+        return byId.toString();
+    }
+
+    private static HttpResponse<String> send(String method, String url, String body, Map<String, String> headers,
+                                             int expectedStatus) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json");
+        headers.forEach(builder::header);
+        builder.method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body));
+        HttpResponse<String> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(method + " " + url + ": " + response.body()).isEqualTo(expectedStatus);
+        return response;
+    }
+
+    private static JsonNode json(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+
+    private static long sequenceOf(HttpResponse<String> response) {
+        return Long.parseLong(response.headers().firstValue(ReplicationPosition.SEQUENCE_HEADER).orElseThrow());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
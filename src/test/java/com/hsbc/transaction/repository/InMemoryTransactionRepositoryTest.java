@@ -0,0 +1,79 @@
+package com.hsbc.transaction.repository;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.impl.InMemoryTransactionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * In-Memory Transaction Repository Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class InMemoryTransactionRepositoryTest extends TransactionRepositoryContractTest<InMemoryTransactionRepository> {
+
+    @Override
+    protected InMemoryTransactionRepository createRepository() {
+        return new InMemoryTransactionRepository();
+    }
+
+    @Test
+    void findByAccount_BeyondTimelineLimit_ShouldPageThroughTrimmedTransactions() {
+        // Given - three positions per account, so a-0 to a-2 are trimmed from the index
+        InMemoryTransactionRepository limited = new InMemoryTransactionRepository(3);
+        for (int i = 0; i < 6; i++) {
+            limited.save(accountTransaction("a-" + i, i, "A", null));
+        }
+        limited.deleteById("a-4");
+        limited.save(accountTransaction("a-x", 1, "A", null));
+
+        // When
+        List<String> ids = new ArrayList<>();
+        TimelinePosition after = null;
+        List<Transaction> page;
+        while (!(page = limited.findByAccount("A", after, 2)).isEmpty()) {
+            page.forEach(transaction -> ids.add(transaction.getId()));
+            after = TimelinePosition.of(page.get(page.size() - 1));
+        }
+
+        // Then
+        assertThat(ids).containsExactly("a-5", "a-3", "a-2", "a-1", "a-x", "a-0");
+    }
+
+    @Test
+    void findByAccount_TrimmedTransferAcrossHours_ShouldFollowItsCurrentAccounts() {
+        // Given - two positions per account; the hourly transfer t is trimmed from A but still indexed for B
+        InMemoryTransactionRepository limited = new InMemoryTransactionRepository(2);
+        for (int hour = 0; hour < 4; hour++) {
+            limited.save(accountTransaction("a-" + hour, hour * 3600 + 1800, "A", null));
+        }
+        limited.save(accountTransaction("t", 3600, "A", "B"));
+        limited.save(accountTransaction("b-0", 7200, "B", null));
+
+        // When - the transfer's counterparty changes while it is trimmed from A
+        limited.save(accountTransaction("t", 3600, "A", "C"));
+
+        // Then
+        assertThat(pageThrough(limited, "A", 2)).containsExactly("a-3", "a-2", "a-1", "t", "a-0");
+        assertThat(pageThrough(limited, "B", 1)).containsExactly("b-0");
+        assertThat(pageThrough(limited, "C", 1)).containsExactly("t");
+        limited.deleteById("t");
+        assertThat(pageThrough(limited, "A", 3)).containsExactly("a-3", "a-2", "a-1", "a-0");
+    }
+
+    private static List<String> pageThrough(InMemoryTransactionRepository repository, String accountId, int size) {
+        List<String> ids = new ArrayList<>();
+        TimelinePosition after = null;
+        List<Transaction> page;
+        while (!(page = repository.findByAccount(accountId, after, size)).isEmpty()) {
+            page.forEach(transaction -> ids.add(transaction.getId()));
+            after = TimelinePosition.of(page.get(page.size() - 1));
+        }
+        return ids;
+    }
+}
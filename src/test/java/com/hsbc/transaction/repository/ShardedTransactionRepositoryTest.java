@@ -0,0 +1,188 @@
+package com.hsbc.transaction.repository;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.impl.ShardedTransactionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Sharded Transaction Repository Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class ShardedTransactionRepositoryTest extends TransactionRepositoryContractTest<ShardedTransactionRepository> {
+
+    @Override
+    protected ShardedTransactionRepository createRepository() {
+        return new ShardedTransactionRepository(8);
+    }
+
+    @Override
+    protected void close(ShardedTransactionRepository repository) {
+        repository.shutdown();
+    }
+
+    @Test
+    void findAll_ShouldMergeShardsNewestFirst() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            repository.save(transaction("id-" + i, i, null));
+        }
+
+        // When
+        List<Transaction> all = repository.findAll();
+        List<Transaction> secondPage = repository.findAll(1, 10);
+
+        // Then
+        assertThat(all).hasSize(100);
+        assertThat(all.get(0).getId()).isEqualTo("id-99");
+        assertThat(all.get(99).getId()).isEqualTo("id-0");
+        assertThat(secondPage).extracting(Transaction::getId)
+                .containsExactly("id-89", "id-88", "id-87", "id-86", "id-85",
+                        "id-84", "id-83", "id-82", "id-81", "id-80");
+        assertThat(repository.findAll(10, 10)).isEmpty();
+        assertThat(repository.count()).isEqualTo(100);
+    }
+
+    @Test
+    void save_DuplicateReferenceNumber_ShouldThrowException() {
+        // Given
+        repository.save(transaction("a", 0, "REF001"));
+
+        // When & Then
+        assertThatThrownBy(() -> repository.save(transaction("b", 1, "REF001")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("REF001");
+        assertThat(repository.existsById("b")).isFalse();
+    }
+
+    @Test
+    void save_ChangedReferenceNumber_ShouldReleaseOldReference() {
+        // Given
+        repository.save(transaction("a", 0, "REF001"));
+
+        // When
+        repository.save(transaction("a", 0, "REF002"));
+
+        // Then
+        assertThat(repository.existsByReferenceNumber("REF001")).isFalse();
+        assertThat(repository.findByReferenceNumber("REF002")).map(Transaction::getId).contains("a");
+        repository.save(transaction("b", 1, "REF001"));
+        assertThat(repository.findByReferenceNumber("REF001")).map(Transaction::getId).contains("b");
+    }
+
+    @Test
+    void findById_ShouldReturnCopyIsolatedFromStore() {
+        // Given
+        repository.save(transaction("a", 0, "REF001"));
+
+        // When
+        repository.findById("a").orElseThrow().setAmount(new BigDecimal("999.00"));
+
+        // Then
+        assertThat(repository.findById("a").orElseThrow().getAmount()).isEqualByComparingTo("1.00");
+    }
+
+    @Test
+    void deleteById_ShouldRemoveFromAllIndexes() {
+        // Given
+        repository.save(transaction("a", 0, "REF001"));
+
+        // When
+        boolean deleted = repository.deleteById("a");
+
+        // Then
+        assertThat(deleted).isTrue();
+        assertThat(repository.existsById("a")).isFalse();
+        assertThat(repository.existsByReferenceNumber("REF001")).isFalse();
+        assertThat(repository.findAll()).isEmpty();
+        assertThat(repository.deleteById("a")).isFalse();
+    }
+
+    @Test
+    void saveAll_And_deleteAllById_ShouldReportPerItemOutcome() {
+        // Given
+        for (int i = 0; i < 20; i++) {
+            repository.save(transaction("id-" + i, i, "REF-" + i));
+        }
+        Transaction moved = transaction("id-1", 1, "REF-NEW");
+        Transaction clash = transaction("id-2", 2, "REF-3");
+        Transaction added = transaction("id-20", 20, null);
+
+        // When
+        Set<String> rejected = repository.saveAll(List.of(moved, clash, added));
+        Set<String> deleted = repository.deleteAllById(List.of("id-5", "id-6", "missing"));
+
+        // Then
+        assertThat(rejected).containsExactly("id-2");
+        assertThat(repository.findById("id-2").orElseThrow().getReferenceNumber()).isEqualTo("REF-2");
+        assertThat(repository.existsByReferenceNumber("REF-1")).isFalse();
+        assertThat(repository.existsByReferenceNumber("REF-NEW")).isTrue();
+        assertThat(deleted).containsExactlyInAnyOrder("id-5", "id-6");
+        assertThat(repository.existsByReferenceNumber("REF-5")).isFalse();
+        assertThat(repository.count()).isEqualTo(19);
+    }
+
+    @Test
+    void save_ConcurrentWritersWithSameReference_ShouldAdmitExactlyOne() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        try {
+            // When
+            for (int i = 0; i < 64; i++) {
+                String id = "id-" + i;
+                int offset = i;
+                futures.add(executor.submit(() -> {
+                    try {
+                        repository.save(transaction(id, offset, "SHARED"));
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        return false;
+                    }
+                }));
+            }
+            int successes = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get(5, TimeUnit.SECONDS)) {
+                    successes++;
+                }
+            }
+
+            // Then
+            assertThat(successes).isEqualTo(1);
+            assertThat(repository.count()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void findAll_LargeStore_ShouldScanShardsInParallel() {
+        // Given
+        for (int i = 0; i < 5000; i++) {
+            repository.save(transaction("id-" + i, i, null));
+        }
+
+        // When
+        List<Transaction> all = repository.findAll();
+
+        // Then
+        assertThat(all).hasSize(5000);
+        for (int i = 1; i < all.size(); i++) {
+            assertThat(all.get(i - 1).getTimestamp()).isAfterOrEqualTo(all.get(i).getTimestamp());
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.hsbc.transaction.repository;
+
+import com.hsbc.transaction.model.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Transaction Repository Contract Test Class
+ *
+ * Conformance suite for the contract documented on {@link TransactionRepository}.
+ * Each backend's test class extends it and supplies a fresh repository per
+ * test, so every backend is held to the same behaviour.
+ *
+ * @param <R> repository implementation under test
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+public abstract class TransactionRepositoryContractTest<R extends TransactionRepository> {
+
+    protected R repository;
+    protected LocalDateTime baseTime;
+
+    /**
+     * Create an empty repository for one test
+     */
+    protected abstract R createRepository() throws Exception;
+
+    /**
+     * Release the repository after a test
+     */
+    protected void close(R repository) throws Exception {
+    }
+
+    @BeforeEach
+    void createContractRepository() throws Exception {
+        baseTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+        repository = createRepository();
+    }
+
+    @AfterEach
+    void closeContractRepository() throws Exception {
+        close(repository);
+    }
+
+    @Test
+    void contract_Save_ShouldStoreACopy() {
+        // Given
+        Transaction transaction = transaction("a", 0, "REF001");
+        repository.save(transaction);
+
+        // When
+        transaction.setAmount(new BigDecimal("500.00"));
+        repository.findById("a").orElseThrow().setDescription("changed");
+
+        // Then
+        Transaction stored = repository.findById("a").orElseThrow();
+        assertThat(stored.getAmount()).isEqualByComparingTo("1.00");
+        assertThat(stored.getDescription()).isEqualTo("Test");
+        assertThat(repository.findAll().get(0).getAmount()).isEqualByComparingTo("1.00");
+    }
+
+    @Test
+    void contract_SaveNull_ShouldThrowException() {
+        assertThatThrownBy(() -> repository.save(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void contract_FindAll_ShouldOrderNewestFirstAndPage() {
+        // Given
+        for (int i : new int[]{3, 0, 4, 1, 2}) {
+            repository.save(transaction("id-" + i, i, null));
+        }
+
+        // When & Then
+        assertThat(repository.findAll()).extracting(Transaction::getId)
+                .containsExactly("id-4", "id-3", "id-2", "id-1", "id-0");
+        assertThat(repository.findAll(1, 2)).extracting(Transaction::getId).containsExactly("id-2", "id-1");
+        assertThat(repository.findAll(2, 2)).extracting(Transaction::getId).containsExactly("id-0");
+        assertThat(repository.findAll(3, 2)).isEmpty();
+        assertThat(repository.findAll(-1, 2)).isEmpty();
+        assertThat(repository.findAll(0, 0)).isEmpty();
+        assertThat(repository.count()).isEqualTo(5);
+    }
+
+    @Test
+    void contract_Update_ShouldReplaceAndReorder() {
+        // Given
+        repository.save(transaction("a", 0, null));
+        repository.save(transaction("b", 1, null));
+
+        // When
+        Transaction moved = repository.findById("a").orElseThrow();
+        moved.setTimestamp(baseTime.plusSeconds(2));
+        moved.setAmount(new BigDecimal("7.00"));
+        repository.save(moved);
+
+        // Then
+        assertThat(repository.count()).isEqualTo(2);
+        assertThat(repository.findAll()).extracting(Transaction::getId).containsExactly("a", "b");
+        assertThat(repository.findById("a").orElseThrow().getAmount()).isEqualByComparingTo("7.00");
+    }
+
+    @Test
+    void contract_DuplicateReferenceNumber_ShouldBeRejected() {
+        // Given
+        repository.save(transaction("a", 0, "REF001"));
+
+        // When & Then
+        assertThatThrownBy(() -> repository.save(transaction("b", 1, "REF001")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("REF001");
+        assertThat(repository.existsById("b")).isFalse();
+        assertThat(repository.findByReferenceNumber("REF001")).map(Transaction::getId).contains("a");
+        repository.save(transaction("a", 0, "REF001"));
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void contract_ChangedReferenceNumber_ShouldReleaseOldReference() {
+        // Given
+        repository.save(transaction("a", 0, "REF001"));
+        repository.save(transaction("b", 1, "REF002"));
+
+        // When
+        Transaction changed = repository.findById("a").orElseThrow();
+        changed.setReferenceNumber("REF003");
+        repository.save(changed);
+        Transaction dropped = repository.findById("b").orElseThrow();
+        dropped.setReferenceNumber(null);
+        repository.save(dropped);
+
+        // Then
+        assertThat(repository.existsByReferenceNumber("REF001")).isFalse();
+        assertThat(repository.existsByReferenceNumber("REF002")).isFalse();
+        assertThat(repository.findByReferenceNumber("REF003")).map(Transaction::getId).contains("a");
+        repository.save(transaction("c", 2, "REF001"));
+        repository.save(transaction("d", 3, "REF002"));
+        assertThat(repository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void contract_BlankReferenceNumbers_ShouldNotBeIndexed() {
+        // When
+        repository.save(transaction("a", 0, null));
+        repository.save(transaction("b", 1, ""));
+        repository.save(transaction("c", 2, " "));
+
+        // Then
+        assertThat(repository.count()).isEqualTo(3);
+        assertThat(repository.existsByReferenceNumber("")).isFalse();
+        assertThat(repository.existsByReferenceNumber(" ")).isFalse();
+    }
+
+    @Test
+    void contract_NullAndBlankKeys_ShouldFindNothing() {
+        // Given
+        repository.save(transaction("a", 0, "REF001"));
+
+        // When & Then
+        for (String key : Arrays.asList(null, "", "  ")) {
+            assertThat(repository.findById(key)).isEmpty();
+            assertThat(repository.existsById(key)).isFalse();
+            assertThat(repository.deleteById(key)).isFalse();
+            assertThat(repository.findByReferenceNumber(key)).isEmpty();
+            assertThat(repository.existsByReferenceNumber(key)).isFalse();
+        }
+        assertThat(repository.findAllById(Arrays.asList(null, "a", "", "missing"))).containsOnlyKeys("a");
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void contract_FindAllById_ShouldKeepRequestOrder() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            repository.save(transaction("id-" + i, i, null));
+        }
+
+        // When
+        Map<String, Transaction> found = repository.findAllById(List.of("id-3", "missing", "id-0", "id-4"));
+
+        // Then
+        assertThat(found.keySet()).containsExactly("id-3", "id-0", "id-4");
+        assertThat(found.get("id-0").getId()).isEqualTo("id-0");
+    }
+
+    @Test
+    void contract_Delete_ShouldRemoveFromAllLookups() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            repository.save(transaction("id-" + i, i, "REF-" + i));
+        }
+
+        // When
+        boolean deleted = repository.deleteById("id-0");
+        Set<String> deletedAll = repository.deleteAllById(List.of("id-1", "id-2", "id-0", "missing"));
+
+        // Then
+        assertThat(deleted).isTrue();
+        assertThat(deletedAll).containsExactlyInAnyOrder("id-1", "id-2");
+        assertThat(repository.deleteById("id-0")).isFalse();
+        assertThat(repository.existsById("id-1")).isFalse();
+        assertThat(repository.existsByReferenceNumber("REF-1")).isFalse();
+        assertThat(repository.findAll()).extracting(Transaction::getId).containsExactly("id-4", "id-3");
+        assertThat(repository.count()).isEqualTo(2);
+        repository.save(transaction("other", 9, "REF-0"));
+        assertThat(repository.findByReferenceNumber("REF-0")).map(Transaction::getId).contains("other");
+    }
+
+    @Test
+    void contract_SaveAll_ShouldRejectPerItem() {
+        // Given
+        repository.save(transaction("a", 0, "REF-A"));
+
+        repository.save(transaction("b", 1, "REF-B"));
+
+        // When
+        Set<String> rejected = repository.saveAll(List.of(
+                transaction("c", 2, "REF-C"),
+                transaction("d", 3, "REF-A"),
+                transaction("b", 1, "REF-B2"),
+                transaction("e", 4, null)));
+
+        // Then
+        assertThat(rejected).containsExactly("d");
+        assertThat(repository.count()).isEqualTo(4);
+        assertThat(repository.existsById("d")).isFalse();
+        assertThat(repository.findByReferenceNumber("REF-B2")).map(Transaction::getId).contains("b");
+        assertThat(repository.existsByReferenceNumber("REF-B")).isFalse();
+        assertThat(repository.saveAll(List.of())).isEmpty();
+    }
+
+    @Test
+    void contract_ConcurrentSavesOfOneReference_ShouldAdmitExactlyOne() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        try {
+            // When
+            for (int i = 0; i < 64; i++) {
+                String id = "id-" + i;
+                int offset = i;
+                futures.add(executor.submit(() -> {
+                    try {
+                        repository.save(transaction(id, offset, "SHARED"));
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        return false;
+                    }
+                }));
+            }
+            int successes = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get(5, TimeUnit.SECONDS)) {
+                    successes++;
+                }
+            }
+
+            // Then
+            assertThat(successes).isEqualTo(1);
+            assertThat(repository.count()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void contract_FindByAccount_ShouldPageNewestFirstAfterPosition() {
+        // Given
+        for (int i : new int[]{3, 0, 4, 1, 2}) {
+            repository.save(accountTransaction("a-" + i, i, "A", null));
+        }
+        repository.save(accountTransaction("b-0", 5, "B", null));
+        repository.save(accountTransaction("tie-x", 2, "A", null));
+        repository.save(transaction("none", 6, null));
+
+        // When
+        List<Transaction> first = repository.findByAccount("A", null, 3);
+        List<Transaction> second = repository.findByAccount("A", TimelinePosition.of(first.get(2)), 3);
+        List<Transaction> third = repository.findByAccount("A", TimelinePosition.of(second.get(2)), 3);
+
+        // Then
+        assertThat(first).extracting(Transaction::getId).containsExactly("a-4", "a-3", "a-2");
+        assertThat(second).extracting(Transaction::getId).containsExactly("tie-x", "a-1", "a-0");
+        assertThat(third).isEmpty();
+        assertThat(repository.findByAccount("B", null, 10)).extracting(Transaction::getId).containsExactly("b-0");
+        assertThat(repository.findByAccount("missing", null, 10)).isEmpty();
+        assertThat(repository.findByAccount(null, null, 10)).isEmpty();
+        assertThat(repository.findByAccount("A", null, 0)).isEmpty();
+    }
+
+    @Test
+    void contract_FindByAccount_ShouldFollowTransfersUpdatesAndDeletes() {
+        // Given
+        repository.save(accountTransaction("t", 0, "A", "B"));
+        repository.save(accountTransaction("u", 1, "A", null));
+        repository.save(accountTransaction("v", 2, "B", null));
+
+        // When
+        Transaction moved = repository.findById("u").orElseThrow();
+        moved.setAccountId("C");
+        repository.save(moved);
+        Transaction later = repository.findById("t").orElseThrow();
+        later.setTimestamp(baseTime.plusSeconds(3));
+        repository.save(later);
+        repository.deleteById("v");
+
+        // Then
+        assertThat(repository.findByAccount("A", null, 10)).extracting(Transaction::getId).containsExactly("t");
+        assertThat(repository.findByAccount("B", null, 10)).extracting(Transaction::getId).containsExactly("t");
+        assertThat(repository.findByAccount("C", null, 10)).extracting(Transaction::getId).containsExactly("u");
+        assertThat(repository.findByAccount("A", null, 10).get(0).getTimestamp()).isEqualTo(baseTime.plusSeconds(3));
+        repository.findByAccount("A", null, 10).get(0).setAccountId("D");
+        assertThat(repository.findByAccount("A", null, 10)).hasSize(1);
+    }
+
+    protected Transaction accountTransaction(String id, int secondsOffset, String accountId, String counterpartyAccountId) {
+        Transaction transaction = transaction(id, secondsOffset, null);
+        transaction.setTransactionType(counterpartyAccountId != null ? "TRANSFER" : "DEPOSIT");
+        transaction.setAccountId(accountId);
+        transaction.setCounterpartyAccountId(counterpartyAccountId);
+        return transaction;
+    }
+
+    protected Transaction transaction(String id, int secondsOffset, String referenceNumber) {
+        Transaction transaction = new Transaction(new BigDecimal("1.00"), "USD", "DEPOSIT", "Test", referenceNumber);
+        transaction.setId(id);
+        transaction.setTimestamp(baseTime.plusSeconds(secondsOffset));
+        return transaction;
+    }
+}
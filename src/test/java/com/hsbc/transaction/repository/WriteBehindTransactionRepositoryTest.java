@@ -0,0 +1,170 @@
+package com.hsbc.transaction.repository;
+
+import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.impl.WriteBehindTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Write-behind Transaction Repository Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class WriteBehindTransactionRepositoryTest extends TransactionRepositoryContractTest<WriteBehindTransactionRepository> {
+
+    @TempDir
+    Path directory;
+
+    @Override
+    protected WriteBehindTransactionRepository createRepository() throws Exception {
+        return open();
+    }
+
+    @Override
+    protected void close(WriteBehindTransactionRepository repository) throws Exception {
+        repository.stop();
+    }
+
+    @Test
+    void flush_RepeatedWrites_ShouldCoalesceIntoOneRowWrite() throws Exception {
+        // Given
+        repository.save(transaction("a", 0, "REF001", "10.00"));
+        repository.save(transaction("a", 0, "REF001", "20.00"));
+        repository.save(transaction("a", 0, "REF001", "30.50"));
+        repository.save(transaction("b", 1, "REF002", "5"));
+        repository.deleteById("b");
+
+        // When
+        repository.flush();
+
+        // Then
+        assertThat(repository.getCoalescedCount()).isEqualTo(3);
+        assertThat(repository.getFlushedRowCount()).isEqualTo(2);
+        assertThat(repository.getQueueDepth()).isZero();
+        assertThat(repository.findById("a")).map(Transaction::getAmount).contains(new BigDecimal("30.50"));
+    }
+
+    @Test
+    void start_AfterRestart_ShouldRecoverFlushedState() throws Exception {
+        // Given
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            batch.add(transaction("id-" + i, i, "REF" + i, i + ".50"));
+        }
+        assertThat(repository.saveAll(batch)).isEmpty();
+        repository.deleteAllById(List.of("id-0", "id-1"));
+        Transaction transfer = transaction("id-2", 2, "REF-CHANGED", "1E+3");
+        transfer.setAccountId("ACC-1");
+        transfer.setCounterpartyAccountId("ACC-2");
+        repository.save(transfer);
+
+        // When
+        repository.stop();
+        repository = open();
+
+        // Then
+        assertThat(repository.count()).isEqualTo(248);
+        assertThat(repository.existsById("id-0")).isFalse();
+        assertThat(repository.findById("id-2")).map(Transaction::getAmount).contains(new BigDecimal("1E+3"));
+        assertThat(repository.existsByReferenceNumber("REF-CHANGED")).isTrue();
+        assertThat(repository.findById("id-2")).map(Transaction::getCounterpartyAccountId).contains("ACC-2");
+        assertThat(repository.findById("id-2")).map(Transaction::getAccountId).contains("ACC-1");
+        assertThat(repository.existsByReferenceNumber("REF2")).isFalse();
+        Transaction recovered = repository.findById("id-249").orElseThrow();
+        assertThat(recovered.getAmount()).isEqualTo(new BigDecimal("249.50"));
+        assertThat(recovered.getTimestamp()).isEqualTo(baseTime.plusSeconds(249));
+        assertThat(recovered.getCurrency()).isEqualTo("USD");
+        assertThat(repository.findAll(0, 1)).extracting(Transaction::getId).containsExactly("id-249");
+    }
+
+    @Test
+    void save_QueueFull_ShouldBlockUntilFlushed() throws Exception {
+        // Given
+        repository.stop();
+        repository = new WriteBehindTransactionRepository(url(), "sa", "", 10, Duration.ofMillis(5), 20,
+                Duration.ofSeconds(10));
+        repository.start();
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            repository.save(transaction("id-" + i, i, null, "1.00"));
+            assertThat(repository.getQueueDepth()).isLessThanOrEqualTo(20);
+        }
+        repository.flush();
+
+        // Then
+        assertThat(repository.getFlushedRowCount()).isEqualTo(500);
+        assertThat(repository.getBatchCount()).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void save_PartialBatch_ShouldFlushWhenIntervalElapses() throws Exception {
+        // Given
+        repository.stop();
+        repository = new WriteBehindTransactionRepository(url(), "sa", "", 100, Duration.ofMillis(50), 1000,
+                Duration.ofSeconds(10));
+        repository.start();
+
+        // When
+        repository.save(transaction("a", 0, null, "1.00"));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (repository.getFlushedRowCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Then
+        assertThat(repository.getFlushedRowCount()).isEqualTo(1);
+        assertThat(repository.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void stop_DatabaseFailing_ShouldGiveUpAndReportUnflushedTransactions() throws Exception {
+        // Given - queued writes, and a database that rejects every flush
+        repository.save(transaction("a", 0, null, "1.00"));
+        repository.save(transaction("b", 1, null, "2.00"));
+        try (Connection connection = DriverManager.getConnection(url(), "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE transactions");
+        }
+
+        // When
+        long start = System.nanoTime();
+        repository.stop();
+
+        // Then
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(8));
+        assertThat(repository.getFailedFlushCount()).isEqualTo(3);
+        assertThat(repository.getUnflushedCount()).isEqualTo(2);
+        assertThat(repository.getQueueDepth()).isEqualTo(2);
+    }
+
+    private WriteBehindTransactionRepository open() throws Exception {
+        WriteBehindTransactionRepository opened = new WriteBehindTransactionRepository(url(), "sa", "", 100,
+                Duration.ofSeconds(10), 1000, Duration.ofSeconds(10));
+        opened.start();
+        return opened;
+    }
+
+    private String url() {
+        return "jdbc:h2:file:" + directory.resolve("transactions").toAbsolutePath();
+    }
+
+    private Transaction transaction(String id, int second, String referenceNumber, String amount) {
+        Transaction transaction = new Transaction(new BigDecimal(amount), "USD", "DEPOSIT", "desc " + id, referenceNumber);
+        transaction.setId(id);
+        transaction.setTimestamp(baseTime.plusSeconds(second));
+        return transaction;
+    }
+}
@@ -0,0 +1,125 @@
+package com.hsbc.transaction.responsecache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionResponse;
+import com.hsbc.transaction.model.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Cached JSON HTTP Message Converter Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class CachedJsonHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private EncodedResponseCache cache;
+    private CachedJsonHttpMessageConverter converter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EncodedResponseCache(1024 * 1024, 256);
+        converter = new CachedJsonHttpMessageConverter(cache, objectMapper, true);
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void write_SameResponseTwice_ShouldSerializeOnceAndWriteIdenticalBytes() throws IOException {
+        // Given
+        TransactionResponse response = response(1);
+
+        // When
+        MockHttpServletResponse first = write(response);
+        MockHttpServletResponse second = write(response);
+        MockHttpServletResponse other = write(response(1));
+
+        // Then
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(first.getContentAsByteArray()).isEqualTo(objectMapper.writeValueAsBytes(response));
+        assertThat(first.getContentLength()).isEqualTo(first.getContentAsByteArray().length);
+        assertThat(other.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+    }
+
+    @Test
+    void write_ClientAcceptsGzip_ShouldCompressLargeBodiesOnly() throws IOException {
+        // Given
+        List<TransactionResponse> content = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            content.add(response(i));
+        }
+        PagedResponse<TransactionResponse> page = new PagedResponse<>(content, 0, 20, 100);
+        TransactionResponse small = response(0);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8");
+
+        // When
+        MockHttpServletResponse compressed = write(page);
+        MockHttpServletResponse again = write(page);
+        MockHttpServletResponse uncompressed = write(small);
+
+        // Then
+        assertThat(compressed.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(compressed.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(compressed.getContentAsByteArray().length).isLessThan(objectMapper.writeValueAsBytes(page).length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed.getContentAsByteArray()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(objectMapper.writeValueAsBytes(page));
+        }
+        assertThat(again.getContentAsByteArray()).isEqualTo(compressed.getContentAsByteArray());
+        assertThat(cache.getGzipHitCount()).isEqualTo(1);
+        assertThat(uncompressed.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+
+        // An explicit q=0 refuses gzip
+        request.removeHeader(HttpHeaders.ACCEPT_ENCODING);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+        assertThat(write(page).getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    private MockHttpServletResponse write(Object value) throws IOException {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletServerHttpResponse response = new ServletServerHttpResponse(servletResponse);
+        converter.write(value, MediaType.APPLICATION_JSON, response);
+        response.flush();
+        return servletResponse;
+    }
+
+    private static TransactionResponse response(int i) {
+        Transaction transaction = new Transaction(new BigDecimal("100.00"), "USD", "DEPOSIT", "Test deposit " + i, "REF" + i);
+        transaction.setId("id-" + i);
+        transaction.setTimestamp(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+        return TransactionResponse.from(transaction);
+    }
+}
@@ -0,0 +1,161 @@
+package com.hsbc.transaction.search;
+
+import com.hsbc.transaction.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Transaction Search Index Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class TransactionSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private TransactionSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TransactionSearchIndex();
+    }
+
+    @Test
+    void search_ShouldMatchAllTermsAndRankByRelevance() {
+        // Given
+        index.onSaved(transaction("t-1", "Coffee at the Coffee Shop"), NOW);
+        index.onSaved(transaction("t-2", "Monthly rent payment, includes coffee machine lease and other items"), NOW);
+        index.onSaved(transaction("t-3", "Groceries"), NOW);
+        index.onSaved(transaction("t-4", "咖啡店 coffee"), NOW);
+
+        // When
+        TransactionSearchIndex.Result coffee = index.search("COFFEE", 0, 10);
+        TransactionSearchIndex.Result both = index.search("coffee, shop", 0, 10);
+
+        // Then
+        assertThat(coffee.total()).isEqualTo(3);
+        assertThat(coffee.hits()).extracting(TransactionSearchIndex.Hit::transactionId)
+                .containsExactly("t-1", "t-4", "t-2");
+        assertThat(both.hits()).extracting(TransactionSearchIndex.Hit::transactionId).containsExactly("t-1");
+        assertThat(index.search("咖啡", 0, 10).hits()).extracting(TransactionSearchIndex.Hit::transactionId)
+                .containsExactly("t-4");
+        assertThat(index.search("coffee tea", 0, 10).total()).isZero();
+        assertThat(index.search("  ,. ", 0, 10).total()).isZero();
+        assertThat(index.search("coffee", 1, 1).hits()).extracting(TransactionSearchIndex.Hit::transactionId)
+                .containsExactly("t-4");
+    }
+
+    @Test
+    void updatesAndDeletes_ShouldBeVisibleAndCompacted() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            index.onSaved(transaction("t-" + i, "transfer " + (i % 2 == 0 ? "salary" : "rent")), NOW);
+        }
+
+        // When - rewrite or delete most of the salary transactions
+        for (int i = 0; i < 80; i += 2) {
+            if (i % 4 == 0) {
+                index.onDeleted("t-" + i, NOW);
+            } else {
+                index.onSaved(transaction("t-" + i, "transfer bonus"), NOW);
+            }
+        }
+
+        // Then
+        assertThat(index.search("salary", 0, 100).total()).isEqualTo(10);
+        assertThat(index.search("bonus", 0, 100).total()).isEqualTo(20);
+        assertThat(index.search("transfer", 0, 100).total()).isEqualTo(80);
+        assertThat(index.getDocumentCount()).isEqualTo(80);
+        assertThat(index.search("salary transfer", 0, 100).hits())
+                .extracting(TransactionSearchIndex.Hit::transactionId)
+                .allSatisfy(id -> assertThat(Integer.parseInt(id.substring(2))).isGreaterThanOrEqualTo(80));
+    }
+
+    @Test
+    void concurrentUpdates_ShouldLeaveConsistentIndex() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When - writers rewrite descriptions while readers search
+        try {
+            for (int writer = 0; writer < 4; writer++) {
+                int offset = writer;
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < 50; round++) {
+                        for (int i = offset; i < 200; i += 4) {
+                            index.onSaved(transaction("t-" + i, "payment round" + round + " item" + i), NOW);
+                        }
+                        index.search("payment", 0, 10);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(index.getDocumentCount()).isEqualTo(200);
+        assertThat(index.search("payment", 0, 10).total()).isEqualTo(200);
+        assertThat(index.search("round49", 0, 10).total()).isEqualTo(200);
+        assertThat(index.search("round48", 0, 10).total()).isZero();
+        assertThat(index.search("item7", 0, 10).hits()).extracting(TransactionSearchIndex.Hit::transactionId)
+                .containsExactly("t-7");
+    }
+
+    @Test
+    void retire_ShouldLeaveCompactionToTheExecutor() {
+        // Given
+        List<Runnable> compactions = new ArrayList<>();
+        index = new TransactionSearchIndex(compactions::add);
+        for (int i = 0; i < 100; i++) {
+            index.onSaved(transaction("t-" + i, "transfer salary"), NOW);
+        }
+        long bytes = index.getPostingsBytes();
+
+        // When - removed entries become the majority, but nothing is rewritten on the write path
+        for (int i = 0; i < 60; i++) {
+            index.onDeleted("t-" + i, NOW);
+        }
+        index.onSaved(transaction("t-100", "transfer salary"), NOW);
+
+        // Then
+        assertThat(compactions).hasSize(2);
+        assertThat(index.getPostingsBytes()).isGreaterThan(bytes);
+        assertThat(index.search("salary", 0, 100).total()).isEqualTo(41);
+
+        compactions.forEach(Runnable::run);
+        assertThat(index.getPostingsBytes()).isLessThan(bytes);
+        assertThat(index.search("transfer salary", 0, 100).hits()).hasSize(41);
+
+        // When - every entry removed
+        for (int i = 60; i <= 100; i++) {
+            index.onDeleted("t-" + i, NOW);
+        }
+
+        // Then
+        assertThat(index.getTermCount()).isZero();
+        index.onSaved(transaction("t-1", "salary"), NOW);
+        assertThat(index.search("salary", 0, 10).total()).isEqualTo(1);
+    }
+
+    private static Transaction transaction(String id, String description) {
+        Transaction transaction = new Transaction(new BigDecimal("10.00"), "USD", "PAYMENT", description, null);
+        transaction.setId(id);
+        return transaction;
+    }
+}
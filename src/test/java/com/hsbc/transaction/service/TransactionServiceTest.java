@@ -1,12 +1,22 @@
 package com.hsbc.transaction.service;
 
+import com.hsbc.transaction.changefeed.TransactionChangeLog;
+import com.hsbc.transaction.config.CacheConfig;
+import com.hsbc.transaction.dto.BatchItemResult;
+import com.hsbc.transaction.dto.BatchResponse;
+import com.hsbc.transaction.dto.CursorPagedResponse;
 import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionLookupResponse;
+import com.hsbc.transaction.dto.TransactionPatch;
 import com.hsbc.transaction.dto.TransactionRequest;
 import com.hsbc.transaction.dto.TransactionResponse;
 import com.hsbc.transaction.exception.DuplicateTransactionException;
+import com.hsbc.transaction.exception.InsufficientFundsException;
 import com.hsbc.transaction.exception.InvalidTransactionException;
 import com.hsbc.transaction.exception.TransactionNotFoundException;
+import com.hsbc.transaction.ledger.AccountLedger;
 import com.hsbc.transaction.model.Transaction;
+import com.hsbc.transaction.repository.TimelinePosition;
 import com.hsbc.transaction.repository.TransactionRepository;
 import com.hsbc.transaction.service.impl.TransactionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,11 +25,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,6 +51,9 @@ class TransactionServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private TransactionChangeLog changeLog;
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
@@ -98,6 +115,39 @@ class TransactionServiceTest {
         verify(transactionRepository, never()).save(any());
     }
 
+    @Test
+    void createTransaction_WithdrawalBeyondBalance_ShouldRejectWithoutSaving() {
+        // Given
+        AccountLedger ledger = new AccountLedger(16);
+        transactionService.setLedger(ledger);
+        when(transactionRepository.existsByReferenceNumber(any())).thenReturn(false);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        validRequest.setAccountId("ACC-1");
+        transactionService.createTransaction(validRequest);
+        TransactionRequest withdrawal = new TransactionRequest(new BigDecimal("100.01"), "USD", "WITHDRAWAL", "Test", "REF002");
+        withdrawal.setAccountId("ACC-1");
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.createTransaction(withdrawal))
+                .isInstanceOf(InsufficientFundsException.class)
+                .hasMessageContaining("ACC-1");
+        verify(transactionRepository, times(1)).save(any());
+        assertThat(ledger.balances("ACC-1").orElseThrow().get("USD")).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void createTransaction_CounterpartyWithoutTransfer_ShouldThrowException() {
+        // Given
+        validRequest.setAccountId("ACC-1");
+        validRequest.setCounterpartyAccountId("ACC-2");
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.createTransaction(validRequest))
+                .isInstanceOf(InvalidTransactionException.class)
+                .hasMessageContaining("counterparty");
+        verifyNoInteractions(transactionRepository);
+    }
+
     @Test
     void createTransaction_InvalidAmount_ShouldThrowException() {
         // Given
@@ -318,4 +368,127 @@ class TransactionServiceTest {
         assertThat(exists).isFalse();
         verify(transactionRepository).existsById("non-existing");
     }
+
+    @Test
+    void lookupTransactions_ShouldServeCachedIdsAndLoadMissesInOneCall() {
+        // Given
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        transactionService.setCacheManager(cacheManager);
+        Transaction other = new Transaction(new BigDecimal("5.00"), "EUR", "PAYMENT", "Other", null);
+        other.setId("other-id");
+        other.setTimestamp(LocalDateTime.now());
+        cacheManager.getCache(CacheConfig.TRANSACTION_CACHE).put("test-id", TransactionResponse.from(validTransaction));
+        when(transactionRepository.findAllById(any())).thenReturn(Map.of("other-id", other));
+
+        // When
+        TransactionLookupResponse response = transactionService.lookupTransactions(
+                List.of("other-id", "test-id", "missing-id", "other-id"));
+
+        // Then
+        assertThat(response.getTransactions()).extracting(TransactionResponse::getId).containsExactly("other-id", "test-id");
+        assertThat(response.getMissingIds()).containsExactly("missing-id");
+        verify(transactionRepository).findAllById(argThat(ids -> ids.size() == 2
+                && ids.containsAll(List.of("other-id", "missing-id"))));
+        verify(transactionRepository, never()).findById(any());
+
+        // Loaded transactions are cached for the next lookup
+        transactionService.lookupTransactions(List.of("other-id", "test-id"));
+        verifyNoMoreInteractions(transactionRepository);
+    }
+
+    @Test
+    void lookupTransactions_BlankId_ShouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> transactionService.lookupTransactions(Arrays.asList("test-id", " ")))
+                .isInstanceOf(InvalidTransactionException.class)
+                .hasMessage("Transaction ID cannot be empty");
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void getAccountTransactions_ShouldReturnNextCursorWhileMoreRemain() {
+        // Given
+        Transaction older = new Transaction(new BigDecimal("5.00"), "USD", "DEPOSIT", "Older", null);
+        older.setId("older-id");
+        older.setTimestamp(validTransaction.getTimestamp().minusSeconds(1));
+        when(transactionRepository.findByAccount("ACC-1", null, 2)).thenReturn(List.of(validTransaction, older));
+        TimelinePosition position = TimelinePosition.of(validTransaction);
+        when(transactionRepository.findByAccount("ACC-1", position, 2)).thenReturn(List.of(older));
+
+        // When
+        CursorPagedResponse<TransactionResponse> first = transactionService.getAccountTransactions("ACC-1", null, 1);
+        CursorPagedResponse<TransactionResponse> second = transactionService.getAccountTransactions("ACC-1", first.getNextCursor(), 1);
+
+        // Then
+        assertThat(first.getContent()).extracting(TransactionResponse::getId).containsExactly("test-id");
+        assertThat(first.getNextCursor()).isEqualTo(position.toCursor());
+        assertThat(second.getContent()).extracting(TransactionResponse::getId).containsExactly("older-id");
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.isLast()).isTrue();
+        assertThatThrownBy(() -> transactionService.getAccountTransactions("ACC-1", "not-a-cursor", 1))
+                .isInstanceOf(InvalidTransactionException.class);
+        assertThatThrownBy(() -> transactionService.getAccountTransactions(" ", null, 1))
+                .isInstanceOf(InvalidTransactionException.class);
+    }
+
+    @Test
+    void updateTransactions_ShouldReportEachItemAndSaveValidOnesTogether() {
+        // Given
+        Transaction other = new Transaction(new BigDecimal("5.00"), "EUR", "PAYMENT", "Other", "REF002");
+        other.setId("other-id");
+        other.setTimestamp(LocalDateTime.now());
+        when(transactionRepository.findAllById(any())).thenReturn(Map.of("test-id", validTransaction, "other-id", other));
+        when(transactionRepository.existsByReferenceNumber("TAKEN")).thenReturn(true);
+        when(transactionRepository.saveAll(any())).thenReturn(Set.of());
+
+        TransactionPatch amount = new TransactionPatch();
+        amount.setId("test-id");
+        amount.setAmount(new BigDecimal("250.00"));
+        TransactionPatch missing = new TransactionPatch();
+        missing.setId("missing-id");
+        TransactionPatch duplicate = new TransactionPatch();
+        duplicate.setId("test-id");
+        TransactionPatch taken = new TransactionPatch();
+        taken.setId("other-id");
+        taken.setReferenceNumber("TAKEN");
+
+        // When
+        BatchResponse response = transactionService.updateTransactions(List.of(amount, missing, duplicate, taken));
+
+        // Then
+        assertThat(response.getSucceeded()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(BatchItemResult::getStatus).containsExactly(200, 404, 400, 409);
+        assertThat(response.getResults().get(0).getTransaction().getAmount()).isEqualByComparingTo("250.00");
+        assertThat(response.getResults().get(0).getTransaction().getCurrency()).isEqualTo("USD");
+        verify(transactionRepository).saveAll(argThat(updates -> updates.size() == 1
+                && updates.get(0).getAmount().compareTo(new BigDecimal("250.00")) == 0));
+        verify(transactionRepository, never()).save(any());
+        // The stored instance is only replaced through saveAll
+        assertThat(validTransaction.getAmount()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void deleteTransactions_ShouldDeleteExistingIdsInOneCall() {
+        // Given
+        when(transactionRepository.deleteAllById(any())).thenReturn(Set.of("test-id"));
+
+        // When
+        BatchResponse response = transactionService.deleteTransactions(List.of("test-id", "missing-id"));
+
+        // Then
+        assertThat(response.getResults()).extracting(BatchItemResult::getStatus).containsExactly(204, 404);
+        verify(transactionRepository).deleteAllById(argThat(ids -> ids.size() == 2));
+        verify(transactionRepository, never()).deleteById(any());
+        verify(changeLog).append(any(), eq("test-id"), isNull(), any());
+    }
+
+    @Test
+    void getTransactionsAtSnapshot_WithoutSnapshotIndex_ShouldRejectRequest() {
+        // When & Then - consistent paging is switched off with transaction.snapshot.enabled=false
+        assertThatThrownBy(() -> transactionService.getTransactionsAtSnapshot(0, 10, null))
+                .isInstanceOf(InvalidTransactionException.class)
+                .hasMessage("Snapshot paging is disabled");
+        verify(transactionRepository, never()).findAll();
+    }
 }
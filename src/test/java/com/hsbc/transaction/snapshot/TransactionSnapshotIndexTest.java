@@ -0,0 +1,139 @@
+package com.hsbc.transaction.snapshot;
+
+import com.hsbc.transaction.exception.SnapshotExpiredException;
+import com.hsbc.transaction.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Transaction Snapshot Index Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class TransactionSnapshotIndexTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void snapshot_ShouldNotSeeLaterWrites() {
+        // Given
+        TransactionSnapshotIndex index = new TransactionSnapshotIndex(Duration.ofMinutes(5), 100);
+        index.put(transaction("a", 1, "100"));
+        index.put(transaction("b", 2, "200"));
+        TransactionSnapshot snapshot = index.open();
+
+        // When
+        index.put(transaction("c", 3, "300"));
+        index.put(transaction("a", 1, "999"));
+        index.remove("b");
+
+        // Then
+        assertThat(snapshot.count()).isEqualTo(2);
+        assertThat(snapshot.page(0, 10)).extracting(Transaction::getId).containsExactly("b", "a");
+        assertThat(snapshot.page(0, 10).get(1).getAmount()).isEqualByComparingTo("100");
+
+        TransactionSnapshot latest = index.open();
+        assertThat(latest.page(0, 10)).extracting(Transaction::getId).containsExactly("c", "a");
+        assertThat(latest.page(0, 10).get(1).getAmount()).isEqualByComparingTo("999");
+    }
+
+    @Test
+    void paging_WhileInserting_ShouldNeitherSkipNorRepeat() {
+        // Given
+        TransactionSnapshotIndex index = new TransactionSnapshotIndex(Duration.ofMinutes(5), 100);
+        for (int i = 0; i < 95; i++) {
+            index.put(transaction("t-" + i, i, "1"));
+        }
+        TransactionSnapshot first = index.open();
+        String token = index.tokenOf(first);
+
+        // When - newer records arrive between page reads
+        Set<String> seen = new HashSet<>();
+        List<String> ordered = new ArrayList<>();
+        for (int page = 0; page < 10; page++) {
+            index.put(transaction("new-" + page, 1000 + page, "1"));
+            for (Transaction transaction : index.resolve(token).page(page, 10)) {
+                assertThat(seen.add(transaction.getId())).as("repeated " + transaction.getId()).isTrue();
+                ordered.add(transaction.getId());
+            }
+        }
+
+        // Then
+        assertThat(ordered).hasSize(95).first().isEqualTo("t-94");
+        assertThat(ordered).last().isEqualTo("t-0");
+    }
+
+    @Test
+    void resolve_ExpiredOrUnknownToken_ShouldThrowException() throws Exception {
+        // Given
+        TransactionSnapshotIndex index = new TransactionSnapshotIndex(Duration.ofMillis(1), 100);
+        index.put(transaction("a", 1, "1"));
+        String oldToken = index.tokenOf(index.open());
+        index.put(transaction("b", 2, "1"));
+        String currentToken = index.tokenOf(index.open());
+
+        // When
+        Thread.sleep(20);
+
+        // Then - the current version stays reachable, older ones are gone
+        assertThat(index.resolve(currentToken).count()).isEqualTo(2);
+        assertThatThrownBy(() -> index.resolve(oldToken)).isInstanceOf(SnapshotExpiredException.class);
+        assertThatThrownBy(() -> index.resolve("not-a-token")).isInstanceOf(SnapshotExpiredException.class);
+        assertThat(index.getExpiredLookupCount()).isEqualTo(2);
+    }
+
+    @Test
+    void randomWrites_ShouldMatchSortedReference() {
+        // Given
+        TransactionSnapshotIndex index = new TransactionSnapshotIndex(Duration.ofMinutes(5), 100);
+        Map<String, Transaction> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 5000; i++) {
+            String id = "id-" + random.nextInt(800);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                reference.remove(id);
+            } else {
+                Transaction transaction = transaction(id, random.nextInt(300), String.valueOf(i));
+                index.put(transaction);
+                reference.put(id, transaction);
+            }
+        }
+
+        // Then
+        List<String> expected = reference.values().stream()
+                .sorted(Comparator.comparing(Transaction::getTimestamp).reversed().thenComparing(Transaction::getId))
+                .map(Transaction::getId)
+                .toList();
+        TransactionSnapshot snapshot = index.open();
+        List<String> actual = new ArrayList<>();
+        for (int page = 0; page * 37 < snapshot.count(); page++) {
+            snapshot.page(page, 37).forEach(transaction -> actual.add(transaction.getId()));
+        }
+        assertThat(snapshot.count()).isEqualTo(reference.size());
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static Transaction transaction(String id, int minute, String amount) {
+        Transaction transaction = new Transaction(new BigDecimal(amount), "USD", "DEPOSIT", null, null);
+        transaction.setId(id);
+        transaction.setTimestamp(BASE_TIME.plusMinutes(minute));
+        return transaction;
+    }
+}
@@ -0,0 +1,51 @@
+package com.hsbc.transaction.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * JIT Warm-up Runner Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class WarmupRunnerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void health_ShouldBeOutOfServiceUntilWarmupFinishes() {
+        // Any round counts as stable, so a few rounds finish the warm-up
+        WarmupRunner runner = new WarmupRunner(objectMapper, 20, 1_000_000, 2, Duration.ofSeconds(30));
+        assertThat(runner.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        runner.run();
+
+        assertThat(runner.getOutcome()).isEqualTo(WarmupRunner.Outcome.STABLE);
+        assertThat(runner.getRounds()).isEqualTo(3);
+        assertThat(runner.getLastRoundNanosPerTransaction()).isPositive();
+        assertThat(runner.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(runner.health().getDetails()).containsEntry("outcome", WarmupRunner.Outcome.STABLE);
+    }
+
+    @Test
+    void run_NeverStable_ShouldTimeOutAndBecomeReady() {
+        // Practically no round is within the tolerance, and never a thousand in a row
+        WarmupRunner runner = new WarmupRunner(objectMapper, 20, Double.MIN_VALUE, 1_000, Duration.ofMillis(300));
+
+        runner.run();
+
+        assertThat(runner.getOutcome()).isEqualTo(WarmupRunner.Outcome.TIMED_OUT);
+        assertThat(runner.getDurationSeconds()).isGreaterThanOrEqualTo(0.3);
+        assertThat(runner.health().getStatus()).isEqualTo(Status.UP);
+    }
+}
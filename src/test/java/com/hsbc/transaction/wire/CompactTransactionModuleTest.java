@@ -0,0 +1,129 @@
+package com.hsbc.transaction.wire;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hsbc.transaction.dto.PagedResponse;
+import com.hsbc.transaction.dto.TransactionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compact Transaction Module Test Class
+ *
+ * @author HSBC Development Team
+ * @version 1.0.0
+ */
+class CompactTransactionModuleTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_789);
+
+    private final ObjectMapper jsonMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ObjectMapper cborMapper = jsonMapper.copyWith(new CBORFactory())
+            .registerModule(new CompactTransactionModule());
+
+    @Test
+    void encode_ShouldWriteRawIdMinorUnitsAndNumericTimestamp() throws Exception {
+        // Given
+        String id = UUID.randomUUID().toString();
+        TransactionResponse response = response(id, "1234.50", "USD");
+
+        // When
+        JsonNode node = cborMapper.readTree(cborMapper.writeValueAsBytes(response));
+
+        // Then
+        assertThat(node.get("id").isBinary()).isTrue();
+        assertThat(node.get("id").binaryValue()).hasSize(16);
+        assertThat(node.get("amount").isIntegralNumber()).isTrue();
+        assertThat(node.get("amount").longValue()).isEqualTo(123450);
+        assertThat(node.get("timestamp").isIntegralNumber()).isTrue();
+    }
+
+    @Test
+    void roundTrip_ShouldRestoreEveryField() throws Exception {
+        // Given - a whole-yen amount, an amount finer than cents and a non-UUID ID
+        List<TransactionResponse> content = List.of(
+                response(UUID.randomUUID().toString(), "1500", "JPY"),
+                response(UUID.randomUUID().toString(), "0.125", "USD"),
+                response("legacy-id", "10.00", "EUR"));
+        PagedResponse<TransactionResponse> page = new PagedResponse<>(content, 0, 10, 3);
+
+        // When
+        PagedResponse<TransactionResponse> decoded = cborMapper.readValue(
+                cborMapper.writeValueAsBytes(page), new TypeReference<>() {});
+
+        // Then
+        assertThat(decoded.getTotalElements()).isEqualTo(3);
+        assertThat(decoded.getContent()).hasSize(3);
+        for (int i = 0; i < content.size(); i++) {
+            TransactionResponse expected = content.get(i);
+            TransactionResponse actual = decoded.getContent().get(i);
+            assertThat(actual.getId()).isEqualTo(expected.getId());
+            assertThat(actual.getAmount()).isEqualByComparingTo(expected.getAmount());
+            assertThat(actual.getCurrency()).isEqualTo(expected.getCurrency());
+            assertThat(actual.getTimestamp()).isEqualTo(TIMESTAMP);
+            assertThat(actual.getDescription()).isEqualTo(expected.getDescription());
+            assertThat(actual.getReferenceNumber()).isNull();
+        }
+    }
+
+    @Test
+    void roundTrip_WithAccounts_ShouldRestoreAccountFields() throws Exception {
+        // Given
+        TransactionResponse deposit = response(UUID.randomUUID().toString(), "250.00", "USD");
+        deposit.setAccountId("ACC-1001");
+        TransactionResponse transfer = response(UUID.randomUUID().toString(), "75.00", "USD");
+        transfer.setTransactionType("TRANSFER");
+        transfer.setAccountId("ACC-1001");
+        transfer.setCounterpartyAccountId("ACC-2002");
+
+        // When
+        TransactionResponse decodedDeposit = cborMapper.readValue(
+                cborMapper.writeValueAsBytes(deposit), TransactionResponse.class);
+        List<TransactionResponse> decodedList = cborMapper.readValue(
+                cborMapper.writeValueAsBytes(List.of(transfer, deposit)), new TypeReference<>() {});
+
+        // Then
+        assertThat(decodedDeposit.getAccountId()).isEqualTo("ACC-1001");
+        assertThat(decodedDeposit.getCounterpartyAccountId()).isNull();
+        assertThat(decodedList).hasSize(2);
+        assertThat(decodedList.get(0).getId()).isEqualTo(transfer.getId());
+        assertThat(decodedList.get(0).getAccountId()).isEqualTo("ACC-1001");
+        assertThat(decodedList.get(0).getCounterpartyAccountId()).isEqualTo("ACC-2002");
+        assertThat(decodedList.get(0).getAmount()).isEqualByComparingTo("75.00");
+        assertThat(decodedList.get(1).getId()).isEqualTo(deposit.getId());
+    }
+
+    @Test
+    void encode_PageOfTransactions_ShouldBeSmallerThanJson() throws Exception {
+        // Given
+        List<TransactionResponse> content = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            content.add(response(UUID.randomUUID().toString(), i + ".99", "USD"));
+        }
+        PagedResponse<TransactionResponse> page = new PagedResponse<>(content, 0, 100, 1000);
+
+        // When
+        int json = jsonMapper.writeValueAsBytes(page).length;
+        int cbor = cborMapper.writeValueAsBytes(page).length;
+
+        // Then
+        assertThat(cbor).isLessThan(json * 3 / 4);
+    }
+
+    private static TransactionResponse response(String id, String amount, String currency) {
+        return new TransactionResponse(id, new BigDecimal(amount), currency, "PAYMENT", TIMESTAMP, "Card payment", null);
+    }
+}
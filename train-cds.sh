@@ -0,0 +1,84 @@
+#!/bin/bash
+
+# HSBC Transaction Management System CDS Training Script
+#
+# Runs the fast-start build against a representative workload and writes a
+# class data sharing archive of every class it loaded.
+#
+# Usage:
+# 1. Build: ./mvnw -Pfast-start package -DskipTests
+# 2. Train: ./train-cds.sh target/transaction-management-1.0.0.jar target/app.jsa
+# 3. Run:   java -Dspring.aot.enabled=true -XX:SharedArchiveFile=target/app.jsa -jar target/transaction-management-1.0.0.jar
+#
+# The archive only matches the JVM that created it and the exact jar/lib
+# layout, so train with the same JDK and paths that will run the application.
+
+set -e
+
+JAR=${1:?Usage: $0 <jar> <archive> [port]}
+ARCHIVE=${2:?Usage: $0 <jar> <archive> [port]}
+PORT=${3:-18080}
+JAVA=${JAVA:-java}
+BASE_URL="http://localhost:$PORT/api/transactions"
+LOG="$ARCHIVE.log"
+
+echo "Starting application for CDS training on port $PORT..."
+"$JAVA" -XX:ArchiveClassesAtExit="$ARCHIVE" -Dspring.aot.enabled=true \
+    -jar "$JAR" --server.port="$PORT" --logging.level.com.hsbc.transaction=WARN > "$LOG" 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+for _ in $(seq 1 120); do
+    if curl -s -f "$BASE_URL/health" > /dev/null; then
+        break
+    fi
+    sleep 0.5
+done
+curl -s -f "$BASE_URL/health" > /dev/null || { echo "Application did not start, see $LOG"; exit 1; }
+
+echo "Running training workload..."
+IDS=()
+for i in $(seq 1 200); do
+    ID=$(curl -s -X POST "$BASE_URL" \
+        -H "Content-Type: application/json" \
+        -H "Idempotency-Key: cds-training-$i" \
+        -d "{\"amount\": $i.25, \"currency\": \"USD\", \"transactionType\": \"PAYMENT\", \"description\": \"Training payment $i\", \"referenceNumber\": \"CDS-$i\"}" \
+        | grep -o '"id":"[^"]*"' | cut -d'"' -f4)
+    IDS+=("$ID")
+done
+
+for ID in "${IDS[@]:0:50}"; do
+    curl -s "$BASE_URL/$ID" > /dev/null
+    curl -s -H "Accept: application/cbor" "$BASE_URL/$ID" > /dev/null
+    curl -s "$BASE_URL/$ID/exists" > /dev/null
+done
+curl -s -X PUT "$BASE_URL/${IDS[0]}" -H "Content-Type: application/json" \
+    -d '{"amount": 99.99, "currency": "EUR", "transactionType": "REFUND", "description": "Training update"}' > /dev/null
+curl -s "$BASE_URL/${IDS[0]}/history" > /dev/null
+for PAGE in 0 1 2; do
+    curl -s "$BASE_URL?page=$PAGE&size=20" > /dev/null
+    curl -s -H "Accept-Encoding: gzip" "$BASE_URL?page=$PAGE&size=50" > /dev/null
+done
+curl -s "$BASE_URL?consistent=true&page=0&size=10" > /dev/null
+curl -s "$BASE_URL/search?q=training+payment" > /dev/null
+curl -s -X POST "$BASE_URL/lookup" -H "Content-Type: application/json" \
+    -d "{\"ids\": [\"${IDS[1]}\", \"${IDS[2]}\", \"missing\"]}" > /dev/null
+curl -s -X PATCH "$BASE_URL/batch" -H "Content-Type: application/json" \
+    -d "{\"items\": [{\"id\": \"${IDS[3]}\", \"amount\": 12.00}, {\"id\": \"missing\"}]}" > /dev/null
+curl -s -X DELETE "$BASE_URL/batch" -H "Content-Type: application/json" \
+    -d "{\"ids\": [\"${IDS[4]}\"]}" > /dev/null
+curl -s -X DELETE "$BASE_URL/${IDS[5]}" > /dev/null
+curl -s "$BASE_URL/missing" > /dev/null
+curl -s -X POST "$BASE_URL" -H "Content-Type: application/json" -d '{"amount": -1}' > /dev/null
+curl -s "http://localhost:$PORT/api/analytics/summary" > /dev/null
+curl -s "http://localhost:$PORT/api/analytics/histogram" > /dev/null
+curl -s "http://localhost:$PORT/actuator/health" > /dev/null
+curl -s "http://localhost:$PORT/actuator/metrics/transaction.response-cache.hits" > /dev/null
+
+echo "Stopping application and writing $ARCHIVE..."
+kill -TERM $APP_PID
+wait $APP_PID || true
+trap - EXIT
+
+[ -s "$ARCHIVE" ] || { echo "No archive was written, see $LOG"; exit 1; }
+echo "CDS archive written: $ARCHIVE ($(du -h "$ARCHIVE" | cut -f1))"